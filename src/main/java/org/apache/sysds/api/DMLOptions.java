@@ -31,6 +31,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.PosixParser;
 import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCachePolicy;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Explain.ExplainType;
@@ -61,6 +62,7 @@ public class DMLOptions {
 	public boolean              lineage       = false;            // whether compute lineage trace
 	public boolean              lineage_dedup = false;            // whether deduplicate lineage items
 	public ReuseCacheType       linReuseType  = ReuseCacheType.NONE;
+	public LineageCachePolicy   linCachePolicy = LineageCachePolicy.LRU;
 	public boolean              fedWorker     = false;
 	public int                  fedWorkerPort = -1;
 	
@@ -126,6 +128,12 @@ public class DMLOptions {
 							dmlOptions.linReuseType = ReuseCacheType.REUSE_HYBRID;
 						else if (lineageType.equalsIgnoreCase("none"))
 							dmlOptions.linReuseType = ReuseCacheType.NONE;
+						else if (lineageType.equalsIgnoreCase("policy_lru"))
+							dmlOptions.linCachePolicy = LineageCachePolicy.LRU;
+						else if (lineageType.equalsIgnoreCase("policy_costnsize"))
+							dmlOptions.linCachePolicy = LineageCachePolicy.COSTNSIZE;
+						else if (lineageType.equalsIgnoreCase("policy_weighted"))
+							dmlOptions.linCachePolicy = LineageCachePolicy.WEIGHTED;
 						else
 							throw new org.apache.commons.cli.ParseException(
 								"Invalid argument specified for -lineage option: " + lineageType);
@@ -218,6 +218,7 @@ public class DMLScript
 			}
 			
 			LineageCacheConfig.setConfig(LINEAGE_REUSE);
+			LineageCacheConfig.setCachePolicy(dmlOptions.linCachePolicy);
 
 			String dmlScriptStr = readDMLScript(isFile, fileOrScript);
 			Map<String, String> argVals = dmlOptions.argVals;
@@ -42,6 +42,7 @@ import org.apache.sysds.lops.LopsException;
 import org.apache.sysds.lops.ReBlock;
 import org.apache.sysds.lops.UnaryCP;
 import org.apache.sysds.parser.ParseInfo;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
@@ -101,6 +102,10 @@ public abstract class Hop implements ParseInfo
 	// (this happens on persistent reads after reblock but before checkpoint)
 	protected boolean _requiresCompression = false;
 	
+	// summary of operations over the compressed output (if compressed),
+	// which is used for workload-aware compression planning
+	protected CompressionWorkload _compressionWorkload = null;
+	
 	// indicates if the output of this hop needs to be checkpointed (cached)
 	// (the default storage level for caching is not yet exposed here)
 	protected boolean _requiresCheckpoint = false;
@@ -263,6 +268,14 @@ public abstract class Hop implements ParseInfo
 		return _requiresCompression;
 	}
 	
+	public void setCompressionWorkload(CompressionWorkload workload) {
+		_compressionWorkload = workload;
+	}
+	
+	public CompressionWorkload getCompressionWorkload() {
+		return _compressionWorkload;
+	}
+	
 	public void setRequiresLineageCaching(boolean flag) {
 		_requiresLineageCaching = flag;
 	}
@@ -394,7 +407,7 @@ public abstract class Hop implements ParseInfo
 		{
 			try
 			{
-				Lop compress = new Compression(getLops(), getDataType(), getValueType(), et);
+				Lop compress = new Compression(getLops(), getDataType(), getValueType(), et, _compressionWorkload);
 				setOutputDimensions( compress );
 				setLineNumbers( compress );
 				setLops( compress );
@@ -1320,6 +1333,7 @@ public abstract class Hop implements ParseInfo
 		_requiresReblock = that._requiresReblock;
 		_requiresCheckpoint = that._requiresCheckpoint;
 		_requiresCompression = that._requiresCompression;
+		_compressionWorkload = that._compressionWorkload;
 		_requiresLineageCaching = that._requiresLineageCaching;
 		_outputEmptyBlocks = that._outputEmptyBlocks;
 		
@@ -1169,7 +1169,10 @@ public class OptimizerUtils
 	public static long getNumIterations(ForProgramBlock fpb, long defaultValue) {
 		if( fpb.getStatementBlock()==null )
 			return defaultValue;
-		ForStatementBlock fsb = (ForStatementBlock) fpb.getStatementBlock();
+		return getNumIterations((ForStatementBlock) fpb.getStatementBlock(), defaultValue);
+	}
+	
+	public static long getNumIterations(ForStatementBlock fsb, long defaultValue) {
 		try {
 			HashMap<Long,Long> memo = new HashMap<>();
 			long from = rEvalSimpleLongExpression(fsb.getFromHops().getInput().get(0), memo);
@@ -21,15 +21,19 @@ package org.apache.sysds.hops.rewrite;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.AggBinaryOp;
+import org.apache.sysds.hops.BinaryOp;
 import org.apache.sysds.hops.FunctionOp;
 import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.IndexingOp;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.UnaryOp;
 import org.apache.sysds.common.Types.AggOp;
 import org.apache.sysds.common.Types.OpOp1;
 import org.apache.sysds.common.Types.OpOp2;
@@ -46,6 +50,8 @@ import org.apache.sysds.parser.IfStatementBlock;
 import org.apache.sysds.parser.StatementBlock;
 import org.apache.sysds.parser.WhileStatement;
 import org.apache.sysds.parser.WhileStatementBlock;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
+import org.apache.sysds.runtime.compress.CompressionWorkload.WorkloadOp;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -56,10 +62,15 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
  * compression if the datasize is known to exceed aggregate cluster memory,
  * the matrix is used in loops, and all operations are supported over 
  * compressed matrices.
+ * 
+ * For all injected compression directives, we further collect a summary of
+ * the operations over the compressed matrix (weighted by the estimated number
+ * of loop iterations), which is used for workload-aware compression planning.
  */
 public class RewriteCompressedReblock extends StatementBlockRewriteRule
 {
 	private static final String TMP_PREFIX = "__cmtx";
+	private static final int DEFAULT_NUM_ITER = 15;
 	
 	@Override
 	public boolean createsSplitDag() {
@@ -101,11 +112,19 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 		// recursively process children
 		for( Hop hi : hop.getInput() )
 			injectCompressionDirective(hi, compress, prog);
-		// check for compression conditions
-		if( compress == CompressConfig.TRUE && satisfiesCompressionCondition(hop) 
-			|| compress == CompressConfig.AUTO && satisfiesAutoCompressionCondition(hop, prog) )
-		{
+		// check for compression conditions (with a single program analysis,
+		// which also collects the workload summary of the compressed matrix)
+		if( compress == CompressConfig.TRUE && satisfiesCompressionCondition(hop) ) {
 			hop.setRequiresCompression(true);
+			if( prog != null )
+				hop.setCompressionWorkload(analyzeProgram(hop, prog).workload);
+		}
+		else if( compress == CompressConfig.AUTO ) {
+			ProbeStatus status = probeAutoCompressionCondition(hop, prog);
+			if( status != null ) {
+				hop.setRequiresCompression(true);
+				hop.setCompressionWorkload(status.workload);
+			}
 		}
 		
 		hop.setVisited();
@@ -116,12 +135,19 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 			&& hop.getDim1() > 1 && hop.getDim2() > 1; //multi-column matrix
 	}
 	
-	private static boolean satisfiesAutoCompressionCondition(Hop hop, DMLProgram prog) {
+	/**
+	 * Checks the conditions for automatic compression of the given hop.
+	 * 
+	 * @param hop  candidate hop
+	 * @param prog dml program
+	 * @return status of the program analysis if compression is applicable, otherwise null
+	 */
+	private static ProbeStatus probeAutoCompressionCondition(Hop hop, DMLProgram prog) {
 		//check for basic compression condition
 		if( !(satisfiesCompressionCondition(hop) 
 			&& hop.getMemEstimate() >= OptimizerUtils.getLocalMemBudget()
 			&& OptimizerUtils.isSparkExecutionMode()) )
-			return false;
+			return null;
 		
 		//determine if data size exceeds aggregate cluster storage memory
 		double matrixPSize = OptimizerUtils.estimatePartitionedSizeExactSparsity(
@@ -137,9 +163,7 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 		//but conditionally only if all other conditions are met
 		if( hop.dimsKnown(true) && outOfCore && !ultraSparse ) {
 			//analyze program recursively, including called functions
-			ProbeStatus status = new ProbeStatus(hop.getHopID(), prog);
-			for( StatementBlock sb : prog.getStatementBlocks() )
-				rAnalyzeProgram(sb, status);
+			ProbeStatus status = analyzeProgram(hop, prog);
 			
 			//applicable if used in loop (amortized compressed costs), 
 			// no conditional updates in if-else branches
@@ -152,13 +176,20 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 					+", foundStart="+status.foundStart+", usedInLoop="+status.foundStart
 					+", !condUpdate="+!status.condUpdate+", !nonApplicable="+!status.nonApplicable+")");
 			}
-			return ret;
+			return ret ? status : null;
 		}
 		else if( LOG.isDebugEnabled() ) {
 			LOG.debug("Auto compression: false (dimsKnown="+hop.dimsKnown(true)
 				+ ", outOfCore="+outOfCore+", !ultraSparse="+!ultraSparse+")");
 		}
-		return false;
+		return null;
+	}
+	
+	private static ProbeStatus analyzeProgram(Hop hop, DMLProgram prog) {
+		ProbeStatus status = new ProbeStatus(hop.getHopID(), prog);
+		for( StatementBlock sb : prog.getStatementBlocks() )
+			rAnalyzeProgram(sb, status);
+		return status;
 	}
 	
 	private static void rAnalyzeProgram(StatementBlock sb, ProbeStatus status) 
@@ -172,8 +203,11 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 		else if(sb instanceof WhileStatementBlock) {
 			WhileStatementBlock wsb = (WhileStatementBlock) sb;
 			WhileStatement wstmt = (WhileStatement)wsb.getStatement(0);
+			double weight = status.weight;
+			status.weight *= DEFAULT_NUM_ITER;
 			for (StatementBlock csb : wstmt.getBody())
 				rAnalyzeProgram(csb, status);
+			status.weight = weight;
 			if( wsb.variablesRead().containsAnyName(status.compMtx) )
 				status.usedInLoop = true;
 		}	
@@ -190,8 +224,11 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 		else if(sb instanceof ForStatementBlock) { //incl parfor
 			ForStatementBlock fsb = (ForStatementBlock) sb;
 			ForStatement fstmt = (ForStatement)fsb.getStatement(0);
+			double weight = status.weight;
+			status.weight *= Math.max(OptimizerUtils.getNumIterations(fsb, DEFAULT_NUM_ITER), 1);
 			for (StatementBlock csb : fstmt.getBody())
 				rAnalyzeProgram(csb, status);
+			status.weight = weight;
 			if( fsb.variablesRead().containsAnyName(status.compMtx) )
 				status.usedInLoop = true;
 		}
@@ -233,26 +270,43 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 			
 			FunctionOp fop = (FunctionOp) current;
 			String fkey = fop.getFunctionKey();
-			if( !status.procFn.contains(fkey) ) {
-				//memoization to avoid redundant analysis and recursive calls
-				status.procFn.add(fkey);
+			FunctionStatementBlock fsb = status.prog.getFunctionStatementBlock(fkey);
+			FunctionStatement fstmt = (FunctionStatement) fsb.getStatement(0);
+			FunctionProbe fprobe = status.procFn.get(fkey);
+			if( fprobe == null ) {
+				//memoization to avoid redundant analysis and recursive calls,
+				//where the function is analyzed once with unit weight
+				fprobe = new FunctionProbe();
+				status.procFn.put(fkey, fprobe);
 				//map inputs to function inputs
-				FunctionStatementBlock fsb = status.prog.getFunctionStatementBlock(fkey);
-				FunctionStatement fstmt = (FunctionStatement) fsb.getStatement(0);
 				ProbeStatus status2 = new ProbeStatus(status);
+				status2.weight = 1;
+				status2.workload = fprobe.workload;
 				for(int i=0; i<fop.getInput().size(); i++)
 					if( status.compMtx.contains(getTmpName(fop.getInput().get(i))) )
 						status2.compMtx.add(fstmt.getInputParams().get(i).getName());
-				//analyze function and merge meta info
+				//analyze function and keep meta info
 				rAnalyzeProgram(fsb, status2);
-				status.foundStart |= status2.foundStart;
-				status.usedInLoop |= status2.usedInLoop;
-				status.condUpdate |= status2.condUpdate;
-				status.nonApplicable |= status2.nonApplicable;
+				fprobe.foundStart = status2.foundStart;
+				fprobe.usedInLoop = status2.usedInLoop;
+				fprobe.condUpdate = status2.condUpdate;
+				fprobe.nonApplicable = status2.nonApplicable;
+				for( int i=0; i<fstmt.getOutputParams().size(); i++ )
+					fprobe.compOut.add(status2.compMtx.contains(fstmt.getOutputParams().get(i).getName()));
+				fprobe.done = true;
+			}
+			//merge meta info and workload (scaled by the frequency of this call site),
+			//except for recursive calls of functions that are still being analyzed
+			if( fprobe.done ) {
+				status.foundStart |= fprobe.foundStart;
+				status.usedInLoop |= fprobe.usedInLoop;
+				status.condUpdate |= fprobe.condUpdate;
+				status.nonApplicable |= fprobe.nonApplicable;
+				status.workload.add(fprobe.workload, status.weight);
 				//map function outputs to outputs
 				String[] outputs = fop.getOutputVariableNames();
 				for( int i=0; i<outputs.length; i++ )
-					if( status2.compMtx.contains(fstmt.getOutputParams().get(i).getName()) )
+					if( fprobe.compOut.get(i) )
 						status.compMtx.add(outputs[i]);
 			}
 		}
@@ -281,11 +335,40 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 			status.nonApplicable |= !(compUCOut || compCOut || metaOp);
 			if( compCOut )
 				status.compMtx.add(getTmpName(current));
+			
+			//collect workload summary
+			WorkloadOp op = metaOp ? null : getWorkloadOp(current, status);
+			if( op != null )
+				status.workload.add(op, status.weight);
 		}
 		
 		current.setVisited();
 	}
 	
+	private static WorkloadOp getWorkloadOp(Hop current, ProbeStatus status) {
+		if( current instanceof AggBinaryOp ) {
+			if( ((AggBinaryOp)current).checkTransposeSelf() != MMTSJType.NONE )
+				return WorkloadOp.TSMM;
+			else if( status.compMtx.contains(getTmpName(current.getInput().get(0))) )
+				return (current.getDim2() == 1) ? WorkloadOp.MV : WorkloadOp.MM;
+			else
+				return (current.getDim1() == 1) ? WorkloadOp.VM : WorkloadOp.MM;
+		}
+		else if( HopRewriteUtils.isTransposeOperation(current) ) {
+			//t(X) %*% Y executed as left matrix multiplication (tsmm handled above)
+			Hop parent = current.getParent().isEmpty() ? null : current.getParent().get(0);
+			if( parent instanceof AggBinaryOp && parent.getInput().get(0) == current
+				&& ((AggBinaryOp)parent).checkTransposeSelf() == MMTSJType.NONE )
+				return (parent.getDim2() == 1) ? WorkloadOp.VM : WorkloadOp.MM;
+			return null;
+		}
+		else if( current instanceof IndexingOp )
+			return WorkloadOp.SLICE;
+		else if( current instanceof UnaryOp || current instanceof BinaryOp )
+			return WorkloadOp.CELLWISE;
+		return null;
+	}
+	
 	private static String getTmpName(Hop hop) {
 		return TMP_PREFIX + hop.getHopID();
 	}
@@ -306,7 +389,9 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 		private boolean usedInLoop = false;
 		private boolean condUpdate = false;
 		private boolean nonApplicable = false;
-		private HashSet<String> procFn = new HashSet<>();
+		private double weight = 1;
+		private CompressionWorkload workload = new CompressionWorkload();
+		private HashMap<String, FunctionProbe> procFn = new HashMap<>();
 		private HashSet<String> compMtx = new HashSet<>();
 		public ProbeStatus(long hopID, DMLProgram p) {
 			startHopID = hopID;
@@ -319,7 +404,19 @@ public class RewriteCompressedReblock extends StatementBlockRewriteRule
 			usedInLoop = status.usedInLoop;
 			condUpdate = status.condUpdate;
 			nonApplicable = status.nonApplicable;
-			procFn.addAll(status.procFn);
+			weight = status.weight;
+			workload = status.workload;
+			procFn = status.procFn;
 		}
 	}
+	
+	private static class FunctionProbe {
+		private boolean done = false;
+		private boolean foundStart = false;
+		private boolean usedInLoop = false;
+		private boolean condUpdate = false;
+		private boolean nonApplicable = false;
+		private final CompressionWorkload workload = new CompressionWorkload();
+		private final ArrayList<Boolean> compOut = new ArrayList<>();
+	}
 }
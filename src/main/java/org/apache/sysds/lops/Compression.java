@@ -22,6 +22,7 @@ package org.apache.sysds.lops;
 import org.apache.sysds.lops.LopProperties.ExecType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
 
 public class Compression extends Lop 
 {
@@ -36,8 +37,11 @@ public class Compression extends Lop
 		}
 	}
 	
-	public Compression(Lop input, DataType dt, ValueType vt, ExecType et) {
+	private final CompressionWorkload _workload;
+	
+	public Compression(Lop input, DataType dt, ValueType vt, ExecType et, CompressionWorkload workload) {
 		super(Lop.Type.Checkpoint, dt, vt);
+		_workload = workload;
 		addInput(input);
 		input.addOutput(this);
 		lps.setProperties(inputs, et);
@@ -58,6 +62,10 @@ public class Compression extends Lop
 		sb.append( getInputs().get(0).prepInputOperand(input1));
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( prepOutputOperand(output));
+		if( _workload != null && !_workload.isEmpty() ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _workload.toString() );
+		}
 		return sb.toString();
 	}
 }
@@ -26,10 +26,13 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.IJV;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix block. There are subclasses specific to
@@ -44,7 +47,10 @@ public abstract class ColGroup implements Serializable {
 		RLE_BITMAP, // RLE bitmap
 		OLE_BITMAP, // OLE bitmap
 		DDC1, // DDC 1 byte
-		DDC2; // DDC 2 byte
+		DDC2, // DDC 2 byte
+		SDC, // sparse default value, exceptions w/ 2 byte codes
+		CONST, // single value tuple
+		EMPTY; // all zeros
 	}
 
 	/**
@@ -163,6 +169,46 @@ public abstract class ColGroup implements Serializable {
 	 */
 	public abstract void decompressToBlock(MatrixBlock target, int colpos);
 
+	/**
+	 * Decompress a row range of this column group into the specified matrix block, where the row rl of this column
+	 * group is written to the first row of the target. Zero values are not appended.
+	 *
+	 * @param target a matrix block of at least ru-rl rows, where the columns covered by this column group have not yet
+	 *               been filled in.
+	 * @param rl     row lower index, inclusive
+	 * @param ru     row upper index, exclusive
+	 */
+	public abstract void decompressRowsToBlock(MatrixBlock target, int rl, int ru);
+
+	/**
+	 * Slice a column range of this column group, without decompression. The column indexes of the returned column group
+	 * are relative to cl, and the compressed representation (codes, bitmaps) is shared with this column group.
+	 *
+	 * @param cl column lower index, inclusive
+	 * @param cu column upper index, inclusive
+	 * @return column group over the selected columns, or null if this column group does not overlap the range
+	 */
+	public abstract ColGroup sliceColumns(int cl, int cu);
+
+	/**
+	 * Obtain the positions of the columns of this column group that fall into the given column range.
+	 *
+	 * @param cl column lower index, inclusive
+	 * @param cu column upper index, inclusive
+	 * @return positions in the column indexes of this column group
+	 */
+	protected int[] getColumnPositions(int cl, int cu) {
+		int len = 0;
+		for(int j = 0; j < _colIndexes.length; j++)
+			if(_colIndexes[j] >= cl && _colIndexes[j] <= cu)
+				len++;
+		int[] ret = new int[len];
+		for(int j = 0, pos = 0; j < _colIndexes.length; j++)
+			if(_colIndexes[j] >= cl && _colIndexes[j] <= cu)
+				ret[pos++] = j;
+		return ret;
+	}
+
 	/**
 	 * Serializes column group to data output.
 	 * 
@@ -236,6 +282,40 @@ public abstract class ColGroup implements Serializable {
 	 */
 	public abstract void leftMultByRowVector(MatrixBlock vector, MatrixBlock result);
 
+	/**
+	 * Pre-aggregates this column group with a matrix on the right, once per matrix multiplication. The result is
+	 * shared by all row partitions of {@link #rightMultByMatrix(MatrixBlock, double[], MatrixBlock, int, int)}.
+	 *
+	 * @param matrix right-hand operand of size ncol x k, where ncol is the number of columns of the entire block
+	 * @return pre-aggregate, or null if this column group does not use a pre-aggregate
+	 */
+	public double[] preaggRightMult(MatrixBlock matrix) {
+		return null;
+	}
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a matrix on the right. The result is a
+	 * dense accumulator of size nrow x k, to which the partial results of this column group are added.
+	 *
+	 * @param matrix right-hand operand of size ncol x k, where ncol is the number of columns of the entire block
+	 * @param preagg pre-aggregate obtained from {@link #preaggRightMult(MatrixBlock)} for the same matrix
+	 * @param result dense accumulator for holding the result
+	 * @param rl     row lower index, inclusive
+	 * @param ru     row upper index, exclusive
+	 */
+	public abstract void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru);
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a matrix on the left. The result is a
+	 * dense block of size m x ncol, whose columns of this column group are written by this operation.
+	 *
+	 * @param matrix left-hand operand of size m x nrow
+	 * @param result dense output for holding the result
+	 * @param rl     row lower index of the left-hand operand, inclusive
+	 * @param ru     row upper index of the left-hand operand, exclusive
+	 */
+	public abstract void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru);
+
 	/**
 	 * Perform the specified scalar operation directly on the compressed column group, without decompressing individual
 	 * cells if possible.
@@ -245,6 +325,48 @@ public abstract class ColGroup implements Serializable {
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op);
 
+	/**
+	 * Perform the specified cell-wise unary operation directly on the compressed column group, without decompressing
+	 * individual cells if possible.
+	 * 
+	 * @param op operation to perform
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op);
+
+	/**
+	 * Perform the specified binary operation with a row vector on the right directly on the compressed column group,
+	 * without decompressing individual cells if possible.
+	 * 
+	 * @param op operation to perform
+	 * @param v  dense row vector of the size of the number of columns of the entire block
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup binaryRowOp(BinaryOperator op, double[] v);
+
+	/**
+	 * Perform the specified binary operation with a column vector on the right for a row range of this column group,
+	 * and write the results into the columns of this column group in the dense target. By default, the row range is
+	 * decompressed into the target and the operation is applied in-place, to be overwritten for direct computation
+	 * from the value dictionary.
+	 * 
+	 * @param op     operation to perform
+	 * @param v      dense column vector of the size of the number of rows
+	 * @param target dense output, where the columns covered by this column group have not yet been filled in
+	 * @param rl     row lower index, inclusive, aligned to the bitmap block size
+	 * @param ru     row upper index, exclusive
+	 */
+	public void binaryColOp(BinaryOperator op, double[] v, MatrixBlock target, int rl, int ru) {
+		decompressToBlock(target, rl, ru);
+		DenseBlock c = target.getDenseBlock();
+		for(int i = rl; i < ru; i++) {
+			double[] cvals = c.values(i);
+			int cpos = c.pos(i);
+			for(int col : _colIndexes)
+				cvals[cpos + col] = op.fn.execute(cvals[cpos + col], v[i]);
+		}
+	}
+
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result);
 
 	/**
@@ -277,6 +399,21 @@ public abstract class ColGroup implements Serializable {
 	 */
 	protected abstract void countNonZerosPerRow(int[] rnnz, int rl, int ru);
 
+	/**
+	 * Count the number of non-zeros of this column group. By default, via the non-zeros per row, to be overwritten
+	 * for counting from compressed metadata.
+	 * 
+	 * @return number of non-zeros
+	 */
+	public long getNumberNonZeros() {
+		int[] rnnz = new int[getNumRows()];
+		countNonZerosPerRow(rnnz, 0, getNumRows());
+		long nnz = 0;
+		for(int i = 0; i < rnnz.length; i++)
+			nnz += rnnz[i];
+		return nnz;
+	}
+
 	/**
 	 * Base class for column group row iterators. We do not implement the default Iterator interface in order to avoid
 	 * unnecessary value copies per group.
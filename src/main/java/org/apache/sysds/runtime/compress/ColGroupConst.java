@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.utils.ConverterUtils;
+import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.KahanFunction;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Class to encapsulate information about a column group where all rows take the same value tuple. Only this single
+ * value tuple is stored, which is interpreted as a DDC group whose code is zero for all rows.
+ */
+public class ColGroupConst extends ColGroupDDC {
+	private static final long serialVersionUID = -7387793538322386611L;
+
+	public ColGroupConst() {
+		super();
+	}
+
+	public ColGroupConst(int[] colIndices, int numRows, UncompressedBitmap ubm) {
+		super(colIndices, numRows, ubm);
+	}
+
+	public ColGroupConst(int[] colIndices, int numRows, double[] values) {
+		super(colIndices, numRows, values);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.CONST;
+	}
+
+	@Override
+	protected double getData(int r) {
+		return _values[0];
+	}
+
+	@Override
+	protected double getData(int r, int colIx) {
+		return _values[colIx];
+	}
+
+	@Override
+	protected void setData(int r, int code) {
+		throw new DMLRuntimeException("Constant column groups do not store codes.");
+	}
+
+	@Override
+	protected int getCode(int r) {
+		return 0;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		int numCols = getNumCols();
+		out.writeInt(_numRows);
+		out.writeInt(numCols);
+
+		// write col indices
+		for(int i = 0; i < _colIndexes.length; i++)
+			out.writeInt(_colIndexes[i]);
+
+		// write value tuple
+		for(int i = 0; i < numCols; i++)
+			out.writeDouble(_values[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+
+		// read col indices
+		_colIndexes = new int[numCols];
+		for(int i = 0; i < numCols; i++)
+			_colIndexes[i] = in.readInt();
+
+		// read value tuple
+		_values = new double[numCols];
+		for(int i = 0; i < numCols; i++)
+			_values[i] = in.readDouble();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 8; // header
+		// col indices
+		ret += 4 * _colIndexes.length;
+		// value tuple
+		ret += 8 * _values.length;
+
+		return ret;
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		int ncol = getNumCols();
+		for(int i = rl; i < ru; i++)
+			for(int j = 0; j < ncol; j++)
+				target.appendValue(i, _colIndexes[j], _values[j]);
+		// note: append ok because final sort per row
+	}
+
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		int ncol = getNumCols();
+		for(int i = rl; i < ru; i++)
+			for(int j = 0; j < ncol; j++)
+				target.appendValue(i - rl, _colIndexes[j], _values[j]);
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		int nrow = getNumRows();
+		double[] c = target.getDenseBlockValues();
+		Arrays.fill(c, 0, nrow, _values[colpos]);
+		target.setNonZeros((_values[colpos] != 0) ? nrow : 0);
+	}
+
+	@Override
+	public int[] getCounts(int[] counts) {
+		return getCounts(0, getNumRows(), counts);
+	}
+
+	@Override
+	public int[] getCounts(int rl, int ru, int[] counts) {
+		counts[0] = ru - rl;
+		return counts;
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		int lnnz = 0;
+		for(int j = 0; j < getNumCols(); j++)
+			lnnz += (_values[j] != 0) ? 1 : 0;
+		for(int i = rl; i < ru; i++)
+			rnnz[i - rl] += lnnz;
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+
+		// dot product of the value tuple and the relevant rhs values
+		double val = 0;
+		for(int j = 0; j < getNumCols(); j++)
+			val += _values[j] * b[_colIndexes[j]];
+
+		// add to all rows of the output
+		for(int i = rl; i < ru; i++)
+			c[i] += val;
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+
+		// aggregate all inputs and post-scale with the value tuple
+		double[] vals = allocDVector(1, true);
+		for(int i = 0; i < nrow; i++)
+			vals[0] += a[i];
+		postScaling(vals, c);
+	}
+
+	@Override
+	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+
+		// aggregate all inputs and post-scale with the value tuple
+		double[] vals = allocDVector(1, true);
+		for(int i = 0; i < nrow; i++)
+			vals[0] += a.getData(i);
+		postScaling(vals, c);
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		DenseBlock c = result.getDenseBlock();
+		final int k = matrix.getNumColumns();
+
+		// add the pre-multiplied value tuple (1 x k) to all rows
+		for(int i = rl; i < ru; i++)
+			LinearAlgebraUtils.vectAdd(preagg, c.values(i), 0, c.pos(i), k);
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int clen = result.getNumColumns();
+		if(matrix.isEmptyBlock(false))
+			return;
+
+		// aggregate each row of the left-hand side and post-scale with the value tuple
+		double[] vals = new double[1];
+		for(int r = rl; r < ru; r++) {
+			vals[0] = 0;
+			if(matrix.isInSparseFormat()) {
+				SparseBlock sa = matrix.getSparseBlock();
+				if(sa.isEmpty(r))
+					continue;
+				int apos = sa.pos(r);
+				int alen = sa.size(r);
+				double[] avals = sa.values(r);
+				for(int j = apos; j < apos + alen; j++)
+					vals[0] += avals[j];
+			}
+			else {
+				DenseBlock da = matrix.getDenseBlock();
+				double[] avals = da.values(r);
+				int apos = da.pos(r);
+				for(int i = 0; i < nrow; i++)
+					vals[0] += avals[apos + i];
+			}
+			postScaling(vals, c, r * clen);
+		}
+	}
+
+	@Override
+	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+		for(int j = 0; j < getNumCols(); j++)
+			kplus.execute3(kbuff, _values[j], _numRows);
+
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+
+	@Override
+	protected void computeColSums(MatrixBlock result, KahanFunction kplus) {
+		KahanObject kbuff = new KahanObject(0, 0);
+		for(int j = 0; j < getNumCols(); j++) {
+			kbuff.set(result.quickGetValue(0, _colIndexes[j]), result.quickGetValue(1, _colIndexes[j]));
+			kplus.execute3(kbuff, _values[j], _numRows);
+			result.quickSetValue(0, _colIndexes[j], kbuff._sum);
+			result.quickSetValue(1, _colIndexes[j], kbuff._correction);
+		}
+	}
+
+	@Override
+	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		// note: due to corrections the output might be a large dense block
+		DenseBlock c = result.getDenseBlock();
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
+
+		// pre-aggregate the value tuple and add to all rows
+		double val = sumValues(0, kplus, kbuff);
+		for(int i = rl; i < ru; i++) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			kbuff.set(cvals[cix], cvals[cix + 1]);
+			kplus2.execute2(kbuff, val);
+			cvals[cix] = kbuff._sum;
+			cvals[cix + 1] = kbuff._correction;
+		}
+	}
+
+	@Override
+	protected void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		double val = mxxValues(0, builtin);
+		for(int i = rl; i < ru; i++)
+			c[i] = builtin.execute(c[i], val);
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		return new ColGroupConst(_colIndexes, _numRows, applyScalarOp(op));
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		return new ColGroupConst(_colIndexes, _numRows, applyUnaryOp(op));
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		return new ColGroupConst(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v, false));
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		return new ColGroupConst(colIndices, _numRows, values);
+	}
+}
@@ -22,6 +22,10 @@ package org.apache.sysds.runtime.compress;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
@@ -34,6 +38,7 @@ import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.IJV;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with dense dictionary encoding (DDC).
@@ -56,6 +61,35 @@ public abstract class ColGroupDDC extends ColGroupValue {
 		super(colIndices, numRows, values);
 	}
 
+	/**
+	 * Creates a DDC column group from a given dictionary and dictionary codes per row, which allows encoders to
+	 * construct compressed column groups without an uncompressed intermediate.
+	 * 
+	 * @param colIndices column indexes of the new column group
+	 * @param numRows    number of rows
+	 * @param values     linearized dictionary of value tuples
+	 * @param codes      zero-based dictionary codes per row
+	 * @return DDC1 column group for up to 255 distinct tuples, otherwise DDC2 column group
+	 */
+	public static ColGroupDDC create(int[] colIndices, int numRows, double[] values, int[] codes) {
+		final int numVals = values.length / colIndices.length;
+		if(numVals > Character.MAX_VALUE - 1)
+			throw new DMLRuntimeException("Too many distinct values for DDC encoding: " + numVals);
+
+		if(numVals <= 255) {
+			byte[] data = new byte[numRows];
+			for(int i = 0; i < numRows; i++)
+				data[i] = (byte) codes[i];
+			return new ColGroupDDC1(colIndices, numRows, values, data);
+		}
+		else {
+			char[] data = new char[numRows];
+			for(int i = 0; i < numRows; i++)
+				data[i] = (char) codes[i];
+			return new ColGroupDDC2(colIndices, numRows, values, data);
+		}
+	}
+
 	@Override
 	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
 		for(int i = rl; i < ru; i++) {
@@ -90,6 +124,17 @@ public abstract class ColGroupDDC extends ColGroupValue {
 		}
 	}
 
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		final int ncol = getNumCols();
+		for(int i = rl; i < ru; i++) {
+			int off = getCode(i) * ncol;
+			for(int j = 0; j < ncol; j++)
+				if(_values[off + j] != 0)
+					target.appendValue(i - rl, _colIndexes[j], _values[off + j]);
+		}
+	}
+
 	@Override
 	public double get(int r, int c) {
 		// find local column index
@@ -194,16 +239,64 @@ public abstract class ColGroupDDC extends ColGroupValue {
 				c[i] = builtin.execute(c[i], getData(i, j));
 	}
 
-	protected final void postScaling(double[] vals, double[] c) {
+	@Override
+	public void binaryColOp(BinaryOperator op, double[] v, MatrixBlock target, int rl, int ru) {
+		DenseBlock c = target.getDenseBlock();
 		final int ncol = getNumCols();
-		final int numVals = getNumValues();
 
-		for(int k = 0, valOff = 0; k < numVals; k++, valOff += ncol) {
-			double aval = vals[k];
-			for(int j = 0; j < ncol; j++) {
-				int colIx = _colIndexes[j];
-				c[colIx] += aval * _values[valOff + j];
+		// fused decompression and operation over the value tuple per code
+		for(int i = rl; i < ru; i++) {
+			double[] cvals = c.values(i);
+			int cpos = c.pos(i);
+			int off = getCode(i) * ncol;
+			for(int j = 0; j < ncol; j++)
+				cvals[cpos + _colIndexes[j]] = op.fn.execute(_values[off + j], v[i]);
+		}
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		DenseBlock c = result.getDenseBlock();
+		final int k = matrix.getNumColumns();
+
+		// scatter entire rows of the pre-aggregate (numVals x k) per code
+		for(int i = rl; i < ru; i++)
+			LinearAlgebraUtils.vectAdd(preagg, c.values(i), getCode(i) * k, c.pos(i), k);
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int clen = result.getNumColumns();
+		final int numVals = getNumValues();
+		if(matrix.isEmptyBlock(false))
+			return;
+
+		// gather inputs per code for each row of the left-hand side,
+		// and post-scale the pre-aggregate with the distinct values
+		double[] vals = new double[numVals];
+		for(int r = rl; r < ru; r++) {
+			Arrays.fill(vals, 0);
+			if(matrix.isInSparseFormat()) {
+				SparseBlock sa = matrix.getSparseBlock();
+				if(sa.isEmpty(r))
+					continue;
+				int apos = sa.pos(r);
+				int alen = sa.size(r);
+				int[] aix = sa.indexes(r);
+				double[] avals = sa.values(r);
+				for(int j = apos; j < apos + alen; j++)
+					vals[getCode(aix[j])] += avals[j];
+			}
+			else {
+				DenseBlock da = matrix.getDenseBlock();
+				double[] avals = da.values(r);
+				int apos = da.pos(r);
+				for(int i = 0; i < nrow; i++)
+					vals[getCode(i)] += avals[apos + i];
 			}
+			postScaling(vals, c, r * clen);
 		}
 	}
 
@@ -23,15 +23,17 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import org.apache.sysds.runtime.compress.utils.ConverterUtils;
+import org.apache.sysds.runtime.compress.utils.DoubleIntHashMap;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with dense dictionary encoding (DDC) using 1
@@ -111,12 +113,12 @@ public class ColGroupDDC1 extends ColGroupDDC {
 		return(_data[r] & 0xFF);
 	}
 
-	public void recodeData(HashMap<Double, Integer> map) {
+	public void recodeData(DoubleIntHashMap map) {
 		// prepare translation table
 		final int numVals = getNumValues();
 		byte[] lookup = new byte[numVals];
 		for(int k = 0; k < numVals; k++)
-			lookup[k] = map.get(_values[k]).byteValue();
+			lookup[k] = (byte) map.get(_values[k]);
 
 		// recode the data
 		for(int i = 0; i < _numRows; i++)
@@ -422,4 +424,22 @@ public class ColGroupDDC1 extends ColGroupDDC {
 		// as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		// fast path: sparse-safe and -unsafe operations
+		// as zero are represented, it is sufficient to simply apply the unary op
+		return new ColGroupDDC1(_colIndexes, _numRows, applyUnaryOp(op), _data);
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// as zero are represented, it is sufficient to transform the values per column
+		return new ColGroupDDC1(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v, false), _data);
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		return new ColGroupDDC1(colIndices, _numRows, values, _data);
+	}
 }
@@ -30,7 +30,9 @@ import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with dense dictionary encoding (DDC) using 2
@@ -356,4 +358,22 @@ public class ColGroupDDC2 extends ColGroupDDC {
 		// as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		// fast path: sparse-safe and -unsafe operations
+		// as zero are represented, it is sufficient to simply apply the unary op
+		return new ColGroupDDC2(_colIndexes, _numRows, applyUnaryOp(op), _data);
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// as zero are represented, it is sufficient to transform the values per column
+		return new ColGroupDDC2(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v, false), _data);
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		return new ColGroupDDC2(colIndices, _numRows, values, _data);
+	}
 }
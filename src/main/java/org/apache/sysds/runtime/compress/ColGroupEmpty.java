@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Class to encapsulate information about a column group of columns that only contain zeros. Neither values nor
+ * offsets are stored, and operations that map zero to a non-zero value produce a constant column group.
+ */
+public class ColGroupEmpty extends ColGroupValue {
+	private static final long serialVersionUID = 3204391661346504271L;
+
+	public ColGroupEmpty() {
+		super();
+	}
+
+	public ColGroupEmpty(int[] colIndices, int numRows) {
+		super(colIndices, numRows, new double[0]);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.EMPTY;
+	}
+
+	@Override
+	public MatrixBlock getValuesAsBlock() {
+		// single zero value
+		return new MatrixBlock(1, 1, false);
+	}
+
+	@Override
+	public int[] getCounts(boolean inclZeros) {
+		return inclZeros ? new int[] {getNumRows()} : new int[0];
+	}
+
+	@Override
+	public int[] getCounts(int[] out) {
+		return out;
+	}
+
+	@Override
+	public int[] getCounts(int rl, int ru, int[] out) {
+		return out;
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		// empty group, nothing to add to output
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
+		// empty group, nothing to add to output
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		double[] c = target.getDenseBlockValues();
+		Arrays.fill(c, 0, getNumRows(), 0);
+		target.setNonZeros(0);
+	}
+
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		// empty group, nothing to add to output
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_numRows);
+		out.writeInt(getNumCols());
+
+		// write col indices
+		for(int i = 0; i < _colIndexes.length; i++)
+			out.writeInt(_colIndexes[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+
+		// read col indices
+		_colIndexes = new int[numCols];
+		for(int i = 0; i < numCols; i++)
+			_colIndexes[i] = in.readInt();
+		_values = new double[0];
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 8; // header
+		// col indices
+		ret += 4 * _colIndexes.length;
+
+		return ret;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return 0;
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		// zero contribution to the output
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		// zero contribution to the output
+	}
+
+	@Override
+	public void leftMultByRowVector(ColGroupDDC vector, MatrixBlock result) {
+		// zero contribution to the output
+	}
+
+	@Override
+	public double[] preaggRightMult(MatrixBlock matrix) {
+		return null;
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		// zero contribution to the output
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		// zero contribution to the output
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		double val0 = op.executeScalar(0);
+		return createGroup(_colIndexes, _numRows, constantTuple(val0));
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		double val0 = op.fn.execute(0);
+		return createGroup(_colIndexes, _numRows, constantTuple(val0));
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		double[] tuple = new double[getNumCols()];
+		for(int j = 0; j < tuple.length; j++)
+			tuple[j] = op.fn.execute(0, v[_colIndexes[j]]);
+		return createGroup(_colIndexes, _numRows, tuple);
+	}
+
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru) {
+		// sum and sumsq of zeros, as well as row min/max (zeros handled for all column groups outside)
+		// have no contribution, hence only handle min and max over all rows
+		if(op.aggOp.increOp.fn instanceof Builtin &&
+			(((Builtin) op.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MAX ||
+				((Builtin) op.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MIN)) {
+			Builtin builtin = (Builtin) op.aggOp.increOp.fn;
+
+			if(op.indexFn instanceof ReduceAll)
+				computeMxx(result, builtin, true);
+			else if(op.indexFn instanceof ReduceRow)
+				computeColMxx(result, builtin, true);
+		}
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros, boolean rowMajor) {
+		return new EmptyIterator(rl, inclZeros ? ru : rl);
+	}
+
+	@Override
+	public ColGroupRowIterator getRowIterator(int rl, int ru) {
+		return new EmptyRowIterator();
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		// no non-zeros
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		return new ColGroupEmpty(colIndices, _numRows);
+	}
+
+	private double[] constantTuple(double val) {
+		double[] ret = new double[getNumCols()];
+		Arrays.fill(ret, val);
+		return ret;
+	}
+
+	/**
+	 * Creates an empty or constant column group for the given value tuple.
+	 *
+	 * @param colIndices column indexes of the new column group
+	 * @param numRows    number of rows
+	 * @param tuple      value tuple of all rows
+	 * @return empty column group if all values are zero, otherwise a constant column group
+	 */
+	private static ColGroup createGroup(int[] colIndices, int numRows, double[] tuple) {
+		for(double val : tuple)
+			if(val != 0)
+				return new ColGroupConst(colIndices, numRows, tuple);
+		return new ColGroupEmpty(colIndices, numRows);
+	}
+
+	private class EmptyIterator implements Iterator<IJV> {
+		// iterator configuration
+		private final int _ru;
+
+		// iterator state
+		private final IJV _buff = new IJV();
+		private int _rpos;
+		private int _cpos;
+
+		public EmptyIterator(int rl, int ru) {
+			_ru = ru;
+			_rpos = rl;
+			_cpos = 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return(_rpos < _ru);
+		}
+
+		@Override
+		public IJV next() {
+			_buff.set(_rpos, _colIndexes[_cpos], 0);
+			boolean nextRow = (_cpos + 1 >= getNumCols());
+			_rpos += nextRow ? 1 : 0;
+			_cpos = nextRow ? 0 : _cpos + 1;
+			return _buff;
+		}
+	}
+
+	private class EmptyRowIterator extends ColGroupRowIterator {
+		@Override
+		public void next(double[] buff, int rowIx, int segIx, boolean last) {
+			// do nothing, zeros are already set in the output row
+		}
+	}
+}
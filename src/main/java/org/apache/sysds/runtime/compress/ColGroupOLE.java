@@ -32,7 +32,9 @@ import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with simple lists of offsets for each set of
@@ -69,22 +71,6 @@ public class ColGroupOLE extends ColGroupOffset {
 
 		// compact bitmaps to linearized representation
 		createCompressedBitmaps(numVals, totalLen, lbitmaps);
-		// TODO FIX Skiplist properly... Had to move it out since L2SVM test crash in edge cases. Make Conditions Consistant, or move allocation outside.
-		_skiplist = new int[numVals];
-		if(LOW_LEVEL_OPT && CREATE_SKIPLIST && numRows > 2 * BitmapEncoder.BITMAP_BLOCK_SZ) {
-			int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
-			// _skiplist = new int[numVals];
-			int rl = (getNumRows() / 2 / blksz) * blksz;
-			for(int k = 0; k < numVals; k++) {
-				int boff = _ptr[k];
-				int blen = len(k);
-				int bix = 0;
-				for(int i = 0; i < rl && bix < blen; i += blksz) {
-					bix += _data[boff + bix] + 1;
-				}
-				_skiplist[k] = bix;
-			}
-		}
 
 		// debug output
 		double ucSize = MatrixBlock.estimateSizeDenseInMemory(numRows, colIndices.length);
@@ -99,6 +85,33 @@ public class ColGroupOLE extends ColGroupOffset {
 		_ptr = bitmapOffs;
 	}
 
+	/**
+	 * Creates an OLE column group from a given dictionary and the row offsets of each value tuple, which allows
+	 * encoders to construct compressed column groups without an uncompressed intermediate.
+	 * 
+	 * @param colIndices column indexes of the new column group
+	 * @param numRows    number of rows
+	 * @param values     linearized dictionary of non-zero value tuples
+	 * @param offsets    sorted row offsets per value tuple
+	 * @param lens       number of valid row offsets per value tuple
+	 * @return OLE column group
+	 */
+	public static ColGroupOLE create(int[] colIndices, int numRows, double[] values, int[][] offsets, int[] lens) {
+		final int numVals = offsets.length;
+		char[][] lbitmaps = new char[numVals][];
+		int totalLen = 0;
+		long numOffsets = 0;
+		for(int i = 0; i < numVals; i++) {
+			lbitmaps[i] = BitmapEncoder.genOffsetBitmap(offsets[i], lens[i]);
+			totalLen += lbitmaps[i].length;
+			numOffsets += lens[i];
+		}
+
+		ColGroupOLE ret = new ColGroupOLE(colIndices, numRows, numOffsets < numRows, values, null, null);
+		ret.createCompressedBitmaps(numVals, totalLen, lbitmaps);
+		return ret;
+	}
+
 	@Override
 	public CompressionType getCompType() {
 		return CompressionType.OLE_BITMAP;
@@ -138,6 +151,46 @@ public class ColGroupOLE extends ColGroupOffset {
 		}
 	}
 
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+
+		// skip to the segment of the row lower bound
+		final int bl = (rl / blksz) * blksz;
+		int[] apos = skipScan(numVals, bl);
+
+		// horizontal scans over the segments of the row range
+		for(int bi = bl; bi < ru; bi += blksz) {
+			for(int k = 0, off = 0; k < numVals; k++, off += numCols) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				int bix = apos[k];
+				if(bix >= blen)
+					continue;
+				int len = _data[boff + bix];
+				int pos = boff + bix + 1;
+				for(int i = pos; i < pos + len; i++) {
+					int rix = bi + _data[i];
+					if(rix < rl || rix >= ru)
+						continue;
+					for(int j = 0; j < numCols; j++)
+						if(_values[off + j] != 0)
+							target.appendValue(rix - rl, _colIndexes[j], _values[off + j]);
+				}
+				apos[k] += len + 1;
+			}
+		}
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		ColGroupOLE ret = new ColGroupOLE(colIndices, _numRows, _zeros, values, _data, _ptr);
+		ret._skiplist = _skiplist;
+		return ret;
+	}
+
 	@Override
 	public void decompressToBlock(MatrixBlock target, int[] colixTargets) {
 		if(LOW_LEVEL_OPT && getNumValues() > 1) {
@@ -272,6 +325,60 @@ public class ColGroupOLE extends ColGroupOffset {
 		return new ColGroupOLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// fast path: operations that map zeros to zeros for all columns
+		// Note that bitmaps don't change and are shallow-copied
+		if(isSparseSafeRowOp(op.fn, v)) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+
+		// slow path: sparse-unsafe operations (potentially create new bitmap)
+		// note: for efficiency, we currently don't drop values that become 0
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if(loff.length == 0) { // empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, true, applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+
+		double[] rvalues = applyBinaryRowOp(op.fn, v, true);
+		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length + lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length + 1);
+		rbitmapOffs[rbitmapOffs.length - 1] = rbitmaps.length;
+
+		return new ColGroupOLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		double val0 = op.fn.execute(0);
+
+		// fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if(op.sparseSafe || val0 == 0) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, applyUnaryOp(op), _data, _ptr);
+		}
+
+		// slow path: sparse-unsafe operations (potentially create new bitmap)
+		// note: for efficiency, we currently don't drop values that become 0
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if(loff.length == 0) { // empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, true, applyUnaryOp(op), _data, _ptr);
+		}
+
+		double[] rvalues = applyUnaryOp(op, val0, getNumCols());
+		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length + lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length + 1);
+		rbitmapOffs[rbitmapOffs.length - 1] = rbitmaps.length;
+
+		return new ColGroupOLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
+	}
+
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
 		double[] b = ConverterUtils.getDenseVector(vector);
@@ -424,6 +531,55 @@ public class ColGroupOLE extends ColGroupOffset {
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		DenseBlock c = result.getDenseBlock();
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int k = matrix.getNumColumns();
+		final int numVals = getNumValues();
+
+		// iterate over all values and their bitmaps
+		for(int v = 0, valOff = 0; v < numVals; v++, valOff += k) {
+			int boff = _ptr[v];
+			int blen = len(v);
+			int bix = 0;
+			int off = 0;
+			int slen = -1;
+
+			// scan to beginning offset if necessary
+			if(rl > 0) {
+				for(; bix < blen & off < rl; bix += slen + 1, off += blksz) {
+					slen = _data[boff + bix];
+				}
+			}
+
+			// scatter entire rows of the pre-aggregate per row offset
+			for(; bix < blen & off < ru; bix += slen + 1, off += blksz) {
+				slen = _data[boff + bix];
+				for(int blckIx = 1; blckIx <= slen; blckIx++) {
+					int i = off + _data[boff + bix + blckIx];
+					LinearAlgebraUtils.vectAdd(preagg, c.values(i), valOff, c.pos(i), k);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void preaggRowValues(double[] a, int ai, double[] vals) {
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+
+		// iterate over all values and their bitmaps
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			double vsum = 0;
+			for(int bix = 0, off = ai; bix < blen; bix += _data[boff + bix] + 1, off += blksz)
+				vsum += LinearAlgebraUtils.vectSum(a, _data, off, boff + bix + 1, _data[boff + bix]);
+			vals[k] = vsum;
+		}
+	}
+
 	@Override
 	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
 		// note: this method is only applicable for numrows < blocksize
@@ -686,21 +842,10 @@ public class ColGroupOLE extends ColGroupOffset {
 	 */
 	private int[] skipScan(int numVals, int rl) {
 		int[] ret = allocIVector(numVals, rl == 0);
-		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 
 		if(rl > 0) { // rl aligned with blksz
-			int rskip = (getNumRows() / 2 / blksz) * blksz;
-
-			for(int k = 0; k < numVals; k++) {
-				int boff = _ptr[k];
-				int blen = len(k);
-				int start = (rl >= rskip) ? rskip : 0;
-				int bix = (rl >= rskip) ? _skiplist[k] : 0;
-				for(int i = start; i < rl && bix < blen; i += blksz) {
-					bix += _data[boff + bix] + 1;
-				}
-				ret[k] = bix;
-			}
+			for(int k = 0; k < numVals; k++)
+				ret[k] = skipScanVal(k, rl);
 		}
 
 		return ret;
@@ -710,11 +855,16 @@ public class ColGroupOLE extends ColGroupOffset {
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 
 		if(rl > 0) { // rl aligned with blksz
-			int rskip = (getNumRows() / 2 / blksz) * blksz;
 			int boff = _ptr[k];
 			int blen = len(k);
-			int start = (rl >= rskip) ? rskip : 0;
-			int bix = (rl >= rskip) ? _skiplist[k] : 0;
+			int start = 0;
+			int bix = 0;
+			// direct lookup of the segment position in the skip list
+			if(CREATE_SKIPLIST && rl >= blksz) {
+				int seg = getSegment(rl);
+				start = seg * blksz;
+				bix = getSkipList()[k * getNumSegments() + seg];
+			}
 			for(int i = start; i < rl && bix < blen; i += blksz) {
 				bix += _data[boff + bix] + 1;
 			}
@@ -724,6 +874,27 @@ public class ColGroupOLE extends ColGroupOffset {
 		return 0;
 	}
 
+	@Override
+	protected int[] createSkipList() {
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		final int nseg = getNumSegments();
+
+		// position of the segment header per value and segment
+		int[] ret = new int[numVals * nseg];
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int bix = 0;
+			for(int s = 0, off = k * nseg; s < nseg; s++) {
+				ret[off + s] = bix;
+				if(bix < blen)
+					bix += _data[boff + bix] + 1;
+			}
+		}
+		return ret;
+	}
+
 	@Override
 	public Iterator<Integer> getIterator(int k) {
 		return new OLEValueIterator(k, 0, getNumRows());
@@ -27,6 +27,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 
 import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
@@ -60,7 +62,8 @@ public abstract class ColGroupOffset extends ColGroupValue {
 	protected char[] _data; // linearized bitmaps (variable length)
 	protected boolean _zeros; // contains zero values
 
-	protected int[] _skiplist;
+	/** Skip list of bitmap positions per value and segment, created on demand (see {@link #getSkipList()}). */
+	protected transient volatile int[] _skiplist;
 
 	public ColGroupOffset() {
 		super();
@@ -95,6 +98,47 @@ public abstract class ColGroupOffset extends ColGroupValue {
 		return _ptr[k + 1] - _ptr[k];
 	}
 
+	/**
+	 * Obtain the number of row segments of size {@link BitmapEncoder#BITMAP_BLOCK_SZ}, i.e., the number of entries per
+	 * value in the skip list.
+	 * 
+	 * @return number of row segments
+	 */
+	protected final int getNumSegments() {
+		return (getNumRows() - 1) / BitmapEncoder.BITMAP_BLOCK_SZ + 1;
+	}
+
+	/**
+	 * Obtain the row segment of the given row, bounded by the last segment.
+	 * 
+	 * @param r row index
+	 * @return row segment
+	 */
+	protected final int getSegment(int r) {
+		return Math.min(r / BitmapEncoder.BITMAP_BLOCK_SZ, getNumSegments() - 1);
+	}
+
+	/**
+	 * Obtain the skip list of this column group, which allows for direct lookups of the bitmap positions at the
+	 * boundaries of row segments. The skip list is created on first use, and shared by shallow copies with the same
+	 * bitmaps. Concurrent first uses might create it redundantly, but always publish an identical skip list.
+	 * 
+	 * @return skip list
+	 */
+	protected final int[] getSkipList() {
+		int[] ret = _skiplist;
+		if(ret == null)
+			_skiplist = ret = createSkipList();
+		return ret;
+	}
+
+	/**
+	 * Method for use by subclasses. Creates the skip list over the row segments of all values.
+	 * 
+	 * @return skip list
+	 */
+	protected abstract int[] createSkipList();
+
 	protected void createCompressedBitmaps(int numVals, int totalLen, char[][] lbitmaps) {
 		// compact bitmaps to linearized representation
 		_ptr = new int[numVals + 1];
@@ -223,17 +267,6 @@ public abstract class ColGroupOffset extends ColGroupValue {
 			LinearAlgebraUtils.vectMultiplyAdd(b[i], _values, c, off, 0, numVals);
 	}
 
-	protected final double mxxValues(int bitmapIx, Builtin builtin) {
-		final int numCols = getNumCols();
-		final int valOff = bitmapIx * numCols;
-		double val = (builtin
-			.getBuiltinCode() == BuiltinCode.MAX) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
-		for(int i = 0; i < numCols; i++)
-			val = builtin.execute(val, _values[valOff + i]);
-
-		return val;
-	}
-
 	public char[] getBitmaps() {
 		return _data;
 	}
@@ -371,6 +404,52 @@ public abstract class ColGroupOffset extends ColGroupValue {
 		}
 	}
 
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		final int clen = result.getNumColumns();
+		final int numVals = getNumValues();
+		if(matrix.isEmptyBlock(false))
+			return;
+
+		// aggregate each row of the left-hand side per distinct value,
+		// and post-scale the pre-aggregate with the distinct values
+		double[] vals = new double[numVals];
+		double[] tmp = matrix.isInSparseFormat() ? new double[getNumRows()] : null;
+		for(int r = rl; r < ru; r++) {
+			if(matrix.isInSparseFormat()) {
+				// scatter sparse row into dense temporary row
+				SparseBlock sa = matrix.getSparseBlock();
+				if(sa.isEmpty(r))
+					continue;
+				int apos = sa.pos(r);
+				int alen = sa.size(r);
+				int[] aix = sa.indexes(r);
+				double[] avals = sa.values(r);
+				for(int j = apos; j < apos + alen; j++)
+					tmp[aix[j]] = avals[j];
+				preaggRowValues(tmp, 0, vals);
+				for(int j = apos; j < apos + alen; j++)
+					tmp[aix[j]] = 0;
+			}
+			else {
+				DenseBlock da = matrix.getDenseBlock();
+				preaggRowValues(da.values(r), da.pos(r), vals);
+			}
+			postScaling(vals, c, r * clen);
+		}
+	}
+
+	/**
+	 * Aggregates a dense row of a left-hand side matrix per distinct value, i.e., sums up all cells at the row offsets
+	 * of each bitmap.
+	 * 
+	 * @param a    dense row values
+	 * @param ai   offset of the row in a
+	 * @param vals output pre-aggregate per distinct value
+	 */
+	protected abstract void preaggRowValues(double[] a, int ai, double[] vals);
+
 	protected abstract void computeSum(MatrixBlock result, KahanFunction kplus);
 
 	protected abstract void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru);
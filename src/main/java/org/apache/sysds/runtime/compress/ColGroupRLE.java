@@ -33,7 +33,9 @@ import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
 public class ColGroupRLE extends ColGroupOffset {
@@ -124,6 +126,39 @@ public class ColGroupRLE extends ColGroupOffset {
 		}
 	}
 
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+
+		// position and start offset arrays
+		int[] astart = new int[numVals];
+		int[] apos = skipScan(numVals, rl, astart);
+
+		// append the runs clipped to the row range
+		for(int k = 0, off = 0; k < numVals; k++, off += numCols) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int start = astart[k];
+			for(int bix = apos[k]; bix < blen & start < ru; bix += 2) {
+				start += _data[boff + bix];
+				int len = _data[boff + bix + 1];
+				for(int i = Math.max(rl, start); i < Math.min(start + len, ru); i++)
+					for(int j = 0; j < numCols; j++)
+						if(_values[off + j] != 0)
+							target.appendValue(i - rl, _colIndexes[j], _values[off + j]);
+				start += len;
+			}
+		}
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		ColGroupRLE ret = new ColGroupRLE(colIndices, _numRows, _zeros, values, _data, _ptr);
+		ret._skiplist = _skiplist;
+		return ret;
+	}
+
 	@Override
 	public void decompressToBlock(MatrixBlock target, int[] colixTargets) {
 		if(LOW_LEVEL_OPT && getNumValues() > 1) {
@@ -415,6 +450,67 @@ public class ColGroupRLE extends ColGroupOffset {
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		DenseBlock c = result.getDenseBlock();
+		final int k = matrix.getNumColumns();
+		final int numVals = getNumValues();
+
+		// iterate over all values and their runs
+		for(int v = 0, valOff = 0; v < numVals; v++, valOff += k) {
+			int boff = _ptr[v];
+			int blen = len(v);
+			int bix = 0;
+			int start = 0;
+
+			// scan to beginning offset if necessary
+			if(rl > 0) {
+				while(bix < blen) {
+					int lstart = _data[boff + bix]; // start
+					int llen = _data[boff + bix + 1]; // len
+					if(start + lstart + llen >= rl)
+						break;
+					start += lstart + llen;
+					bix += 2;
+				}
+			}
+
+			// scatter entire rows of the pre-aggregate per row of the runs
+			while(bix < blen) {
+				int lstart = _data[boff + bix];
+				int llen = _data[boff + bix + 1];
+				int from = Math.max(rl, start + lstart);
+				int to = Math.min(start + lstart + llen, ru);
+				for(int i = from; i < to; i++)
+					LinearAlgebraUtils.vectAdd(preagg, c.values(i), valOff, c.pos(i), k);
+				if(start + lstart + llen >= ru)
+					break;
+				start += lstart + llen;
+				bix += 2;
+			}
+		}
+	}
+
+	@Override
+	protected void preaggRowValues(double[] a, int ai, double[] vals) {
+		final int numVals = getNumValues();
+
+		// iterate over all values and their runs
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			double vsum = 0;
+			int curRunEnd = 0;
+			for(int bix = 0; bix < blen; bix += 2) {
+				int curRunStartOff = curRunEnd + _data[boff + bix];
+				int curRunLen = _data[boff + bix + 1];
+				vsum += LinearAlgebraUtils.vectSum(a, ai + curRunStartOff, curRunLen);
+				curRunEnd = curRunStartOff + curRunLen;
+			}
+			vals[k] = vsum;
+		}
+	}
+
 	@Override
 	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
 		// note: this method is only applicable for numrows < blocksize
@@ -471,6 +567,60 @@ public class ColGroupRLE extends ColGroupOffset {
 		return new ColGroupRLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// fast path: operations that map zeros to zeros for all columns
+		// Note that bitmaps don't change and are shallow-copied
+		if(isSparseSafeRowOp(op.fn, v)) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+
+		// slow path: sparse-unsafe operations (potentially create new bitmap)
+		// note: for efficiency, we currently don't drop values that become 0
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if(loff.length == 0) { // empty offset list: go back to fast path
+			return new ColGroupRLE(_colIndexes, _numRows, true, applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+
+		double[] rvalues = applyBinaryRowOp(op.fn, v, true);
+		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length + lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length + 1);
+		rbitmapOffs[rbitmapOffs.length - 1] = rbitmaps.length;
+
+		return new ColGroupRLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		double val0 = op.fn.execute(0);
+
+		// fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if(op.sparseSafe || val0 == 0) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, applyUnaryOp(op), _data, _ptr);
+		}
+
+		// slow path: sparse-unsafe operations (potentially create new bitmap)
+		// note: for efficiency, we currently don't drop values that become 0
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if(loff.length == 0) { // empty offset list: go back to fast path
+			return new ColGroupRLE(_colIndexes, _numRows, true, applyUnaryOp(op), _data, _ptr);
+		}
+
+		double[] rvalues = applyUnaryOp(op, val0, getNumCols());
+		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length + lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length + 1);
+		rbitmapOffs[rbitmapOffs.length - 1] = rbitmaps.length;
+
+		return new ColGroupRLE(_colIndexes, _numRows, loff.length < _numRows, rvalues, rbitmaps, rbitmapOffs);
+	}
+
 	@Override
 	protected final void computeSum(MatrixBlock result, KahanFunction kplus) {
 		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
@@ -701,11 +851,18 @@ public class ColGroupRLE extends ColGroupOffset {
 		int[] apos = allocIVector(numVals, rl == 0);
 
 		if(rl > 0) { // rl aligned with blksz
+			int[] skip = (CREATE_SKIPLIST && rl >= BitmapEncoder.BITMAP_BLOCK_SZ) ? getSkipList() : null;
 			for(int k = 0; k < numVals; k++) {
 				int boff = _ptr[k];
 				int blen = len(k);
 				int bix = 0;
 				int start = 0;
+				// direct lookup of the run position at the segment boundary
+				if(skip != null) {
+					int ix = 2 * (k * getNumSegments() + getSegment(rl));
+					bix = skip[ix];
+					start = skip[ix + 1];
+				}
 				while(bix < blen) {
 					int lstart = _data[boff + bix]; // start
 					int llen = _data[boff + bix + 1]; // len
@@ -731,6 +888,13 @@ public class ColGroupRLE extends ColGroupOffset {
 			int blen = len(k);
 			int bix = 0;
 			int start = 0;
+			// direct lookup of the run position at the segment boundary
+			if(CREATE_SKIPLIST && rl >= BitmapEncoder.BITMAP_BLOCK_SZ) {
+				int[] skip = getSkipList();
+				int ix = 2 * (k * getNumSegments() + getSegment(rl));
+				bix = skip[ix];
+				start = skip[ix + 1];
+			}
 			while(bix < blen) {
 				int lstart = _data[boff + bix]; // start
 				int llen = _data[boff + bix + 1]; // len
@@ -745,6 +909,37 @@ public class ColGroupRLE extends ColGroupOffset {
 		return new Pair<>(apos, astart);
 	}
 
+	@Override
+	protected int[] createSkipList() {
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		final int nseg = getNumSegments();
+
+		// position and start offset of the first run ending at or after the
+		// segment boundary, which is a valid starting point for skip scans
+		int[] ret = new int[2 * numVals * nseg];
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int bix = 0;
+			int start = 0;
+			for(int s = 0, off = 2 * k * nseg; s < nseg; s++, off += 2) {
+				int rs = s * blksz;
+				while(bix < blen) {
+					int lstart = _data[boff + bix];
+					int llen = _data[boff + bix + 1];
+					if(start + lstart + llen >= rs)
+						break;
+					start += lstart + llen;
+					bix += 2;
+				}
+				ret[off] = bix;
+				ret[off + 1] = start;
+			}
+		}
+		return ret;
+	}
+
 	@Override
 	public Iterator<Integer> getIterator(int k) {
 		return new RLEValueIterator(k, 0, getNumRows());
@@ -0,0 +1,496 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.utils.ConverterUtils;
+import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.KahanFunction;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Class to encapsulate information about a column group that is encoded with sparse default value compression (SDC).
+ * The rows of the most frequent value tuple (the default) are not stored. Only the sorted offsets of the remaining rows
+ * (the exceptions) are stored along with 2 byte codes into the value dictionary.
+ *
+ * NOTE: the default value tuple is stored at the last position in the value dictionary, and zero values of exceptions
+ * are included as a regular value tuple. Accordingly, all rows are represented by the dictionary as in DDC groups.
+ */
+public class ColGroupSDC extends ColGroupDDC {
+	private static final long serialVersionUID = 2946152871420543615L;
+
+	/** Sorted row offsets of all exceptions, i.e., rows that do not take the default value tuple. */
+	private int[] _indexes;
+
+	/** Dictionary codes of all exceptions. */
+	private char[] _data;
+
+	public ColGroupSDC() {
+		super();
+	}
+
+	public ColGroupSDC(int[] colIndices, int numRows, UncompressedBitmap ubm) {
+		super(colIndices, numRows, ubm);
+
+		final int numVals = ubm.getNumValues();
+		final int numCols = ubm.getNumColumns();
+
+		// select the most frequent value tuple as default
+		int def = 0;
+		long numOffs = 0;
+		for(int k = 0; k < numVals; k++) {
+			numOffs += ubm.getNumOffsets(k);
+			if(ubm.getNumOffsets(k) > ubm.getNumOffsets(def))
+				def = k;
+		}
+
+		// build the dictionary of all other tuples, the zero tuple (if necessary),
+		// and the default tuple at the end
+		int[] map = new int[numVals];
+		int numCodes = 0;
+		for(int k = 0; k < numVals; k++)
+			if(k != def)
+				map[k] = numCodes++;
+		int zeroCode = (numOffs < numRows) ? numCodes++ : -1;
+		map[def] = numCodes;
+		double[] values = new double[(numCodes + 1) * numCols];
+		for(int k = 0; k < numVals; k++)
+			System.arraycopy(_values, k * numCols, values, map[k] * numCols, numCols);
+		_values = values;
+
+		// materialize codes of all rows and extract the exceptions
+		char[] codes = new char[numRows];
+		Arrays.fill(codes, (char) ((zeroCode >= 0) ? zeroCode : map[def]));
+		for(int k = 0; k < numVals; k++) {
+			int[] tmpList = ubm.getOffsetsList(k).extractValues();
+			int tmpListSize = ubm.getNumOffsets(k);
+			for(int i = 0; i < tmpListSize; i++)
+				codes[tmpList[i]] = (char) map[k];
+		}
+		int numExceptions = numRows - ubm.getNumOffsets(def);
+		_indexes = new int[numExceptions];
+		_data = new char[numExceptions];
+		for(int i = 0, pos = 0; i < numRows; i++)
+			if(codes[i] != map[def]) {
+				_indexes[pos] = i;
+				_data[pos++] = codes[i];
+			}
+	}
+
+	public ColGroupSDC(int[] colIndices, int numRows, double[] values, int[] indexes, char[] data) {
+		super(colIndices, numRows, values);
+		_indexes = indexes;
+		_data = data;
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.SDC;
+	}
+
+	public int getNumExceptions() {
+		return _indexes.length;
+	}
+
+	@Override
+	protected double getData(int r) {
+		return _values[getCode(r)];
+	}
+
+	@Override
+	protected double getData(int r, int colIx) {
+		return _values[getCode(r) * getNumCols() + colIx];
+	}
+
+	@Override
+	protected void setData(int r, int code) {
+		throw new DMLRuntimeException("SDC column groups do not support updates of codes.");
+	}
+
+	@Override
+	protected int getCode(int r) {
+		int ix = Arrays.binarySearch(_indexes, r);
+		return (ix >= 0) ? _data[ix] : getNumValues() - 1;
+	}
+
+	/**
+	 * Obtain the position of the first exception with a row offset greater or equal than the given row.
+	 *
+	 * @param rl row lower index
+	 * @return position in the exception offsets
+	 */
+	private int skipScan(int rl) {
+		int ix = Arrays.binarySearch(_indexes, rl);
+		return (ix >= 0) ? ix : -ix - 1;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		int numCols = getNumCols();
+		int numVals = getNumValues();
+		out.writeInt(_numRows);
+		out.writeInt(numCols);
+		out.writeInt(numVals);
+		out.writeInt(_indexes.length);
+
+		// write col indices
+		for(int i = 0; i < _colIndexes.length; i++)
+			out.writeInt(_colIndexes[i]);
+
+		// write distinct values
+		for(int i = 0; i < _values.length; i++)
+			out.writeDouble(_values[i]);
+
+		// write exceptions
+		for(int i = 0; i < _indexes.length; i++)
+			out.writeInt(_indexes[i]);
+		for(int i = 0; i < _data.length; i++)
+			out.writeChar(_data[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+		int numVals = in.readInt();
+		int numExceptions = in.readInt();
+
+		// read col indices
+		_colIndexes = new int[numCols];
+		for(int i = 0; i < numCols; i++)
+			_colIndexes[i] = in.readInt();
+
+		// read distinct values
+		_values = new double[numVals * numCols];
+		for(int i = 0; i < numVals * numCols; i++)
+			_values[i] = in.readDouble();
+
+		// read exceptions
+		_indexes = new int[numExceptions];
+		for(int i = 0; i < numExceptions; i++)
+			_indexes[i] = in.readInt();
+		_data = new char[numExceptions];
+		for(int i = 0; i < numExceptions; i++)
+			_data[i] = in.readChar();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 16; // header
+		// col indices
+		ret += 4 * _colIndexes.length;
+		// distinct values (groups of values)
+		ret += 8 * _values.length;
+		// exception offsets and codes
+		ret += 6 * _indexes.length;
+
+		return ret;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+
+		// adding exception offsets and codes
+		size += 16; // array references
+		if(_indexes != null)
+			size += 32 + 4 * _indexes.length;
+		if(_data != null)
+			size += 32 + 2 * _data.length;
+
+		return size;
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		decompressToBlock(target, rl, ru, 0);
+		// note: append ok because final sort per row
+	}
+
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		decompressToBlock(target, rl, ru, rl);
+	}
+
+	private void decompressToBlock(MatrixBlock target, int rl, int ru, int roff) {
+		final int ncol = getNumCols();
+		final int defOff = (getNumValues() - 1) * ncol;
+
+		// merge scan over rows and exceptions
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++) {
+			int off = (pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] * ncol : defOff;
+			for(int j = 0; j < ncol; j++)
+				target.appendValue(i - roff, _colIndexes[j], _values[off + j]);
+		}
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		final int nrow = getNumRows();
+		final int ncol = getNumCols();
+		double[] c = target.getDenseBlockValues();
+
+		// fill the default value and overwrite the exceptions
+		double defVal = _values[(getNumValues() - 1) * ncol + colpos];
+		Arrays.fill(c, 0, nrow, defVal);
+		int nnz = (defVal != 0) ? nrow - _indexes.length : 0;
+		for(int i = 0; i < _indexes.length; i++)
+			nnz += ((c[_indexes[i]] = _values[_data[i] * ncol + colpos]) != 0) ? 1 : 0;
+		target.setNonZeros(nnz);
+	}
+
+	@Override
+	public int[] getCounts(int[] counts) {
+		return getCounts(0, getNumRows(), counts);
+	}
+
+	@Override
+	public int[] getCounts(int rl, int ru, int[] counts) {
+		final int numVals = getNumValues();
+		Arrays.fill(counts, 0, numVals, 0);
+		int pos = skipScan(rl);
+		int numExceptions = 0;
+		for(; pos < _indexes.length && _indexes[pos] < ru; pos++, numExceptions++)
+			counts[_data[pos]]++;
+		counts[numVals - 1] = ru - rl - numExceptions;
+		return counts;
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		// pre-aggregate nnz per value tuple
+		int[] counts = new int[numVals];
+		for(int k = 0, valOff = 0; k < numVals; k++, valOff += ncol)
+			for(int j = 0; j < ncol; j++)
+				counts[k] += (_values[valOff + j] != 0) ? 1 : 0;
+
+		// merge scan over rows and exceptions
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++)
+			rnnz[i - rl] += counts[(pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1];
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+
+		// prepare reduced rhs w/ relevant values
+		double[] sb = new double[numCols];
+		for(int j = 0; j < numCols; j++)
+			sb[j] = b[_colIndexes[j]];
+
+		// pre-aggregate all distinct values
+		double[] vals = preaggValues(numVals, sb);
+
+		// merge scan over rows and exceptions and add to output
+		final double defVal = vals[numVals - 1];
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++)
+			c[i] += (pos < _indexes.length && _indexes[pos] == i) ? vals[_data[pos++]] : defVal;
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int numVals = getNumValues();
+
+		// merge scan over rows and exceptions, and pre-aggregate inputs per code
+		double[] vals = allocDVector(numVals, true);
+		for(int i = 0, pos = 0; i < nrow; i++)
+			vals[(pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1] += a[i];
+
+		// post-scaling of pre-aggregate with distinct values
+		postScaling(vals, c);
+	}
+
+	@Override
+	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int numVals = getNumValues();
+
+		// merge scan over rows and exceptions, and pre-aggregate inputs per code
+		double[] vals = allocDVector(numVals, true);
+		for(int i = 0, pos = 0; i < nrow; i++)
+			vals[(pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1] += a.getData(i);
+
+		// post-scaling of pre-aggregate with distinct values
+		postScaling(vals, c);
+	}
+
+	@Override
+	public void binaryColOp(BinaryOperator op, double[] v, MatrixBlock target, int rl, int ru) {
+		DenseBlock c = target.getDenseBlock();
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		// merge scan over rows and exceptions, fused with the operation over the value tuple per code
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++) {
+			int code = (pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1;
+			double[] cvals = c.values(i);
+			int cpos = c.pos(i);
+			for(int j = 0, off = code * ncol; j < ncol; j++)
+				cvals[cpos + _colIndexes[j]] = op.fn.execute(_values[off + j], v[i]);
+		}
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		DenseBlock c = result.getDenseBlock();
+		final int k = matrix.getNumColumns();
+		final int numVals = getNumValues();
+
+		// merge scan over rows and exceptions, and scatter rows of the pre-aggregate (numVals x k)
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++) {
+			int code = (pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1;
+			LinearAlgebraUtils.vectAdd(preagg, c.values(i), code * k, c.pos(i), k);
+		}
+	}
+
+	@Override
+	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		// count per code, incl the default
+		int[] counts = getCounts();
+
+		// post-scaling of pre-aggregate with distinct values
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+		for(int k = 0, valOff = 0; k < numVals; k++, valOff += ncol) {
+			int cntk = counts[k];
+			for(int j = 0; j < ncol; j++)
+				kplus.execute3(kbuff, _values[valOff + j], cntk);
+		}
+
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+
+	@Override
+	protected void computeColSums(MatrixBlock result, KahanFunction kplus) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		// count per code, incl the default
+		int[] counts = getCounts();
+
+		// post-scaling of pre-aggregate with distinct values per column
+		KahanObject kbuff = new KahanObject(0, 0);
+		for(int j = 0; j < ncol; j++) {
+			kbuff.set(result.quickGetValue(0, _colIndexes[j]), result.quickGetValue(1, _colIndexes[j]));
+			for(int k = 0, valOff = 0; k < numVals; k++, valOff += ncol)
+				kplus.execute3(kbuff, _values[valOff + j], counts[k]);
+			result.quickSetValue(0, _colIndexes[j], kbuff._sum);
+			result.quickSetValue(1, _colIndexes[j], kbuff._correction);
+		}
+	}
+
+	@Override
+	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		// note: due to corrections the output might be a large dense block
+		DenseBlock c = result.getDenseBlock();
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
+		final int numVals = getNumValues();
+
+		// pre-aggregate nnz per value tuple
+		double[] vals = sumAllValues(kplus, kbuff, false);
+
+		// merge scan over rows and exceptions, and add to result (use kahan
+		// plus not general KahanFunction for correctness in case of sqk+)
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++) {
+			int code = (pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1;
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			kbuff.set(cvals[cix], cvals[cix + 1]);
+			kplus2.execute2(kbuff, vals[code]);
+			cvals[cix] = kbuff._sum;
+			cvals[cix + 1] = kbuff._correction;
+		}
+	}
+
+	@Override
+	protected void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		final int numVals = getNumValues();
+
+		// pre-aggregate min/max per value tuple
+		double[] vals = new double[numVals];
+		for(int k = 0; k < numVals; k++)
+			vals[k] = mxxValues(k, builtin);
+
+		// merge scan over rows and exceptions
+		int pos = skipScan(rl);
+		for(int i = rl; i < ru; i++) {
+			int code = (pos < _indexes.length && _indexes[pos] == i) ? _data[pos++] : numVals - 1;
+			c[i] = builtin.execute(c[i], vals[code]);
+		}
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		// fast path: sparse-safe and -unsafe operations
+		// as zero are represented, it is sufficient to simply apply the scalar op
+		return new ColGroupSDC(_colIndexes, _numRows, applyScalarOp(op), _indexes, _data);
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		// fast path: sparse-safe and -unsafe operations
+		// as zero are represented, it is sufficient to simply apply the unary op
+		return new ColGroupSDC(_colIndexes, _numRows, applyUnaryOp(op), _indexes, _data);
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// as zero are represented, it is sufficient to transform the values per column
+		return new ColGroupSDC(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v, false), _indexes, _data);
+	}
+
+	@Override
+	protected ColGroupValue copy(int[] colIndices, double[] values) {
+		return new ColGroupSDC(colIndices, _numRows, values, _indexes, _data);
+	}
+}
@@ -26,6 +26,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlock.Type;
 import org.apache.sysds.runtime.functionobjects.ReduceRow;
@@ -34,7 +36,9 @@ import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.SortUtils;
 
 /**
@@ -200,6 +204,39 @@ public class ColGroupUncompressed extends ColGroup {
 		}
 	}
 
+	@Override
+	public void decompressRowsToBlock(MatrixBlock target, int rl, int ru) {
+		// empty block, nothing to add to output
+		if(_data.isEmptyBlock(false))
+			return;
+		for(int row = rl; row < ru; row++)
+			for(int colIx = 0; colIx < _colIndexes.length; colIx++)
+				target.appendValue(row - rl, _colIndexes[colIx], _data.quickGetValue(row, colIx));
+	}
+
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		int[] pos = getColumnPositions(cl, cu);
+		if(pos.length == 0)
+			return null;
+		int[] colIndices = new int[pos.length];
+		for(int j = 0; j < pos.length; j++)
+			colIndices[j] = _colIndexes[pos[j]] - cl;
+
+		// slice the selected columns of the uncompressed block
+		MatrixBlock data = null;
+		if(pos[pos.length - 1] - pos[0] + 1 == pos.length)
+			data = _data.slice(0, _data.getNumRows() - 1, pos[0], pos[pos.length - 1], new MatrixBlock());
+		else {
+			data = new MatrixBlock(_data.getNumRows(), pos.length, _data.isInSparseFormat());
+			for(int row = 0; row < _data.getNumRows(); row++)
+				for(int j = 0; j < pos.length; j++)
+					data.appendValue(row, j, _data.quickGetValue(row, pos[j]));
+			data.examSparsity();
+		}
+		return new ColGroupUncompressed(colIndices, _numRows, data);
+	}
+
 	@Override
 	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
 		// empty block, nothing to add to output
@@ -300,6 +337,55 @@ public class ColGroupUncompressed extends ColGroup {
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, double[] preagg, MatrixBlock result, int rl, int ru) {
+		// Pull out the relevant rows of the matrix
+		int clen = _colIndexes.length;
+		int k = matrix.getNumColumns();
+
+		MatrixBlock shortMatrix = new MatrixBlock(clen, k, false);
+		shortMatrix.allocateDenseBlock();
+		double[] b = shortMatrix.getDenseBlockValues();
+		for(int colIx = 0, off = 0; colIx < clen; colIx++, off += k)
+			for(int j = 0; j < k; j++)
+				b[off + j] = matrix.quickGetValue(_colIndexes[colIx], j);
+		shortMatrix.recomputeNonZeros();
+
+		// Multiply the selected rows by the appropriate parts of the matrix
+		MatrixBlock in = (rl == 0 && ru == _data.getNumRows()) ? _data : _data.slice(rl, ru - 1);
+		MatrixBlock pret = new MatrixBlock(ru - rl, k, false);
+		LibMatrixMult.matrixMult(in, shortMatrix, pret);
+
+		// adding partialResult to the proper rows of the result
+		if(!pret.isEmptyBlock(false)) {
+			if(pret.isInSparseFormat())
+				pret.sparseToDense();
+			double[] pvals = pret.getDenseBlockValues();
+			DenseBlock c = result.getDenseBlock();
+			for(int i = rl, pix = 0; i < ru; i++, pix += k)
+				LinearAlgebraUtils.vectAdd(pvals, c.values(i), pix, c.pos(i), k);
+		}
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		MatrixBlock in = (rl == 0 && ru == matrix.getNumRows()) ? matrix : matrix.slice(rl, ru - 1);
+		MatrixBlock pret = new MatrixBlock(ru - rl, _colIndexes.length, false);
+		LibMatrixMult.matrixMult(in, _data, pret);
+
+		// copying partialResult to the proper indices of the result
+		if(!pret.isEmptyBlock(false)) {
+			if(pret.isInSparseFormat())
+				pret.sparseToDense();
+			double[] p = pret.getDenseBlockValues();
+			double[] c = result.getDenseBlockValues();
+			int clen = result.getNumColumns();
+			for(int i = rl, pix = 0; i < ru; i++)
+				for(int colIx = 0; colIx < _colIndexes.length; colIx++, pix++)
+					c[i * clen + _colIndexes[colIx]] += p[pix];
+		}
+	}
+
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op) {
 		// execute scalar operations
@@ -308,6 +394,31 @@ public class ColGroupUncompressed extends ColGroup {
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v) {
+		// Pull out the relevant values of the row vector
+		int clen = _colIndexes.length;
+		MatrixBlock shortVector = new MatrixBlock(1, clen, false);
+		shortVector.allocateDenseBlock();
+		double[] b = shortVector.getDenseBlockValues();
+		for(int colIx = 0; colIx < clen; colIx++)
+			b[colIx] = v[_colIndexes[colIx]];
+		shortVector.recomputeNonZeros();
+
+		// execute binary operations
+		MatrixBlock retContent = _data.binaryOperations(op, shortVector, new MatrixBlock());
+		// construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		// execute unary operations
+		MatrixBlock retContent = _data.unaryOperations(op, new MatrixBlock());
+		// construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret) {
 		// execute unary aggregate operations
@@ -360,6 +471,11 @@ public class ColGroupUncompressed extends ColGroup {
 		return _data.getExactSizeOnDisk() + 4 * _data.getNumColumns();
 	}
 
+	@Override
+	public long getNumberNonZeros() {
+		return _data.getNonZeros();
+	}
+
 	@Override
 	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
 		for(int i = rl; i < ru; i++)
@@ -21,15 +21,20 @@ package org.apache.sysds.runtime.compress;
 
 import java.util.Arrays;
 
+import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Base class for column groups encoded with value dictionary.
@@ -150,6 +155,21 @@ public abstract class ColGroupValue extends ColGroup {
 
 	public abstract int[] getCounts(int rl, int ru, int[] out);
 
+	@Override
+	public long getNumberNonZeros() {
+		// non-zeros per value tuple, weighted by the value counts
+		final int numCols = getNumCols();
+		int[] counts = getCounts();
+		long nnz = 0;
+		for(int k = 0, off = 0; k < counts.length; k++, off += numCols) {
+			int tnnz = 0;
+			for(int j = 0; j < numCols; j++)
+				tnnz += (_values[off + j] != 0) ? 1 : 0;
+			nnz += (long) tnnz * counts[k];
+		}
+		return nnz;
+	}
+
 	public int[] getCounts(boolean inclZeros) {
 		int[] counts = getCounts();
 		if(inclZeros && this instanceof ColGroupOffset) {
@@ -228,6 +248,17 @@ public abstract class ColGroupValue extends ColGroup {
 		return ret;
 	}
 
+	protected final double mxxValues(int bitmapIx, Builtin builtin) {
+		final int numCols = getNumCols();
+		final int valOff = bitmapIx * numCols;
+		double val = (builtin
+			.getBuiltinCode() == BuiltinCode.MAX) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		for(int i = 0; i < numCols; i++)
+			val = builtin.execute(val, _values[valOff + i]);
+
+		return val;
+	}
+
 	protected final double sumValues(int valIx, double[] b) {
 		final int numCols = getNumCols();
 		final int valOff = valIx * numCols;
@@ -251,6 +282,84 @@ public abstract class ColGroupValue extends ColGroup {
 		return ret;
 	}
 
+	@Override
+	public double[] preaggRightMult(MatrixBlock matrix) {
+		return preaggValues(getNumValues(), matrix);
+	}
+
+	/**
+	 * Pre-multiplies all distinct value tuples with the relevant rows of a right-hand matrix, which allows for matrix
+	 * multiplications that add entire rows of the pre-aggregate per encoded row.
+	 * 
+	 * @param numVals number of distinct values
+	 * @param b       right-hand matrix of size ncol x k
+	 * @return dense pre-aggregate of size numVals x k, in row-major format
+	 */
+	protected final double[] preaggValues(int numVals, MatrixBlock b) {
+		final int numCols = getNumCols();
+		final int k = b.getNumColumns();
+		double[] ret = new double[numVals * k];
+		if(b.isEmptyBlock(false))
+			return ret;
+
+		if(b.isInSparseFormat()) {
+			SparseBlock sb = b.getSparseBlock();
+			for(int j = 0; j < numCols; j++) {
+				int row = _colIndexes[j];
+				if(sb.isEmpty(row))
+					continue;
+				int bpos = sb.pos(row);
+				int blen = sb.size(row);
+				int[] bix = sb.indexes(row);
+				double[] bvals = sb.values(row);
+				for(int v = 0, off = 0; v < numVals; v++, off += k) {
+					double val = _values[v * numCols + j];
+					if(val != 0)
+						LinearAlgebraUtils.vectMultiplyAdd(val, bvals, ret, bix, bpos, off, blen);
+				}
+			}
+		}
+		else {
+			DenseBlock db = b.getDenseBlock();
+			for(int j = 0; j < numCols; j++) {
+				double[] bvals = db.values(_colIndexes[j]);
+				int bpos = db.pos(_colIndexes[j]);
+				for(int v = 0, off = 0; v < numVals; v++, off += k) {
+					double val = _values[v * numCols + j];
+					if(val != 0)
+						LinearAlgebraUtils.vectMultiplyAdd(val, bvals, ret, bpos, off, k);
+				}
+			}
+		}
+		return ret;
+	}
+
+	protected final void postScaling(double[] vals, double[] c) {
+		postScaling(vals, c, 0);
+	}
+
+	/**
+	 * Scales pre-aggregated inputs per distinct value with the value tuples and adds them to an output row.
+	 * 
+	 * @param vals pre-aggregate per distinct value
+	 * @param c    output array
+	 * @param cix  offset of the output row
+	 */
+	protected final void postScaling(double[] vals, double[] c, int cix) {
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+
+		for(int k = 0, valOff = 0; k < numVals; k++, valOff += ncol) {
+			double aval = vals[k];
+			if(aval == 0)
+				continue;
+			for(int j = 0; j < ncol; j++) {
+				int colIx = _colIndexes[j];
+				c[cix + colIx] += aval * _values[valOff + j];
+			}
+		}
+	}
+
 	/**
 	 * NOTE: Shared across OLE/RLE/DDC because value-only computation.
 	 * 
@@ -338,6 +447,109 @@ public abstract class ColGroupValue extends ColGroup {
 		return ret;
 	}
 
+	/**
+	 * Method for use by subclasses. Applies a cell-wise unary operation to the value metadata stored in the superclass.
+	 * 
+	 * @param op unary operation to perform
+	 * @return transformed copy of value metadata for this column group
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op) {
+		// scan over linearized values
+		double[] ret = new double[_values.length];
+		for(int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i]);
+		}
+		return ret;
+	}
+
+	protected double[] applyUnaryOp(UnaryOperator op, double newVal, int numCols) {
+		// scan over linearized values
+		double[] ret = new double[_values.length + numCols];
+		for(int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i]);
+		}
+
+		// add new value to the end
+		Arrays.fill(ret, _values.length, _values.length + numCols, newVal);
+
+		return ret;
+	}
+
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row vector to the value metadata stored in the
+	 * superclass, where each column of the value tuples is combined with the associated vector value.
+	 * 
+	 * @param fn         binary function to apply
+	 * @param v          dense row vector of the size of the number of columns of the entire block
+	 * @param appendZero if true, append a tuple for the zero values
+	 * @return transformed copy of value metadata for this column group
+	 */
+	protected double[] applyBinaryRowOp(ValueFunction fn, double[] v, boolean appendZero) {
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		double[] ret = new double[_values.length + (appendZero ? numCols : 0)];
+
+		// scan over linearized values
+		for(int k = 0, off = 0; k < numVals; k++, off += numCols)
+			for(int j = 0; j < numCols; j++)
+				ret[off + j] = fn.execute(_values[off + j], v[_colIndexes[j]]);
+
+		// add new value tuple to the end
+		if(appendZero)
+			for(int j = 0; j < numCols; j++)
+				ret[_values.length + j] = fn.execute(0, v[_colIndexes[j]]);
+
+		return ret;
+	}
+
+	/**
+	 * Indicates if the binary operation with the given row vector maps zeros to zeros for all columns of this group.
+	 * 
+	 * @param fn binary function to apply
+	 * @param v  dense row vector of the size of the number of columns of the entire block
+	 * @return true if sparse-safe for this column group
+	 */
+	protected boolean isSparseSafeRowOp(ValueFunction fn, double[] v) {
+		for(int j = 0; j < _colIndexes.length; j++)
+			if(fn.execute(0, v[_colIndexes[j]]) != 0)
+				return false;
+		return true;
+	}
+
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		int[] pos = getColumnPositions(cl, cu);
+		if(pos.length == 0)
+			return null;
+
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		int[] colIndices = new int[pos.length];
+		for(int j = 0; j < pos.length; j++)
+			colIndices[j] = _colIndexes[pos[j]] - cl;
+
+		// full overlap, share the value dictionary
+		if(pos.length == numCols)
+			return copy(colIndices, _values);
+
+		// project the value tuples onto the selected columns
+		double[] values = new double[numVals * pos.length];
+		for(int k = 0, off = 0; k < numVals; k++, off += numCols)
+			for(int j = 0; j < pos.length; j++)
+				values[k * pos.length + j] = _values[off + pos[j]];
+		return copy(colIndices, values);
+	}
+
+	/**
+	 * Method for use by subclasses. Creates a shallow copy of this column group with the given column indexes and
+	 * value metadata, which shares the compressed representation (codes, bitmaps) with this column group.
+	 *
+	 * @param colIndices column indexes of the new column group
+	 * @param values     linearized value tuples of the new column group
+	 * @return shallow copy of this column group
+	 */
+	protected abstract ColGroupValue copy(int[] colIndices, double[] values);
+
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
 		unaryAggregateOperations(op, result, 0, getNumRows());
@@ -41,6 +41,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import org.apache.sysds.common.Types.CorrectionLocationType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.MMTSJ.MMTSJType;
 import org.apache.sysds.lops.MapMultChain.ChainType;
@@ -51,6 +52,7 @@ import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimatorFactory;
 import org.apache.sysds.runtime.compress.utils.ConverterUtils;
+import org.apache.sysds.runtime.compress.utils.DoubleIntHashMap;
 import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysds.runtime.compress.utils.ColumnGroupIterator;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
@@ -60,18 +62,24 @@ import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.CTable;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysds.runtime.functionobjects.Mean;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.ReduceAll;
 import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
 import org.apache.sysds.runtime.matrix.data.CTableMap;
 import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -88,6 +96,7 @@ import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysds.runtime.matrix.operators.COVOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
@@ -97,7 +106,6 @@ import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
-import org.apache.sysds.runtime.util.SortUtils;
 
 public class CompressedMatrixBlock extends MatrixBlock {
 
@@ -126,6 +134,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public static final long MIN_PAR_AGG_THRESHOLD = 16 * 1024 * 1024; // 16MB
 	public static final boolean INVESTIGATE_ESTIMATES = false;
 	public static boolean ALLOW_DDC_ENCODING = true;
+	public static boolean ALLOW_SDC_ENCODING = true;
 	public static final boolean ALLOW_SHARED_DDC1_DICTIONARY = true;
 	protected ArrayList<ColGroup> _colGroups = null;
 	protected CompressionStatistics _stats = null;
@@ -133,6 +142,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	protected long seed = -1; // I the seed is -1 then the system used system millisecond time and class hash for
 								// seeding.
 	protected double sampling_ratio = 0.05;
+	protected CompressionWorkload _workload = null;
 
 	/**
 	 * Constructor for building an empty Compressed Matrix block object.
@@ -169,6 +179,41 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		nonZeros = that.getNonZeros();
 	}
 
+	/**
+	 * Constructor for building a compressed block directly from given column groups, e.g., by encoders that produce
+	 * compressed column groups without an uncompressed intermediate.
+	 * 
+	 * @param rl        number of rows in the block
+	 * @param cl        number of columns
+	 * @param nnz       number of non-zeros
+	 * @param colGroups column groups covering all columns of the block
+	 */
+	public CompressedMatrixBlock(int rl, int cl, long nnz, List<ColGroup> colGroups) {
+		super(rl, cl, MatrixBlock.evalSparseFormatInMemory(rl, cl, nnz));
+		nonZeros = nnz;
+		allocateColGroupList();
+		_colGroups.addAll(colGroups);
+	}
+
+	/**
+	 * Copy constructor for blocks that might be compressed. Column groups are immutable and hence shared, while the
+	 * uncompressed representation of not yet compressed blocks is deep copied (e.g., for copying blocks of record
+	 * readers that reuse their value objects).
+	 * 
+	 * @param that compressed matrix block
+	 */
+	public CompressedMatrixBlock(CompressedMatrixBlock that) {
+		super(that.getNumRows(), that.getNumColumns(), that.isInSparseFormat());
+		if(that.isCompressed()) {
+			nonZeros = that.getNonZeros();
+			_sharedDDC1Dict = that._sharedDDC1Dict;
+			allocateColGroupList();
+			_colGroups.addAll(that._colGroups);
+		}
+		else
+			copy(that);
+	}
+
 	/**
 	 * Obtain the column groups.
 	 * 
@@ -191,6 +236,16 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		this.sampling_ratio = sampling_ratio;
 	}
 
+	/**
+	 * Sets the workload summary of operations executed over this block, which is used to select column group
+	 * encodings by compressed size and operation costs (instead of size only).
+	 * 
+	 * @param workload workload summary, or null for size-only planning
+	 */
+	public void setWorkload(CompressionWorkload workload) {
+		_workload = workload;
+	}
+
 	/**
 	 * 
 	 * @return true if block is compressed.
@@ -348,7 +403,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			numRows,
 			bitmapColGrps,
 			colsUC.isEmpty(),
-			k) : compressColGroups(rawblock, bitmapSizeEstimator, compRatios, numRows, bitmapColGrps, colsUC.isEmpty());
+			_workload,
+			k) : compressColGroups(rawblock,
+				bitmapSizeEstimator,
+				compRatios,
+				numRows,
+				bitmapColGrps,
+				colsUC.isEmpty(),
+				_workload);
 		allocateColGroupList();
 		HashSet<Integer> remainingCols = seq(0, numCols - 1, 1);
 		for(int j = 0; j < colGroups.length; j++) {
@@ -367,7 +429,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		// PHASE 4: Best-effort dictionary sharing for DDC1 single-col groups
 		double[] dict = createSharedDDC1Dictionary(_colGroups);
 		if(dict != null) {
-			applySharedDDC1Dictionary(_colGroups, dict);
+			applySharedDDC1Dictionary(_colGroups, dict, k);
 			_sharedDDC1Dict = true;
 		}
 
@@ -402,10 +464,12 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		if(LOG.isDebugEnabled()) {
 			LOG.debug("--compression phase 5: " + _stats.timePhase5);
 
-			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,UC): " + counts[2] + "," + counts[1] + "," + counts[3]
-				+ "," + counts[4] + "," + counts[0]);
-			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,UC): " + counts[7] + "," + counts[6] + "," + counts[8]
-				+ "," + counts[9] + "," + counts[5]);
+			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,SDC,CONST,EMPTY,UC): " + counts[2] + "," + counts[1]
+				+ "," + counts[3] + "," + counts[4] + "," + counts[5] + "," + counts[6] + "," + counts[7] + ","
+				+ counts[0]);
+			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,SDC,CONST,EMPTY,UC): " + counts[10] + "," + counts[9]
+				+ "," + counts[11] + "," + counts[12] + "," + counts[13] + "," + counts[14] + "," + counts[15] + ","
+				+ counts[8]);
 			LOG.debug("--compressed size: " + _stats.size);
 			LOG.debug("--compression ratio: " + _stats.ratio);
 		}
@@ -424,10 +488,11 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	 * @return counts
 	 */
 	private static int[] getColGroupCounts(ArrayList<ColGroup> colgroups) {
-		int[] ret = new int[10]; // 5 x count, 5 x num_columns
+		final int n = CompressionType.values().length;
+		int[] ret = new int[2 * n]; // n x count, n x num_columns
 		for(ColGroup c : colgroups) {
 			ret[c.getCompType().ordinal()]++;
-			ret[5 + c.getCompType().ordinal()] += c.getNumCols();
+			ret[n + c.getCompType().ordinal()] += c.getNumCols();
 		}
 		return ret;
 	}
@@ -458,21 +523,23 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	}
 
 	private static ColGroup[] compressColGroups(MatrixBlock in, CompressedSizeEstimator estim,
-		HashMap<Integer, Double> compRatios, int rlen, List<int[]> groups, boolean denseEst) {
+		HashMap<Integer, Double> compRatios, int rlen, List<int[]> groups, boolean denseEst,
+		CompressionWorkload workload) {
 		ColGroup[] ret = new ColGroup[groups.size()];
 		for(int i = 0; i < groups.size(); i++)
-			ret[i] = compressColGroup(in, estim, compRatios, rlen, groups.get(i), denseEst);
+			ret[i] = compressColGroup(in, estim, compRatios, rlen, groups.get(i), denseEst, workload);
 
 		return ret;
 	}
 
 	private static ColGroup[] compressColGroups(MatrixBlock in, CompressedSizeEstimator estim,
-		HashMap<Integer, Double> compRatios, int rlen, List<int[]> groups, boolean denseEst, int k) {
+		HashMap<Integer, Double> compRatios, int rlen, List<int[]> groups, boolean denseEst,
+		CompressionWorkload workload, int k) {
 		try {
 			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<CompressTask> tasks = new ArrayList<>();
 			for(int[] colIndexes : groups)
-				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst));
+				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst, workload));
 			List<Future<ColGroup>> rtask = pool.invokeAll(tasks);
 			ArrayList<ColGroup> ret = new ArrayList<>();
 			for(Future<ColGroup> lrtask : rtask)
@@ -486,7 +553,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	}
 
 	private static ColGroup compressColGroup(MatrixBlock in, CompressedSizeEstimator estim,
-		HashMap<Integer, Double> compRatios, int rlen, int[] colIndexes, boolean denseEst) {
+		HashMap<Integer, Double> compRatios, int rlen, int[] colIndexes, boolean denseEst,
+		CompressionWorkload workload) {
 		int[] allGroupIndices = null;
 		int allColsCount = colIndexes.length;
 		CompressedSizeInfo sizeInfo;
@@ -535,12 +603,21 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		if(skipGroup)
 			return null;
 
-		// create compressed column group
-		long rleSize = sizeInfo.getRLESize();
-		long oleSize = sizeInfo.getOLESize();
-		long ddcSize = sizeInfo.getDDCSize();
-
-		if(ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize) {
+		// create empty or constant column group (exact, w/o size estimates)
+		if(ubm.getNumValues() == 0)
+			return new ColGroupEmpty(colIndexes, rlen);
+		else if(ubm.getNumValues() == 1 && ubm.getNumOffsets(0) == rlen)
+			return new ColGroupConst(colIndexes, rlen, ubm);
+
+		// create compressed column group (w/ sizes scaled by workload-specific operation costs)
+		double rleSize = getPlanningCost(sizeInfo.getRLESize(), CompressionType.RLE_BITMAP, workload);
+		double oleSize = getPlanningCost(sizeInfo.getOLESize(), CompressionType.OLE_BITMAP, workload);
+		double ddcSize = getPlanningCost(sizeInfo.getDDCSize(), CompressionType.DDC1, workload);
+		double sdcSize = getPlanningCost(sizeInfo.getSDCSize(), CompressionType.SDC, workload);
+
+		if(ALLOW_SDC_ENCODING && sdcSize < rleSize && sdcSize < oleSize && sdcSize < ddcSize)
+			return new ColGroupSDC(colIndexes, rlen, ubm);
+		else if(ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize) {
 			if(ubm.getNumValues() <= 255)
 				return new ColGroupDDC1(colIndexes, rlen, ubm);
 			else
@@ -552,6 +629,21 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			return new ColGroupOLE(colIndexes, rlen, ubm);
 	}
 
+	/**
+	 * Computes the planning cost of a compression type as its compressed size, scaled by the relative costs of the
+	 * operations in the given workload (if available).
+	 * 
+	 * @param size     estimated compressed size
+	 * @param type     compression type
+	 * @param workload workload summary, or null
+	 * @return planning cost
+	 */
+	private static double getPlanningCost(long size, CompressionType type, CompressionWorkload workload) {
+		if(size == Long.MAX_VALUE || workload == null)
+			return size;
+		return size * workload.getCostFactor(type);
+	}
+
 	/**
 	 * Compute a conservative estimate of the uncompressed size of a column group.
 	 * 
@@ -573,39 +665,50 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			return null;
 
 		// create joint dictionary
-		HashSet<Double> tmp = new HashSet<>();
+		DoubleIntHashMap tmp = new DoubleIntHashMap();
 		int numQual = 0;
 		for(ColGroup grp : colGroups)
 			if(grp.getNumCols() == 1 && grp instanceof ColGroupDDC1) {
 				ColGroupDDC1 grpDDC1 = (ColGroupDDC1) grp;
 				for(double val : grpDDC1.getValues())
-					tmp.add(val);
+					tmp.putIfAbsent(val, tmp.size());
 				numQual++;
 			}
 
 		// abort shared dictionary creation if empty or too large
-		int maxSize = tmp.contains(0d) ? 256 : 255;
-		if(tmp.isEmpty() || tmp.size() > maxSize || numQual < 2)
+		int maxSize = tmp.containsKey(0d) ? 256 : 255;
+		if(tmp.size() == 0 || tmp.size() > maxSize || numQual < 2)
 			return null;
 		LOG.debug("Created shared directionary for " + numQual + " DDC1 single column groups.");
 
 		// build consolidated dictionary
-		return tmp.stream().mapToDouble(Double::doubleValue).toArray();
+		return tmp.getKeys();
 	}
 
-	private static void applySharedDDC1Dictionary(ArrayList<ColGroup> colGroups, double[] dict) {
+	private static void applySharedDDC1Dictionary(ArrayList<ColGroup> colGroups, double[] dict, int k) {
 		// create joint mapping table
-		HashMap<Double, Integer> map = new HashMap<>();
+		DoubleIntHashMap map = new DoubleIntHashMap(dict.length);
 		for(int i = 0; i < dict.length; i++)
 			map.put(dict[i], i);
 
-		// recode data of all relevant DDC1 groups
+		// recode data of all relevant DDC1 groups (read-only shared mapping table)
+		ArrayList<ColGroupDDC1> groups = new ArrayList<>();
 		for(ColGroup grp : colGroups)
-			if(grp.getNumCols() == 1 && grp instanceof ColGroupDDC1) {
-				ColGroupDDC1 grpDDC1 = (ColGroupDDC1) grp;
-				grpDDC1.recodeData(map);
-				grpDDC1.setValues(dict);
+			if(grp.getNumCols() == 1 && grp instanceof ColGroupDDC1)
+				groups.add((ColGroupDDC1) grp);
+		if(k > 1 && groups.size() > 1) {
+			ExecutorService pool = CommonThreadPool.get(Math.min(k, groups.size()));
+			ArrayList<RecodeTask> tasks = new ArrayList<>();
+			for(ColGroupDDC1 grp : groups)
+				tasks.add(new RecodeTask(grp, map, dict));
+			CommonThreadPool.invokeAndShutdown(pool, tasks);
+		}
+		else {
+			for(ColGroupDDC1 grp : groups) {
+				grp.recodeData(map);
+				grp.setValues(dict);
 			}
+		}
 	}
 
 	/**
@@ -785,8 +888,9 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public void readFields(DataInput in) throws IOException {
 		boolean compressed = in.readBoolean();
 
-		// deserialize uncompressed block
+		// deserialize uncompressed block (reset column groups of reused blocks)
 		if(!compressed) {
+			_colGroups = null;
 			super.readFields(in);
 			return;
 		}
@@ -821,6 +925,15 @@ public class CompressedMatrixBlock extends MatrixBlock {
 				case DDC2:
 					grp = new ColGroupDDC2();
 					break;
+				case SDC:
+					grp = new ColGroupSDC();
+					break;
+				case CONST:
+					grp = new ColGroupConst();
+					break;
+				case EMPTY:
+					grp = new ColGroupEmpty();
+					break;
 			}
 
 			// deserialize and add column group (flag for shared dictionary passed
@@ -938,7 +1051,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			newColGroups.add(grp.scalarOperation(sop));
 		}
 		ret._colGroups = newColGroups;
-		ret.setNonZeros(rlen * clen);
+		ret.setNonZeros((long) rlen * clen);
 
 		return ret;
 	}
@@ -1134,38 +1247,12 @@ public class CompressedMatrixBlock extends MatrixBlock {
 					.decompress() : that;
 			}
 
-			// transpose for sequential repeated column access
-			if(right) {
-				that = LibMatrixReorg.transpose(that,
-					new MatrixBlock(that.getNumColumns(), that.getNumRows(), that.isInSparseFormat()),
-					op.getNumThreads());
-			}
-
-			MatrixBlock tmpIn = new MatrixBlock(1, that.getNumColumns(), false).allocateBlock();
-			MatrixBlock tmpOut = new MatrixBlock(right ? rl : 1, right ? 1 : cl, false).allocateBlock();
-			if(right) { // MM right
-				for(int i = 0; i < that.getNumRows(); i++) { // on transpose
-					tmpIn = that.slice(i, i, 0, that.getNumColumns() - 1, tmpIn);
-					MatrixBlock tmpIn2 = LibMatrixReorg.transpose(tmpIn, // meta data op
-						new MatrixBlock(tmpIn.getNumColumns(), tmpIn.getNumRows(), false));
-					tmpOut.reset(tmpOut.getNumRows(), tmpOut.getNumColumns());
-					if(op.getNumThreads() > 1)
-						rightMultByVector(tmpIn2, tmpOut, op.getNumThreads());
-					else
-						rightMultByVector(tmpIn2, tmpOut);
-					ret.leftIndexingOperations(tmpOut, 0, ret.getNumRows() - 1, i, i, ret, UpdateType.INPLACE);
-				}
-			}
-			else { // MM left
-				for(int i = 0; i < that.getNumRows(); i++) {
-					tmpIn = that.slice(i, i, 0, that.getNumColumns() - 1, tmpIn);
-					if(op.getNumThreads() > 1)
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, op.getNumThreads());
-					else
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, true);
-					ret.leftIndexingOperations(tmpOut, i, i, 0, ret.getNumColumns() - 1, ret, UpdateType.INPLACE);
-				}
-			}
+			// blocked matrix-matrix multiplication per column group
+			if(right)
+				rightMultByMatrix(that, ret, op.getNumThreads());
+			else
+				leftMultByMatrix(that, ret, op.getNumThreads());
+			ret.examSparsity();
 		}
 
 		if(LOG.isDebugEnabled())
@@ -1184,6 +1271,17 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			return super.aggregateUnaryOperations(op, result, blen, indexesIn, inCP);
 		}
 
+		// mean and variance via sums and column group dictionaries, respectively
+		// (partial aggregates w/ corrections and row variances via decompression)
+		if(op.aggOp.increOp.fn instanceof Mean && inCP)
+			return aggregateMean(op, result, blen, indexesIn);
+		else if(op.aggOp.increOp.fn instanceof CM && inCP && !(op.indexFn instanceof ReduceCol))
+			return aggregateCentralMoment(op, result);
+		else if(op.aggOp.increOp.fn instanceof Mean || op.aggOp.increOp.fn instanceof CM) {
+			printDecompressWarning("aggregateUnaryOperations");
+			return decompress().aggregateUnaryOperations(op, result, blen, indexesIn, inCP);
+		}
+
 		// check for supported operations
 		if(!(op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq ||
 			(op.aggOp.increOp.fn instanceof Builtin &&
@@ -1323,6 +1421,124 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return aggregateUnaryOperations(op, result, blen, indexesIn, false);
 	}
 
+	private MatrixBlock aggregateMean(AggregateUnaryOperator op, MatrixValue result, int blen,
+		MatrixIndexes indexesIn) {
+		// compute sums over the compressed column groups
+		boolean colAgg = op.indexFn instanceof ReduceRow;
+		AggregateOperator sumAgg = new AggregateOperator(0, KahanPlus.getKahanPlusFnObject(),
+			colAgg ? CorrectionLocationType.LASTROW : CorrectionLocationType.LASTCOLUMN);
+		MatrixBlock ret = aggregateUnaryOperations(
+			new AggregateUnaryOperator(sumAgg, op.indexFn, op.getNumThreads()), result, blen, indexesIn, true);
+
+		// scale sums by the number of aggregated cells
+		double n = (op.indexFn instanceof ReduceAll) ? (double) rlen * clen : colAgg ? rlen : clen;
+		for(int i = 0; i < ret.getNumRows(); i++)
+			for(int j = 0; j < ret.getNumColumns(); j++)
+				ret.quickSetValue(i, j, ret.quickGetValue(i, j) / n);
+		return ret;
+	}
+
+	private MatrixBlock aggregateCentralMoment(AggregateUnaryOperator op, MatrixValue result) {
+		CM cmFn = CM.getCMFnObject(((CM) op.aggOp.increOp.fn).getAggOpType());
+		CM_COV_Object[] cmobjs = computeColumnMoments(cmFn);
+
+		// prepare output (scalar or row vector)
+		boolean all = op.indexFn instanceof ReduceAll;
+		MatrixBlock ret = (result != null) ? (MatrixBlock) result : new MatrixBlock();
+		ret.reset(1, all ? 1 : clen, false);
+
+		// merge column moments or extract required result per column
+		if(all) {
+			CM_COV_Object cmobj = new CM_COV_Object();
+			for(CM_COV_Object cmobj2 : cmobjs)
+				cmFn.execute(cmobj, cmobj2);
+			ret.quickSetValue(0, 0, cmobj.getRequiredResult(cmFn.getAggOpType()));
+		}
+		else {
+			for(int j = 0; j < clen; j++)
+				ret.quickSetValue(0, j, cmobjs[j].getRequiredResult(cmFn.getAggOpType()));
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the central moments of all columns, where compressed column groups are processed over their distinct
+	 * values weighted by their counts, i.e., in O(distinct values) instead of O(rows) per column.
+	 * 
+	 * @param fn central moment function
+	 * @return central moment objects per column
+	 */
+	private CM_COV_Object[] computeColumnMoments(ValueFunction fn) {
+		CM_COV_Object[] ret = new CM_COV_Object[clen];
+		for(int j = 0; j < clen; j++)
+			ret[j] = new CM_COV_Object();
+		for(ColGroup grp : _colGroups) {
+			int[] colIndexes = grp.getColIndices();
+			if(grp instanceof ColGroupUncompressed) {
+				MatrixBlock data = ((ColGroupUncompressed) grp).getData();
+				for(int i = 0; i < rlen; i++)
+					for(int j = 0; j < colIndexes.length; j++)
+						fn.execute(ret[colIndexes[j]], data.quickGetValue(i, j));
+			}
+			else {
+				ColGroupValue grpVal = (ColGroupValue) grp;
+				double[] values = grpVal.getValues();
+				int[] counts = grpVal.getCounts(true);
+				int numVals = grpVal.getNumValues();
+				int ncol = colIndexes.length;
+				for(int j = 0; j < ncol; j++)
+					for(int k = 0; k < counts.length; k++)
+						if(counts[k] > 0)
+							fn.execute(ret[colIndexes[j]], (k < numVals) ? values[k * ncol + j] : 0, counts[k]);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Obtains the distinct values of a single-column column group and their weights, which are either the number of
+	 * occurrences or the sums of the given row weights. Values that do not occur are omitted.
+	 * 
+	 * @param grp     single-column column group
+	 * @param weights row weights, or null for counts
+	 * @return distinct values and weights as column vectors
+	 */
+	private static MatrixBlock[] getValuesAndWeights(ColGroupValue grp, MatrixBlock weights) {
+		double[] values = grp.getValues();
+		int[] counts = grp.getCounts(true);
+		int numVals = grp.getNumValues();
+
+		// aggregate row weights per distinct value (incl zero)
+		double[] wsum = null;
+		if(weights != null) {
+			DoubleIntHashMap map = new DoubleIntHashMap(counts.length);
+			for(int k = 0; k < counts.length; k++)
+				map.putIfAbsent((k < numVals) ? values[k] : 0, k);
+			wsum = new double[counts.length];
+			Iterator<IJV> iter = grp.getIterator(0, grp.getNumRows(), true, true);
+			while(iter.hasNext()) {
+				IJV cell = iter.next();
+				wsum[map.get(cell.getV())] += weights.quickGetValue(cell.getI(), 0);
+			}
+		}
+
+		int len = 0;
+		for(int k = 0; k < counts.length; k++)
+			len += (counts[k] > 0) ? 1 : 0;
+		MatrixBlock vals = new MatrixBlock(len, 1, false);
+		MatrixBlock wts = new MatrixBlock(len, 1, false);
+		vals.allocateDenseBlock();
+		wts.allocateDenseBlock();
+		for(int k = 0, pos = 0; k < counts.length; k++) {
+			if(counts[k] == 0)
+				continue;
+			vals.quickSetValue(pos, 0, (k < numVals) ? values[k] : 0);
+			wts.quickSetValue(pos, 0, (wsum != null) ? wsum[k] : counts[k]);
+			pos++;
+		}
+		return new MatrixBlock[] {vals, wts};
+	}
+
 	private static void aggregateUnaryOperations(AggregateUnaryOperator op, ArrayList<ColGroup> groups, MatrixBlock ret,
 		int rl, int ru) {
 		boolean cacheDDC1 = ColGroupValue.LOW_LEVEL_OPT && op.indexFn instanceof ReduceCol &&
@@ -1500,6 +1716,107 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		}
 	}
 
+	/**
+	 * Multiply this matrix block by a matrix on the right, where each column group pre-multiplies its distinct values
+	 * once and adds entire rows of this pre-aggregate to the output.
+	 * 
+	 * @param matrix right-hand operand of the multiplication
+	 * @param result buffer to hold the result; must have the appropriate size already
+	 * @param k      number of threads
+	 */
+	private void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int k) {
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		int rlen = getNumRows();
+
+		// pre-aggregate all column groups once, shared by all row partitions
+		List<double[]> preaggs = new ArrayList<>(_colGroups.size());
+		for(ColGroup grp : _colGroups)
+			preaggs.add(grp.preaggRightMult(matrix));
+
+		if(k <= 1) {
+			rightMultByMatrix(_colGroups, preaggs, matrix, result, 0, rlen);
+			result.recomputeNonZeros();
+			return;
+		}
+
+		// multi-threaded execution over aligned row partitions
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int blklen = BitmapEncoder.getAlignedBlocksize((int) (Math.ceil((double) rlen / k)));
+			ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<>();
+			for(int i = 0; i < k & i * blklen < rlen; i++)
+				tasks.add(new RightMatrixMatrixMultTask(_colGroups, preaggs, matrix, result, i * blklen,
+					Math.min((i + 1) * blklen, rlen)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			// error handling and nnz aggregation
+			long lnnz = 0;
+			for(Future<Long> tmp : ret)
+				lnnz += tmp.get();
+			result.setNonZeros(lnnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void rightMultByMatrix(List<ColGroup> groups, List<double[]> preaggs, MatrixBlock matrix,
+		MatrixBlock ret, int rl, int ru) {
+		// delegate matrix-matrix operation to each column group (adds to output)
+		for(int i = 0; i < groups.size(); i++)
+			groups.get(i).rightMultByMatrix(matrix, preaggs.get(i), ret, rl, ru);
+	}
+
+	/**
+	 * Multiply this matrix block by a matrix on the left, where each column group aggregates the rows of the left-hand
+	 * side per distinct value and scales this pre-aggregate by its distinct values.
+	 * 
+	 * @param matrix left-hand operand of the multiplication
+	 * @param result buffer to hold the result; must have the appropriate size already
+	 * @param k      number of threads
+	 */
+	private void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int k) {
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		int rlen = matrix.getNumRows();
+
+		if(k <= 1 || rlen == 1) {
+			leftMultByMatrix(_colGroups, matrix, result, 0, rlen);
+			result.recomputeNonZeros();
+			return;
+		}
+
+		// multi-threaded execution over row partitions of the left-hand side
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int blklen = (int) (Math.ceil((double) rlen / k));
+			ArrayList<LeftMatrixMatrixMultTask> tasks = new ArrayList<>();
+			for(int i = 0; i < k & i * blklen < rlen; i++)
+				tasks.add(new LeftMatrixMatrixMultTask(_colGroups, matrix, result, i * blklen,
+					Math.min((i + 1) * blklen, rlen)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			// error handling and nnz aggregation
+			long lnnz = 0;
+			for(Future<Long> tmp : ret)
+				lnnz += tmp.get();
+			result.setNonZeros(lnnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void leftMultByMatrix(List<ColGroup> groups, MatrixBlock matrix, MatrixBlock ret, int rl,
+		int ru) {
+		// delegate matrix-matrix operation to each column group (disjoint output columns)
+		for(ColGroup grp : groups)
+			grp.leftMultByMatrix(matrix, ret, rl, ru);
+	}
+
 	private static void rightMultByVector(ArrayList<ColGroup> groups, MatrixBlock vect, MatrixBlock ret, boolean inclUC,
 		int rl, int ru) {
 		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
@@ -1773,6 +2090,54 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		}
 	}
 
+	private static class RightMatrixMatrixMultTask implements Callable<Long> {
+		private final List<ColGroup> _groups;
+		private final List<double[]> _preaggs;
+		private final MatrixBlock _matrix;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+
+		protected RightMatrixMatrixMultTask(List<ColGroup> groups, List<double[]> preaggs, MatrixBlock matrix,
+			MatrixBlock ret, int rl, int ru) {
+			_groups = groups;
+			_preaggs = preaggs;
+			_matrix = matrix;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() {
+			rightMultByMatrix(_groups, _preaggs, _matrix, _ret, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru - 1, 0, _ret.getNumColumns() - 1);
+		}
+	}
+
+	private static class LeftMatrixMatrixMultTask implements Callable<Long> {
+		private final List<ColGroup> _groups;
+		private final MatrixBlock _matrix;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+
+		protected LeftMatrixMatrixMultTask(List<ColGroup> groups, MatrixBlock matrix, MatrixBlock ret, int rl,
+			int ru) {
+			_groups = groups;
+			_matrix = matrix;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() {
+			leftMultByMatrix(_groups, _matrix, _ret, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru - 1, 0, _ret.getNumColumns() - 1);
+		}
+	}
+
 	private static class MatrixMultTransposeTask implements Callable<Object> {
 		private final ArrayList<ColGroup> _groups;
 		private final MatrixBlock _ret;
@@ -1851,20 +2216,41 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		private final int _rlen;
 		private final int[] _colIndexes;
 		private final boolean _denseEst;
+		private final CompressionWorkload _workload;
 
 		protected CompressTask(MatrixBlock in, CompressedSizeEstimator estim, HashMap<Integer, Double> compRatios,
-			int rlen, int[] colIndexes, boolean denseEst) {
+			int rlen, int[] colIndexes, boolean denseEst, CompressionWorkload workload) {
 			_in = in;
 			_estim = estim;
 			_compRatios = compRatios;
 			_rlen = rlen;
 			_colIndexes = colIndexes;
 			_denseEst = denseEst;
+			_workload = workload;
 		}
 
 		@Override
 		public ColGroup call() {
-			return compressColGroup(_in, _estim, _compRatios, _rlen, _colIndexes, _denseEst);
+			return compressColGroup(_in, _estim, _compRatios, _rlen, _colIndexes, _denseEst, _workload);
+		}
+	}
+
+	private static class RecodeTask implements Callable<Object> {
+		private final ColGroupDDC1 _grp;
+		private final DoubleIntHashMap _map;
+		private final double[] _dict;
+
+		protected RecodeTask(ColGroupDDC1 grp, DoubleIntHashMap map, double[] dict) {
+			_grp = grp;
+			_map = map;
+			_dict = dict;
+		}
+
+		@Override
+		public Object call() {
+			_grp.recodeData(_map);
+			_grp.setValues(_dict);
+			return null;
 		}
 	}
 
@@ -1911,14 +2297,58 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock unaryOperations(UnaryOperator op, MatrixValue result) {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
+		// call uncompressed unary operations for cumulative aggregates and non-builtins
+		if(!isCompressed() || LibMatrixAgg.isSupportedUnaryOperator(op) || !(op.fn instanceof Builtin)) {
+			if(isCompressed())
+				printDecompressWarning("unaryOperations");
+			MatrixBlock tmp = isCompressed() ? decompress() : this;
+			return tmp.unaryOperations(op, result);
+		}
+
+		// allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if(result == null || !(result instanceof CompressedMatrixBlock))
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+
+		// Apply the cell-wise operation to each of the column groups.
+		// Most implementations will only modify the value dictionaries.
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for(ColGroup grp : _colGroups) {
+			newColGroups.add(grp.unaryOperation(op));
+		}
+		ret._colGroups = newColGroups;
+		ret.setNonZeros((long) rlen * clen);
+
+		return ret;
 	}
 
 	@Override
 	public MatrixBlock binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
-		printDecompressWarning("binaryOperations", (MatrixBlock) thatValue);
+		MatrixBlock that = (MatrixBlock) thatValue;
+
+		// matrix-row vector operations on the value dictionaries
+		if(isRowVectorOperation(that)) {
+			CompressedMatrixBlock ret = null;
+			if(result == null || !(result instanceof CompressedMatrixBlock))
+				ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+			else {
+				ret = (CompressedMatrixBlock) result;
+				ret.reset(rlen, clen);
+			}
+			ret._colGroups = binaryRowOperations(op, that);
+			ret.setNonZeros((long) rlen * clen);
+			return ret;
+		}
+
+		// matrix-column vector operations via partial decompression per column group
+		if(isColVectorOperation(that))
+			return binaryColOperations(op, that);
+
+		printDecompressWarning("binaryOperations", that);
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(thatValue);
 		return left.binaryOperations(op, right, result);
@@ -1926,12 +2356,62 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock) thatValue);
+		MatrixBlock that = (MatrixBlock) thatValue;
+
+		// matrix-row vector operations on the value dictionaries
+		if(isRowVectorOperation(that)) {
+			_colGroups = binaryRowOperations(op, that);
+			_sharedDDC1Dict = false; // new dictionaries per group
+			setNonZeros((long) rlen * clen);
+			return;
+		}
+
+		printDecompressWarning("binaryOperationsInPlace", that);
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(thatValue);
 		left.binaryOperationsInPlace(op, right);
 	}
 
+	private boolean isRowVectorOperation(MatrixBlock that) {
+		return isCompressed() && !isCompressed(that) && rlen > 1 && that.getNumRows() == 1 &&
+			that.getNumColumns() == clen;
+	}
+
+	private boolean isColVectorOperation(MatrixBlock that) {
+		return isCompressed() && !isCompressed(that) && clen > 1 && that.getNumColumns() == 1 &&
+			that.getNumRows() == rlen;
+	}
+
+	private ArrayList<ColGroup> binaryRowOperations(BinaryOperator op, MatrixBlock that) {
+		// Apply the operation recursively to each of the column groups.
+		// Most implementations will only modify the value dictionaries per column.
+		double[] v = ConverterUtils.getDenseVector(that);
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for(ColGroup grp : _colGroups) {
+			newColGroups.add(grp.binaryRowOp(op, v));
+		}
+		return newColGroups;
+	}
+
+	private MatrixBlock binaryColOperations(BinaryOperator op, MatrixBlock that) {
+		double[] v = ConverterUtils.getDenseVector(that);
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		ret.allocateDenseBlock();
+
+		// cache-conscious row blocks, in which each column group decompresses
+		// and transforms only its own columns directly into the output
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		for(int bi = 0; bi < rlen; bi += blksz) {
+			int bu = Math.min(bi + blksz, rlen);
+			for(ColGroup grp : _colGroups)
+				grp.binaryColOp(op, v, ret, bi, bu);
+		}
+
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
 	@Override
 	public void incrementalAggregate(AggregateOperator aggOp, MatrixValue correction, MatrixValue newWithCorrection,
 		boolean deep) {
@@ -2000,9 +2480,59 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock slice(int rl, int ru, int cl, int cu, CacheBlock ret) {
-		printDecompressWarning("slice");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.slice(rl, ru, cl, cu, ret);
+		// call uncompressed slice if necessary
+		if(!isCompressed())
+			return super.slice(rl, ru, cl, cu, ret);
+
+		// check the validity of bounds
+		if(rl < 0 || rl >= rlen || ru < rl || ru >= rlen || cl < 0 || cl >= clen || cu < cl || cu >= clen) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: [" + (rl + 1) + ":" + (ru + 1) + ","
+				+ (cl + 1) + ":" + (cu + 1) + "] " + "must be within matrix dimensions [" + rlen + "," + clen + "]");
+		}
+
+		// column slicing over all rows: compressed output with sliced column groups
+		if(rl == 0 && ru == rlen - 1)
+			return sliceColumns(cl, cu);
+
+		// row slicing: partial decompression of the overlapping column groups
+		final int nrow = ru - rl + 1;
+		long nnz = (nonZeros >= 0) ? nonZeros : (long) rlen * clen;
+		long estnnz = (long) ((double) nnz / rlen * nrow);
+		boolean sp = MatrixBlock.evalSparseFormatInMemory(nrow, clen, estnnz);
+		MatrixBlock tmp = new MatrixBlock(nrow, clen, sp, estnnz);
+		tmp.allocateBlock();
+		for(ColGroup grp : _colGroups)
+			if(grp.getColumnPositions(cl, cu).length > 0)
+				grp.decompressRowsToBlock(tmp, rl, ru + 1);
+		tmp.recomputeNonZeros();
+		if(tmp.isInSparseFormat())
+			tmp.sortSparseRows();
+
+		// column slicing of the (small) row range, if necessary
+		MatrixBlock out = (cl == 0 && cu == clen - 1) ? tmp : tmp.slice(0, nrow - 1, cl, cu, ret);
+		out.examSparsity();
+		return out;
+	}
+
+	private CompressedMatrixBlock sliceColumns(int cl, int cu) {
+		final int ncol = cu - cl + 1;
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rlen, ncol, sparse);
+
+		// slice the column groups, which shares their compressed representation,
+		// and count the exact non-zeros of the sliced groups
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		long nnz = 0;
+		for(ColGroup grp : _colGroups) {
+			ColGroup tmp = grp.sliceColumns(cl, cu);
+			if(tmp != null) {
+				newColGroups.add(tmp);
+				nnz += tmp.getNumberNonZeros();
+			}
+		}
+		ret._colGroups = newColGroups;
+		ret.setNonZeros(nnz);
+
+		return ret;
 	}
 
 	@Override
@@ -2027,69 +2557,83 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op) {
-		printDecompressWarning("cmOperations");
 		if(!isCompressed() || isEmptyBlock())
 			return super.cmOperations(op);
+		if(getNumColumns() != 1)
+			throw new DMLRuntimeException(
+				"Central Moment can not be computed on [" + getNumRows() + "," + getNumColumns() + "] matrix.");
 		ColGroup grp = _colGroups.get(0);
 		if(grp instanceof ColGroupUncompressed)
 			return ((ColGroupUncompressed) grp).getData().cmOperations(op);
 
-		ColGroupValue grpVal = (ColGroupValue) grp;
-		MatrixBlock vals = grpVal.getValuesAsBlock();
-		MatrixBlock counts = ColGroupValue.getCountsAsBlock(grpVal.getCounts(true));
-		return vals.cmOperations(op, counts);
+		// central moment over distinct values weighted by counts
+		MatrixBlock[] tmp = getValuesAndWeights((ColGroupValue) grp, null);
+		return tmp[0].cmOperations(op, tmp[1]);
 	}
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) {
-		printDecompressWarning("cmOperations");
 		MatrixBlock right = getUncompressed(weights);
-		if(!isCompressed() || isEmptyBlock())
+		if(!isCompressed())
 			return super.cmOperations(op, right);
 		ColGroup grp = _colGroups.get(0);
-		if(grp instanceof ColGroupUncompressed)
-			return ((ColGroupUncompressed) grp).getData().cmOperations(op);
-		return decompress().cmOperations(op, right);
+		if(getNumColumns() != 1 || right.getNumColumns() != 1 || getNumRows() != right.getNumRows() ||
+			grp instanceof ColGroupUncompressed) {
+			printDecompressWarning("cmOperations");
+			return decompress().cmOperations(op, right);
+		}
+
+		// central moment over distinct values weighted by sums of row weights
+		MatrixBlock[] tmp = getValuesAndWeights((ColGroupValue) grp, right);
+		return tmp[0].cmOperations(op, tmp[1]);
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(that);
-		return left.covOperations(op, right);
+		return covOperations(op, that, null);
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(weights);
-		return left.covOperations(op, right1, right2);
+		if(!isCompressed() || getNumColumns() != 1 || right1.getNumColumns() != 1 ||
+			getNumRows() != right1.getNumRows() || (right2 != null && getNumRows() != right2.getNumRows())) {
+			printDecompressWarning("covOperations");
+			MatrixBlock left = isCompressed() ? decompress() : this;
+			return (right2 != null) ? left.covOperations(op, right1, right2) : left.covOperations(op, right1);
+		}
+
+		// row-wise covariance via column group iterator (w/o decompression)
+		CM_COV_Object covobj = new CM_COV_Object();
+		Iterator<IJV> iter = _colGroups.get(0).getIterator(0, rlen, true, true);
+		while(iter.hasNext()) {
+			IJV cell = iter.next();
+			int i = cell.getI();
+			if(right2 != null)
+				op.fn.execute(covobj, cell.getV(), right1.quickGetValue(i, 0), right2.quickGetValue(i, 0));
+			else
+				op.fn.execute(covobj, cell.getV(), right1.quickGetValue(i, 0));
+		}
+		return covobj;
 	}
 
 	@Override
 	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
-		printDecompressWarning("sortOperations");
 		MatrixBlock right = getUncompressed(weights);
 		if(!isCompressed())
 			return super.sortOperations(right, result);
 		ColGroup grp = _colGroups.get(0);
 		if(grp instanceof ColGroupUncompressed)
 			return ((ColGroupUncompressed) grp).getData().sortOperations(right, result);
-
-		if(right == null) {
-			ColGroupValue grpVal = (ColGroupValue) grp;
-			MatrixBlock vals = grpVal.getValuesAsBlock();
-			int[] counts = grpVal.getCounts(true);
-			double[] data = (vals.getDenseBlock() != null) ? vals.getDenseBlockValues() : null;
-			SortUtils.sortByValue(0, vals.getNumRows(), data, counts);
-			MatrixBlock counts2 = ColGroupValue.getCountsAsBlock(counts);
-			return vals.sortOperations(counts2, result);
-		}
-		else
+		if(getNumColumns() != 1 || (right != null && getNumRows() != right.getNumRows())) {
+			printDecompressWarning("sortOperations");
 			return decompress().sortOperations(right, result);
+		}
+
+		// sort distinct values w/ counts or sums of row weights
+		MatrixBlock[] tmp = getValuesAndWeights((ColGroupValue) grp, right);
+		return tmp[0].sortOperations(tmp[1], result);
 	}
 
 	@Override
@@ -2129,10 +2673,44 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
+		MatrixBlock target = getUncompressed(tgt);
+		MatrixBlock weights = getUncompressed(wghts);
+
+		// group counts over the dictionary of compressed group vectors
+		if(isCompressed() && getNumColumns() == 1 && !(_colGroups.get(0) instanceof ColGroupUncompressed) &&
+			weights == null && target.getNumColumns() == 1 && target.getNumRows() == getNumRows() &&
+			op instanceof CMOperator && ((CMOperator) op).getAggOpType() == AggregateOperationTypes.COUNT) {
+			return groupedCount((ColGroupValue) _colGroups.get(0), (MatrixBlock) ret, ngroups);
+		}
+
 		printDecompressWarning("groupedAggOperations");
 		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return left.groupedAggOperations(target, weights, ret, ngroups, op, k);
+	}
+
+	private static MatrixBlock groupedCount(ColGroupValue grp, MatrixBlock ret, int ngroups) {
+		MatrixBlock[] tmp = getValuesAndWeights(grp, null);
+		MatrixBlock vals = tmp[0];
+		MatrixBlock counts = tmp[1];
+
+		// determine and validate number of groups
+		for(int i = 0; i < vals.getNumRows(); i++)
+			if(vals.quickGetValue(i, 0) <= 0)
+				throw new DMLRuntimeException("Invalid value (" + vals.quickGetValue(i, 0)
+					+ ") encountered in 'groups' while computing groupedAggregate");
+		if(ngroups <= 0)
+			ngroups = (int) vals.max();
+
+		// aggregate counts of distinct groups
+		MatrixBlock result = (ret != null) ? ret : new MatrixBlock();
+		result.reset(ngroups, 1, false);
+		for(int i = 0; i < vals.getNumRows(); i++) {
+			int g = (int) vals.quickGetValue(i, 0);
+			if(g <= ngroups)
+				result.quickSetValue(g - 1, 0, result.quickGetValue(g - 1, 0) + counts.quickGetValue(i, 0));
+		}
+		result.examSparsity();
+		return result;
 	}
 
 	@Override
@@ -2176,9 +2754,33 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
+		if(!isCompressed()) {
+			super.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
+			return;
+		}
+
+		// histogram over distinct values, where the weight is scaled by their counts
+		CTable ctable = CTable.getCTableFnObject();
+		for(ColGroup grp : _colGroups) {
+			if(grp instanceof ColGroupUncompressed) {
+				((ColGroupUncompressed) grp).getData().ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
+				continue;
+			}
+			ColGroupValue grpVal = (ColGroupValue) grp;
+			double[] values = grpVal.getValues();
+			int[] counts = grpVal.getCounts(true);
+			int numVals = grpVal.getNumValues();
+			int ncol = grpVal.getNumCols();
+			for(int j = 0; j < ncol; j++)
+				for(int k = 0; k < counts.length; k++)
+					if(counts[k] > 0)
+						ctable.execute((k < numVals) ? values[k * ncol + j] : 0, scalar, scalar2 * counts[k], false,
+							resultMap, resultBlock);
+		}
+
+		// maintain nnz (if necessary)
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
 	}
 
 	@Override
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.ColGroup.CompressionType;
+
+/**
+ * Summary of the operations executed over a compressed matrix, collected by the compiler from the HOP DAG and weighted
+ * by the (estimated) number of loop iterations. The compression planner uses this summary to trade the compressed size
+ * of a column group for the cost of the operations executed over it.
+ */
+public class CompressionWorkload implements Serializable {
+	private static final long serialVersionUID = -2585683931456092416L;
+
+	private static final String DELIM = ":";
+
+	public enum WorkloadOp {
+		MV, // right matrix-vector multiplication
+		VM, // left vector-matrix multiplication
+		MM, // matrix-matrix multiplication
+		TSMM, // transpose-self matrix multiplication
+		SLICE, // row or column indexing
+		CELLWISE; // scalar, unary, and binary cell-wise operations
+	}
+
+	/**
+	 * Relative costs per operation (rows) and compression type (columns OLE, RLE, DDC, SDC). These factors are not
+	 * calibrated runtime measurements but a coarse ranking derived from the access patterns of the respective kernels,
+	 * normalized such that the best encoding per operation has a cost of 1. The planner multiplies them with the
+	 * estimated compressed size, so a factor of 1.3 means that an encoding is only chosen over the best one for an
+	 * operation if it is at least 30% smaller.
+	 * <ul>
+	 * <li>MV: OLE and RLE scan the offsets of each distinct value and aggregate the pre-computed dot products of the
+	 * dictionary, while DDC and SDC perform a dictionary lookup per row (and SDC an additional exception lookup).</li>
+	 * <li>VM: all encodings aggregate the input vector per distinct value and compute one dot product per value, the
+	 * per-row code lookup of DDC and SDC is only slightly more expensive than the offset scans.</li>
+	 * <li>MM and TSMM: the per-row access of DDC allows cache-conscious row blocks, whereas OLE and RLE repeatedly scan
+	 * (and RLE decodes runs of) all offsets for every column of the other side.</li>
+	 * <li>SLICE: DDC and SDC access rows directly, while OLE and RLE need to (skip-)scan segments up to the first row,
+	 * which is the most pronounced difference between encodings.</li>
+	 * <li>CELLWISE: scalar and unary operations only modify the dictionary and are thus independent of the
+	 * encoding.</li>
+	 * </ul>
+	 */
+	private static final double[][] OP_COSTS = new double[][] {
+		// OLE, RLE, DDC, SDC
+		{1.0, 1.1, 1.3, 1.2}, // MV
+		{1.0, 1.0, 1.1, 1.1}, // VM
+		{1.6, 1.8, 1.0, 1.3}, // MM
+		{1.4, 1.6, 1.0, 1.2}, // TSMM
+		{4.0, 4.0, 1.0, 1.5}, // SLICE
+		{1.0, 1.0, 1.0, 1.0}, // CELLWISE
+	};
+
+	private final double[] _counts;
+
+	public CompressionWorkload() {
+		_counts = new double[WorkloadOp.values().length];
+	}
+
+	private CompressionWorkload(double[] counts) {
+		_counts = counts;
+	}
+
+	/**
+	 * Adds an operation with the given weight, i.e., the estimated number of executions.
+	 *
+	 * @param op     operation type
+	 * @param weight number of executions
+	 */
+	public void add(WorkloadOp op, double weight) {
+		_counts[op.ordinal()] += weight;
+	}
+
+	/**
+	 * Adds all operations of the given workload, scaled by the given weight (e.g., the estimated number of executions
+	 * of a function call).
+	 *
+	 * @param that   workload to add
+	 * @param weight number of executions
+	 */
+	public void add(CompressionWorkload that, double weight) {
+		for(int i = 0; i < _counts.length; i++)
+			_counts[i] += that._counts[i] * weight;
+	}
+
+	public double getCount(WorkloadOp op) {
+		return _counts[op.ordinal()];
+	}
+
+	public boolean isEmpty() {
+		for(double cnt : _counts)
+			if(cnt > 0)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Obtains the relative operation cost of the given compression type for this workload, computed as the average of
+	 * the per-operation costs weighted by the operation counts. Empty workloads and types without data-dependent
+	 * operation costs have a cost factor of 1.
+	 *
+	 * @param type compression type
+	 * @return cost factor (&gt;= 1)
+	 */
+	public double getCostFactor(CompressionType type) {
+		int pos = getCostIndex(type);
+		double total = 0, cost = 0;
+		for(int i = 0; i < _counts.length; i++) {
+			total += _counts[i];
+			cost += _counts[i] * ((pos >= 0) ? OP_COSTS[i][pos] : 1);
+		}
+		return (total > 0) ? cost / total : 1;
+	}
+
+	private static int getCostIndex(CompressionType type) {
+		switch(type) {
+			case OLE_BITMAP:
+				return 0;
+			case RLE_BITMAP:
+				return 1;
+			case DDC1:
+			case DDC2:
+				return 2;
+			case SDC:
+				return 3;
+			default:
+				return -1;
+		}
+	}
+
+	/**
+	 * Parses a workload from its string representation as obtained by {@link #toString()}.
+	 *
+	 * @param str string representation of the workload
+	 * @return workload
+	 */
+	public static CompressionWorkload parseWorkload(String str) {
+		String[] parts = str.split(DELIM);
+		if(parts.length != WorkloadOp.values().length)
+			throw new DMLRuntimeException("Invalid compression workload: " + str);
+		double[] counts = new double[parts.length];
+		for(int i = 0; i < parts.length; i++)
+			counts[i] = Double.parseDouble(parts[i]);
+		return new CompressionWorkload(counts);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < _counts.length; i++) {
+			if(i > 0)
+				sb.append(DELIM);
+			sb.append(_counts[i]);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_counts);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof CompressionWorkload && Arrays.equals(_counts, ((CompressionWorkload) o)._counts);
+	}
+}
@@ -62,17 +62,19 @@ public class PlanningCoCoder {
 		// use column group partitioner to create partitions of columns
 		List<int[]> bins = createColumnGroupPartitioner(COLUMN_PARTITIONER).partitionColumns(groupCols, groupColsInfo);
 
-		// brute force grouping within each partition
-		return (k > 1) ? getCocodingGroupsBruteForce(bins,
+		// brute force grouping within each partition, in parallel over partitions if there
+		// are enough partitions, otherwise in parallel over the merge candidates per partition
+		return (k > 1 && bins.size() >= k) ? getCocodingGroupsBruteForceParallel(bins,
 			groupColsInfo,
 			sizeEstimator,
 			numRows,
-			k) : getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows);
+			k) : getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows, k);
 	}
 
 	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins,
-		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen) {
+		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen, int k) {
 		List<int[]> retGroups = new ArrayList<>();
+		ExecutorService pool = (k > 1) ? CommonThreadPool.get(k) : null;
 		for(int[] bin : bins) {
 			// building an array of singleton CoCodingGroup
 			ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<>();
@@ -81,15 +83,18 @@ public class PlanningCoCoder {
 			// brute force co-coding
 			PlanningCoCodingGroup[] outputGroups = findCocodesBruteForce(estim,
 				rlen,
-				sgroups.toArray(new PlanningCoCodingGroup[0]));
+				sgroups.toArray(new PlanningCoCodingGroup[0]),
+				pool);
 			for(PlanningCoCodingGroup grp : outputGroups)
 				retGroups.add(grp.getColIndices());
 		}
+		if(pool != null)
+			pool.shutdown();
 
 		return retGroups;
 	}
 
-	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins,
+	private static List<int[]> getCocodingGroupsBruteForceParallel(List<int[]> bins,
 		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen, int k) {
 		List<int[]> retGroups = new ArrayList<>();
 		try {
@@ -122,10 +127,11 @@ public class PlanningCoCoder {
 	 * @param sizeEstimator  compressed size estimator
 	 * @param numRowsWeight  number of rows weight
 	 * @param singltonGroups planning co-coding groups
+	 * @param pool           thread pool for the parallel creation of merge candidates, or null
 	 * @return
 	 */
 	private static PlanningCoCodingGroup[] findCocodesBruteForce(CompressedSizeEstimator estim, int numRows,
-		PlanningCoCodingGroup[] singletonGroups) {
+		PlanningCoCodingGroup[] singletonGroups, ExecutorService pool) {
 		if(LOG.isTraceEnabled())
 			LOG.trace("Cocoding: process " + singletonGroups.length);
 
@@ -137,6 +143,10 @@ public class PlanningCoCoder {
 		// process merging iterations until no more change
 		boolean changed = true;
 		while(changed && workset.size() > 1) {
+			// parallel creation of unseen merge candidates (incl bitmap extraction)
+			if(pool != null)
+				createMergeCandidates(estim, numRows, workset, memo, pool);
+
 			// find best merge, incl memoization
 			PlanningCoCodingGroup tmp = null;
 			for(int i = 0; i < workset.size(); i++) {
@@ -183,6 +193,33 @@ public class PlanningCoCoder {
 		return workset.toArray(new PlanningCoCodingGroup[0]);
 	}
 
+	private static void createMergeCandidates(CompressedSizeEstimator estim, int numRows,
+		List<PlanningCoCodingGroup> workset, PlanningMemoTable memo, ExecutorService pool) {
+		// collect non-dominated candidates w/o memoized groups, where the
+		// pruning threshold is fixed for the duration of the parallel phase
+		ArrayList<MergeTask> tasks = new ArrayList<>();
+		double optChangeInSize = memo.getOptChangeInSize();
+		for(int i = 0; i < workset.size(); i++) {
+			for(int j = i + 1; j < workset.size(); j++) {
+				PlanningCoCodingGroup c1 = workset.get(i);
+				PlanningCoCodingGroup c2 = workset.get(j);
+				if(-Math.min(c1.getEstSize(), c2.getEstSize()) > optChangeInSize || memo.contains(c1, c2))
+					continue;
+				tasks.add(new MergeTask(c1, c2, estim, numRows));
+			}
+		}
+		if(tasks.size() < 2)
+			return; // created on demand
+
+		try {
+			for(Future<PlanningCoCodingGroup> lrtask : pool.invokeAll(tasks))
+				memo.put(lrtask.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	private static ColumnGroupPartitioner createColumnGroupPartitioner(PartitionerType type) {
 		switch(type) {
 			case BIN_PACKING:
@@ -220,7 +257,27 @@ public class PlanningCoCoder {
 		@Override
 		public PlanningCoCodingGroup[] call() {
 			// brute force co-coding
-			return findCocodesBruteForce(_estim, _rlen, _sgroups.toArray(new PlanningCoCodingGroup[0]));
+			return findCocodesBruteForce(_estim, _rlen, _sgroups.toArray(new PlanningCoCodingGroup[0]), null);
+		}
+	}
+
+	private static class MergeTask implements Callable<PlanningCoCodingGroup> {
+		private final PlanningCoCodingGroup _c1;
+		private final PlanningCoCodingGroup _c2;
+		private final CompressedSizeEstimator _estim;
+		private final int _rlen;
+
+		protected MergeTask(PlanningCoCodingGroup c1, PlanningCoCodingGroup c2, CompressedSizeEstimator estim,
+			int rlen) {
+			_c1 = c1;
+			_c2 = c2;
+			_estim = estim;
+			_rlen = rlen;
+		}
+
+		@Override
+		public PlanningCoCodingGroup call() {
+			return new PlanningCoCodingGroup(_c1, _c2, _estim, _rlen);
 		}
 	}
 }
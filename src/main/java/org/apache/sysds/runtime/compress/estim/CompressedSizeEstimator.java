@@ -48,6 +48,7 @@ public abstract class CompressedSizeEstimator {
 		int numOffs = 0;
 		int numSegs = 0;
 		int numSingle = 0;
+		int maxOffs = 0;
 
 		// compute size estimation factors
 		for(int i = 0; i < numVals; i++) {
@@ -56,6 +57,7 @@ public abstract class CompressedSizeEstimator {
 			numOffs += listSize;
 			numSegs += list[listSize - 1] / BitmapEncoder.BITMAP_BLOCK_SZ + 1;
 			numSingle += (listSize == 1) ? 1 : 0;
+			maxOffs = Math.max(maxOffs, listSize);
 			if(inclRLE) {
 				int lastOff = -2;
 				for(int j = 0; j < listSize; j++) {
@@ -70,7 +72,7 @@ public abstract class CompressedSizeEstimator {
 		}
 
 		// construct estimation factors
-		return new SizeEstimationFactors(numVals, numSegs, numOffs, numRuns, numSingle);
+		return new SizeEstimationFactors(numVals, numSegs, numOffs, numRuns, numSingle, maxOffs);
 	}
 
 	/**
@@ -134,19 +136,42 @@ public abstract class CompressedSizeEstimator {
 		return ret;
 	}
 
+	/**
+	 * Estimates the number of bytes needed to encode this column group in SDC format.
+	 * 
+	 * @param numVals       number of value tuples
+	 * @param numExceptions number of rows that do not take the most frequent value tuple
+	 * @param numCols       number of columns
+	 * @return number of bytes to encode column group in SDC format
+	 */
+	protected static long getSDCSize(int numVals, int numExceptions, int numCols) {
+		if(numVals == 0 || numVals > Character.MAX_VALUE - 1)
+			return Long.MAX_VALUE;
+
+		long ret = 0;
+		// distinct value tuples incl zero tuple [double per col]
+		ret += 8L * (numVals + 1) * numCols;
+		// exception offsets and codes [int and char per exception]
+		ret += 6L * numExceptions;
+		return ret;
+	}
+
 	protected static class SizeEstimationFactors {
 		protected int numVals; // num value tuples
 		protected int numSegs; // num OLE segments
 		protected int numOffs; // num OLE offsets
 		protected int numRuns; // num RLE runs
 		protected int numSingle; // num singletons
+		protected int maxOffs; // num offsets of most frequent value
 
-		protected SizeEstimationFactors(int numvals, int numsegs, int numoffs, int numruns, int numsingle) {
+		protected SizeEstimationFactors(int numvals, int numsegs, int numoffs, int numruns, int numsingle,
+			int maxoffs) {
 			numVals = numvals;
 			numSegs = numsegs;
 			numOffs = numoffs;
 			numRuns = numruns;
 			numSingle = numsingle;
+			maxOffs = maxoffs;
 		}
 	}
 }
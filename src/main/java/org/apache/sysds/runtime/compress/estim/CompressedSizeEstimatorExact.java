@@ -46,6 +46,7 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator {
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 			getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 			getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-			getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+			getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+			getSDCSize(fact.numVals, _numRows - fact.maxOffs, ubm.getNumColumns()));
 	}
 }
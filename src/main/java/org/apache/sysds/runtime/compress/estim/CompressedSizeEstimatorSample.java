@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.compress.estim;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -47,7 +48,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 	private static final Log LOG = LogFactory.getLog(CompressedSizeEstimatorSample.class.getName());
 
 	private int[] _sampleRows = null;
-	private HashMap<Integer, Double> _solveCache = null;
+	private ConcurrentHashMap<Integer, Double> _solveCache = null;
 
 	/**
 	 * CompressedSizeEstimatorSample, samples from the input data and estimates the size of the compressed matrix.
@@ -68,7 +69,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 		}
 
 		// establish estimator-local cache for numeric solve
-		_solveCache = new HashMap<>();
+		_solveCache = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -106,11 +107,16 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 		int totalNumSeg = fact.numSegs + numUnseenSeg;
 		int totalNumRuns = getNumRuns(ubm, sampleSize, _numRows, sampleRows) + numUnseenSeg;
 
+		// estimate number of exceptions from the scaled frequency of the most frequent value,
+		// where unseen values are treated as exceptions (conservatively round up)
+		int numExceptions = (int) Math.ceil(_numRows - (double) _numRows / sampleSize * fact.maxOffs);
+
 		// construct new size info summary
 		return new CompressedSizeInfo(totalCardinality, numNonZeros,
 			getRLESize(totalCardinality, totalNumRuns, numCols),
 			getOLESize(totalCardinality, numNonZeros, totalNumSeg, numCols),
-			getDDCSize(totalCardinality, _numRows, numCols));
+			getDDCSize(totalCardinality, _numRows, numCols),
+			getSDCSize(totalCardinality, numExceptions, numCols));
 	}
 
 	@Override
@@ -122,11 +128,12 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 			getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 			getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-			getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+			getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+			getSDCSize(fact.numVals, _numRows - fact.maxOffs, ubm.getNumColumns()));
 	}
 
 	private static int getNumDistinctValues(UncompressedBitmap ubm, int numRows, int[] sampleRows,
-		HashMap<Integer, Double> solveCache) {
+		ConcurrentHashMap<Integer, Double> solveCache) {
 		return haasAndStokes(ubm, numRows, sampleRows.length, solveCache);
 	}
 
@@ -489,7 +496,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 	 * @return estimator
 	 */
 	private static int haasAndStokes(UncompressedBitmap ubm, int nRows, int sampleSize,
-		HashMap<Integer, Double> solveCache) {
+		ConcurrentHashMap<Integer, Double> solveCache) {
 		// obtain value and frequency histograms
 		int numVals = ubm.getNumValues();
 		int[] freqCounts = getFreqCounts(ubm);
@@ -580,7 +587,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 	 * 
 	 */
 	private static double getDuj2aEstimate(double q, int f[], int n, int dn, double gammaDuj1, int N,
-		HashMap<Integer, Double> solveCache) {
+		ConcurrentHashMap<Integer, Double> solveCache) {
 		int c = HAAS_AND_STOKES_UJ2A_CUT2 ? f.length / 2 + 1 : HAAS_AND_STOKES_UJ2A_C + 1;
 
 		// compute adjusted sample size after removing classes that
@@ -655,7 +662,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 	 * 
 	 */
 	private static double getMethodOfMomentsEstimate(int nj, double q, double min, double max,
-		HashMap<Integer, Double> solveCache) {
+		ConcurrentHashMap<Integer, Double> solveCache) {
 		if(solveCache.containsKey(nj))
 			return solveCache.get(nj);
 
@@ -31,13 +31,15 @@ public class CompressedSizeInfo {
 	private final long _rleSize;
 	private final long _oleSize;
 	private final long _ddcSize;
+	private final long _sdcSize;
 
-	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize) {
+	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize, long sdcSize) {
 		_estCard = estCard;
 		_estNnz = estNnz;
 		_rleSize = rleSize;
 		_oleSize = oleSize;
 		_ddcSize = ddcSize;
+		_sdcSize = sdcSize;
 	}
 
 	public long getRLESize() {
@@ -52,8 +54,12 @@ public class CompressedSizeInfo {
 		return CompressedMatrixBlock.ALLOW_DDC_ENCODING ? _ddcSize : Long.MAX_VALUE;
 	}
 
+	public long getSDCSize() {
+		return CompressedMatrixBlock.ALLOW_SDC_ENCODING ? _sdcSize : Long.MAX_VALUE;
+	}
+
 	public long getMinSize() {
-		return Math.min(Math.min(getRLESize(), getOLESize()), getDDCSize());
+		return Math.min(Math.min(getRLESize(), getOLESize()), Math.min(getDDCSize(), getSDCSize()));
 	}
 
 	public int getEstCard() {
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.utils;
+
+import java.util.Arrays;
+
+/**
+ * This class provides a memory-efficient replacement for {@code HashMap<Double,Integer>} with non-negative values
+ * (e.g., dictionary codes). It uses open addressing with linear probing over primitive arrays, and thus avoids the
+ * boxing of keys and values as well as the allocation of entry objects. Keys are compared by their canonical bit
+ * representation, i.e., 0.0 and -0.0 as well as all NaN values map to the same entry.
+ */
+public class DoubleIntHashMap {
+	private static final int INIT_CAPACITY = 8;
+	private static final int RESIZE_FACTOR = 2;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private long[] _keys = null;
+	private int[] _values = null; // -1 for empty slots
+	private int _size = -1;
+
+	public DoubleIntHashMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public DoubleIntHashMap(int expectedSize) {
+		int capacity = INIT_CAPACITY;
+		while(capacity * LOAD_FACTOR <= expectedSize && capacity < (1 << 30))
+			capacity *= RESIZE_FACTOR;
+		allocate(capacity);
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Obtains the value of the given key.
+	 *
+	 * @param key key
+	 * @return value, or -1 if the key does not exist
+	 */
+	public int get(double key) {
+		final long bits = toBits(key);
+		final int mask = _keys.length - 1;
+		for(int ix = hash(bits) & mask; _values[ix] >= 0; ix = (ix + 1) & mask)
+			if(_keys[ix] == bits)
+				return _values[ix];
+		return -1;
+	}
+
+	public boolean containsKey(double key) {
+		return get(key) >= 0;
+	}
+
+	/**
+	 * Inserts or updates the value of the given key.
+	 *
+	 * @param key   key
+	 * @param value non-negative value
+	 */
+	public void put(double key, int value) {
+		insert(toBits(key), value, true);
+	}
+
+	/**
+	 * Inserts the given value if the key does not exist yet.
+	 *
+	 * @param key   key
+	 * @param value non-negative value
+	 * @return existing value, or -1 if the given value was inserted
+	 */
+	public int putIfAbsent(double key, int value) {
+		return insert(toBits(key), value, false);
+	}
+
+	/**
+	 * Obtains the distinct keys of this map in an arbitrary order.
+	 *
+	 * @return array of keys
+	 */
+	public double[] getKeys() {
+		double[] ret = new double[_size];
+		for(int i = 0, pos = 0; i < _keys.length; i++)
+			if(_values[i] >= 0)
+				ret[pos++] = Double.longBitsToDouble(_keys[i]);
+		return ret;
+	}
+
+	private int insert(long bits, int value, boolean overwrite) {
+		if(value < 0)
+			throw new IllegalArgumentException("Invalid negative value: " + value);
+		final int mask = _keys.length - 1;
+		int ix = hash(bits) & mask;
+		for(; _values[ix] >= 0; ix = (ix + 1) & mask) {
+			if(_keys[ix] == bits) {
+				int old = _values[ix];
+				if(overwrite)
+					_values[ix] = value;
+				return old;
+			}
+		}
+
+		// add new entry and resize if necessary
+		_keys[ix] = bits;
+		_values[ix] = value;
+		_size++;
+		if(_size >= LOAD_FACTOR * _keys.length)
+			resize();
+		return -1;
+	}
+
+	private void allocate(int capacity) {
+		_keys = new long[capacity];
+		_values = new int[capacity];
+		Arrays.fill(_values, -1);
+		_size = 0;
+	}
+
+	private void resize() {
+		// check for integer overflow on resize
+		if(_keys.length > Integer.MAX_VALUE / RESIZE_FACTOR)
+			return;
+
+		// resize data arrays and rehash existing contents
+		long[] oldkeys = _keys;
+		int[] oldvalues = _values;
+		allocate(_keys.length * RESIZE_FACTOR);
+		for(int i = 0; i < oldkeys.length; i++)
+			if(oldvalues[i] >= 0)
+				insert(oldkeys[i], oldvalues[i], false);
+	}
+
+	private static long toBits(double key) {
+		// canonical representation of zeros and NaNs
+		return Double.doubleToLongBits(key + 0.0);
+	}
+
+	private static int hash(long bits) {
+		// basic double hash code (w/o object creation)
+		int h = (int) (bits ^ (bits >>> 32));
+
+		// This function ensures that hashCodes that differ only by
+		// constant multiples at each bit position have a bounded
+		// number of collisions (approximately 8 at default load factor).
+		h ^= (h >>> 20) ^ (h >>> 12);
+		return h ^ (h >>> 7) ^ (h >>> 4);
+	}
+}
@@ -34,6 +34,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.caching.PrefetchScheduler;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
@@ -171,11 +172,23 @@ public abstract class ProgramBlock implements ParseInfo
 	}
 
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) {
-		for (int i = 0; i < inst.size(); i++) {
-			//indexed access required due to dynamic add
-			Instruction currInst = inst.get(i);
-			//execute instruction
-			executeSingleInstruction(currInst, ec);
+		//read-ahead of evicted or unread matrix inputs (if applicable)
+		PrefetchScheduler prefetch = PrefetchScheduler.create(inst, ec);
+		try {
+			for (int i = 0; i < inst.size(); i++) {
+				//indexed access required due to dynamic add
+				Instruction currInst = inst.get(i);
+				//prefetch inputs of upcoming instructions
+				if( prefetch != null )
+					prefetch.schedule(i);
+				//execute instruction
+				executeSingleInstruction(currInst, ec);
+			}
+		}
+		finally {
+			//release unconsumed prefetches (incl early exits on errors)
+			if( prefetch != null )
+				prefetch.releaseAll();
 		}
 	}
 
@@ -39,10 +39,13 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
-	private final long _size;
+	private volatile boolean _compressed;
+	private boolean _cprobed = false;
+	private volatile long _size;
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
+	protected byte[]     _ccdata = null; //compressed dense matrix/frame (on eviction)
 	
 	public ByteBuffer( long size ) {
 		_size = size;
@@ -66,6 +69,19 @@ public class ByteBuffer
 					_bdata = new byte[(int)_size];
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
+				
+				//lightweight compression (if enabled and beneficial),
+				//where the buffer pool only accounts for the compressed size
+				if( CacheCompression.isEnabled() ) {
+					byte[] tmp = CacheCompression.compress(_bdata, (int)_size);
+					if( tmp != null ) {
+						if( CacheableData.CACHING_BUFFER_PAGECACHE )
+							PageCache.putPage(_bdata);
+						_bdata = tmp;
+						_size = tmp.length;
+						_compressed = true;
+					}
+				}
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -84,14 +100,25 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
-	public CacheBlock deserializeBlock() 
+	/**
+	 * Deserializes the buffer, which is synchronized with releasing the
+	 * buffer memory to allow reads of buffers with pending evictions.
+	 * 
+	 * @return cache block, or null if the buffer memory was already released
+	 * @throws IOException if IOException occurs
+	 */
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
+		if( _bdata == null && _cdata == null ) //released
+			return null;
+		else if( !_shallow ) { //sparse matrix / string frame
+			byte[] data = _compressed ?
+				CacheCompression.decompress(_bdata) : _bdata;
+			DataInput din = _matrix ? new CacheDataInput(data) :
+				new DataInputStream(new ByteArrayInputStream(data));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
 		}
@@ -102,19 +129,75 @@ public class ByteBuffer
 		return ret;
 	}
 
-	public void evictBuffer( String fname ) 
+	/**
+	 * Writes the buffer to local file system.
+	 * 
+	 * @param fname file name
+	 * @return file format of the written file
+	 * @throws IOException if IOException occurs
+	 */
+	public EvictionFormat evictBuffer( String fname ) 
 		throws IOException
 	{
 		if( !_shallow ) {
-			//write out byte serialized array
+			//write out byte serialized (and potentially compressed) array
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			return _compressed ? EvictionFormat.COMPRESSED : EvictionFormat.SERIALIZED;
+		}
+		else if( getCompressedShallow() != null ) {
+			//write out compressed dense matrix/frame
+			CacheCompression.writeBlockToLocal(fname, _ccdata);
+			return EvictionFormat.COMPRESSED;
+		}
+		else if( CacheableData.CACHING_EVICTION_MMAP && MappedCacheFile.isSupported(_cdata) ) {
+			//write raw dense/csr arrays into mapped file
+			MappedCacheFile.writeBlock(fname, (MatrixBlock)_cdata);
+			return EvictionFormat.MAPPED;
 		}
 		else {
 			//serialize cache block to output stream
 			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			return EvictionFormat.SERIALIZED;
 		}
 	}
 	
+	/**
+	 * Writes the buffer to the off-heap tier of the buffer pool.
+	 * 
+	 * @param fname file name
+	 * @return true if written to off-heap memory, false if full
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean evictBufferOffHeap( String fname )
+		throws IOException
+	{
+		if( !_shallow )
+			return OffHeapCache.writeBytes(fname, _bdata, _compressed);
+		else if( getCompressedShallow() != null )
+			return OffHeapCache.writeBytes(fname, _ccdata, true);
+		else
+			return OffHeapCache.writeBlock(fname, _cdata);
+	}
+	
+	private byte[] getCompressedShallow()
+		throws IOException
+	{
+		//compress dense matrix/frame once on eviction (if enabled and beneficial),
+		//which requires a temporary serialized copy of the block, but only if
+		//a probe of the serialized prefix indicates sufficient compression
+		if( !_cprobed && CacheCompression.isEnabled()
+			&& _cdata.getExactSerializedSize() <= Integer.MAX_VALUE )
+		{
+			_cprobed = true;
+			if( CacheCompression.isCompressible(_cdata) ) {
+				byte[] tmp = CacheCompression.serializeBlock(_cdata);
+				_ccdata = CacheCompression.compress(tmp, tmp.length);
+			}
+			_compressed = (_ccdata != null);
+		}
+		return _ccdata;
+	}
+	
 	/**
 	 * Returns the buffer size in bytes.
 	 * 
@@ -128,16 +211,21 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public boolean isCompressed() {
+		return _compressed;
+	}
+	
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+			if( CacheableData.CACHING_BUFFER_PAGECACHE && !_compressed )
 				PageCache.putPage(_bdata);
 			_bdata = null;
 		}
 		else {
 			_cdata = null;
+			_ccdata = null;
 		}
 	}
 
@@ -153,6 +241,16 @@ public class ByteBuffer
 		}
 	}
 	
+	/**
+	 * File formats of evicted buffers, which determine how
+	 * evicted blocks are read back from local FS.
+	 */
+	public enum EvictionFormat {
+		SERIALIZED, //serialized cache block
+		MAPPED,     //raw arrays (see MappedCacheFile)
+		COMPRESSED  //compressed serialized block (see CacheCompression)
+	}
+	
 	/**
 	 * Determines if byte buffer can hold the given size given this specific cache block.
 	 * This call is consistent with 'serializeBlock' and allows for internal optimization
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Lightweight compression of serialized cache blocks in the buffer pool and
+ * its local eviction files. The codec is a byte-oriented LZ77 variant (similar
+ * to the LZ4 block format) with greedy hash-based match finding, which favors
+ * compression and especially decompression speed over compression ratio. Each
+ * compressed block consists of a header (raw and compressed lengths) and a
+ * sequence of (literals, match) pairs. Blocks with insufficient compression
+ * ratio are not compressed (adaptive bypass), which is decided on a prefix
+ * probe for large blocks to avoid unnecessary compression effort.
+ */
+public class CacheCompression
+{
+	//minimum compression ratio, otherwise bypass
+	private static final double MIN_RATIO = 1.25;
+	private static final int PROBE_SIZE = 64 * 1024;
+
+	//codec configuration
+	private static final int HEADER_SIZE = 8; //raw length, compressed length
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 14;
+	private static final int SKIP_TRIGGER = 6;
+
+	public static boolean isEnabled() {
+		return ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_COMPRESS);
+	}
+
+	/**
+	 * Compresses the given serialized cache block, if beneficial.
+	 *
+	 * @param src serialized cache block
+	 * @param len length of the serialized cache block
+	 * @return compressed block incl header, or null if bypassed
+	 */
+	public static byte[] compress(byte[] src, int len) {
+		//adaptive bypass based on a probe of the prefix
+		if( len > 4 * PROBE_SIZE && !isCompressiblePrefix(src) )
+			return null;
+
+		//compress the entire block into bounded output
+		byte[] dst = new byte[HEADER_SIZE + (int)(len / MIN_RATIO)];
+		int end = compressBlock(src, 0, len, dst, HEADER_SIZE, dst.length);
+		if( end < 0 )
+			return null;
+		writeInt(dst, 0, len);
+		writeInt(dst, 4, end - HEADER_SIZE);
+		return Arrays.copyOf(dst, end);
+	}
+
+	/**
+	 * Probes if the given cache block is likely compressible, based on its
+	 * serialized prefix. In contrast to {@link #compress(byte[], int)}, this
+	 * avoids the serialization of entire incompressible blocks.
+	 *
+	 * @param cb cache block
+	 * @return true if compression should be attempted
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isCompressible(CacheBlock cb) throws IOException {
+		if( cb.getExactSerializedSize() <= 4 * PROBE_SIZE )
+			return true; //decided on the entire block
+		PrefixOutputStream out = new PrefixOutputStream(PROBE_SIZE);
+		try {
+			cb.write(new DataOutputStream(out));
+		}
+		catch(PrefixFullException ex) {
+			//expected abort of serialization after prefix
+		}
+		return isCompressiblePrefix(out._buff);
+	}
+
+	/**
+	 * Decompresses the given compressed block.
+	 *
+	 * @param src compressed block incl header
+	 * @return serialized cache block
+	 * @throws IOException if the compressed block is corrupted
+	 */
+	public static byte[] decompress(byte[] src) throws IOException {
+		int rawLen = readInt(src, 0);
+		int compLen = readInt(src, 4);
+		if( rawLen < 0 || compLen < 0 || HEADER_SIZE + compLen > src.length )
+			throw new IOException("Invalid compressed cache block header: "+rawLen+", "+compLen);
+		byte[] dst = new byte[rawLen];
+		decompressBlock(src, HEADER_SIZE, compLen, dst);
+		return dst;
+	}
+
+	public static byte[] serializeBlock(CacheBlock cb) throws IOException {
+		CacheDataOutput out = new CacheDataOutput((int)cb.getExactSerializedSize());
+		cb.write(out);
+		return out.getBytes();
+	}
+
+	public static CacheBlock deserializeBlock(byte[] data, boolean matrix) throws IOException {
+		DataInput din = matrix ? new CacheDataInput(data) :
+			new DataInputStream(new ByteArrayInputStream(data));
+		CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+		ret.readFields(din);
+		return ret;
+	}
+
+	public static void writeBlockToLocal(String fname, byte[] comp) throws IOException {
+		LocalFileUtils.writeByteArrayToLocal(fname, comp);
+	}
+
+	public static CacheBlock readBlockFromLocal(String fname, boolean matrix) throws IOException {
+		byte[] comp = Files.readAllBytes(Paths.get(fname));
+		return deserializeBlock(decompress(comp), matrix);
+	}
+
+	private static boolean isCompressiblePrefix(byte[] src) {
+		byte[] tmp = new byte[(int)(PROBE_SIZE / MIN_RATIO)];
+		return compressBlock(src, 0, PROBE_SIZE, tmp, 0, tmp.length) >= 0;
+	}
+
+	private static int compressBlock(byte[] src, int off, int len, byte[] dst, int doff, int dlimit) {
+		final int end = off + len;
+		final int mflimit = end - MIN_MATCH - LAST_LITERALS;
+		int[] table = new int[1 << HASH_LOG]; //positions+1, 0 if empty
+		int anchor = off;
+		int op = doff;
+
+		int ip = off;
+		while( ip < mflimit ) {
+			int seq = readIntLE(src, ip);
+			int h = hash(seq);
+			int ref = table[h] - 1;
+			table[h] = ip + 1;
+
+			if( ref < off || ip - ref > MAX_OFFSET || readIntLE(src, ref) != seq ) {
+				//skip faster over incompressible regions
+				ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+				continue;
+			}
+
+			//extend match forward (keeping the last literals)
+			int mlen = MIN_MATCH;
+			while( ip + mlen < end - LAST_LITERALS && src[ref+mlen] == src[ip+mlen] )
+				mlen++;
+
+			op = writeSequence(src, anchor, ip - anchor, ip - ref, mlen, dst, op, dlimit);
+			if( op < 0 )
+				return -1;
+			ip += mlen;
+			anchor = ip;
+		}
+
+		//last literals (w/o match)
+		return writeSequence(src, anchor, end - anchor, 0, 0, dst, op, dlimit);
+	}
+
+	private static int writeSequence(byte[] src, int lit, int litLen, int offset, int mlen,
+		byte[] dst, int op, int dlimit)
+	{
+		//check output capacity (token, lengths, literals, offset)
+		if( op + 1 + litLen/255 + 1 + litLen + 2 + mlen/255 + 1 > dlimit )
+			return -1;
+
+		//token and literal length
+		int mcode = (mlen > 0) ? mlen - MIN_MATCH : 0;
+		int tokenPos = op++;
+		int token = Math.min(litLen, 15) << 4 | Math.min(mcode, 15);
+		dst[tokenPos] = (byte) token;
+		if( litLen >= 15 )
+			op = writeLength(litLen - 15, dst, op);
+		System.arraycopy(src, lit, dst, op, litLen);
+		op += litLen;
+
+		//match offset and length
+		if( mlen > 0 ) {
+			dst[op++] = (byte) offset;
+			dst[op++] = (byte) (offset >>> 8);
+			if( mcode >= 15 )
+				op = writeLength(mcode - 15, dst, op);
+		}
+		return op;
+	}
+
+	private static int writeLength(int len, byte[] dst, int op) {
+		while( len >= 255 ) {
+			dst[op++] = (byte) 255;
+			len -= 255;
+		}
+		dst[op++] = (byte) len;
+		return op;
+	}
+
+	private static void decompressBlock(byte[] src, int off, int len, byte[] dst) throws IOException {
+		final int end = off + len;
+		int ip = off;
+		int op = 0;
+		try {
+			while( ip < end ) {
+				int token = src[ip++] & 0xFF;
+
+				//copy literals
+				int litLen = token >>> 4;
+				if( litLen == 15 ) {
+					int b;
+					do { b = src[ip++] & 0xFF; litLen += b; } while( b == 255 );
+				}
+				System.arraycopy(src, ip, dst, op, litLen);
+				ip += litLen;
+				op += litLen;
+				if( ip >= end )
+					break; //last sequence
+
+				//copy match (potentially overlapping)
+				int offset = (src[ip] & 0xFF) | (src[ip+1] & 0xFF) << 8;
+				ip += 2;
+				int mlen = token & 0x0F;
+				if( mlen == 15 ) {
+					int b;
+					do { b = src[ip++] & 0xFF; mlen += b; } while( b == 255 );
+				}
+				mlen += MIN_MATCH;
+				int ref = op - offset;
+				if( offset == 0 || ref < 0 )
+					throw new IOException("Invalid match offset: "+offset);
+				if( offset >= mlen )
+					System.arraycopy(dst, ref, dst, op, mlen);
+				else
+					for( int i=0; i<mlen; i++ )
+						dst[op+i] = dst[ref+i];
+				op += mlen;
+			}
+		}
+		catch(ArrayIndexOutOfBoundsException ex) {
+			throw new IOException("Corrupted compressed cache block.", ex);
+		}
+		if( op != dst.length )
+			throw new IOException("Invalid decompressed length: "+op+" (expected "+dst.length+").");
+	}
+
+	private static int hash(int seq) {
+		return (seq * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	private static int readIntLE(byte[] a, int pos) {
+		return (a[pos] & 0xFF) | (a[pos+1] & 0xFF) << 8
+			| (a[pos+2] & 0xFF) << 16 | (a[pos+3] & 0xFF) << 24;
+	}
+
+	private static void writeInt(byte[] a, int pos, int val) {
+		a[pos]   = (byte) (val >>> 24);
+		a[pos+1] = (byte) (val >>> 16);
+		a[pos+2] = (byte) (val >>> 8);
+		a[pos+3] = (byte) val;
+	}
+
+	private static int readInt(byte[] a, int pos) {
+		return (a[pos] & 0xFF) << 24 | (a[pos+1] & 0xFF) << 16
+			| (a[pos+2] & 0xFF) << 8 | (a[pos+3] & 0xFF);
+	}
+
+	/**
+	 * Output stream that collects the prefix of a serialized cache block,
+	 * and aborts the serialization once the prefix is complete.
+	 */
+	private static class PrefixOutputStream extends OutputStream
+	{
+		private final byte[] _buff;
+		private int _pos = 0;
+
+		public PrefixOutputStream(int len) {
+			_buff = new byte[len];
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if( _pos == _buff.length )
+				throw new PrefixFullException();
+			_buff[_pos++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			int lenp = Math.min(len, _buff.length - _pos);
+			System.arraycopy(b, off, _buff, _pos, lenp);
+			_pos += lenp;
+			if( lenp < len )
+				throw new PrefixFullException();
+		}
+	}
+
+	private static class PrefixFullException extends IOException {
+		private static final long serialVersionUID = 3466207154592425226L;
+	}
+}
@@ -55,6 +55,9 @@ public class CacheStatistics
 	private static final LongAdder _numHitsFS       = new LongAdder();
 	private static final LongAdder _numHitsHDFS     = new LongAdder();
 	
+	//prefetch statistics (issued asynchronous restores or reads)
+	private static final LongAdder _numPrefetches   = new LongAdder();
+	
 	//write statistics caching
 	private static final LongAdder _numWritesFSBuff = new LongAdder();
 	private static final LongAdder _numWritesFS     = new LongAdder();
@@ -71,6 +74,7 @@ public class CacheStatistics
 		_numHitsFSBuff.reset();
 		_numHitsFS.reset();
 		_numHitsHDFS.reset();
+		_numPrefetches.reset();
 		
 		_numWritesFSBuff.reset();
 		_numWritesFS.reset();
@@ -130,6 +134,14 @@ public class CacheStatistics
 		return _numHitsHDFS.longValue();
 	}
 
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+
 	public static void incrementFSBuffWrites() {
 		_numWritesFSBuff.increment();
 	}
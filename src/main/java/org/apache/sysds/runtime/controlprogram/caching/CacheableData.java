@@ -85,6 +85,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemDS Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static final boolean CACHING_EVICTION_MMAP = true; //raw mapped files for dense/CSR
+	public static final boolean CACHING_ASYNC_EVICTION = true; //background eviction outside buffer lock
+	public static final double  CACHING_EVICTION_SOFT_LIMIT = 0.85; //start of proactive eviction (fraction of buffer)
+	public static final double  CACHING_OFFHEAP_SIZE = 0.25; //off-heap size limit (fraction of max heap), if enabled
+	public static final boolean CACHING_PREFETCH = true; //read-ahead of evicted/unread instruction inputs
+	public static final double  CACHING_PREFETCH_SIZE = 0.1; //prefetch size limit (fraction of mem budget)
 	
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -148,6 +154,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	/** Cache for actual data, evicted by garbage collector. */
 	protected SoftReference<T> _cache = null;
 	
+	/** Prefetched data, strongly referenced until consumed by an acquire or released. */
+	protected volatile T _prefetched = null;
+	
 	/** Container object that holds the actual data. */
 	protected T _data = null;
 
@@ -468,6 +477,74 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _data;
 	}
 	
+	/**
+	 * Indicates if this data object is neither in memory nor in the soft-reference
+	 * cache, and thus, requires a restore from the buffer pool or a read from HDFS
+	 * on the next acquire. This check is intentionally not synchronized to avoid
+	 * blocking on concurrent restores, and hence, only a hint for prefetching.
+	 * 
+	 * @return true if candidate for prefetching
+	 */
+	public boolean isPrefetchCandidate() {
+		SoftReference<T> cache = _cache;
+		return _data == null && _prefetched == null && (cache == null || cache.get() == null)
+			&& (isCached(false) || (isEmpty(true) && _hdfsFileName != null))
+			&& (getRDDHandle() == null || getRDDHandle().allowsShortCircuitRead())
+			&& _gpuObjects == null;
+	}
+	
+	/**
+	 * Restores evicted data from the buffer pool or reads unread data from HDFS
+	 * into the soft-reference cache, without changing the cache status, so that a
+	 * subsequent acquire read finds the data in memory. Concurrent acquires of the
+	 * same object wait for a pending prefetch instead of reading the data again.
+	 * The prefetched data is strongly referenced until consumed by the next acquire
+	 * or released via {@link #releasePrefetch()}, to prevent repeated reads if the
+	 * garbage collector clears the soft reference in the meantime.
+	 * 
+	 * In-Status:  EMPTY, EVICTED;
+	 * Out-Status: EMPTY, EVICTED (data in soft-reference cache).
+	 * 
+	 * @return true if the data was restored or read
+	 */
+	public synchronized boolean prefetch() {
+		if( _data != null || !isPrefetchCandidate() )
+			return false;
+		
+		try {
+			if( isCached(false) ) {
+				//restore from buffer pool or local FS
+				restoreBlobIntoMemory();
+			}
+			else {
+				//read cacheable data from hdfs (see acquireReadIntern)
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementHDFSHits();
+				_data = readBlobFromHDFS( _hdfsFileName );
+				setDirty(false);
+				_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
+				_isAcquireFromEmpty = true;
+			}
+			createCache();
+			_prefetched = _data;
+			return true;
+		}
+		catch (IOException e) {
+			throw new DMLRuntimeException("Prefetch of " + _hdfsFileName + " ("+hashCode()+") failed.", e);
+		}
+		finally {
+			_data = null;
+		}
+	}
+	
+	/**
+	 * Releases the strong reference to prefetched but not yet consumed data,
+	 * which then remains available in the soft-reference cache.
+	 */
+	public synchronized void releasePrefetch() {
+		_prefetched = null;
+	}
+	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to throw away the
 	 * old cache block data and link up with new cache block data. Abandons the old data
@@ -1139,13 +1216,18 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * and subsequently clears the cache soft reference if existing.
 	 */
 	protected void getCache() {
-		if( _cache != null ) {
+		if( _prefetched != null ) {
+			_data = _prefetched;
+			_prefetched = null;
+		}
+		else if( _cache != null ) {
 			_data = _cache.get();
 		}
 	}
 	
-	/** Clears the cache soft reference if existing. */
+	/** Clears the cache soft reference and prefetched data if existing. */
 	protected void clearCache() {
+		_prefetched = null;
 		if( _cache != null ) {
 			_cache.clear();
 			_cache = null;
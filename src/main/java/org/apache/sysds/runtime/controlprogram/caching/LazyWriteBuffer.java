@@ -20,14 +20,22 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer.EvictionFormat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer 
@@ -37,23 +45,54 @@ public class LazyWriteBuffer
 		LRU   //least recently used eviction
 	}
 	
-	//global size limit in bytes
+	//global size limit in bytes (hard watermark, callers block above)
 	private static final long _limit;
 	
-	//current size in bytes
+	//proactive eviction limit in bytes (soft watermark, async eviction above)
+	private static final long _softLimit;
+	
+	//current size in bytes (incl pending evictions)
 	private static long _size;
 	
+	//size of pending evictions in bytes
+	private static long _evictSize;
+	
 	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//buffers removed from the eviction queue but not yet written to local FS
+	//(guarded by the eviction queue, which is also used for wait/notify)
+	private static final HashMap<String, ByteBuffer> _mEvicting = new HashMap<>();
+	
+	//pending evictions of deleted buffers, whose files are deleted on completion
+	//(guarded by the eviction queue)
+	private static final HashSet<String> _mCanceled = new HashSet<>();
+	
+	//last error of asynchronous evictions, thrown to the next writer
+	private static IOException _evictError = null;
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//thread pool for asynchronous eviction of buffers to local FS
+	private static ExecutorService _evictPool;
+	
+	//thread pool for asynchronous read-ahead of instruction inputs
+	private static ExecutorService _prefetchPool;
+	
+	//evicted files in mapped cache file format (see MappedCacheFile)
+	private static final Set<String> _mFiles = ConcurrentHashMap.newKeySet();
+	
+	//evicted files in compressed format (see CacheCompression)
+	private static final Set<String> _cFiles = ConcurrentHashMap.newKeySet();
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_softLimit = CacheableData.CACHING_ASYNC_EVICTION ?
+			(long)(CacheableData.CACHING_EVICTION_SOFT_LIMIT * _limit) : _limit;
 	}
 	
 	public static int writeBlock(String fname, CacheBlock cb)
@@ -74,26 +113,21 @@ public class LazyWriteBuffer
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
-					}
+				//wait for pending eviction of the same file
+				waitForEviction(fname);
+				
+				//evict matrices to make room (by default FIFO), where the
+				//caller only blocks if above the hard watermark
+				while( _size+lSize > _limit && !(_mQueue.isEmpty() && _mEvicting.isEmpty()) ) {
+					numEvicted += evictBuffers(_limit-lSize);
+					if( _size+lSize > _limit && !_mEvicting.isEmpty() )
+						waitForEviction(null);
 				}
 				
+				//proactive eviction above the soft watermark (asynchronous)
+				if( _size+lSize > _softLimit )
+					numEvicted += evictBuffers(Math.max(_softLimit-lSize, 0));
+				
 				//put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
 				_size += lSize;
@@ -102,6 +136,13 @@ public class LazyWriteBuffer
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb);
 			
+			//release reserved memory of compressed buffers
+			if( bbuff.getSize() < lSize ) {
+				synchronized( _mQueue ) {
+					_size -= lSize - bbuff.getSize();
+				}
+			}
+			
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSBuffWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
@@ -110,7 +151,16 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			OffHeapCache.deleteBlock(fname);
+			if( CacheableData.CACHING_EVICTION_MMAP && MappedCacheFile.isSupported(cb) ) {
+				MappedCacheFile.writeBlock(fname, (MatrixBlock)cb);
+				_mFiles.add(fname);
+			}
+			else {
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+				_mFiles.remove(fname);
+			}
+			_cFiles.remove(fname);
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -126,6 +176,13 @@ public class LazyWriteBuffer
 		
 		synchronized( _mQueue )
 		{
+			//cancel pending eviction (w/o waiting for the write), where the
+			//eviction task releases the buffer and deletes the written file
+			if( _mEvicting.containsKey(fname) ) {
+				_mCanceled.add(fname);
+				return;
+			}
+			
 			//remove queue entry 
 			ByteBuffer ldata = _mQueue.remove(fname);
 			if( ldata != null ) {
@@ -135,9 +192,9 @@ public class LazyWriteBuffer
 			}
 		}
 		
-		//delete from FS if required
+		//delete from off-heap memory and FS if required
 		if( requiresDelete )
-			_fClean.deleteFile(fname);
+			deleteEvicted(fname);
 	}
 	
 	public static CacheBlock readBlock(String fname, boolean matrix)
@@ -159,18 +216,33 @@ public class LazyWriteBuffer
 				_mQueue.remove( fname );
 				_mQueue.addLast( fname, ldata );
 			}
+			
+			//serve pending evictions from the in-memory buffer
+			if( ldata == null )
+				ldata = _mEvicting.get(fname);
 		}
 		
-		//deserialize or read from FS if required
+		//deserialize (null if concurrently evicted and released)
 		if( ldata != null )
-		{
 			cb = ldata.deserializeBlock();
+		
+		//read from off-heap memory (null if not or no longer
+		//available, e.g., due to demotion) or FS if required
+		if( cb == null )
+			cb = OffHeapCache.readBlock(fname, matrix);
+		if( cb != null )
+		{
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			if( _mFiles.contains(fname) )
+				cb = MappedCacheFile.readBlock(fname);
+			else if( _cFiles.contains(fname) )
+				cb = CacheCompression.readBlockFromLocal(fname, matrix);
+			else
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -181,18 +253,47 @@ public class LazyWriteBuffer
 	public static void init() {
 		_mQueue = new EvictionQueue();
 		_fClean = new FileCleaner();
+		if( _evictPool != null )
+			_evictPool.shutdown();
+		_evictPool = CacheableData.CACHING_ASYNC_EVICTION ?
+			newDaemonThreadPool(EvictionTask.getNumThreads(), "buffer-eviction-%d") : null;
+		if( _prefetchPool != null )
+			_prefetchPool.shutdown();
+		_prefetchPool = CacheableData.CACHING_PREFETCH ?
+			newDaemonThreadPool(PrefetchScheduler.getNumThreads(), "buffer-prefetch-%d") : null;
 		_size = 0;
+		_evictSize = 0;
+		_evictError = null;
+		_mEvicting.clear();
+		_mCanceled.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _mQueue != null ) {
+			synchronized( _mQueue ) {
+				//complete pending evictions before cleanup
+				while( !_mEvicting.isEmpty() )
+					waitForEviction(null);
+				_mQueue.clear();
+			}
+		}
+		if( _evictPool != null ) {
+			_evictPool.shutdown();
+			_evictPool = null;
+		}
+		if( _prefetchPool != null ) {
+			_prefetchPool.shutdown();
+			_prefetchPool = null;
+		}
 		if( _fClean != null )
 			_fClean.close();
+		_mFiles.clear();
+		_cFiles.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
+		OffHeapCache.clear();
 	}
 
 	public static long getWriteBufferLimit() {
@@ -255,23 +356,124 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
+		synchronized( _mQueue ) {
+			evictBuffers(0);
+			while( !_mEvicting.isEmpty() )
+				waitForEviction(null);
+			checkEvictionError();
+		}
+	}
+	
+	/**
+	 * Removes entries from the eviction queue (by default FIFO) until the
+	 * buffer size excl pending evictions is below the given target size, and
+	 * evicts them asynchronously outside the critical section (or synchronously
+	 * if async eviction is disabled). Requires the lock of the eviction queue.
+	 * 
+	 * @param target target buffer size in bytes
+	 * @return number of evicted buffers
+	 * @throws IOException if a previous asynchronous or a synchronous eviction failed
+	 */
+	private static int evictBuffers(long target) 
+		throws IOException
+	{
+		checkEvictionError();
+		int numEvicted = 0;
+		while( _size-_evictSize > target && !_mQueue.isEmpty() ) {
 			//remove first entry from eviction queue
 			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
+			if( entry.getValue() == null )
+				continue;
 			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
+			//register pending eviction (still in memory)
+			EvictionTask task = new EvictionTask(entry.getKey(), entry.getValue());
+			_mEvicting.put(entry.getKey(), entry.getValue());
+			_evictSize += task._taskSize;
+			if( _evictPool != null )
+				_evictPool.submit(task);
+			else
+				task.run();
+			numEvicted++;
+
+			//stop at the first failed synchronous eviction, which reinserted
+			//its buffer into the queue (and would otherwise be retried forever)
+			checkEvictionError();
+		}
+		return numEvicted;
+	}
+	
+	/**
+	 * Waits until the pending eviction of the given file or, if null, of
+	 * any file completed. Requires the lock of the eviction queue.
+	 * 
+	 * @param fname file name or null
+	 */
+	private static void waitForEviction(String fname) {
+		try {
+			if( fname == null )
+				_mQueue.wait();
+			else
+				while( _mEvicting.containsKey(fname) )
+					_mQueue.wait();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLRuntimeException("Interrupted while waiting for buffer pool eviction.", ex);
+		}
+	}
+	
+	private static void checkEvictionError() 
+		throws IOException
+	{
+		if( _evictError != null ) {
+			IOException ex = _evictError;
+			_evictError = null;
+			throw new IOException("Failed to evict buffer pool entry.", ex);
 		}
 	}
 	
+	private static void evictBuffer(String fname, ByteBuffer bbuff) throws IOException {
+		//write to off-heap memory if enabled and not full
+		//(with the file format of a potential demotion to local FS)
+		if( OffHeapCache.isEnabled() && bbuff.evictBufferOffHeap(fname) ) {
+			_mFiles.remove(fname);
+			if( bbuff.isCompressed() )
+				_cFiles.add(fname);
+			else
+				_cFiles.remove(fname);
+			return;
+		}
+		OffHeapCache.deleteBlock(fname);
+		
+		//keep track of the file format for subsequent reads
+		EvictionFormat format = bbuff.evictBuffer(fname);
+		if( format == EvictionFormat.MAPPED )
+			_mFiles.add(fname);
+		else
+			_mFiles.remove(fname);
+		if( format == EvictionFormat.COMPRESSED )
+			_cFiles.add(fname);
+		else
+			_cFiles.remove(fname);
+	}
+	
+	private static void deleteEvicted(String fname) {
+		OffHeapCache.deleteBlock(fname);
+		_mFiles.remove(fname);
+		_cFiles.remove(fname);
+		_fClean.deleteFile(fname);
+	}
+	
+	private static ExecutorService newDaemonThreadPool(int numThreads, String namingPattern) {
+		//daemon threads to not block the JVM shutdown if not cleaned up
+		return Executors.newFixedThreadPool(numThreads, new BasicThreadFactory.Builder()
+			.namingPattern(namingPattern).daemon(true).build());
+	}
+	
+	public static ExecutorService getPrefetchThreadPool() {
+		return _prefetchPool;
+	}
+	
 	public static ExecutorService getUtilThreadPool() {
 		return _fClean != null ? _fClean._pool : null;
 	}
@@ -303,6 +505,74 @@ public class LazyWriteBuffer
 		}
 	}
 	
+	/**
+	 * Eviction task for writing a buffer to local FS outside the critical
+	 * section of the buffer pool. On completion, the buffer memory is released
+	 * and waiting threads are notified. On errors, the buffer is reinserted
+	 * into the eviction queue and the error is thrown to the next writer.
+	 */
+	private static class EvictionTask implements Runnable
+	{
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		//size at scheduling time (before potential compression)
+		private final long _taskSize;
+		
+		public EvictionTask(String fname, ByteBuffer bbuff) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_taskSize = bbuff.getSize();
+		}
+		
+		public static int getNumThreads() {
+			//few threads because eviction is I/O bound
+			return Math.max(1, Math.min(4, InfrastructureAnalyzer.getLocalParallelism()/4));
+		}
+		
+		@Override
+		public void run() {
+			IOException error = null;
+			boolean canceled;
+			synchronized( _mQueue ) {
+				canceled = _mCanceled.contains(_fname);
+			}
+			try {
+				//wait for pending serialization
+				_bbuff.checkSerialized();
+				
+				//evict matrix (unless deleted in the meantime)
+				if( !canceled )
+					evictBuffer(_fname, _bbuff);
+			}
+			catch(IOException ex) {
+				error = ex;
+			}
+			catch(Exception ex) {
+				error = new IOException(ex);
+			}
+			
+			synchronized( _mQueue ) {
+				_mEvicting.remove(_fname);
+				_evictSize -= _taskSize;
+				canceled = _mCanceled.remove(_fname);
+				if( error == null || canceled ) {
+					_bbuff.freeMemory();
+					_size -= _bbuff.getSize();
+					//delete the file of deleted buffers (before
+					//subsequent writes of the same file proceed)
+					if( canceled )
+						deleteEvicted(_fname);
+				}
+				else {
+					//keep the buffer in memory
+					_mQueue.addLast(_fname, _bbuff);
+					_evictError = error;
+				}
+				_mQueue.notifyAll();
+			}
+		}
+	}
+	
 	/**
 	 * File delete service for abstraction of synchronous and asynchronous
 	 * file cleanup on rmvar/cpvar. The threadpool for asynchronous cleanup
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+
+/**
+ * Eviction files of matrix blocks in a raw page layout, which are written and read
+ * through memory-mapped file regions. Dense FP64 blocks and CSR sparse blocks are
+ * stored as their raw arrays in native byte order, which turns a restore into bulk
+ * copies from the mapped pages (no per-element deserialization or stream buffering).
+ * <p>
+ * File layout: <code>[int type][int rlen][int clen][int 0][long nnz]</code>, followed
+ * by the dense values, or the CSR row pointers, column indexes, and (8-byte aligned)
+ * values. All other blocks (e.g., MCSR, compressed) use the default binary format.
+ */
+public class MappedCacheFile
+{
+	private static final int TYPE_EMPTY = 0;
+	private static final int TYPE_DENSE = 1;
+	private static final int TYPE_CSR = 2;
+
+	private static final int HEADER_SIZE = 24;
+	//max size of mapped regions (multiple of 8, below 2GB mapping limit)
+	private static final int MAX_REGION_SIZE = 1 << 30;
+
+	/**
+	 * Indicates if the given cache block can be evicted into a mapped cache file.
+	 *
+	 * @param cb cache block
+	 * @return true if dense, CSR, or empty matrix block
+	 */
+	public static boolean isSupported(CacheBlock cb) {
+		//exact class check, because subclasses like compressed blocks use a different format
+		if( cb == null || cb.getClass() != MatrixBlock.class )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return mb.isEmptyBlock(false)
+			|| (!mb.isInSparseFormat() && mb.getDenseBlock() != null)
+			|| (mb.isInSparseFormat() && mb.getSparseBlock() instanceof SparseBlockCSR);
+	}
+
+	public static void writeBlock(String fname, MatrixBlock mb) throws IOException {
+		//safe empty check to not drop data of blocks with stale nnz=0
+		int type = mb.isEmptyBlock(true) ? TYPE_EMPTY :
+			mb.isInSparseFormat() ? TYPE_CSR : TYPE_DENSE;
+		//for CSR, the header nnz defines the array lengths on read, hence
+		//we always write the physical size instead of the nnz meta data
+		long nnz = (type == TYPE_EMPTY) ? 0 : (type == TYPE_CSR) ?
+			((SparseBlockCSR) mb.getSparseBlock()).size() : mb.getNonZeros();
+		int rlen = mb.getNumRows();
+
+		FileChannel ch = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			//write header (mapping extends the file as needed)
+			MappedByteBuffer header = map(ch, MapMode.READ_WRITE, 0, HEADER_SIZE);
+			header.putInt(type).putInt(rlen).putInt(mb.getNumColumns()).putInt(0).putLong(nnz);
+			long off = HEADER_SIZE;
+
+			if( type == TYPE_DENSE ) {
+				DenseBlock db = mb.getDenseBlock();
+				for( int bix=0; bix<db.numBlocks(); bix++ ) {
+					writeDoubles(ch, off, db.valuesAt(bix), db.size(bix));
+					off += 8L * db.size(bix);
+				}
+			}
+			else if( type == TYPE_CSR ) {
+				SparseBlockCSR csr = (SparseBlockCSR) mb.getSparseBlock();
+				int size = (int) nnz;
+				writeInts(ch, off, csr.rowPointers(), rlen + 1);
+				off += 4L * (rlen + 1);
+				writeInts(ch, off, csr.indexes(), size);
+				off = align8(off + 4L * size);
+				writeDoubles(ch, off, csr.values(), size);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(ch);
+		}
+	}
+
+	public static MatrixBlock readBlock(String fname) throws IOException {
+		FileChannel ch = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+		try {
+			MappedByteBuffer header = map(ch, MapMode.READ_ONLY, 0, HEADER_SIZE);
+			int type = header.getInt();
+			int rlen = header.getInt();
+			int clen = header.getInt();
+			header.getInt(); //padding
+			long nnz = header.getLong();
+			long off = HEADER_SIZE;
+
+			switch( type ) {
+				case TYPE_EMPTY:
+					return new MatrixBlock(rlen, clen, true);
+				case TYPE_DENSE: {
+					MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+					ret.allocateDenseBlock();
+					DenseBlock db = ret.getDenseBlock();
+					for( int bix=0; bix<db.numBlocks(); bix++ ) {
+						readDoubles(ch, off, db.valuesAt(bix), db.size(bix));
+						off += 8L * db.size(bix);
+					}
+					ret.setNonZeros(nnz);
+					return ret;
+				}
+				case TYPE_CSR: {
+					int size = (int) nnz;
+					int[] ptr = new int[rlen + 1];
+					int[] indexes = new int[size];
+					double[] values = new double[size];
+					readInts(ch, off, ptr, rlen + 1);
+					off += 4L * (rlen + 1);
+					readInts(ch, off, indexes, size);
+					off = align8(off + 4L * size);
+					readDoubles(ch, off, values, size);
+					return new MatrixBlock(rlen, clen, nnz,
+						new SparseBlockCSR(ptr, indexes, values, size));
+				}
+				default:
+					throw new IOException("Invalid mapped cache file type: " + type);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(ch);
+		}
+	}
+
+	private static void writeDoubles(FileChannel ch, long off, double[] a, int len) throws IOException {
+		for( int pos=0; pos<len; ) {
+			int n = Math.min(len - pos, MAX_REGION_SIZE / 8);
+			map(ch, MapMode.READ_WRITE, off, 8L * n).asDoubleBuffer().put(a, pos, n);
+			off += 8L * n;
+			pos += n;
+		}
+	}
+
+	private static void readDoubles(FileChannel ch, long off, double[] a, int len) throws IOException {
+		for( int pos=0; pos<len; ) {
+			int n = Math.min(len - pos, MAX_REGION_SIZE / 8);
+			map(ch, MapMode.READ_ONLY, off, 8L * n).asDoubleBuffer().get(a, pos, n);
+			off += 8L * n;
+			pos += n;
+		}
+	}
+
+	private static void writeInts(FileChannel ch, long off, int[] a, int len) throws IOException {
+		for( int pos=0; pos<len; ) {
+			int n = Math.min(len - pos, MAX_REGION_SIZE / 4);
+			map(ch, MapMode.READ_WRITE, off, 4L * n).asIntBuffer().put(a, pos, n);
+			off += 4L * n;
+			pos += n;
+		}
+	}
+
+	private static void readInts(FileChannel ch, long off, int[] a, int len) throws IOException {
+		for( int pos=0; pos<len; ) {
+			int n = Math.min(len - pos, MAX_REGION_SIZE / 4);
+			map(ch, MapMode.READ_ONLY, off, 4L * n).asIntBuffer().get(a, pos, n);
+			off += 4L * n;
+			pos += n;
+		}
+	}
+
+	private static MappedByteBuffer map(FileChannel ch, MapMode mode, long off, long len) throws IOException {
+		MappedByteBuffer ret = ch.map(mode, off, len);
+		ret.order(ByteOrder.nativeOrder());
+		return ret;
+	}
+
+	private static long align8(long off) {
+		return (off + 7) & ~7L;
+	}
+}
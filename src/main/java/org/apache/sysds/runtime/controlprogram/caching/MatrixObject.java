@@ -20,8 +20,6 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ExecMode;
@@ -34,7 +32,6 @@ import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PDataPartition
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
-import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
@@ -163,33 +160,28 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		long[] dims = getDataCharacteristics().getDims();
 		// TODO sparse optimization
 		MatrixBlock result = new MatrixBlock((int) dims[0], (int) dims[1], false);
-		List<Pair<FederatedRange, Future<FederatedResponse>>> readResponses = new ArrayList<>();
+		result.allocateDenseBlock();
+		List<Future<FederatedResponse>> readResponses = new ArrayList<>();
 		for (Map.Entry<FederatedRange, FederatedData> entry : _fedMapping.entrySet()) {
 			FederatedRange range = entry.getKey();
 			FederatedData fd = entry.getValue();
 			
 			if( fd.isInitialized() ) {
-				FederatedRequest request = new FederatedRequest(FederatedRequest.FedMethod.TRANSFER);
-				Future<FederatedResponse> readResponse = fd.executeFederatedOperation(request, true);
-				readResponses.add(new ImmutablePair<>(range, readResponse));
+				// partitions are streamed as row-block frames directly into the result
+				int[] beginDimsInt = range.getBeginDimsInt();
+				int[] endDimsInt = range.getEndDimsInt();
+				readResponses.add(fd.transferMatrix(result, beginDimsInt[0],
+					beginDimsInt[1], endDimsInt[1] - beginDimsInt[1]));
 			}
 			else {
 				throw new DMLRuntimeException("Federated matrix read only supported on initialized FederatedData");
 			}
 		}
 		try {
-			for (Pair<FederatedRange, Future<FederatedResponse>> readResponse : readResponses) {
-				FederatedRange range = readResponse.getLeft();
-				FederatedResponse response = readResponse.getRight().get();
-				// add result
-				int[] beginDimsInt = range.getBeginDimsInt();
-				int[] endDimsInt = range.getEndDimsInt();
+			for (Future<FederatedResponse> readResponse : readResponses) {
+				FederatedResponse response = readResponse.get();
 				if( !response.isSuccessful() )
 					throw new DMLRuntimeException("Federated matrix read failed: " + response.getErrorMessage());
-				MatrixBlock multRes = (MatrixBlock) response.getData();
-				result.copy(beginDimsInt[0], endDimsInt[0] - 1,
-					beginDimsInt[1], endDimsInt[1] - 1, multRes, false);
-				result.setNonZeros(result.getNonZeros() + multRes.getNonZeros());
 			}
 		}
 		catch (Exception e) {
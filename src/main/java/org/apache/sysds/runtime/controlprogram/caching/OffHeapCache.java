@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Off-heap tier of the buffer pool, which sits between the in-memory write
+ * buffer (see LazyWriteBuffer) and the eviction to local disk. Evicted cache
+ * blocks are serialized into fixed-size pages of direct memory slabs, which are
+ * allocated on demand up to a separate capacity limit. Pages of deleted blocks
+ * are explicitly returned to a free list and reused, while the slabs themselves
+ * are only released on cleanup. The serialized format is equivalent to the local
+ * file format of cache blocks, which allows to demote the least recently used
+ * entries to local disk in order to make room for newly evicted blocks.
+ *
+ * NOTE: similar to the local files of evicted blocks, concurrent reads and
+ * deletes of the same block are coordinated by the buffer pool, while entries
+ * with concurrent reads are excluded from demotion. Entries are registered
+ * (as pending) when their pages are allocated, and pages of pending writes or
+ * demotions are only freed by their writers, even if deleted in the meantime.
+ */
+public class OffHeapCache
+{
+	//page and slab sizes in bytes
+	private static final int PAGE_SIZE = 256 * 1024;
+	private static final int PAGES_PER_SLAB = 256; //64MB slabs
+
+	//global size limit in bytes
+	private static final long _limit;
+
+	//allocated direct memory slabs (rarely modified, concurrently read)
+	private static final List<java.nio.ByteBuffer> _slabs = new CopyOnWriteArrayList<>();
+
+	//stack of free page ids (slab index * PAGES_PER_SLAB + page index)
+	private static int[] _freePages = new int[PAGES_PER_SLAB];
+	private static int _numFree = 0;
+
+	//allocated slab memory in bytes, and exhausted direct memory
+	private static long _size = 0;
+	private static boolean _exhausted = false;
+
+	//off-heap entries of <filename,pages> pairs in LRU order (guarded, also used as lock)
+	private static final LinkedHashMap<String, OffHeapEntry> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	static {
+		//obtain the off-heap size limit in bytes (note: the default
+		//max direct memory of the JVM equals the max heap size)
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		_limit = (long)(CacheableData.CACHING_OFFHEAP_SIZE * maxMem);
+	}
+
+	public static boolean isEnabled() {
+		return ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CACHING_OFFHEAP)
+			&& _limit >= PAGE_SIZE;
+	}
+
+	/**
+	 * Serializes the given cache block into off-heap memory, if there
+	 * is sufficient free capacity.
+	 *
+	 * @param fname file name of the evicted block
+	 * @param cb cache block
+	 * @return true if written to off-heap memory, false if full
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock(String fname, CacheBlock cb)
+		throws IOException
+	{
+		long len = cb.getExactSerializedSize();
+		OffHeapEntry entry = allocatePages(fname, len, false);
+		if( entry == null )
+			return false;
+
+		//serialize block outside critical section
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+			new PageOutputStream(entry._pages), LocalFileUtils.BUFFER_SIZE);
+		try {
+			cb.write(out);
+			out.flush();
+		}
+		catch(IOException ex) {
+			abortEntry(fname, entry);
+			throw ex;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+
+		registerEntry(fname, entry);
+		return true;
+	}
+
+	/**
+	 * Copies the given serialized cache block into off-heap memory,
+	 * if there is sufficient free capacity.
+	 *
+	 * @param fname file name of the evicted block
+	 * @param data serialized cache block
+	 * @return true if written to off-heap memory, false if full
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBytes(String fname, byte[] data)
+		throws IOException
+	{
+		return writeBytes(fname, data, false);
+	}
+	
+	/**
+	 * Copies the given serialized or compressed cache block into
+	 * off-heap memory, if there is sufficient free capacity.
+	 *
+	 * @param fname file name of the evicted block
+	 * @param data serialized or compressed cache block
+	 * @param compressed true if compressed (see CacheCompression)
+	 * @return true if written to off-heap memory, false if full
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBytes(String fname, byte[] data, boolean compressed)
+		throws IOException
+	{
+		OffHeapEntry entry = allocatePages(fname, data.length, compressed);
+		if( entry == null )
+			return false;
+
+		//copy byte array outside critical section
+		try {
+			new PageOutputStream(entry._pages).write(data, 0, data.length);
+		}
+		catch(IOException ex) {
+			abortEntry(fname, entry);
+			throw ex;
+		}
+
+		registerEntry(fname, entry);
+		return true;
+	}
+
+	/**
+	 * Deserializes the given cache block from off-heap memory.
+	 *
+	 * @param fname file name of the evicted block
+	 * @param matrix true if matrix block, false if frame block
+	 * @return cache block, or null if not available in off-heap memory
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readBlock(String fname, boolean matrix)
+		throws IOException
+	{
+		OffHeapEntry entry = null;
+		synchronized( _entries ) {
+			//pin entry (w/ update of LRU order), except pending writes
+			entry = _entries.get(fname);
+			if( entry != null && entry._pending )
+				entry = null;
+			if( entry != null )
+				entry._readers++;
+		}
+		if( entry == null )
+			return null;
+
+		//deserialize block outside critical section
+		try {
+			InputStream in = new PageInputStream(entry);
+			if( entry._compressed ) {
+				byte[] data = new byte[(int)entry._len];
+				new DataInputStream(in).readFully(data);
+				return CacheCompression.deserializeBlock(
+					CacheCompression.decompress(data), matrix);
+			}
+			DataInput din = matrix ?
+				new FastBufferedDataInputStream(in, LocalFileUtils.BUFFER_SIZE) :
+				new DataInputStream(new BufferedInputStream(in, LocalFileUtils.BUFFER_SIZE));
+			CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+			ret.readFields(din);
+			return ret;
+		}
+		finally {
+			synchronized( _entries ) {
+				entry._readers--;
+			}
+		}
+	}
+
+	public static boolean contains(String fname) {
+		synchronized( _entries ) {
+			return _entries.containsKey(fname);
+		}
+	}
+
+	/**
+	 * Deletes the given block and returns its pages to the free list.
+	 *
+	 * @param fname file name of the evicted block
+	 * @return true if the block existed in off-heap memory
+	 */
+	public static boolean deleteBlock(String fname) {
+		synchronized( _entries ) {
+			return removeEntry(fname);
+		}
+	}
+
+	public static void clear() {
+		synchronized( _entries ) {
+			//release all slabs (direct memory freed by the garbage collector)
+			_entries.clear();
+			_slabs.clear();
+			_freePages = new int[PAGES_PER_SLAB];
+			_numFree = 0;
+			_size = 0;
+			_exhausted = false;
+		}
+	}
+
+	public static long getOffHeapLimit() {
+		return _limit;
+	}
+
+	public static long getOffHeapSize() {
+		synchronized( _entries ) {
+			return _size - (long)_numFree * PAGE_SIZE;
+		}
+	}
+
+	private static OffHeapEntry allocatePages(String fname, long len, boolean compressed) {
+		int numPages = (int)Math.max(1, (len + PAGE_SIZE - 1) / PAGE_SIZE);
+		List<Entry<String, OffHeapEntry>> victims = null;
+		synchronized( _entries ) {
+			//release pages of a previously evicted version
+			removeEntry(fname);
+
+			//bypass blocks larger than the off-heap capacity
+			if( (long)numPages * PAGE_SIZE > (_exhausted ? _size : _limit) )
+				return null;
+
+			//allocate new slabs on demand (up to the size limit)
+			boolean allocated = true;
+			while( _numFree < numPages && allocated )
+				allocated = allocateSlab();
+			if( _numFree >= numPages )
+				return takePages(fname, numPages, len, compressed);
+
+			//pin least recently used entries for demotion to local FS
+			victims = pinVictims(numPages - _numFree);
+			if( victims == null )
+				return null;
+		}
+
+		//demote the victims outside the critical section
+		int numWritten = demoteEntries(victims);
+
+		synchronized( _entries ) {
+			releaseVictims(victims, numWritten);
+			return (_numFree >= numPages) ?
+				takePages(fname, numPages, len, compressed) : null;
+		}
+	}
+
+	private static OffHeapEntry takePages(String fname, int numPages, long len, boolean compressed) {
+		//take pages from the free list, and register the pending entry
+		int[] pages = Arrays.copyOfRange(_freePages, _numFree-numPages, _numFree);
+		_numFree -= numPages;
+		OffHeapEntry entry = new OffHeapEntry(pages, len, compressed);
+		_entries.put(fname, entry);
+		return entry;
+	}
+
+	private static boolean allocateSlab() {
+		//returns false if no further slabs can be allocated
+		int slabPages = (int)Math.min(PAGES_PER_SLAB, (_limit - _size) / PAGE_SIZE);
+		if( slabPages <= 0 || _exhausted )
+			return false;
+		try {
+			_slabs.add(java.nio.ByteBuffer.allocateDirect(slabPages * PAGE_SIZE));
+		}
+		catch(OutOfMemoryError ex) {
+			//max direct memory of the JVM exceeded
+			_exhausted = true;
+			return false;
+		}
+		int slabIx = _slabs.size() - 1;
+		for( int i=0; i<slabPages; i++ )
+			pushFreePage(slabIx * PAGES_PER_SLAB + i);
+		_size += (long)slabPages * PAGE_SIZE;
+		return true;
+	}
+
+	private static List<Entry<String, OffHeapEntry>> pinVictims(int numPages) {
+		//least recently used entries w/o concurrent reads, writes, or demotions,
+		//or null if they cannot free the requested number of pages
+		List<Entry<String, OffHeapEntry>> ret = new ArrayList<>();
+		int pages = 0;
+		for( Entry<String, OffHeapEntry> e : _entries.entrySet() ) {
+			OffHeapEntry entry = e.getValue();
+			if( entry._readers > 0 || entry._pending || entry._demoting )
+				continue;
+			ret.add(new SimpleEntry<>(e.getKey(), entry));
+			pages += entry._pages.length;
+			if( pages >= numPages )
+				break;
+		}
+		if( pages < numPages )
+			return null;
+		for( Entry<String, OffHeapEntry> e : ret )
+			e.getValue()._demoting = true;
+		return ret;
+	}
+
+	private static int demoteEntries(List<Entry<String, OffHeapEntry>> victims) {
+		//write the victims to local FS (in the file format of their serialized
+		//or compressed bytes, see LazyWriteBuffer), until the first failure
+		for( int i=0; i<victims.size(); i++ ) {
+			Entry<String, OffHeapEntry> e = victims.get(i);
+			try {
+				Files.copy(new PageInputStream(e.getValue()),
+					Paths.get(e.getKey()), StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch(IOException ex) {
+				//keep the remaining entries, and write the new block to local FS
+				return i;
+			}
+		}
+		return victims.size();
+	}
+
+	private static void releaseVictims(List<Entry<String, OffHeapEntry>> victims, int numWritten) {
+		for( int i=0; i<victims.size(); i++ ) {
+			String fname = victims.get(i).getKey();
+			OffHeapEntry entry = victims.get(i).getValue();
+			entry._demoting = false;
+			if( _entries.get(fname) != entry ) {
+				//deleted during demotion: free pages and delete the written file
+				freePages(entry._pages);
+				if( i < numWritten )
+					LocalFileUtils.deleteFileIfExists(fname, true);
+			}
+			else if( i < numWritten && entry._readers == 0 ) {
+				//successfully demoted (entries read in the meantime are kept)
+				_entries.remove(fname);
+				freePages(entry._pages);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites();
+			}
+		}
+	}
+
+	private static boolean removeEntry(String fname) {
+		//pages of pending writes and demotions are freed by their writers
+		OffHeapEntry entry = _entries.remove(fname);
+		if( entry != null && !entry._pending && !entry._demoting )
+			freePages(entry._pages);
+		return entry != null;
+	}
+
+	private static void registerEntry(String fname, OffHeapEntry entry) {
+		synchronized( _entries ) {
+			entry._pending = false;
+			//free the pages of blocks deleted during the write
+			if( _entries.get(fname) != entry )
+				freePages(entry._pages);
+		}
+	}
+
+	private static void abortEntry(String fname, OffHeapEntry entry) {
+		synchronized( _entries ) {
+			if( _entries.get(fname) == entry )
+				_entries.remove(fname);
+			freePages(entry._pages);
+		}
+	}
+
+	private static void freePages(int[] pages) {
+		synchronized( _entries ) {
+			for( int page : pages )
+				pushFreePage(page);
+		}
+	}
+
+	private static void pushFreePage(int page) {
+		if( _numFree == _freePages.length )
+			_freePages = Arrays.copyOf(_freePages, _freePages.length * 2);
+		_freePages[_numFree++] = page;
+	}
+
+	private static java.nio.ByteBuffer getPage(int page) {
+		//independent duplicate (position, limit) of the page in its slab
+		java.nio.ByteBuffer tmp = _slabs.get(page / PAGES_PER_SLAB).duplicate();
+		int off = (page % PAGES_PER_SLAB) * PAGE_SIZE;
+		tmp.limit(off + PAGE_SIZE);
+		tmp.position(off);
+		return tmp.slice();
+	}
+
+	private static class OffHeapEntry {
+		private final int[] _pages;
+		private final long _len;
+		private final boolean _compressed;
+		private int _readers = 0; //number of concurrent reads
+		private boolean _pending = true; //write in progress
+		private boolean _demoting = false; //demotion in progress
+
+		public OffHeapEntry(int[] pages, long len, boolean compressed) {
+			_pages = pages;
+			_len = len;
+			_compressed = compressed;
+		}
+	}
+
+	private static class PageOutputStream extends OutputStream
+	{
+		private final int[] _pages;
+		private int _pix = -1;
+		private java.nio.ByteBuffer _page = null;
+
+		public PageOutputStream(int[] pages) {
+			_pages = pages;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			nextPageIfRequired();
+			_page.put((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while( len > 0 ) {
+				nextPageIfRequired();
+				int lenp = Math.min(len, _page.remaining());
+				_page.put(b, off, lenp);
+				off += lenp;
+				len -= lenp;
+			}
+		}
+
+		private void nextPageIfRequired() throws IOException {
+			if( _page != null && _page.hasRemaining() )
+				return;
+			if( ++_pix >= _pages.length )
+				throw new IOException("Off-heap write exceeds allocated pages.");
+			_page = getPage(_pages[_pix]);
+		}
+	}
+
+	private static class PageInputStream extends InputStream
+	{
+		private final int[] _pages;
+		private long _remaining;
+		private int _pix = -1;
+		private java.nio.ByteBuffer _page = null;
+
+		public PageInputStream(OffHeapEntry entry) {
+			_pages = entry._pages;
+			_remaining = entry._len;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if( _remaining <= 0 )
+				return -1;
+			nextPageIfRequired();
+			_remaining--;
+			return _page.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if( len == 0 )
+				return 0;
+			if( _remaining <= 0 )
+				return -1;
+			nextPageIfRequired();
+			int lenp = (int)Math.min(Math.min(len, _page.remaining()), _remaining);
+			_page.get(b, off, lenp);
+			_remaining -= lenp;
+			return lenp;
+		}
+
+		@Override
+		public int available() {
+			return (int)Math.min(Integer.MAX_VALUE, _remaining);
+		}
+
+		private void nextPageIfRequired() {
+			if( _page == null || !_page.hasRemaining() )
+				_page = getPage(_pages[++_pix]);
+		}
+	}
+}
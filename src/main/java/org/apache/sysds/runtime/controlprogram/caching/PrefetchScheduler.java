@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Read-ahead prefetching of matrix inputs for a sequence of instructions. Before
+ * executing an instruction, the scheduler scans a window of upcoming instructions
+ * and issues asynchronous restores (from the buffer pool or local FS) or HDFS reads
+ * of matrix inputs that are currently not in memory (see CacheableData.prefetch).
+ * This allows overlapping I/O with compute instead of stalling on every first
+ * acquire of evicted or unread inputs.
+ *
+ * The scan stops at instructions with unknown inputs/outputs (e.g., function calls
+ * or distributed operations), and skips variables written within the window, which
+ * might not yet hold valid data. The size of outstanding prefetches is bounded by
+ * a memory budget in order to avoid thrashing the buffer pool.
+ */
+public class PrefetchScheduler
+{
+	private static final Log LOG = LogFactory.getLog(PrefetchScheduler.class.getName());
+
+	//number of upcoming instructions considered for read-ahead
+	private static final int LOOKAHEAD = 8;
+
+	private final List<Instruction> _inst;
+	private final ExecutionContext _ec;
+	private final ExecutorService _pool;
+	private final long _budget;
+
+	//outstanding prefetches (not yet consumed by their instruction)
+	private final List<PrefetchEntry> _pending = new ArrayList<>();
+	private long _pendingSize = 0;
+
+	private PrefetchScheduler(List<Instruction> inst, ExecutionContext ec, ExecutorService pool) {
+		_inst = inst;
+		_ec = ec;
+		_pool = pool;
+		double memBudget = OptimizerUtils.getLocalMemBudget();
+		_budget = (long) Math.min(CacheableData.CACHING_PREFETCH_SIZE * memBudget,
+			memBudget - CacheableData.getPinnedSize());
+	}
+
+	/**
+	 * Creates a prefetch scheduler for the given instruction sequence, if
+	 * prefetching is enabled and applicable.
+	 *
+	 * @param inst instruction sequence
+	 * @param ec execution context
+	 * @return prefetch scheduler, or null if not applicable
+	 */
+	public static PrefetchScheduler create(List<Instruction> inst, ExecutionContext ec) {
+		ExecutorService pool = LazyWriteBuffer.getPrefetchThreadPool();
+		if( !CacheableData.CACHING_PREFETCH || !CacheableData.isCachingActive()
+			|| pool == null || inst.size() < 2 || DMLScript.USE_ACCELERATOR )
+			return null;
+		return new PrefetchScheduler(inst, ec, pool);
+	}
+
+	public static int getNumThreads() {
+		//few threads because prefetching is I/O bound
+		return Math.max(1, Math.min(4, InfrastructureAnalyzer.getLocalParallelism()/4));
+	}
+
+	/**
+	 * Issues asynchronous prefetches for the inputs of the instructions
+	 * following the given position, which is about to be executed.
+	 *
+	 * @param pos position of the current instruction
+	 */
+	public void schedule(int pos) {
+		//release budget of prefetches whose instructions were executed,
+		//incl prefetched data that was not consumed by the instruction
+		Iterator<PrefetchEntry> iter = _pending.iterator();
+		while( iter.hasNext() ) {
+			PrefetchEntry e = iter.next();
+			if( e._pos < pos ) {
+				e.release();
+				_pendingSize -= e._size;
+				iter.remove();
+			}
+		}
+
+		//scan window of upcoming instructions
+		Set<String> written = new HashSet<>();
+		addOutputs(_inst.get(pos), written);
+		int end = Math.min(_inst.size(), pos + LOOKAHEAD + 1);
+		for( int i=pos+1; i<end; i++ ) {
+			Instruction inst = _inst.get(i);
+			if( inst instanceof ComputationCPInstruction ) {
+				ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+				if( !prefetch(i, cinst.input1, written)
+					|| !prefetch(i, cinst.input2, written)
+					|| !prefetch(i, cinst.input3, written) )
+					return; //budget exhausted
+			}
+			else if( !(inst instanceof VariableCPInstruction) )
+				return; //unknown inputs/outputs
+			addOutputs(inst, written);
+		}
+	}
+
+	/**
+	 * Cancels all outstanding prefetches and releases their prefetched data,
+	 * which is required after the last instruction or on errors.
+	 */
+	public void releaseAll() {
+		for( PrefetchEntry e : _pending )
+			e.release();
+		_pending.clear();
+		_pendingSize = 0;
+	}
+
+	private boolean prefetch(int pos, CPOperand in, Set<String> written) {
+		if( in == null || !in.isMatrix() || written.contains(in.getName()) )
+			return true;
+		Data dat = _ec.getVariables().get(in.getName());
+		if( !(dat instanceof MatrixObject) )
+			return true;
+		MatrixObject mo = (MatrixObject) dat;
+		if( mo.isFederated() || !mo.isPrefetchCandidate() || isPending(mo) )
+			return true;
+
+		//check memory budget of outstanding prefetches
+		DataCharacteristics dc = mo.getDataCharacteristics();
+		if( !dc.dimsKnown() )
+			return true;
+		long size = OptimizerUtils.estimateSize(dc);
+		if( _pendingSize + size > _budget )
+			return false;
+
+		//issue asynchronous prefetch
+		PrefetchTask task = new PrefetchTask(mo);
+		_pending.add(new PrefetchEntry(pos, mo, size, task, _pool.submit(task)));
+		_pendingSize += size;
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPrefetches();
+		return true;
+	}
+
+	private boolean isPending(CacheableData<?> cd) {
+		for( PrefetchEntry e : _pending )
+			if( e._data == cd )
+				return true;
+		return false;
+	}
+
+	private static void addOutputs(Instruction inst, Set<String> written) {
+		if( inst instanceof ComputationCPInstruction )
+			written.add(((ComputationCPInstruction) inst).output.getName());
+		else if( inst instanceof VariableCPInstruction ) {
+			//conservatively all operands (e.g., createvar, cpvar, mvvar)
+			VariableCPInstruction vinst = (VariableCPInstruction) inst;
+			for( CPOperand in : vinst.getInputs() )
+				written.add(in.getName());
+			if( vinst.getOutputVariableName() != null )
+				written.add(vinst.getOutputVariableName());
+		}
+	}
+
+	private static class PrefetchEntry {
+		private final int _pos;
+		private final CacheableData<?> _data;
+		private final long _size;
+		private final PrefetchTask _task;
+		private final Future<?> _future;
+
+		public PrefetchEntry(int pos, CacheableData<?> data, long size, PrefetchTask task, Future<?> future) {
+			_pos = pos;
+			_data = data;
+			_size = size;
+			_task = task;
+			_future = future;
+		}
+
+		public void release() {
+			_future.cancel(false);
+			_task.release();
+		}
+	}
+
+	private static class PrefetchTask implements Runnable {
+		private final CacheableData<?> _data;
+		private boolean _released = false; //guarded by the data object
+
+		public PrefetchTask(CacheableData<?> data) {
+			_data = data;
+		}
+
+		public void release() {
+			//running prefetches complete before the release, and
+			//prefetches started after the release are skipped
+			synchronized( _data ) {
+				_released = true;
+				_data.releasePrefetch();
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				synchronized( _data ) {
+					if( !_released )
+						_data.prefetch();
+				}
+			}
+			catch(Exception ex) {
+				//ignore failed prefetches, which are retried (and
+				//reported) by the subsequent acquire of the instruction
+				LOG.debug("Failed to prefetch "+_data.getDebugName()+".", ex);
+			}
+		}
+	}
+}
@@ -63,10 +63,12 @@ import org.apache.sysds.runtime.instructions.spark.functions.CopyBinaryCellFunct
 import org.apache.sysds.runtime.instructions.spark.functions.CopyFrameBlockPairFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.CopyTextInputFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.CreateSparseBlockFunction;
+import org.apache.sysds.runtime.instructions.spark.functions.SliceOversizedBlockFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.InputInfo;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -416,11 +418,18 @@ public class SparkExecutionContext extends ExecutionContext
 		{
 			// parallelize hdfs-resident file
 			// For binary block, these are: SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class
+			boolean compressed = false;
 			if(inputInfo == InputInfo.BinaryBlockInputInfo) {
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
 				//note: this copy is still required in Spark 1.4 because spark hands out whatever the inputformat
 				//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
 				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
+				//compressed binary block files are read into compressed blocks (via the file's value class),
+				//where single-block files written from CP are sliced into blocks of the block size
+				compressed = isCompressedFile(mo.getFileName());
+				if( compressed )
+					rdd = ((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd)
+						.flatMapToPair(new SliceOversizedBlockFunction((int)mo.getBlocksize()));
 			}
 			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo || inputInfo == InputInfo.MatrixMarketInputInfo) {
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
@@ -437,6 +446,7 @@ public class SparkExecutionContext extends ExecutionContext
 			//keep rdd handle for future operations on it
 			RDDObject rddhandle = new RDDObject(rdd);
 			rddhandle.setHDFSFile(true);
+			rddhandle.setCompressed(compressed);
 			mo.setRDDHandle(rddhandle);
 		}
 
@@ -1281,6 +1291,15 @@ public class SparkExecutionContext extends ExecutionContext
 		return out;
 	}
 
+	private static boolean isCompressedFile(String fname) {
+		try {
+			return ReaderBinaryBlock.isCompressedFile(fname);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public static long writeRDDtoHDFS( RDDObject rdd, String path, OutputInfo oinfo )
 	{
@@ -1290,10 +1309,17 @@ public class SparkExecutionContext extends ExecutionContext
 		LongAccumulator aNnz = getSparkContextStatic().sc().longAccumulator("nnz");
 		lrdd = lrdd.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
 
+		//prepare binary block write (compressed rdds in compressed form)
+		Class<?> valueClass = oinfo.outputValueClass;
+		if( oinfo == OutputInfo.BinaryBlockOutputInfo ) {
+			lrdd = SparkUtils.prepareBinaryBlockWrite(lrdd, rdd.isCompressed());
+			valueClass = SparkUtils.getBinaryBlockValueClass(rdd.isCompressed());
+		}
+
 		//save file is an action which also triggers nnz maintenance
 		lrdd.saveAsHadoopFile(path,
 				oinfo.outputKeyClass,
-				oinfo.outputValueClass,
+				valueClass,
 				oinfo.outputFormatClass);
 
 		//return nnz aggregate of all blocks
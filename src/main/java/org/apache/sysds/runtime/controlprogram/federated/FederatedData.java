@@ -20,34 +20,56 @@
 package org.apache.sysds.runtime.controlprogram.federated;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Promise;
 
+import org.apache.log4j.Logger;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
 public class FederatedData {
+	protected static Logger log = Logger.getLogger(FederatedData.class);
+	
+	// shared client-side event loop and per-worker connection pools, reused across all
+	// federated requests of this process (daemon threads, so they never block shutdown)
+	private static EventLoopGroup _workerGroup = null;
+	private static final Map<InetSocketAddress, FederatedConnection[]> _connections = new HashMap<>();
+	private static final IDSequence _requestSeq = new IDSequence(true);
+	// target size of streamed row-block frames of federated matrix transfers
+	private static final long TRANSFER_CHUNK_SIZE = 64 * 1024 * 1024;
+	
 	private InetSocketAddress _address;
 	private String _filepath;
 	/**
 	 * The ID of default matrix/tensor on which operations get executed if no other ID is given.
 	 */
 	private long _varID = -1; // -1 is never valid since varIDs start at 0
-	private int _nrThreads = Integer.parseInt(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
 
 
 	public FederatedData(InetSocketAddress address, String filepath) {
@@ -69,6 +91,10 @@ public class FederatedData {
 		return _address;
 	}
 	
+	public long getVarID() {
+		return _varID;
+	}
+	
 	public void setVarID(long varID) {
 		_varID = varID;
 	}
@@ -119,62 +145,265 @@ public class FederatedData {
 		return executeFederatedOperation(request);
 	}
 	
+	/**
+	 * Executes a sequence of federated operations on a federated worker in a single
+	 * round trip (see {@link FederatedRequest#createBatch(FederatedRequest...)}).
+	 *
+	 * @param requests the requested operations in execution order
+	 * @return the response of the last operation
+	 */
+	public Future<FederatedResponse> executeFederatedOperations(FederatedRequest... requests) {
+		return executeFederatedOperation(FederatedRequest.createBatch(requests));
+	}
+	
 	/**
 	 * Executes an federated operation on a federated worker.
 	 *
 	 * @param request the requested operation
 	 * @return the response
 	 */
-	public synchronized Future<FederatedResponse> executeFederatedOperation(FederatedRequest request) {
-		// Careful with the number of threads. Each thread opens connections to multiple files making resulting in 
-		// java.io.IOException: Too many open files
-		EventLoopGroup workerGroup = new NioEventLoopGroup(_nrThreads);
-		try {
-			Bootstrap b = new Bootstrap();
-			final DataRequestHandler handler = new DataRequestHandler(workerGroup);
-			b.group(workerGroup).channel(NioSocketChannel.class).handler(new ChannelInitializer<SocketChannel>() {
-				@Override
-				public void initChannel(SocketChannel ch) {
-					ch.pipeline().addLast("ObjectDecoder",
-							new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())))
-							.addLast("FederatedOperationHandler", handler)
-							.addLast("ObjectEncoder", new ObjectEncoder());
-				}
-			});
-			
-			ChannelFuture f = b.connect(_address).sync();
-			Promise<FederatedResponse> promise = f.channel().eventLoop().newPromise();
-			handler.setPromise(promise);
-			f.channel().writeAndFlush(request);
-			return promise;
+	public Future<FederatedResponse> executeFederatedOperation(FederatedRequest request) {
+		return executeFederatedOperation(request, (Consumer<FederatedResponse>) null);
+	}
+	
+	/**
+	 * Transfers the default variable (a matrix) from the federated worker as a stream of
+	 * row-block frames, which are copied into the given target block as they arrive. This
+	 * avoids materializing the entire matrix in a single message on both sides.
+	 * 
+	 * @param target preallocated dense target block
+	 * @param rowOffset row offset of the federated data in the target block
+	 * @param colOffset column offset of the federated data in the target block
+	 * @param numCols number of columns of the federated data
+	 * @return the final response, after all frames have been copied into the target
+	 */
+	public Future<FederatedResponse> transferMatrix(MatrixBlock target, int rowOffset, int colOffset, int numCols) {
+		int chunkRows = (int) Math.max(1, Math.min(Integer.MAX_VALUE, TRANSFER_CHUNK_SIZE / (8L * Math.max(numCols, 1))));
+		return transferMatrix(target, rowOffset, colOffset, numCols, chunkRows);
+	}
+	
+	/**
+	 * Transfers the default variable (a matrix) from the federated worker as a stream of
+	 * row-block frames of the given number of rows.
+	 * 
+	 * @param target preallocated dense target block
+	 * @param rowOffset row offset of the federated data in the target block
+	 * @param colOffset column offset of the federated data in the target block
+	 * @param numCols number of columns of the federated data
+	 * @param chunkRows number of rows per frame
+	 * @return the final response, after all frames have been copied into the target
+	 */
+	public Future<FederatedResponse> transferMatrix(MatrixBlock target, int rowOffset, int colOffset, int numCols, int chunkRows) {
+		if( !isInitialized() )
+			throw new DMLRuntimeException("Tried to transfer non initialized federated data.");
+		FederatedRequest request = new FederatedRequest(FederatedRequest.FedMethod.TRANSFER, chunkRows, _varID);
+		int[] pos = new int[] {rowOffset};
+		return executeFederatedOperation(request, r -> {
+			// frames of a request arrive in order, and are copied into disjoint regions of the target
+			MatrixBlock chunk = (MatrixBlock) r.getData();
+			if( chunk == null )
+				return;
+			if( chunk.getNumColumns() != numCols )
+				throw new DMLRuntimeException("Federated transfer: frame with "
+					+ chunk.getNumColumns() + " columns, expected " + numCols + ".");
+			synchronized( target ) {
+				target.copy(pos[0], pos[0] + chunk.getNumRows() - 1,
+					colOffset, colOffset + numCols - 1, chunk, false);
+				target.setNonZeros(target.getNonZeros() + chunk.getNonZeros());
+			}
+			pos[0] += chunk.getNumRows();
+		});
+	}
+	
+	private Future<FederatedResponse> executeFederatedOperation(FederatedRequest request, Consumer<FederatedResponse> consumer) {
+		// clone to assign a request ID without interfering with concurrent sends of the same request
+		request = request.deepClone();
+		request.setID(_requestSeq.getNextID());
+		return getConnection(_address).send(request, consumer);
+	}
+	
+	/**
+	 * Closes all pooled connections and shuts down the shared client-side event loop.
+	 * Subsequent requests transparently reopen the required connections.
+	 */
+	public static void clearConnections() {
+		synchronized( _connections ) {
+			for( FederatedConnection[] conns : _connections.values() )
+				for( FederatedConnection conn : conns )
+					conn.close();
+			_connections.clear();
+			if( _workerGroup != null )
+				_workerGroup.shutdownGracefully();
+			_workerGroup = null;
 		}
-		catch (InterruptedException e) {
-			throw new DMLRuntimeException("Could not send federated operation.");
+	}
+	
+	private static FederatedConnection getConnection(InetSocketAddress address) {
+		FederatedConnection[] conns;
+		synchronized( _connections ) {
+			if( _workerGroup == null ) {
+				_workerGroup = new NioEventLoopGroup(InfrastructureAnalyzer.getLocalParallelism(),
+					new DefaultThreadFactory("federated-client", true));
+			}
+			conns = _connections.get(address);
+			if( conns == null ) {
+				int numConnections = ConfigurationManager.getDMLConfig()
+					.getIntValue(DMLConfig.FEDERATED_CONNECTIONS);
+				conns = new FederatedConnection[Math.max(numConnections, 1)];
+				for( int i=0; i<conns.length; i++ )
+					conns[i] = new FederatedConnection(address, _workerGroup);
+				_connections.put(address, conns);
+			}
+		}
+		//round-robin assignment of requests to the worker's connections
+		return conns[(conns.length == 1) ? 0 :
+			Math.abs(FederatedConnection._nextConn.getAndIncrement() % conns.length)];
+	}
+	
+	/**
+	 * A persistent channel to a federated worker, which multiplexes concurrent requests
+	 * and correlates the responses by request ID. Broken channels are reopened on the next
+	 * request, while all pending requests of a closed channel fail.
+	 */
+	private static class FederatedConnection {
+		private static final AtomicInteger _nextConn = new AtomicInteger(0);
+		
+		private final InetSocketAddress _address;
+		private final EventLoopGroup _group;
+		private Channel _channel = null;
+		
+		public FederatedConnection(InetSocketAddress address, EventLoopGroup group) {
+			_address = address;
+			_group = group;
+		}
+		
+		public Future<FederatedResponse> send(FederatedRequest request, Consumer<FederatedResponse> consumer) {
+			// the handlers of a concurrently closed channel are already removed,
+			// in which case we retry once on a reopened channel
+			for( int i=0; i<2; i++ ) {
+				Channel channel = getChannel();
+				DataRequestHandler handler = channel.pipeline().get(DataRequestHandler.class);
+				if( handler == null )
+					continue;
+				Promise<FederatedResponse> promise = channel.eventLoop().newPromise();
+				handler.register(request.getID(), promise, consumer);
+				channel.writeAndFlush(request).addListener((ChannelFutureListener) f -> {
+					if( !f.isSuccess() )
+						handler.fail(request.getID(), f.cause());
+				});
+				return promise;
+			}
+			return _group.next().newFailedFuture(
+				new DMLRuntimeException("Federated connection closed: " + _address));
+		}
+		
+		private synchronized Channel getChannel() {
+			if( _channel != null && _channel.isActive() )
+				return _channel;
+			try {
+				Bootstrap b = new Bootstrap();
+				b.group(_group).channel(NioSocketChannel.class)
+					.option(ChannelOption.SO_KEEPALIVE, true)
+					.option(ChannelOption.TCP_NODELAY, true)
+					.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+					.handler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					public void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder())
+								.addLast("FederatedOperationHandler", new DataRequestHandler())
+								.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder());
+					}
+				});
+				ChannelFuture f = b.connect(_address).sync();
+				_channel = f.channel();
+				return _channel;
+			}
+			catch (InterruptedException e) {
+				throw new DMLRuntimeException("Could not send federated operation.");
+			}
+			catch (Exception e) {
+				throw new DMLRuntimeException(e);
+			}
 		}
-		catch (Exception e) {
-			throw new DMLRuntimeException(e);
+		
+		public synchronized void close() {
+			if( _channel != null )
+				_channel.close();
+			_channel = null;
 		}
 	}
 	
 	private static class DataRequestHandler extends ChannelInboundHandlerAdapter {
-		private Promise<FederatedResponse> _prom;
-		private EventLoopGroup _workerGroup;
+		private final Map<Long, Promise<FederatedResponse>> _pending = new ConcurrentHashMap<>();
+		private final Map<Long, Consumer<FederatedResponse>> _consumers = new ConcurrentHashMap<>();
+		// failed streams, whose remaining frames are dropped until the final frame arrives
+		private final Set<Long> _cancelled = ConcurrentHashMap.newKeySet();
 		
-		public DataRequestHandler(EventLoopGroup workerGroup) {
-			_workerGroup = workerGroup;
+		public void register(long id, Promise<FederatedResponse> prom, Consumer<FederatedResponse> consumer) {
+			if( consumer != null )
+				_consumers.put(id, consumer);
+			_pending.put(id, prom);
 		}
 		
-		public void setPromise(Promise<FederatedResponse> prom) {
-			_prom = prom;
+		public void fail(long id, Throwable cause) {
+			_consumers.remove(id);
+			Promise<FederatedResponse> prom = _pending.remove(id);
+			if( prom != null )
+				prom.tryFailure(cause);
 		}
 		
 		@Override
 		public void channelRead(ChannelHandlerContext ctx, Object msg) {
-			if (_prom == null)
-				throw new DMLRuntimeException("Read while no message was sent");
-			_prom.setSuccess((FederatedResponse) msg);
+			FederatedResponse response = (FederatedResponse) msg;
+			long id = response.getID();
+			if( _cancelled.contains(id) ) {
+				if( response.getStatus() != FederatedResponse.Type.SUCCESS_PARTIAL )
+					_cancelled.remove(id);
+				return;
+			}
+			if( !_pending.containsKey(id) ) {
+				// drop stale responses (e.g., of failed requests) w/o failing the shared channel
+				log.warn("Dropped response of unknown federated request " + id);
+				return;
+			}
+			// pass streamed frames (and non-streamed results) to the consumer
+			Consumer<FederatedResponse> consumer = _consumers.get(id);
+			if( consumer != null && response.isSuccessful() ) {
+				try {
+					consumer.accept(response);
+				}
+				catch(Exception ex) {
+					// keep the stream registered until its final frame
+					if( response.getStatus() == FederatedResponse.Type.SUCCESS_PARTIAL )
+						_cancelled.add(id);
+					fail(id, ex);
+					return;
+				}
+			}
+			if( response.getStatus() == FederatedResponse.Type.SUCCESS_PARTIAL )
+				return;
+			_consumers.remove(id);
+			Promise<FederatedResponse> prom = _pending.remove(id);
+			if( prom != null )
+				prom.trySuccess(response);
+		}
+		
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) {
+			_cancelled.clear();
+			failAll(new DMLRuntimeException("Federated connection closed: " + ctx.channel().remoteAddress()));
+		}
+		
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			log.error("Federated connection failed: " + cause.getMessage());
+			failAll(cause);
 			ctx.close();
-			_workerGroup.shutdownGracefully();
+		}
+		
+		private void failAll(Throwable cause) {
+			for( Long id : _pending.keySet() )
+				fail(id, cause);
 		}
 	}
 }
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary wire format for federated requests and responses, which replaces
+ * the generic java object serialization of the netty object codecs.
+ * <p>
+ * Each message is a length-prefixed frame of the form
+ * <code>[int length][byte kind][long id][byte method|status][int numParams][params]</code>,
+ * where every parameter is a type tag followed by its value. Matrix blocks are written
+ * in their binary block format directly into (pooled, direct) netty buffers and read
+ * back without intermediate byte arrays; all other objects fall back to java serialization.
+ */
+public class FederatedMessageCodec
+{
+	private static final byte MSG_REQUEST = 0;
+	private static final byte MSG_RESPONSE = 1;
+
+	// header: length, kind, id, method/status, number of params
+	private static final int HEADER_SIZE = 4 + 1 + 8 + 1 + 4;
+
+	private enum ParamType {
+		NULL, BOOLEAN, INT, LONG, DOUBLE, STRING, MATRIX, REQUEST, OBJECT
+	}
+
+	public static class Encoder extends MessageToByteEncoder<Object> {
+		@Override
+		protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) {
+			//preallocate the exact size of matrix payloads to avoid buffer resizing
+			int size = (int) Math.min(Integer.MAX_VALUE, HEADER_SIZE + estimateSize(msg));
+			return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+		}
+
+		@Override
+		protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+			int start = out.writerIndex();
+			out.writeInt(0); //length placeholder
+			ByteBufDataOutput dout = new ByteBufDataOutput(out);
+			if( msg instanceof FederatedRequest ) {
+				out.writeByte(MSG_REQUEST);
+				writeRequest(dout, (FederatedRequest) msg);
+			}
+			else if( msg instanceof FederatedResponse ) {
+				FederatedResponse response = (FederatedResponse) msg;
+				out.writeByte(MSG_RESPONSE);
+				out.writeLong(response.getID());
+				out.writeByte(response.getStatus().ordinal());
+				out.writeInt(1);
+				writeParam(dout, response.getData());
+			}
+			else {
+				throw new DMLRuntimeException("FederatedMessageCodec: unsupported message type "
+					+ msg.getClass().getSimpleName());
+			}
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	public static class Decoder extends LengthFieldBasedFrameDecoder {
+		public Decoder() {
+			super(Integer.MAX_VALUE, 0, 4, 0, 4);
+		}
+
+		@Override
+		protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+			ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+			if( frame == null )
+				return null;
+			try {
+				return readMessage(frame);
+			}
+			finally {
+				frame.release();
+			}
+		}
+
+		@Override
+		protected ByteBuf extractFrame(ChannelHandlerContext ctx, ByteBuf buffer, int index, int length) {
+			//avoid the default copy of the frame, the frame is fully consumed before release
+			return buffer.slice(index, length).retain();
+		}
+	}
+
+	private static Object readMessage(ByteBuf in) throws IOException, ClassNotFoundException {
+		byte kind = in.readByte();
+		switch( kind ) {
+			case MSG_REQUEST:
+				return readRequest(in);
+			case MSG_RESPONSE: {
+				long id = in.readLong();
+				byte type = in.readByte();
+				in.readInt(); //single param
+				FederatedResponse response = new FederatedResponse(
+					FederatedResponse.Type.values()[type], readParam(in));
+				response.setID(id);
+				return response;
+			}
+			default:
+				throw new DMLRuntimeException("FederatedMessageCodec: invalid message kind " + kind);
+		}
+	}
+
+	private static void writeRequest(ByteBufDataOutput out, FederatedRequest request) throws IOException {
+		ByteBuf buf = out.buffer();
+		buf.writeLong(request.getID());
+		buf.writeByte(request.getMethod().ordinal());
+		buf.writeInt(request.getNumParams());
+		for( int i=0; i<request.getNumParams(); i++ )
+			writeParam(out, request.getParam(i));
+	}
+
+	private static FederatedRequest readRequest(ByteBuf in) throws IOException, ClassNotFoundException {
+		long id = in.readLong();
+		byte type = in.readByte();
+		int numParams = in.readInt();
+		List<Object> params = new ArrayList<>(numParams);
+		for( int i=0; i<numParams; i++ )
+			params.add(readParam(in));
+		FederatedRequest request = new FederatedRequest(
+			FederatedRequest.FedMethod.values()[type], params);
+		request.setID(id);
+		return request;
+	}
+
+	private static long estimateSize(Object msg) {
+		long size = 0;
+		if( msg instanceof FederatedRequest ) {
+			FederatedRequest request = (FederatedRequest) msg;
+			for( int i=0; i<request.getNumParams(); i++ )
+				size += estimateParamSize(request.getParam(i));
+		}
+		else if( msg instanceof FederatedResponse )
+			size += estimateParamSize(((FederatedResponse) msg).getData());
+		return size;
+	}
+
+	private static long estimateParamSize(Object o) {
+		//type tag plus value, other objects are grown on demand
+		if( o instanceof FederatedRequest )
+			return HEADER_SIZE + estimateSize(o);
+		return 1 +(isBinaryMatrix(o) ? ((MatrixBlock) o).getExactSizeOnDisk() : 16);
+	}
+
+	private static boolean isBinaryMatrix(Object o) {
+		//exact class check, because subclasses like compressed blocks use a different format
+		return o != null && o.getClass() == MatrixBlock.class;
+	}
+
+	private static void writeParam(ByteBufDataOutput out, Object o) throws IOException {
+		ByteBuf buf = out.buffer();
+		if( o == null )
+			buf.writeByte(ParamType.NULL.ordinal());
+		else if( o instanceof Boolean ) {
+			buf.writeByte(ParamType.BOOLEAN.ordinal());
+			buf.writeBoolean((Boolean) o);
+		}
+		else if( o instanceof Integer ) {
+			buf.writeByte(ParamType.INT.ordinal());
+			buf.writeInt((Integer) o);
+		}
+		else if( o instanceof Long ) {
+			buf.writeByte(ParamType.LONG.ordinal());
+			buf.writeLong((Long) o);
+		}
+		else if( o instanceof Double ) {
+			buf.writeByte(ParamType.DOUBLE.ordinal());
+			buf.writeDouble((Double) o);
+		}
+		else if( o instanceof String ) {
+			byte[] tmp = ((String) o).getBytes(StandardCharsets.UTF_8);
+			buf.writeByte(ParamType.STRING.ordinal());
+			buf.writeInt(tmp.length);
+			buf.writeBytes(tmp);
+		}
+		else if( isBinaryMatrix(o) ) {
+			buf.writeByte(ParamType.MATRIX.ordinal());
+			((MatrixBlock) o).write(out);
+		}
+		else if( o instanceof FederatedRequest ) {
+			//nested requests of batches
+			buf.writeByte(ParamType.REQUEST.ordinal());
+			writeRequest(out, (FederatedRequest) o);
+		}
+		else {
+			//fallback for operators, lists, tensors, etc
+			buf.writeByte(ParamType.OBJECT.ordinal());
+			int pos = buf.writerIndex();
+			buf.writeInt(0); //length placeholder
+			ObjectOutputStream oos = new ObjectOutputStream(out);
+			oos.writeObject(o);
+			oos.flush();
+			buf.setInt(pos, buf.writerIndex() - pos - 4);
+		}
+	}
+
+	private static Object readParam(ByteBuf in) throws IOException, ClassNotFoundException {
+		ParamType type = ParamType.values()[in.readByte()];
+		switch( type ) {
+			case NULL:    return null;
+			case BOOLEAN: return in.readBoolean();
+			case INT:     return in.readInt();
+			case LONG:    return in.readLong();
+			case DOUBLE:  return in.readDouble();
+			case STRING: {
+				int len = in.readInt();
+				String ret = in.toString(in.readerIndex(), len, StandardCharsets.UTF_8);
+				in.skipBytes(len);
+				return ret;
+			}
+			case MATRIX: {
+				//deserialize directly from the frame's memory (no copy for single buffers)
+				ByteBuffer bb = in.nioBuffer();
+				MatrixBlock ret = new MatrixBlock();
+				ret.readFields(new ByteBufferDataInput(bb));
+				in.skipBytes(bb.position());
+				return ret;
+			}
+			case REQUEST:
+				return readRequest(in);
+			case OBJECT: {
+				int len = in.readInt();
+				try( ObjectInputStream ois = new ObjectInputStream(
+					new ByteBufInputStream(in.readSlice(len))) ) {
+					return ois.readObject();
+				}
+			}
+			default:
+				throw new DMLRuntimeException("FederatedMessageCodec: invalid parameter type " + type);
+		}
+	}
+
+	/**
+	 * Data output over a netty buffer with fast serialization of entire dense and
+	 * sparse blocks (see {@link MatrixBlockDataOutput}).
+	 */
+	private static class ByteBufDataOutput extends ByteBufOutputStream implements MatrixBlockDataOutput {
+		public ByteBufDataOutput(ByteBuf buffer) {
+			super(buffer);
+		}
+
+		@Override
+		public void writeDoubleArray(int len, double[] varr) {
+			ByteBuf buf = buffer();
+			buf.ensureWritable(8 * len);
+			for( int i=0; i<len; i++ )
+				buf.writeDouble(varr[i]);
+		}
+
+		@Override
+		public void writeSparseRows(int rlen, SparseBlock rows) {
+			ByteBuf buf = buffer();
+			int lrlen = Math.min(rows.numRows(), rlen);
+
+			//process existing rows
+			for( int i=0; i<lrlen; i++ ) {
+				if( !rows.isEmpty(i) ) {
+					int apos = rows.pos(i);
+					int alen = rows.size(i);
+					int[] aix = rows.indexes(i);
+					double[] avals = rows.values(i);
+					buf.ensureWritable(4 + 12 * alen);
+					buf.writeInt(alen);
+					for( int j=apos; j<apos+alen; j++ ) {
+						buf.writeInt(aix[j]);
+						buf.writeDouble(avals[j]);
+					}
+				}
+				else
+					buf.writeInt(0);
+			}
+
+			//process remaining empty rows
+			for( int i=lrlen; i<rlen; i++ )
+				buf.writeInt(0);
+		}
+	}
+}
@@ -28,11 +28,13 @@ public class FederatedRequest implements Serializable {
 	private static final long serialVersionUID = 5946781306963870394L;
 	
 	public enum FedMethod {
-		READ, MATVECMULT, TRANSFER, AGGREGATE, SCALAR
+		READ, MATVECMULT, TRANSFER, AGGREGATE, SCALAR,
+		BATCH // sequence of requests executed in order, returning only the last response
 	}
 	
 	private FedMethod _method;
 	private List<Object> _data;
+	private long _id = -1; // correlates responses on multiplexed channels
 	
 	public FederatedRequest(FedMethod method, List<Object> data) {
 		_method = method;
@@ -44,6 +46,38 @@ public class FederatedRequest implements Serializable {
 		_data = Arrays.asList(datas);
 	}
 	
+	/**
+	 * Creates a batch of requests, which are shipped as a single message and executed
+	 * in order on the federated worker. The results of all but the last request are kept
+	 * on the worker for the duration of the batch and can be referenced by subsequent
+	 * requests via {@link #getBatchResultRef(int)} instead of a variable ID.
+	 * 
+	 * @param requests the requests in execution order
+	 * @return the batch request
+	 */
+	public static FederatedRequest createBatch(FederatedRequest... requests) {
+		return new FederatedRequest(FedMethod.BATCH, new ArrayList<>(Arrays.asList(requests)));
+	}
+	
+	/**
+	 * Obtains the placeholder variable ID, which refers to the result of the
+	 * i-th request of the enclosing batch.
+	 * 
+	 * @param i index of a previous request in the batch
+	 * @return placeholder variable ID
+	 */
+	public static long getBatchResultRef(int i) {
+		return -2 - i; // -1 denotes an uninitialized varID
+	}
+	
+	public static boolean isBatchResultRef(Object obj) {
+		return obj instanceof Long && (Long) obj <= -2;
+	}
+	
+	public static int getBatchResultIndex(long ref) {
+		return (int) (-2 - ref);
+	}
+	
 	public FederatedRequest(FedMethod method) {
 		_method = method;
 		_data = new ArrayList<>();
@@ -53,10 +87,22 @@ public class FederatedRequest implements Serializable {
 		return _method;
 	}
 	
+	public long getID() {
+		return _id;
+	}
+	
+	public void setID(long id) {
+		_id = id;
+	}
+	
 	public Object getParam(int i) {
 		return _data.get(i);
 	}
 	
+	public void setParam(int i, Object obj) {
+		_data.set(i, obj);
+	}
+	
 	public FederatedRequest appendParam(Object obj) {
 		_data.add(obj);
 		return this;
@@ -72,6 +118,8 @@ public class FederatedRequest implements Serializable {
 	}
 	
 	public FederatedRequest deepClone() {
-		return new FederatedRequest(_method, new ArrayList<>(_data));
+		FederatedRequest ret = new FederatedRequest(_method, new ArrayList<>(_data));
+		ret._id = _id;
+		return ret;
 	}
 }
@@ -27,11 +27,13 @@ public class FederatedResponse implements Serializable {
 	public enum Type {
 		SUCCESS,
 		SUCCESS_EMPTY,
+		SUCCESS_PARTIAL, // chunk of a streamed response, followed by further responses
 		ERROR,
 	}
 	
 	private FederatedResponse.Type _status;
 	private Object _data;
+	private long _id = -1; // ID of the request this response belongs to
 	
 	public FederatedResponse(FederatedResponse.Type status) {
 		this(status, null);
@@ -44,6 +46,18 @@ public class FederatedResponse implements Serializable {
 			_status = FederatedResponse.Type.SUCCESS_EMPTY;
 	}
 	
+	public long getID() {
+		return _id;
+	}
+	
+	public void setID(long id) {
+		_id = id;
+	}
+	
+	public FederatedResponse.Type getStatus() {
+		return _status;
+	}
+	
 	public boolean isSuccessful() {
 		return _status != FederatedResponse.Type.ERROR;
 	}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Bounded, memory-accounted cache of federated worker responses, which allows answering
+ * repeated requests (e.g., colSums(X) in every iteration) against unchanged worker-local
+ * data without recomputation.
+ * <p>
+ * Requests are keyed by lineage items over the request method and parameters, with the
+ * referenced worker variable as input. Worker variables are bound once (on read) and never
+ * updated, which makes explicit invalidation unnecessary. Operators are described by their
+ * function objects and constants, while matrix parameters are only hashed into the key and
+ * compared cell-wise on a cache hit. Requests with large matrix parameters are not cached
+ * to avoid hashing and pinning them. Key creation and probing are lock-free, such that
+ * concurrent requests are not serialized by the cache; only the insertion and eviction
+ * (in LRU order) of entries are synchronized.
+ */
+public class FederatedResponseCache
+{
+	// default fraction of the local memory budget used for cached responses
+	private static final double CACHE_FRACTION = 0.05;
+	// max in-memory size of matrix parameters of cacheable requests
+	private static final long MAX_PARAM_SIZE = 1024 * 1024; //1MB
+
+	private final long _limit;
+	private final AtomicLong _size = new AtomicLong(0);
+	private final AtomicLong _clock = new AtomicLong(0);
+	private final Map<LineageItem, Entry> _cache = new ConcurrentHashMap<>();
+
+	public FederatedResponseCache() {
+		this((long) (CACHE_FRACTION * OptimizerUtils.getLocalMemBudget()));
+	}
+
+	public FederatedResponseCache(long limit) {
+		_limit = limit;
+	}
+
+	/**
+	 * Creates the cache key of a request, if its response is cacheable.
+	 *
+	 * @param request federated request
+	 * @return lineage item key, or null if not cacheable
+	 */
+	public LineageItem createKey(FederatedRequest request) {
+		switch( request.getMethod() ) {
+			case MATVECMULT:
+			case AGGREGATE:
+			case SCALAR:
+				break;
+			default:
+				return null;
+		}
+		// the referenced variable is always the last parameter
+		int n = request.getNumParams();
+		if( n == 0 || !(request.getParam(n-1) instanceof Long) )
+			return null;
+		long varID = (Long) request.getParam(n-1);
+		StringBuilder sb = new StringBuilder();
+		for( int i=0; i<n-1; i++ ) {
+			String param = getParamDescriptor(request.getParam(i));
+			if( param == null )
+				return null;
+			sb.append(param);
+			sb.append(';');
+		}
+		LineageItem var = new LineageItem(String.valueOf(varID), String.valueOf(varID));
+		return new LineageItem("fed", sb.toString(),
+			request.getMethod().name(), new LineageItem[] {var});
+	}
+
+	public FederatedResponse get(LineageItem key, FederatedRequest request) {
+		Entry e = _cache.get(key);
+		if( e == null || !e.matches(request) ) {
+			Statistics.incFederatedCacheMisses();
+			return null;
+		}
+		Statistics.incFederatedCacheHits();
+		e._lastAccess = _clock.incrementAndGet();
+		// copy to allow for independent request IDs
+		return new FederatedResponse(e._response.getStatus(), e._response.getData());
+	}
+
+	public void put(LineageItem key, FederatedRequest request, FederatedResponse response) {
+		if( !response.isSuccessful() || !(response.getData() instanceof MatrixBlock) )
+			return;
+		Entry e = new Entry(request, response, _clock.incrementAndGet());
+		if( e._size > _limit )
+			return;
+		synchronized( this ) {
+			Entry old = _cache.put(key, e);
+			_size.addAndGet(e._size - ((old != null) ? old._size : 0));
+			if( _size.get() > _limit )
+				evictLRU(e);
+		}
+	}
+
+	public long getSize() {
+		return _size.get();
+	}
+
+	private void evictLRU(Entry pinned) {
+		// evict least recently used entries, except the newly added entry
+		List<Map.Entry<LineageItem, Entry>> cands = new ArrayList<>(_cache.entrySet());
+		cands.sort(Comparator.comparingLong(c -> c.getValue()._lastAccess));
+		for( Map.Entry<LineageItem, Entry> c : cands ) {
+			if( _size.get() <= _limit )
+				break;
+			if( c.getValue() != pinned && _cache.remove(c.getKey(), c.getValue()) )
+				_size.addAndGet(-c.getValue()._size);
+		}
+	}
+
+	private static String getParamDescriptor(Object param) {
+		if( param instanceof Boolean || param instanceof Number || param instanceof String )
+			return param.toString();
+		if( param instanceof MatrixBlock ) {
+			// hash only, exact comparison on cache hits
+			MatrixBlock mb = (MatrixBlock) param;
+			if( mb.getInMemorySize() > MAX_PARAM_SIZE )
+				return null;
+			return "MB" + mb.getNumRows() + "x" + mb.getNumColumns()
+				+ "x" + mb.getNonZeros() + "#" + hashMatrix(mb);
+		}
+		if( param instanceof ScalarOperator ) {
+			ScalarOperator op = (ScalarOperator) param;
+			return op.getClass().getSimpleName() + "(" + getOpcode(op.fn) + "," + op.getConstant() + ")";
+		}
+		if( param instanceof AggregateUnaryOperator ) {
+			AggregateUnaryOperator op = (AggregateUnaryOperator) param;
+			return "AU(" + getOpcode(op.aggOp.increOp.fn) + "," + op.aggOp.initialValue + ","
+				+ op.aggOp.correction + "," + op.indexFn.getClass().getSimpleName() + ")";
+		}
+		return null;
+	}
+
+	private static String getOpcode(ValueFunction fn) {
+		// builtins are distinguished by their code, all other function objects by type
+		return (fn instanceof Builtin) ? ((Builtin) fn).getBuiltinCode().name() : fn.getClass().getSimpleName();
+	}
+
+	private static int hashMatrix(MatrixBlock mb) {
+		// hash of all non-zero cells, independent of the dense or sparse representation
+		int h = 0;
+		if( mb.isEmptyBlock(false) )
+			return h;
+		int n = mb.getNumColumns();
+		if( mb.isInSparseFormat() ) {
+			SparseBlock sb = mb.getSparseBlock();
+			for( int i=0; i<mb.getNumRows(); i++ ) {
+				if( sb.isEmpty(i) )
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for( int k=apos; k<apos+alen; k++ )
+					if( avals[k] != 0 )
+						h = hashCell(h, (long) i * n + aix[k], avals[k]);
+			}
+		}
+		else {
+			DenseBlock db = mb.getDenseBlock();
+			for( int i=0; i<mb.getNumRows(); i++ ) {
+				double[] avals = db.values(i);
+				int apos = db.pos(i);
+				for( int j=0; j<n; j++ )
+					if( avals[apos+j] != 0 )
+						h = hashCell(h, (long) i * n + j, avals[apos+j]);
+			}
+		}
+		return h;
+	}
+
+	private static int hashCell(int h, long ix, double val) {
+		return UtilFunctions.intHashCode(h, UtilFunctions.intHashCode(Long.hashCode(ix), Double.hashCode(val)));
+	}
+
+	private static boolean equalsMatrix(MatrixBlock a, MatrixBlock b) {
+		if( a.getNumRows() != b.getNumRows() || a.getNumColumns() != b.getNumColumns()
+			|| a.getNonZeros() != b.getNonZeros() )
+			return false;
+		for( int i=0; i<a.getNumRows(); i++ )
+			for( int j=0; j<a.getNumColumns(); j++ )
+				if( Double.compare(a.quickGetValue(i, j), b.quickGetValue(i, j)) != 0 )
+					return false;
+		return true;
+	}
+
+	private static class Entry {
+		private final FederatedResponse _response;
+		private final List<MatrixBlock> _params = new ArrayList<>();
+		private final long _size;
+		private volatile long _lastAccess;
+
+		public Entry(FederatedRequest request, FederatedResponse response, long time) {
+			_response = response;
+			_lastAccess = time;
+			long size = ((MatrixBlock) response.getData()).getInMemorySize();
+			for( int i=0; i<request.getNumParams(); i++ )
+				if( request.getParam(i) instanceof MatrixBlock ) {
+					MatrixBlock mb = (MatrixBlock) request.getParam(i);
+					_params.add(mb);
+					size += mb.getInMemorySize();
+				}
+			_size = size;
+		}
+
+		public boolean matches(FederatedRequest request) {
+			int pos = 0;
+			for( int i=0; i<request.getNumParams(); i++ )
+				if( request.getParam(i) instanceof MatrixBlock ) {
+					if( pos >= _params.size()
+						|| !equalsMatrix(_params.get(pos++), (MatrixBlock) request.getParam(i)) )
+						return false;
+				}
+			return pos == _params.size();
+		}
+	}
+}
@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.controlprogram.federated;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
@@ -27,16 +28,18 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.apache.log4j.Logger;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.utils.Statistics;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class FederatedWorker {
 	protected static Logger log = Logger.getLogger(FederatedWorker.class);
@@ -44,7 +47,8 @@ public class FederatedWorker {
 	private int _port;
 	private int _nrThreads = Integer.parseInt(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
 	private IDSequence _seq = new IDSequence();
-	private Map<Long, CacheableData<?>> _vars = new HashMap<>();
+	private Map<Long, CacheableData<?>> _vars = new ConcurrentHashMap<>();
+	private FederatedResponseCache _cache = new FederatedResponseCache();
 
 	public FederatedWorker(int port) {
 		_port = (port == -1) ?
@@ -55,19 +59,22 @@ public class FederatedWorker {
 		log.info("Setting up Federated Worker");
 		EventLoopGroup bossGroup = new NioEventLoopGroup(_nrThreads);
 		EventLoopGroup workerGroup = new NioEventLoopGroup(_nrThreads);
+		// bounded compute pool, shared by all coordinator connections
+		ExecutorService pool = Executors.newFixedThreadPool(InfrastructureAnalyzer.getLocalParallelism(),
+			new DefaultThreadFactory("federated-worker-compute", true));
 		ServerBootstrap b = new ServerBootstrap();
 		b.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class)
 			.childHandler(new ChannelInitializer<SocketChannel>() {
 				@Override
 				public void initChannel(SocketChannel ch) {
 					ch.pipeline()
-						.addLast("ObjectDecoder",
-							new ObjectDecoder(Integer.MAX_VALUE,
-								ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())))
-						.addLast("ObjectEncoder", new ObjectEncoder())
-						.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(_seq, _vars));
+						.addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder())
+						.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder())
+						.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(_seq, _vars, _cache, pool));
 				}
-			}).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true);
+			}).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true)
+			.childOption(ChannelOption.TCP_NODELAY, true)
+			.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
 		try {
 			log.info("Starting Federated Worker server at port: " + _port);
 			ChannelFuture f = b.bind(_port).sync();
@@ -79,8 +86,11 @@ public class FederatedWorker {
 		}
 		finally {
 			log.info("Federated Worker Shutting down.");
+			log.info("Federated worker cache hits/total: " + Statistics.displayFederatedCacheHits());
 			workerGroup.shutdownGracefully();
 			bossGroup.shutdownGracefully();
+			FederatedData.clearConnections();
+			pool.shutdownNow();
 		}
 	}
 }
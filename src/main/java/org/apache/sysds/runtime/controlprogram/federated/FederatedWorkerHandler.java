@@ -36,14 +36,17 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.TensorObject;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.matrix.data.InputInfo;
 import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.OutputInfo;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
@@ -58,16 +61,44 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 	protected static Logger log = Logger.getLogger(FederatedWorkerHandler.class);
 
 	private final IDSequence _seq;
 	private Map<Long, CacheableData<?>> _vars;
+	private final FederatedResponseCache _cache;
+	private final ExecutorService _pool;
+	private final int _numThreads;
+	// number of concurrently executing requests, shared by all channels
+	private static final AtomicInteger _activeRequests = new AtomicInteger(0);
+	// monitor of streaming producers waiting for a writable channel
+	private final Object _writable = new Object();
+	private static final long WRITABLE_TIMEOUT = 100; // ms, guards against missed notifications
 
 	public FederatedWorkerHandler(IDSequence seq, Map<Long, CacheableData<?>> _vars2) {
+		this(seq, _vars2, new FederatedResponseCache(), null);
+	}
+
+	/**
+	 * Creates a handler for a channel of the federated worker.
+	 * 
+	 * @param seq sequence of worker variable IDs
+	 * @param _vars2 worker variables, shared by all channels
+	 * @param cache response cache, shared by all channels
+	 * @param pool compute pool for executing requests off the event loop,
+	 *             or null to execute requests inline
+	 */
+	public FederatedWorkerHandler(IDSequence seq, Map<Long, CacheableData<?>> _vars2,
+		FederatedResponseCache cache, ExecutorService pool)
+	{
 		_seq = seq;
 		_vars = _vars2;
+		_cache = cache;
+		_pool = pool;
+		_numThreads = InfrastructureAnalyzer.getLocalParallelism();
 	}
 
 	@Override
@@ -81,15 +112,50 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		FederatedRequest.FedMethod method = request.getMethod();
 		log.debug("Received command: " + method.name());
 
-		synchronized (_seq) {
-			FederatedResponse response = constructResponse(request);
-			if (!response.isSuccessful())
-				log.error("Method " + method + " failed: " + response.getErrorMessage());
-			ctx.writeAndFlush(response).addListener(new CloseListener());
+		// execute the request in the compute pool to keep the event loop responsive
+		// for other coordinators; conflicting accesses to worker variables are
+		// ordered by the read/modify locks of the cacheable data objects
+		if (_pool != null)
+			_pool.submit(() -> executeRequest(ctx, request));
+		else
+			executeRequest(ctx, request);
+	}
+
+	private void executeRequest(ChannelHandlerContext ctx, FederatedRequest request) {
+		FederatedResponse response;
+		_activeRequests.incrementAndGet();
+		try {
+			// transfers with given chunk size are streamed as row-block frames
+			response = (request.getMethod() == FederatedRequest.FedMethod.TRANSFER
+				&& request.getNumParams() == 2) ? streamVariableData(ctx, request) : constructResponse(request);
+		}
+		catch (Exception ex) {
+			// always respond, otherwise the coordinator would wait forever
+			response = new FederatedResponse(FederatedResponse.Type.ERROR, ExceptionUtils.getFullStackTrace(ex));
+		}
+		finally {
+			_activeRequests.decrementAndGet();
 		}
+		response.setID(request.getID());
+		if (!response.isSuccessful())
+			log.error("Method " + request.getMethod() + " failed: " + response.getErrorMessage());
+		// keep the channel open for subsequent requests of the same coordinator
+		ctx.writeAndFlush(response).addListener(new ResponseListener());
 	}
 
 	private FederatedResponse constructResponse(FederatedRequest request) {
+		// probe the response cache for repeated requests on unchanged data
+		LineageItem key = _cache.createKey(request);
+		FederatedResponse response = (key != null) ? _cache.get(key, request) : null;
+		if (response == null) {
+			response = computeResponse(request);
+			if (key != null)
+				_cache.put(key, request, response);
+		}
+		return response;
+	}
+
+	private FederatedResponse computeResponse(FederatedRequest request) {
 		FederatedRequest.FedMethod method = request.getMethod();
 		try {
 			switch (method) {
@@ -103,6 +169,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 					return executeAggregation(request);
 				case SCALAR:
 					return executeScalarOperation(request);
+				case BATCH:
+					return executeBatch(request);
 				default:
 					String message = String.format("Method %s is not supported.", method);
 					return new FederatedResponse(FederatedResponse.Type.ERROR, message);
@@ -158,23 +226,36 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 	private FederatedResponse executeMatVecMult(FederatedRequest request) {
 		checkNumParams(request.getNumParams(), 3);
-		MatrixBlock vector = (MatrixBlock) request.getParam(0);
+		Object vector = request.getParam(0);
 		boolean isMatVecMult = (Boolean) request.getParam(1);
 		long varID = (Long) request.getParam(2);
 
-		return executeMatVecMult(varID, vector, isMatVecMult);
+		// the vector is either shipped with the request or a worker variable (e.g., a batch intermediate)
+		if (vector instanceof Long)
+			vector = ((MatrixObject) _vars.get(vector)).acquireReadAndRelease();
+		return executeMatVecMult(varID, (MatrixBlock) vector, isMatVecMult);
 	}
 
 	private FederatedResponse executeMatVecMult(long varID, MatrixBlock vector, boolean isMatVecMult) {
 		MatrixObject matTo = (MatrixObject) _vars.get(varID);
-		MatrixBlock matBlock1 = matTo.acquireReadAndRelease();
 		// TODO other datatypes
 		AggregateBinaryOperator ab_op = new AggregateBinaryOperator(
-			Multiply.getMultiplyFnObject(), new AggregateOperator(0, Plus.getPlusFnObject()));
-		MatrixBlock result = isMatVecMult ?
-			matBlock1.aggregateBinaryOperations(matBlock1, vector, new MatrixBlock(), ab_op) :
-			vector.aggregateBinaryOperations(vector, matBlock1, new MatrixBlock(), ab_op);
-		return new FederatedResponse(FederatedResponse.Type.SUCCESS, result);
+			Multiply.getMultiplyFnObject(), new AggregateOperator(0, Plus.getPlusFnObject()), getParallelism());
+		MatrixBlock matBlock1 = matTo.acquireRead();
+		try {
+			// column vectors as left operand are used as row vectors, which allows chaining
+			// t(X) %*% (X %*% v) as t(X %*% v) %*% X without an additional transpose request
+			if (!isMatVecMult && vector.getNumColumns() == 1 && vector.getNumRows() > 1
+				&& vector.getNumRows() == matBlock1.getNumRows())
+				vector = LibMatrixReorg.transpose(vector, new MatrixBlock(1, vector.getNumRows(), false));
+			MatrixBlock result = isMatVecMult ?
+				matBlock1.aggregateBinaryOperations(matBlock1, vector, new MatrixBlock(), ab_op) :
+				vector.aggregateBinaryOperations(vector, matBlock1, new MatrixBlock(), ab_op);
+			return new FederatedResponse(FederatedResponse.Type.SUCCESS, result);
+		}
+		finally {
+			matTo.release();
+		}
 	}
 
 	private FederatedResponse getVariableData(FederatedRequest request) {
@@ -201,6 +282,70 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		}
 	}
 
+	private FederatedResponse streamVariableData(ChannelHandlerContext ctx, FederatedRequest request) {
+		int chunkRows = (Integer) request.getParam(0);
+		long varID = (Long) request.getParam(1);
+		Data dataObject = _vars.get(varID);
+		if (!(dataObject instanceof MatrixObject))
+			return getVariableData(varID);
+		MatrixObject matrixObject = (MatrixObject) dataObject;
+		MatrixBlock mb = matrixObject.acquireRead();
+		try {
+			int rows = mb.getNumRows();
+			int cols = mb.getNumColumns();
+			for (int rl = 0; rl < rows; rl += chunkRows) {
+				int ru = Math.min(rl + chunkRows, rows) - 1;
+				FederatedResponse chunk = new FederatedResponse(FederatedResponse.Type.SUCCESS_PARTIAL,
+					mb.slice(rl, ru, 0, cols - 1, new MatrixBlock()));
+				chunk.setID(request.getID());
+				ChannelFuture f = ctx.writeAndFlush(chunk);
+				// flow control: wait for the outbound buffer to drain before creating the next frame
+				// (inline on the event loop, the disabled auto-read throttles the coordinator instead)
+				if (!ctx.executor().inEventLoop())
+					awaitWritable(ctx);
+				if ((f.isDone() && !f.isSuccess()) || !ctx.channel().isActive())
+					return new FederatedResponse(FederatedResponse.Type.ERROR,
+						"FederatedWorkerHandler: Streaming transfer failed: " + f.cause());
+			}
+		}
+		catch (Exception e) {
+			return new FederatedResponse(FederatedResponse.Type.ERROR, ExceptionUtils.getFullStackTrace(e));
+		}
+		finally {
+			matrixObject.release();
+		}
+		return new FederatedResponse(FederatedResponse.Type.SUCCESS_EMPTY);
+	}
+
+	private void awaitWritable(ChannelHandlerContext ctx) throws InterruptedException {
+		synchronized (_writable) {
+			while (!ctx.channel().isWritable() && ctx.channel().isActive())
+				_writable.wait(WRITABLE_TIMEOUT);
+		}
+	}
+
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+		// back-pressure: stop reading new requests while the outbound buffer is full
+		boolean writable = ctx.channel().isWritable();
+		ctx.channel().config().setAutoRead(writable);
+		if (writable) {
+			synchronized (_writable) {
+				_writable.notifyAll();
+			}
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) {
+		// release producers of streams on closed channels
+		synchronized (_writable) {
+			_writable.notifyAll();
+		}
+		ctx.fireChannelInactive();
+	}
+
 	private FederatedResponse executeAggregation(FederatedRequest request) {
 		checkNumParams(request.getNumParams(), 2);
 		AggregateUnaryOperator operator = (AggregateUnaryOperator) request.getParam(0);
@@ -216,7 +361,6 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 					+ dataObject.getDataType().name());
 		}
 		MatrixObject matrixObject = (MatrixObject) dataObject;
-		MatrixBlock matrixBlock = matrixObject.acquireRead();
 		// create matrix for calculation with correction
 		MatrixCharacteristics mc = new MatrixCharacteristics();
 		// find out the characteristics after aggregation
@@ -233,12 +377,16 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				outNumCols += numMissing;
 		}
 		MatrixBlock ret = new MatrixBlock(outNumRows, outNumCols, operator.aggOp.initialValue);
+		MatrixBlock matrixBlock = matrixObject.acquireRead();
 		try {
-			LibMatrixAgg.aggregateUnaryMatrix(matrixBlock, ret, operator);
+			LibMatrixAgg.aggregateUnaryMatrix(matrixBlock, ret, operator, getParallelism());
 		}
 		catch (Exception e) {
 			return new FederatedResponse(FederatedResponse.Type.ERROR, "FederatedWorkerHandler: " + e);
 		}
+		finally {
+			matrixObject.release();
+		}
 		// result block without correction
 		ret.dropLastRowsOrColumns(operator.aggOp.correction);
 		return new FederatedResponse(FederatedResponse.Type.SUCCESS, ret);
@@ -261,12 +409,65 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 		MatrixObject matrixObject = (MatrixObject) dataObject;
 		MatrixBlock inBlock = matrixObject.acquireRead();
-		MatrixBlock retBlock = inBlock.scalarOperations(operator, new MatrixBlock());
-		return new FederatedResponse(FederatedResponse.Type.SUCCESS, retBlock);
+		try {
+			MatrixBlock retBlock = inBlock.scalarOperations(operator, new MatrixBlock());
+			return new FederatedResponse(FederatedResponse.Type.SUCCESS, retBlock);
+		}
+		finally {
+			matrixObject.release();
+		}
+	}
+
+	private FederatedResponse executeBatch(FederatedRequest request) {
+		int numRequests = request.getNumParams();
+		long[] resultIDs = new long[numRequests];
+		Arrays.fill(resultIDs, -1);
+		try {
+			FederatedResponse response = new FederatedResponse(FederatedResponse.Type.SUCCESS_EMPTY);
+			for (int i = 0; i < numRequests; i++) {
+				FederatedRequest current = (FederatedRequest) request.getParam(i);
+				if (current.getMethod() == FederatedRequest.FedMethod.BATCH)
+					return new FederatedResponse(FederatedResponse.Type.ERROR,
+						"FederatedWorkerHandler: Nested batch requests are not supported");
+				// replace references to results of previous requests by their variable IDs
+				current = current.deepClone();
+				boolean temporary = false;
+				for (int j = 0; j < current.getNumParams(); j++) {
+					if (FederatedRequest.isBatchResultRef(current.getParam(j))) {
+						int pos = FederatedRequest.getBatchResultIndex((Long) current.getParam(j));
+						if (pos >= i)
+							return new FederatedResponse(FederatedResponse.Type.ERROR,
+								"FederatedWorkerHandler: Invalid reference to batch result " + pos + " in request " + i);
+						current.setParam(j, resultIDs[pos]);
+						temporary = true;
+					}
+				}
+				// requests over intermediates bypass the response cache, because
+				// their keys would refer to variables that are removed after the batch
+				response = temporary ? computeResponse(current) : constructResponse(current);
+				if (!response.isSuccessful())
+					return response;
+				// keep intermediates on the worker, only the last result is returned
+				if (i < numRequests - 1) {
+					if (!(response.getData() instanceof MatrixBlock))
+						return new FederatedResponse(FederatedResponse.Type.ERROR,
+							"FederatedWorkerHandler: Intermediate batch results need to be matrices");
+					resultIDs[i] = createMatrixObject((MatrixBlock) response.getData());
+				}
+			}
+			return response;
+		}
+		finally {
+			// cleanup intermediates, which are not accessible after the batch
+			for (long id : resultIDs) {
+				CacheableData<?> cd = (id >= 0) ? _vars.remove(id) : null;
+				if (cd != null)
+					cd.clearData();
+			}
+		}
 	}
 
-	@SuppressWarnings("unused")
-	private FederatedResponse createMatrixObject(MatrixBlock result) {
+	private long createMatrixObject(MatrixBlock result) {
 		MatrixObject resTo = new MatrixObject(Types.ValueType.FP64, OptimizerUtils.getUniqueTempFileName());
 		MetaDataFormat metadata = new MetaDataFormat(
 			new MatrixCharacteristics(result.getNumRows(), result.getNumColumns()),
@@ -276,7 +477,12 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		resTo.release();
 		long result_var = _seq.getNextID();
 		_vars.put(result_var, resTo);
-		return new FederatedResponse(FederatedResponse.Type.SUCCESS, result_var);
+		return result_var;
+	}
+
+	private int getParallelism() {
+		// share the local parallelism among concurrent requests to avoid k^2 threads
+		return Math.max(1, _numThreads / Math.max(1, _activeRequests.get()));
 	}
 
 	private static void checkNumParams(int actual, int... expected) {
@@ -292,12 +498,13 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		ctx.close();
 	}
 
-	private static class CloseListener implements ChannelFutureListener {
+	private static class ResponseListener implements ChannelFutureListener {
 		@Override
-		public void operationComplete(ChannelFuture channelFuture) throws InterruptedException, DMLRuntimeException {
-			if (!channelFuture.isSuccess())
-				throw new DMLRuntimeException("Federated Worker Write failed");
-			channelFuture.channel().close().sync();
+		public void operationComplete(ChannelFuture channelFuture) {
+			if (!channelFuture.isSuccess()) {
+				log.error("Federated Worker Write failed: " + channelFuture.cause());
+				channelFuture.channel().close();
+			}
 		}
 	}
 }
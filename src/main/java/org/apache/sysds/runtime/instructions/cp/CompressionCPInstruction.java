@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
@@ -29,8 +30,12 @@ import org.apache.sysds.runtime.matrix.operators.Operator;
 
 public class CompressionCPInstruction extends ComputationCPInstruction {
 
-	private CompressionCPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String istr) {
+	private final CompressionWorkload _workload;
+
+	private CompressionCPInstruction(Operator op, CPOperand in, CPOperand out, CompressionWorkload workload,
+		String opcode, String istr) {
 		super(CPType.Compression, op, in, null, null, out, opcode, istr);
+		_workload = workload;
 	}
 
 	public static Instruction parseInstruction(String str) {
@@ -38,16 +43,19 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
 		CPOperand out = new CPOperand(parts[2]);
-		return new CompressionCPInstruction(null, in1, out, opcode, str);
+		CompressionWorkload workload = (parts.length > 3) ?
+			CompressionWorkload.parseWorkload(parts[3]) : null;
+		return new CompressionCPInstruction(null, in1, out, workload, opcode, str);
 	}
 	
 	@Override
 	public void processInstruction( ExecutionContext ec ) {
 		//get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
-		//compress the matrix block
-		MatrixBlock out = new CompressedMatrixBlock(in)
-			.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		//compress the matrix block (w/ workload-aware planning if available)
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(in);
+		cmb.setWorkload(_workload);
+		MatrixBlock out = cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
 		//set output and release input
 		ec.releaseMatrixInput(input1.getName());
 		ec.setMatrixOutput(output.getName(), out);
@@ -292,88 +292,59 @@ public class AggregateBinaryFEDInstruction extends BinaryFEDInstruction {
 		}
 		
 		/**
-		 * Distribute the non or smaller federated block as row vectors to the federated worker and do row number of
-		 * times a vector-matrix multiplication. Non or smaller federated block is left operand.
+		 * Distribute the rows of the non or smaller federated block, which correspond to the columns of the
+		 * federated data, in a single request to the federated worker and do a matrix-matrix multiplication.
+		 * Non or smaller federated block is left operand.
 		 *
 		 * @throws InterruptedException if .get() on federated response future fails -> interrupted
 		 * @throws ExecutionException   if .get() on federated response future fails -> execution failed
 		 */
 		private void executeRowWiseVMMultiplications() throws InterruptedException, ExecutionException {
-			MatrixBlock result;
 			// TODO support large matrices with long indexes
 			int[] beginDims = _range.getBeginDimsInt();
 			int[] endDims = _range.getEndDimsInt();
 			// we take all rows but only the columns between the rows of the federated block of the other block (left
 			// hand side of the calculation).
-			int rowsBeginOtherBlock = 0;
-			int colsBeginOtherBlock = beginDims[0];
 			int rowsEndOtherBlock = _otherMatrix.getNumRows();
-			int colsEndOtherBlock = endDims[0];
-			// Size of partial result block for vm is rows of otherBlock * cols of federatedData
-			result = new MatrixBlock(rowsEndOtherBlock - rowsBeginOtherBlock, endDims[1] - beginDims[1], false);
 			// Set range of output in result block, rows are the number of rows of the other block, while columns
 			// are the number of columns of our federated data
-			_result.setLeft(new FederatedRange(new long[] {rowsBeginOtherBlock, beginDims[1]},
+			_result.setLeft(new FederatedRange(new long[] {0, beginDims[1]},
 					new long[] {rowsEndOtherBlock, endDims[1]}));
-			// vector which we will distribute otherBlock.rows number of times
-			MatrixBlock vec = new MatrixBlock(1, colsEndOtherBlock - colsBeginOtherBlock, false);
-			for (int r = rowsBeginOtherBlock; r < rowsEndOtherBlock; r++) {
-				// slice row vector out of other matrix which we will send to federated worker
-				_otherMatrix.slice(r, r, colsBeginOtherBlock, colsEndOtherBlock - 1, vec);
-				// TODO experiment if sending multiple requests at the same time to the same worker increases
-				//  performance (remove get and do multithreaded?)
-				FederatedResponse response = executeMVMultiply(_range, _data, vec, _distributeCols).get();
-				if (response.isSuccessful()) {
-					result.copy(r, r, 0, endDims[1] - beginDims[1] - 1, (MatrixBlock) response.getData(), true);
-				}
-				else
-					throw new DMLRuntimeException(
-						"Federated Matrix-Matrix Multiplication failed: " + response.getErrorMessage());
-			}
-			_result.setRight(result);
+			// ship the entire slice at once instead of one round trip per row vector
+			MatrixBlock slice = _otherMatrix.slice(0, rowsEndOtherBlock - 1, beginDims[0], endDims[0] - 1, new MatrixBlock());
+			_result.setRight(getPartialResult(executeMVMultiply(_range, _data, slice, _distributeCols).get()));
 		}
 		
 		/**
-		 * Distribute the non or smaller federated block as col vectors to the federated worker and do column number of
-		 * times a matrix-vector multiplication. Non or smaller federated block is right operand.
+		 * Distribute the columns of the non or smaller federated block, which correspond to the rows of the
+		 * federated data, in a single request to the federated worker and do a matrix-matrix multiplication.
+		 * Non or smaller federated block is right operand.
 		 *
 		 * @throws InterruptedException if .get() on federated response future fails -> interrupted
 		 * @throws ExecutionException   if .get() on federated response future fails -> execution failed
 		 */
 		private void executeColWiseMVMultiplication()
 				throws InterruptedException, ExecutionException {
-			MatrixBlock result;
 			// TODO support large matrices with long indexes
 			int[] beginDims = _range.getBeginDimsInt();
 			int[] endDims = _range.getEndDimsInt();
 			// we take all columns but only the rows between the columns of the federated block of the other block (right
 			// hand side of the calculation).
-			int rowsBeginOtherBlock = beginDims[1];
-			int colsBeginOtherBlock = 0;
-			int rowsEndOtherBlock = endDims[1];
 			int colsEndOtherBlock = _otherMatrix.getNumColumns();
-			// Size of partial result block for mv is rows of federated block * cols of other block
-			result = new MatrixBlock(endDims[0] - beginDims[0], colsEndOtherBlock - colsBeginOtherBlock, false);
 			// Set range of output in result block, rows are the number of rows of the federated data, while columns
 			// are the number of columns of the other block
-			_result.setLeft(new FederatedRange(new long[] {beginDims[0], colsBeginOtherBlock},
+			_result.setLeft(new FederatedRange(new long[] {beginDims[0], 0},
 					new long[] {endDims[0], colsEndOtherBlock}));
-			// vector which we will distribute otherBlock.cols number of times
-			MatrixBlock vec = new MatrixBlock(rowsEndOtherBlock - rowsBeginOtherBlock, 1, false);
-			for (int c = colsBeginOtherBlock; c < colsEndOtherBlock; c++) {
-				// slice column vector out of other matrix which we will send to federated worker
-				_otherMatrix.slice(rowsBeginOtherBlock, rowsEndOtherBlock - 1, c, c, vec);
-				// TODO experiment if sending multiple requests at the same time to the same worker increases
-				//  performance
-				FederatedResponse response = executeMVMultiply(_range, _data, vec, _distributeCols).get();
-				if (response.isSuccessful()) {
-					result.copy(0, endDims[0] - beginDims[0] - 1, c, c, (MatrixBlock) response.getData(), true);
-				}
-				else
-					throw new DMLRuntimeException(
-							"Federated Matrix-Matrix Multiplication failed: " + response.getErrorMessage());
-			}
-			_result.setRight(result);
+			// ship the entire slice at once instead of one round trip per column vector
+			MatrixBlock slice = _otherMatrix.slice(beginDims[1], endDims[1] - 1, 0, colsEndOtherBlock - 1, new MatrixBlock());
+			_result.setRight(getPartialResult(executeMVMultiply(_range, _data, slice, _distributeCols).get()));
+		}
+		
+		private static MatrixBlock getPartialResult(FederatedResponse response) {
+			if (!response.isSuccessful())
+				throw new DMLRuntimeException(
+					"Federated Matrix-Matrix Multiplication failed: " + response.getErrorMessage());
+			return (MatrixBlock) response.getData();
 		}
 	}
 }
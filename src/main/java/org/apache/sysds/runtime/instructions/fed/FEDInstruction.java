@@ -30,7 +30,8 @@ public abstract class FEDInstruction extends Instruction {
 		AggregateBinary,
 		AggregateUnary,
 		Append,
-		Binary
+		Binary,
+		MMChain
 	}
 	
 	protected final FEDType _fedType;
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.instructions.fed;
 
+import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
@@ -51,6 +52,14 @@ public class FEDInstructionUtils {
 					return AggregateUnaryFEDInstruction.parseInstruction(inst.getInstructionString());
 			}
 		}
+		else if (inst instanceof MMChainCPInstruction) {
+			MMChainCPInstruction instruction = (MMChainCPInstruction) inst;
+			if( instruction.getMMChainType() == ChainType.XtXv ) {
+				MatrixObject mo = ec.getMatrixObject(instruction.input1);
+				if( mo.isFederated() && MMChainFEDInstruction.isRowPartitioned(mo) )
+					return MMChainFEDInstruction.parseInstruction(inst.getInstructionString());
+			}
+		}
 		else if (inst instanceof BinaryCPInstruction) {
 			BinaryCPInstruction instruction = (BinaryCPInstruction) inst;
 			if( instruction.input1.isMatrix() && instruction.input2.isScalar() ){
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.fed;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.lops.MapMultChain.ChainType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.FedMethod;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+public class MMChainFEDInstruction extends UnaryFEDInstruction {
+	
+	private final ChainType _type;
+	
+	private MMChainFEDInstruction(CPOperand in1, CPOperand in2, CPOperand out,
+		ChainType type, String opcode, String istr) {
+		super(FEDType.MMChain, null, in1, in2, out, opcode, istr);
+		_type = type;
+	}
+	
+	public static MMChainFEDInstruction parseInstruction(String str) {
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields(parts, 5);
+		String opcode = parts[0];
+		CPOperand in1 = new CPOperand(parts[1]);
+		CPOperand in2 = new CPOperand(parts[2]);
+		CPOperand out = new CPOperand(parts[3]);
+		ChainType type = ChainType.valueOf(parts[4]);
+		if( type != ChainType.XtXv )
+			throw new DMLRuntimeException("MMChainFEDInstruction: unsupported chain type " + type);
+		return new MMChainFEDInstruction(in1, in2, out, type, opcode, str);
+	}
+	
+	/**
+	 * Indicates if the federated matrix is partitioned by rows only, which allows
+	 * computing t(X) %*% (X %*% v) as the sum of worker-local chains.
+	 * 
+	 * @param mo federated matrix object
+	 * @return true if all federated ranges span all columns
+	 */
+	public static boolean isRowPartitioned(MatrixObject mo) {
+		for( FederatedRange range : mo.getFedMapping().keySet() )
+			if( range.getBeginDims()[1] != 0 || range.getEndDims()[1] != mo.getNumColumns() )
+				return false;
+		return true;
+	}
+	
+	@Override
+	public void processInstruction(ExecutionContext ec) {
+		MatrixObject mo1 = ec.getMatrixObject(input1.getName());
+		MatrixBlock v = ec.getMatrixInput(input2.getName());
+		if( !mo1.isFederated() || !isRowPartitioned(mo1) )
+			throw new DMLRuntimeException("Federated mmchain only supported for row-partitioned federated matrices.");
+		
+		// t(X) %*% (X %*% v) = sum_i t(X_i %*% v) %*% X_i over the row partitions X_i,
+		// where each worker computes its chain in one batch, w/o returning X_i %*% v
+		List<Pair<FederatedRange, Future<FederatedResponse>>> responses = new ArrayList<>();
+		for( Map.Entry<FederatedRange, FederatedData> entry : mo1.getFedMapping().entrySet() ) {
+			FederatedData fedData = entry.getValue();
+			if( !fedData.isInitialized() )
+				throw new DMLRuntimeException("Not all FederatedData was initialized for federated matrix");
+			FederatedRequest mv = new FederatedRequest(FedMethod.MATVECMULT, v, true, fedData.getVarID());
+			FederatedRequest vm = new FederatedRequest(FedMethod.MATVECMULT,
+				FederatedRequest.getBatchResultRef(0), false, fedData.getVarID());
+			responses.add(new ImmutablePair<>(entry.getKey(), fedData.executeFederatedOperations(mv, vm)));
+		}
+		
+		// aggregate the partial row vectors into the output column vector
+		int ncol = (int) mo1.getNumColumns();
+		MatrixBlock out = new MatrixBlock(ncol, 1, false);
+		try {
+			for( Pair<FederatedRange, Future<FederatedResponse>> response : responses ) {
+				FederatedResponse fr = response.getRight().get();
+				if( !fr.isSuccessful() )
+					throw new DMLRuntimeException("Federated mmchain failed: " + fr.getErrorMessage());
+				MatrixBlock partial = (MatrixBlock) fr.getData();
+				for( int j=0; j<ncol; j++ )
+					out.quickSetValue(j, 0, out.quickGetValue(j, 0) + partial.quickGetValue(0, j));
+			}
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Federated mmchain failed", ex);
+		}
+		finally {
+			ec.releaseMatrixInput(input2.getName());
+		}
+		out.recomputeNonZeros();
+		ec.setMatrixOutput(output.getName(), out);
+	}
+	
+	public ChainType getMMChainType() {
+		return _type;
+	}
+}
@@ -179,6 +179,7 @@ public class CheckpointSPInstruction extends UnarySPInstruction {
 			RDDObject inro =  cd.getRDDHandle();  //guaranteed to exist (see above)
 			RDDObject outro = new RDDObject(out); //create new rdd object
 			outro.setCheckpointRDD(true);         //mark as checkpointed
+			outro.setCompressed(inro.isCompressed()); //keep compressed blocks
 			outro.addLineageChild(inro);          //keep lineage to prevent cycles on cleanup
 			cd.setRDDHandle(outro);
 		}
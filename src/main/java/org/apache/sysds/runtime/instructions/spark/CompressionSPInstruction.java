@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.instructions.spark;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
@@ -32,14 +33,20 @@ import org.apache.sysds.runtime.matrix.operators.Operator;
 
 public class CompressionSPInstruction extends UnarySPInstruction {
 
-	private CompressionSPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String istr) {
+	private final CompressionWorkload _workload;
+
+	private CompressionSPInstruction(Operator op, CPOperand in, CPOperand out, CompressionWorkload workload,
+		String opcode, String istr) {
 		super(SPType.Compression, op, in, out, opcode, istr);
+		_workload = workload;
 	}
 
 	public static CompressionSPInstruction parseInstruction(String str) {
-		InstructionUtils.checkNumFields(str, 2);
+		InstructionUtils.checkNumFields(str, 2, 3);
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		return new CompressionSPInstruction(null, new CPOperand(parts[1]), new CPOperand(parts[2]), parts[0], str);
+		CompressionWorkload workload = (parts.length > 3) ? CompressionWorkload.parseWorkload(parts[3]) : null;
+		return new CompressionSPInstruction(null, new CPOperand(parts[1]), new CPOperand(parts[2]), workload,
+			parts[0], str);
 	}
 
 	@Override
@@ -50,19 +57,28 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 		JavaPairRDD<MatrixIndexes, MatrixBlock> in = sec.getBinaryMatrixBlockRDDHandleForVariable(input1.getName());
 
 		// execute compression
-		JavaPairRDD<MatrixIndexes, MatrixBlock> out = in.mapValues(new CompressionFunction());
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = in.mapValues(new CompressionFunction(_workload));
 
-		// set outputs
+		// set outputs (marked as compressed for writes in compressed form)
 		sec.setRDDHandleForVariable(output.getName(), out);
+		sec.getCacheableData(output.getName()).getRDDHandle().setCompressed(true);
 		sec.addLineageRDD(input1.getName(), output.getName());
 	}
 
 	public static class CompressionFunction implements Function<MatrixBlock, MatrixBlock> {
 		private static final long serialVersionUID = -6528833083609423922L;
 
+		private final CompressionWorkload _workload;
+
+		public CompressionFunction(CompressionWorkload workload) {
+			_workload = workload;
+		}
+
 		@Override
 		public MatrixBlock call(MatrixBlock arg0) throws Exception {
-			return new CompressedMatrixBlock(arg0).compress();
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(arg0);
+			cmb.setWorkload(_workload);
+			return cmb.compress();
 		}
 	}
 }
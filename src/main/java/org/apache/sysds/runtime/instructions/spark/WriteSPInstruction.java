@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.instructions.spark.functions.ComputeBinaryBlockN
 import org.apache.sysds.runtime.instructions.spark.utils.FrameRDDConverterUtils;
 import org.apache.sysds.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDConverterUtils;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.lineage.LineageItem;
@@ -225,8 +226,11 @@ public class WriteSPInstruction extends SPInstruction implements LineageTraceabl
 				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
 			}
 			
-			//save binary block rdd on hdfs
-			in1.saveAsHadoopFile(fname, MatrixIndexes.class, MatrixBlock.class, SequenceFileOutputFormat.class);
+			//save binary block rdd on hdfs (compressed rdds in compressed form)
+			boolean compressed = sec.getMatrixObject(input1.getName()).getRDDHandle().isCompressed();
+			in1 = SparkUtils.prepareBinaryBlockWrite(in1, compressed);
+			in1.saveAsHadoopFile(fname, MatrixIndexes.class,
+				SparkUtils.getBinaryBlockValueClass(compressed), SequenceFileOutputFormat.class);
 			
 			if( !mc.nnzKnown() )
 				mc.setNonZeros(aNnz.value().longValue());
@@ -31,6 +31,7 @@ public class RDDObject extends LineageObject
 	private String  _hdfsFname = null;     //hdfs filename, if created from hdfs.  
 	private boolean _parRDD = false;       //is a parallelized rdd at driver
 	private boolean _pending = true;       //is a pending rdd operation
+	private boolean _compressed = false;   //contains compressed blocks
 	
 	public RDDObject( JavaPairRDD<?,?> rddvar) {
 		super();
@@ -81,6 +82,14 @@ public class RDDObject extends LineageObject
 		return _pending;
 	}
 	
+	public void setCompressed(boolean flag) {
+		_compressed = flag;
+	}
+	
+	public boolean isCompressed() {
+		return _compressed;
+	}
+	
 
 	/**
 	 * Indicates if rdd is an hdfs file or a checkpoint over an hdfs file;
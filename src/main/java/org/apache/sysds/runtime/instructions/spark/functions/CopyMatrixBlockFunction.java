@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.instructions.spark.functions;
 
 import org.apache.spark.api.java.function.Function;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
@@ -45,7 +46,9 @@ public class CopyMatrixBlockFunction implements Function<MatrixBlock,MatrixBlock
 	public MatrixBlock call(MatrixBlock arg0)
 		throws Exception 
 	{
-		if( _deepCopy )
+		if( _deepCopy && arg0 instanceof CompressedMatrixBlock )
+			return new CompressedMatrixBlock((CompressedMatrixBlock)arg0);
+		else if( _deepCopy )
 			return new MatrixBlock(arg0);
 		else
 			return arg0;
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.instructions.spark.functions;
 
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.sysds.lops.Checkpoint;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.instructions.spark.data.LazyIterableIterator;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -71,7 +72,10 @@ public class CopyMatrixBlockPairFunction implements PairFlatMapFunction<Iterator
 				MatrixBlock block = null;
 				//always create deep copies in more memory-efficient CSR representation 
 				//if block is already in sparse format
-				if( Checkpoint.CHECKPOINT_SPARSE_CSR && arg._2.isInSparseFormat() )
+				//(compressed blocks are copied with shared column groups)
+				if( arg._2 instanceof CompressedMatrixBlock )
+					block = new CompressedMatrixBlock((CompressedMatrixBlock)arg._2);
+				else if( Checkpoint.CHECKPOINT_SPARSE_CSR && arg._2.isInSparseFormat() )
 					block = new MatrixBlock(arg._2, SparseBlock.Type.CSR, true);
 				else
 					block = new MatrixBlock(arg._2());
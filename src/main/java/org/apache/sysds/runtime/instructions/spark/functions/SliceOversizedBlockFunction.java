@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.spark.functions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+
+import scala.Tuple2;
+
+/**
+ * Slices blocks larger than the given block size into blocks of the block size,
+ * while all other blocks are passed through. Compressed matrices are written from
+ * CP as a single block of the entire matrix, which is decompressed once here.
+ */
+public class SliceOversizedBlockFunction implements PairFlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>, MatrixIndexes, MatrixBlock> 
+{
+	private static final long serialVersionUID = 5160382949210432719L;
+	
+	private final int _blen;
+	
+	public SliceOversizedBlockFunction(int blen) {
+		_blen = blen;
+	}
+	
+	@Override
+	public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Tuple2<MatrixIndexes, MatrixBlock> arg0) 
+		throws Exception 
+	{
+		MatrixIndexes ix = arg0._1();
+		MatrixBlock in = arg0._2();
+		int rows = in.getNumRows();
+		int cols = in.getNumColumns();
+		if( rows <= _blen && cols <= _blen )
+			return Collections.singletonList(arg0).iterator();
+		
+		//only the single block of an entire matrix can exceed the block size
+		if( ix.getRowIndex() != 1 || ix.getColumnIndex() != 1 )
+			throw new DMLRuntimeException("Invalid block "+ix+" of size "+rows+"x"+cols+" for block size "+_blen+".");
+		MatrixBlock mb = (in instanceof CompressedMatrixBlock) ?
+			((CompressedMatrixBlock)in).decompress() : in;
+		
+		ArrayList<Tuple2<MatrixIndexes, MatrixBlock>> ret = new ArrayList<>();
+		for( int i=0; i<rows; i+=_blen )
+			for( int j=0; j<cols; j+=_blen ) {
+				MatrixBlock blk = mb.slice(i, Math.min(i+_blen, rows)-1,
+					j, Math.min(j+_blen, cols)-1, new MatrixBlock());
+				ret.add(new Tuple2<>(new MatrixIndexes(i/_blen+1, j/_blen+1), blk));
+			}
+		return ret.iterator();
+	}
+}
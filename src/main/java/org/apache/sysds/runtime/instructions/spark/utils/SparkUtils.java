@@ -28,6 +28,7 @@ import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Checkpoint;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.IndexedTensorBlock;
@@ -165,6 +166,25 @@ public class SparkUtils
 			return in.mapPartitionsToPair(new CopyMatrixBlockPairFunction(deep), true);
 	}
 
+	/**
+	 * Prepares a binary block matrix rdd for a write to binary block sequence files, which 
+	 * require all blocks to be of the value class of the file. Compressed rdds are written in 
+	 * compressed form (w/ incompressible blocks wrapped into compressed blocks), while for all
+	 * other rdds, compressed blocks are decompressed.
+	 * 
+	 * @param in matrix as {@code JavaPairRDD<MatrixIndexes,MatrixBlock>}
+	 * @param compressed if true, prepare write as compressed binary blocks
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes,MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes,MatrixBlock> prepareBinaryBlockWrite(
+			JavaPairRDD<MatrixIndexes,MatrixBlock> in, boolean compressed) {
+		return in.mapValues(new PrepareBinaryBlockWrite(compressed));
+	}
+	
+	public static Class<? extends MatrixBlock> getBinaryBlockValueClass(boolean compressed) {
+		return compressed ? CompressedMatrixBlock.class : MatrixBlock.class;
+	}
+	
 	/**
 	 * Creates a partitioning-preserving deep copy of the input tensor RDD, where
 	 * the indexes and values are copied.
@@ -294,6 +314,26 @@ public class SparkUtils
 		}
 	}
 	
+	private static class PrepareBinaryBlockWrite implements Function<MatrixBlock, MatrixBlock>
+	{
+		private static final long serialVersionUID = 4367263935404478313L;
+		
+		private final boolean _compressed;
+		
+		public PrepareBinaryBlockWrite(boolean compressed) {
+			_compressed = compressed;
+		}
+		
+		@Override
+		public MatrixBlock call(MatrixBlock arg0) throws Exception {
+			if( _compressed ) //shallow wrap of uncompressed blocks
+				return (arg0 instanceof CompressedMatrixBlock) ? arg0 : new CompressedMatrixBlock(arg0);
+			else if( arg0 instanceof CompressedMatrixBlock ) 
+				return ((CompressedMatrixBlock)arg0).decompress();
+			return arg0;
+		}
+	}
+	
 	private static class GenerateEmptyBlocks implements PairFlatMapFunction<Long, MatrixIndexes, MatrixBlock> 
 	{
 		private static final long serialVersionUID = 630129586089106855L;
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -158,14 +159,88 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
 		}
 	}
 	
+	//exact powers of ten for fast-path double parsing
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	
+	/**
+	 * Parses a double from the given range of UTF-8 encoded bytes (e.g., of a
+	 * hadoop text line) without intermediate string allocation. Plain decimal
+	 * numbers with up to 15 significant digits and small exponents are computed
+	 * exactly from the digits (and hence, equivalent to Double.parseDouble), while
+	 * all other inputs such as NA, NaN, Infinity, or long mantissas fall back to
+	 * UtilFunctions.parseToDouble.
+	 * 
+	 * @param buf byte buffer
+	 * @param from start position (inclusive), w/o leading whitespace
+	 * @param to end position (exclusive), w/o trailing whitespace
+	 * @return parsed double value
+	 */
+	public static double parseDouble(byte[] buf, int from, int to) {
+		int i = from;
+		boolean neg = false;
+		if( i < to && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+		
+		//parse integer and fraction digits into long mantissa
+		long mant = 0;
+		int ndigits = 0, exp = 0;
+		boolean digits = false, valid = true;
+		for( ; i < to && buf[i] >= '0' && buf[i] <= '9'; i++ ) {
+			mant = mant * 10 + (buf[i] - '0');
+			ndigits += (mant > 0) ? 1 : 0;
+			digits = true;
+		}
+		if( i < to && buf[i] == '.' ) {
+			for( i++; i < to && buf[i] >= '0' && buf[i] <= '9'; i++ ) {
+				mant = mant * 10 + (buf[i] - '0');
+				ndigits += (mant > 0) ? 1 : 0;
+				digits = true;
+				exp--;
+			}
+		}
+		
+		//parse optional exponent
+		if( i < to && (buf[i] == 'e' || buf[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < to && (buf[i] == '-' || buf[i] == '+') )
+				eneg = (buf[i++] == '-');
+			int e = 0;
+			valid = (i < to);
+			for( ; i < to && buf[i] >= '0' && buf[i] <= '9' && e < 1000; i++ )
+				e = e * 10 + (buf[i] - '0');
+			exp += eneg ? -e : e;
+		}
+		
+		//fast path: exact mantissa and power of ten
+		if( valid && digits && i == to && ndigits <= 15 ) {
+			if( mant == 0 )
+				return neg ? -0d : 0d;
+			if( exp >= -22 && exp <= 22 ) {
+				double ret = (exp < 0) ? mant / POW10[-exp] : mant * POW10[exp];
+				return neg ? -ret : ret;
+			}
+		}
+		
+		//slow path: special values and large mantissas/exponents
+		return UtilFunctions.parseToDouble(
+			new String(buf, from, to - from, StandardCharsets.UTF_8));
+	}
+	
 	/**
 	 * Splits a string by a specified delimiter into all tokens, including empty.
 	 * NOTE: This method is meant as a faster drop-in replacement of the regular 
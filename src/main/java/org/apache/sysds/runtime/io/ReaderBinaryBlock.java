@@ -30,6 +30,8 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.ColGroup;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -57,9 +59,6 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -67,6 +66,14 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//keep compressed matrices in compressed form (single block or row block)
+		MatrixBlock cblock = readCompressedMatrix(path, job, fs, rlen, clen, blen);
+		if( cblock != null )
+			return cblock;
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -117,7 +124,123 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 		return value;
 	}
-
+	
+	/**
+	 * Indicates if the given sequence file contains compressed matrix blocks, which
+	 * is marked by the value class of the sequence file.
+	 * 
+	 * @param reader sequence file reader
+	 * @return true if the file has been written with compressed matrix blocks
+	 */
+	protected static boolean isCompressedFile(SequenceFile.Reader reader) {
+		return reader.getValueClass() == CompressedMatrixBlock.class;
+	}
+	
+	/**
+	 * Indicates if the given binary block file (or the first of its part files) 
+	 * has been written with compressed matrix blocks.
+	 * 
+	 * @param fname file name
+	 * @return true if the file has been written with compressed matrix blocks
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isCompressedFile(String fname) 
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		Path[] lpaths = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		if( lpaths.length == 0 )
+			return false;
+		SequenceFile.Reader reader = new SequenceFile
+			.Reader(job, SequenceFile.Reader.file(lpaths[0]));
+		try {
+			return isCompressedFile(reader);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	protected static MatrixBlock getUncompressedBlock(MatrixBlock block) {
+		return (block instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)block).isCompressed()) ?
+			((CompressedMatrixBlock)block).decompress() : block;
+	}
+	
+	/**
+	 * Reads a matrix from a compressed binary block file in compressed form, which avoids
+	 * recompression after read. Compressed matrices written from CP are stored as a single
+	 * block of all column groups, independent of the block size. Files of a single row block
+	 * (e.g., written from Spark) are combined by shifting the column indexes of the column
+	 * groups of all column blocks. Files of multiple row blocks are read block-wise
+	 * decompressed, because column groups cannot be concatenated across row blocks.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen number of rows/cols in block
+	 * @return compressed matrix block, or null if not a compressed single block or row block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static MatrixBlock readCompressedMatrix(Path path, JobConf job, FileSystem fs, long rlen, long clen, int blen)
+		throws IOException
+	{
+		MatrixIndexes key = new MatrixIndexes();
+		int ncblks = (rlen <= blen) ? (int)Math.ceil((double)clen/blen) : 1;
+		CompressedMatrixBlock[] blocks = new CompressedMatrixBlock[Math.max(ncblks, 1)];
+		int count = 0;
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath));
+			try {
+				if( !isCompressedFile(reader) )
+					return null;
+				CompressedMatrixBlock value = new CompressedMatrixBlock();
+				while( reader.next(key, value) ) {
+					//fallback to block-wise read for multiple row blocks
+					int cix = (int)key.getColumnIndex()-1;
+					if( key.getRowIndex() != 1 || cix < 0 || cix >= blocks.length )
+						return null;
+					blocks[cix] = value;
+					value = new CompressedMatrixBlock();
+					count++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		//single block of the entire matrix
+		if( count == 1 && blocks[0] != null && blocks[0].isCompressed()
+			&& blocks[0].getNumRows() == rlen && blocks[0].getNumColumns() == clen )
+			return blocks[0];
+		
+		//fallback to default read for missing (empty) or incompressible blocks
+		if( rlen > blen || blocks.length == 1 )
+			return null;
+		for( int i=0; i<blocks.length; i++ ) {
+			if( blocks[i] == null || !blocks[i].isCompressed() || blocks[i].getNumRows() != rlen
+				|| blocks[i].getNumColumns() != Math.min(blen, clen - (long)i*blen) )
+				return null;
+		}
+		
+		//combine the column groups of all column blocks (owned by this read)
+		ArrayList<ColGroup> groups = new ArrayList<>();
+		long nnz = 0;
+		for( int i=0; i<blocks.length; i++ ) {
+			for( ColGroup grp : blocks[i].getColGroups() ) {
+				grp.shiftColIndices(i * blen);
+				groups.add(grp);
+			}
+			long bnnz = blocks[i].getNonZeros();
+			nnz = (nnz < 0 || bnnz < 0) ? -1 : nnz + bnnz;
+		}
+		return new CompressedMatrixBlock((int)rlen, (int)clen, nnz, groups);
+	}
 	
 	/**
 	 * Note: For efficiency, we directly use SequenceFile.Reader instead of SequenceFileInputFormat-
@@ -144,7 +267,7 @@ public class ReaderBinaryBlock extends MatrixReader
 	{
 		boolean sparse = dest.isInSparseFormat();
 		MatrixIndexes key = new MatrixIndexes(); 
-		MatrixBlock value = getReuseBlock(blen, sparse);
+		MatrixBlock reuse = getReuseBlock(blen, sparse);
 		long lnnz = 0; //aggregate block nnz
 		
 		//set up preferred custom serialization framework for binary block format
@@ -156,16 +279,19 @@ public class ReaderBinaryBlock extends MatrixReader
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(job, SequenceFile.Reader.file(lpath));
+			MatrixBlock rvalue = isCompressedFile(reader) ? new CompressedMatrixBlock() : reuse;
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( reader.next(key, rvalue) )
 				{	
 					//empty block filter (skip entire block)
-					if( value.isEmptyBlock(false) )
+					if( rvalue.isEmptyBlock(false) )
 						continue;
 					
+					//decompress compressed blocks into the uncompressed output
+					MatrixBlock value = getUncompressedBlock(rvalue);
 					int row_offset = (int)(key.getRowIndex()-1)*blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*blen;
 					
@@ -214,7 +340,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		throws IOException
 	{
 		MatrixIndexes key = new MatrixIndexes(); 
-		MatrixBlock value = new MatrixBlock();
+		MatrixBlock reuse = new MatrixBlock();
 			
 		//set up preferred custom serialization framework for binary block format
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
@@ -225,6 +351,8 @@ public class ReaderBinaryBlock extends MatrixReader
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(job, SequenceFile.Reader.file(lpath));
+			boolean compressed = isCompressedFile(reader);
+			MatrixBlock value = compressed ? new CompressedMatrixBlock() : reuse;
 			
 			try
 			{
@@ -242,8 +370,13 @@ public class ReaderBinaryBlock extends MatrixReader
 								              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
 					}
 			
-					//copy block to result
-					dest.add(new IndexedMatrixValue(new MatrixIndexes(key), new MatrixBlock(value)));
+					//copy block to result (compressed blocks are kept without copy)
+					if( compressed ) {
+						dest.add(new IndexedMatrixValue(new MatrixIndexes(key), value));
+						value = new CompressedMatrixBlock();
+					}
+					else
+						dest.add(new IndexedMatrixValue(new MatrixIndexes(key), new MatrixBlock(value)));
 				}
 			}
 			finally
@@ -33,6 +33,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -59,9 +60,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -70,6 +68,14 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//keep compressed matrices in compressed form (single block or row block)
+		MatrixBlock cblock = readCompressedMatrix(path, job, fs, rlen, clen, blen);
+		if( cblock != null )
+			return cblock;
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -146,22 +152,25 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		{
 			boolean sparse = _dest.isInSparseFormat();
 			MatrixIndexes key = new MatrixIndexes(); 
-			MatrixBlock value = getReuseBlock(_blen, sparse);
 			long lnnz = 0; //aggregate block nnz
 			
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(_job, SequenceFile.Reader.file(_path));
+			MatrixBlock rvalue = isCompressedFile(reader) ?
+				new CompressedMatrixBlock() : getReuseBlock(_blen, sparse);
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( reader.next(key, rvalue) )
 				{	
 					//empty block filter (skip entire block)
-					if( value.isEmptyBlock(false) )
+					if( rvalue.isEmptyBlock(false) )
 						continue;
 					
+					//decompress compressed blocks into the uncompressed output
+					MatrixBlock value = getUncompressedBlock(rvalue);
 					int row_offset = (int)(key.getRowIndex()-1)*_blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
 					int rows = value.getNumRows();
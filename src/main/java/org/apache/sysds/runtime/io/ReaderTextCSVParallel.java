@@ -21,7 +21,9 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -42,9 +44,13 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -57,6 +63,10 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * danger of lost updates. Note, there is also no sorting of sparse rows
  * required because data comes in sorted order per row.
  * 
+ * If the parsed data fits twice into memory, we use a single-pass read instead,
+ * where each split is parsed into thread-local dense or sparse row buffers, and
+ * the output is assembled from the prefix sums of split row counts via a parallel
+ * stitch (without copying sparse rows into MCSR blocks).
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
@@ -64,10 +74,21 @@ public class ReaderTextCSVParallel extends MatrixReader
 	private int _numThreads = 1;
 
 	private SplitOffsetInfos _offsets = null;
+	
+	//single-pass read w/ thread-local row buffers (if sufficient memory)
+	private static final boolean SINGLE_PASS_READ = true;
+	private final boolean _singlePass;
+	//number of cells per dense row buffer chunk
+	private static final int BUFFER_CHUNK_SIZE = 64 * 1024;
 
 	public ReaderTextCSVParallel(FileFormatPropertiesCSV props) {
-		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		this(props, OptimizerUtils.getParallelTextReadParallelism(), SINGLE_PASS_READ);
+	}
+	
+	public ReaderTextCSVParallel(FileFormatPropertiesCSV props, int numThreads, boolean singlePass) {
+		_numThreads = numThreads;
 		_props = props;
+		_singlePass = singlePass;
 	}
 
 	@Override
@@ -90,17 +111,24 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, job,
-			_props.hasHeader(), _props.getDelim(), rlen, clen, estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, blen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		MatrixBlock ret = null;
+		if( isSinglePassRead(path, rlen, clen, estnnz) ) {
+			// Single Read Pass (read, parse into row buffers, stitch matrix block)
+			ret = readCSVMatrixSinglePass(splits, informat, job, rlen, clen, estnnz);
+		}
+		else {
+			// allocate output matrix block
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, job,
+				_props.hasHeader(), _props.getDelim(), rlen, clen, estnnz);
+			rlen = ret.getNumRows();
+			clen = ret.getNumColumns();
+	
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, blen,
+					_props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue());
+		}
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -163,22 +191,103 @@ public class ReaderTextCSVParallel extends MatrixReader
 		}
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
-			JobConf job, boolean hasHeader, String delim, long rlen, long clen, long estnnz)
-		throws IOException, DMLRuntimeException 
+	private boolean isSinglePassRead(Path path, long rlen, long clen, long estnnz)
+		throws IOException
 	{
-		int nrow = 0;
-		int ncol = 0;
+		if( !_singlePass )
+			return false;
 		
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
+		// row buffers and output block need to fit into memory, where we use a
+		// conservative estimate of max 8B per value with min 2B text per value
+		long size = (rlen > 0 && clen > 0) ?
+			OptimizerUtils.estimateSizeExactSparsity(rlen, clen, (estnnz < 0) ? rlen * clen : estnnz) :
+			4 * HDFSTool.getFilesizeOnHDFS(path);
+		return 2 * size < OptimizerUtils.getLocalMemBudget();
+	}
+	
+	private MatrixBlock readCSVMatrixSinglePass(InputSplit[] splits, TextInputFormat informat,
+			JobConf job, long rlen, long clen, long estnnz) 
+		throws IOException 
+	{
+		// determine number of columns from the first non-header row
+		int ncol = computeNumColumns(splits[0], informat, job, _props.getDelim());
+		if( clen != -1 && ncol != clen ) {
+			String msg = "Read matrix dimensions differ from meta data: [?x"+ncol+"] vs. ["+rlen+"x"+clen+"].";
+			if( clen < ncol )
+				throw new DMLRuntimeException(msg);
+			LOG.warn(msg);
+			ncol = (int) clen;
+		}
+		boolean sparse = (rlen > 0 && clen > 0 && estnnz >= 0
+			&& MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz));
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			// parse all splits into thread-local row buffers
+			ArrayList<CSVReadBufferTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new CSVReadBufferTask(splits[i], informat, job, ncol, sparse,
+					i==0 && _props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue()));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get(); //incl error handling
+			
+			// compute split row offsets via prefix sums of row counts
+			int[] offsets = new int[tasks.size()];
+			long nrow = 0, nnz = 0;
+			for( int i=0; i<tasks.size(); i++ ) {
+				offsets[i] = (int) nrow;
+				nrow += tasks.get(i).getNumRows();
+				nnz += tasks.get(i).getPartialNnz();
+			}
+			
+			//robustness for wrong dimensions which are already compiled into the plan
+			if( rlen != -1 && nrow != rlen ) {
+				String msg = "Read matrix dimensions differ from meta data: ["+nrow+"x"+ncol+"] vs. ["+rlen+"x"+clen+"].";
+				if( rlen < nrow )
+					throw new DMLRuntimeException(msg);
+				LOG.warn(msg);
+				nrow = rlen;
+			}
+			if( !OptimizerUtils.isValidCPDimensions(nrow, ncol) )
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+ncol);
+			
+			// allocate output block according to the actual nnz, and stitch
+			// row buffers in parallel (disjoint row ranges per split)
+			MatrixBlock ret = new MatrixBlock((int)nrow, ncol, 
+				MatrixBlock.evalSparseFormatInMemory(nrow, ncol, nnz), nnz);
+			if( ret.isInSparseFormat() )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlockUnsafe((int)nrow, ncol);
+			ArrayList<CSVStitchTask> stasks = new ArrayList<>();
+			for( int i=0; i<tasks.size(); i++ )
+				stasks.add(new CSVStitchTask(tasks.get(i), ret, offsets[i]));
+			for( Future<Object> task : pool.invokeAll(stasks) )
+				task.get();
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		catch (DMLRuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new IOException("Threadpool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static int computeNumColumns(InputSplit split, TextInputFormat informat, JobConf job, String delim) 
+		throws IOException
+	{
 		// count no of entities in the first non-header row
+		int ncol = 0;
 		LongWritable key = new LongWritable();
 		Text oneLine = new Text();
 		RecordReader<LongWritable, Text> reader = informat
-				.getRecordReader(splits[0], job, Reporter.NULL);
+				.getRecordReader(split, job, Reporter.NULL);
 		try {
 			if (reader.next(key, oneLine)) {
 				String cellStr = oneLine.toString().trim();
@@ -188,6 +297,21 @@ public class ReaderTextCSVParallel extends MatrixReader
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
+		return ncol;
+	}
+	
+	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
+			JobConf job, boolean hasHeader, String delim, long rlen, long clen, long estnnz)
+		throws IOException, DMLRuntimeException 
+	{
+		int nrow = 0;
+		
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+
+		// count no of entities in the first non-header row
+		int ncol = computeNumColumns(splits[0], informat, job, delim);
 
 		// count rows in parallel per split
 		try 
@@ -441,4 +565,216 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return null;
 		}
 	}
+
+	/**
+	 * Single-pass read task, which parses a split into thread-local row buffers
+	 * (chunks of dense rows, or sparse rows) without knowing its row offset.
+	 * Lines are parsed directly from the bytes of the hadoop text without
+	 * intermediate string allocation per line or cell.
+	 */
+	private static class CSVReadBufferTask implements Callable<Object> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final int _ncol;
+		private final boolean _sparse;
+		private final boolean _hasHeader;
+		private final byte[] _delim;
+		private final boolean _fill;
+		private final double _fillValue;
+		
+		//thread-local row buffers
+		private final ArrayList<double[]> _denseRows = new ArrayList<>();
+		private final int _chunkRows;
+		private SparseRow[] _sparseRows = null;
+		private int _nrow = 0;
+		private long _nnz = 0;
+		
+		public CSVReadBufferTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			int ncol, boolean sparse, boolean hasHeader, String delim, boolean fill, double fillValue)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_ncol = ncol;
+			_sparse = sparse;
+			_hasHeader = hasHeader;
+			_delim = delim.getBytes(StandardCharsets.UTF_8);
+			_fill = fill;
+			_fillValue = fillValue;
+			_chunkRows = Math.max(1, BUFFER_CHUNK_SIZE / Math.max(ncol, 1));
+		}
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public long getPartialNnz() {
+			return _nnz;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			double[] row = new double[_ncol];
+			
+			try {
+				// skip the header line
+				if( _hasHeader )
+					reader.next(key, value);
+				
+				while( reader.next(key, value) ) { // foreach line
+					int ncells = parseLine(value, row);
+					
+					// sanity checks (number of columns)
+					if( ncells != _ncol )
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(
+							_split.toString(), value.toString(), ncells, _ncol);
+					appendRow(row);
+				}
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read matrix in text CSV format. "
+					+ "Error in line "+(_nrow+1)+" of split "+_split+": "+ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+		
+		private int parseLine(Text line, double[] row) throws IOException {
+			// trim line and split by whole delimiter (incl empty tokens)
+			byte[] buf = line.getBytes();
+			int start = 0, end = line.getLength();
+			while( start < end && (buf[start] & 0xFF) <= ' ' ) start++;
+			while( end > start && (buf[end-1] & 0xFF) <= ' ' ) end--;
+			if( start == end )
+				return 0;
+			
+			int col = 0;
+			for( int from = start; from <= end; col++ ) {
+				int to = indexOf(buf, from, end);
+				int cend = (to < 0) ? end : to;
+				if( col < _ncol ) {
+					// trim cell and parse value (or fill)
+					int cstart = from;
+					while( cstart < cend && (buf[cstart] & 0xFF) <= ' ' ) cstart++;
+					while( cend > cstart && (buf[cend-1] & 0xFF) <= ' ' ) cend--;
+					if( cstart == cend ) {
+						//materialize the line string on the error path only
+						if( !_fill )
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(line.toString(), _fill, true);
+						row[col] = _fillValue;
+					}
+					else
+						row[col] = IOUtilFunctions.parseDouble(buf, cstart, cend);
+				}
+				if( to < 0 )
+					break;
+				from = to + _delim.length;
+			}
+			return col + 1;
+		}
+		
+		private int indexOf(byte[] buf, int from, int end) {
+			final byte first = _delim[0];
+			for( int i=from; i<=end-_delim.length; i++ ) {
+				if( buf[i] != first )
+					continue;
+				int j = 1;
+				while( j < _delim.length && buf[i+j] == _delim[j] )
+					j++;
+				if( j == _delim.length )
+					return i;
+			}
+			return -1;
+		}
+		
+		private void appendRow(double[] row) {
+			if( _sparse ) {
+				if( _sparseRows == null || _nrow == _sparseRows.length )
+					_sparseRows = Arrays.copyOf(_sparseRows != null ? _sparseRows :
+						new SparseRow[0], Math.max(_chunkRows, 2 * _nrow));
+				SparseRow srow = toSparseRow(row, 0, _ncol);
+				_sparseRows[_nrow] = srow;
+				_nnz += (srow != null) ? srow.size() : 0;
+			}
+			else {
+				if( _nrow % _chunkRows == 0 )
+					_denseRows.add(new double[_chunkRows * _ncol]);
+				double[] chunk = _denseRows.get(_nrow / _chunkRows);
+				System.arraycopy(row, 0, chunk, (_nrow % _chunkRows) * _ncol, _ncol);
+				_nnz += UtilFunctions.computeNnz(row, 0, _ncol);
+			}
+			_nrow++;
+		}
+	}
+	
+	/**
+	 * Stitch task for copying the row buffers of a split into the output
+	 * block at the split row offset. Sparse rows are shallow copied into
+	 * MCSR blocks, and otherwise converted as necessary.
+	 */
+	private static class CSVStitchTask implements Callable<Object> 
+	{
+		private final CSVReadBufferTask _buff;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		
+		public CSVStitchTask(CSVReadBufferTask buff, MatrixBlock dest, int rl) {
+			_buff = buff;
+			_dest = dest;
+			_rl = rl;
+		}
+		
+		@Override
+		public Object call() {
+			int ncol = _buff._ncol;
+			int chunkRows = _buff._chunkRows;
+			if( _dest.isInSparseFormat() ) { // SPARSE<-buffer
+				SparseBlock c = _dest.getSparseBlock();
+				for( int i=0; i<_buff._nrow; i++ ) {
+					SparseRow srow = _buff._sparse ? _buff._sparseRows[i] :
+						toSparseRow(_buff._denseRows.get(i / chunkRows), (i % chunkRows) * ncol, ncol);
+					if( srow != null )
+						c.set(_rl + i, srow, false);
+				}
+			}
+			else { // DENSE<-buffer
+				DenseBlock c = _dest.getDenseBlock();
+				for( int i=0; i<_buff._nrow; i++ ) {
+					double[] cvals = c.values(_rl + i);
+					int cix = c.pos(_rl + i);
+					if( _buff._sparse ) {
+						SparseRow srow = _buff._sparseRows[i];
+						if( srow == null )
+							continue;
+						int[] aix = srow.indexes();
+						double[] avals = srow.values();
+						for( int j=0; j<srow.size(); j++ )
+							cvals[cix + aix[j]] = avals[j];
+					}
+					else {
+						System.arraycopy(_buff._denseRows.get(i / chunkRows),
+							(i % chunkRows) * ncol, cvals, cix, ncol);
+					}
+				}
+			}
+			return null;
+		}
+	}
+	
+	private static SparseRow toSparseRow(double[] vals, int off, int len) {
+		int nnz = UtilFunctions.computeNnz(vals, off, len);
+		if( nnz == 0 )
+			return null;
+		SparseRowVector ret = new SparseRowVector(nnz);
+		for( int j=0; j<len; j++ )
+			ret.append(j, vals[off + j]);
+		return ret;
+	}
 }
@@ -27,6 +27,7 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.HDFSTool;
@@ -55,9 +56,10 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
 		
-		//core write sequential/parallel
+		//core write sequential/parallel (diag matrices in uncompressed form)
 		if( diag )
-			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
+			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, isCompressedBlock(src) ?
+				((CompressedMatrixBlock)src).decompress() : src, rlen, clen, blen);
 		else
 			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
 
@@ -104,19 +106,24 @@ public class WriterBinaryBlock extends MatrixWriter
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		
+		//compressed blocks are written in compressed form, where the value class of
+		//the sequence file marks the format for readers (which keep blocks compressed)
+		boolean compressed = isCompressedBlock(src);
+		Class<? extends MatrixBlock> valueClass = compressed ? CompressedMatrixBlock.class : MatrixBlock.class;
+		
 		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 		SequenceFile.Writer writer = null;
 		if( _replication > 0 ) //if replication specified (otherwise default)
 		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class,
+			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass), except for replication
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass,
 				job.getInt(HDFSTool.IO_FILE_BUFFER_SIZE, 4096),
 				(short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
 		}
 		else	
 		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass);
 		}
 		
 		try
@@ -131,9 +138,10 @@ public class WriterBinaryBlock extends MatrixWriter
 			//3) reblock and write
 			MatrixIndexes indexes = new MatrixIndexes();
 
-			if( rlen <= blen && clen <= blen && rl == 0 ) //opt for single block
+			if( (rlen <= blen && clen <= blen || compressed) && rl == 0 ) //opt for single block
 			{
-				//directly write single block
+				//directly write single block (compressed matrices always as a single
+				//block because column groups cannot be sliced without decompression)
 				indexes.setIndexes(1, 1);
 				writer.append(indexes, src);
 			}
@@ -151,6 +159,7 @@ public class WriterBinaryBlock extends MatrixWriter
 				
 						int row_offset = blockRow*blen;
 						int col_offset = blockCol*blen;
+						indexes.setIndexes(blockRow+1, blockCol+1);
 						
 						//get reuse matrix block
 						MatrixBlock block = getMatrixBlockForReuse(blocks, maxRow, maxCol, blen);
@@ -160,7 +169,6 @@ public class WriterBinaryBlock extends MatrixWriter
 								             col_offset, col_offset+maxCol-1, block );
 						
 						//append block to sequence file
-						indexes.setIndexes(blockRow+1, blockCol+1);
 						writer.append(indexes, block);
 							
 						//reset block for later reuse
@@ -172,7 +180,12 @@ public class WriterBinaryBlock extends MatrixWriter
 			IOUtilFunctions.closeSilently(writer);
 		}
 	}
-
+	
+	protected static boolean isCompressedBlock(MatrixBlock src) {
+		return src instanceof CompressedMatrixBlock
+			&& ((CompressedMatrixBlock)src).isCompressed();
+	}
+	
 	@SuppressWarnings("deprecation")
 	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen ) 
 		throws IOException, DMLRuntimeException
@@ -58,7 +58,8 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		numThreads = Math.min(numThreads, numPartFiles);
 		
 		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
-		if( numThreads <= 1 ) {
+		//(and for compressed matrices, which are written as a single block)
+		if( numThreads <= 1 || isCompressedBlock(src) ) {
 			super.writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
 			return;
 		}
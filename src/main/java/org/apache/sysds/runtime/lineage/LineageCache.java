@@ -39,6 +39,7 @@ import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.MMTSJCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCachePolicy;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.InputInfo;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -47,23 +48,41 @@ import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class LineageCache
 {
-	private static final Map<LineageItem, Entry> _cache = new HashMap<>();
-	private static final Map<LineageItem, SpilledItem> _spillList = new HashMap<>();
-	private static final HashSet<LineageItem> _removelist = new HashSet<>();
+	private static final Map<LineageItem, Entry> _cache = new ConcurrentHashMap<>();
+	private static final Map<LineageItem, SpilledItem> _spillList = new ConcurrentHashMap<>();
+	private static final Set<LineageItem> _removelist = ConcurrentHashMap.newKeySet();
+	private static final Queue<Entry> _evictQueue = new ConcurrentLinkedQueue<>();
+	private static final Object _evictLock = new Object();
 	private static final double CACHE_FRAC = 0.05; // 5% of JVM heap size
 	private static final long CACHE_LIMIT; //limit in bytes
 	private static String outdir = null;
-	private static long _cachesize = 0;
-	private static Entry _head = null;
-	private static Entry _end = null;
+	private static final int SPILL_THREADS = Math.max(1,
+		Math.min(4, InfrastructureAnalyzer.getLocalParallelism() / 2));
+	private static final int SPILL_QUEUE_SIZE = 2 * SPILL_THREADS;
+	private static volatile ExecutorService _spillPool = null;
+	private static final AtomicLong _cachesize = new AtomicLong(0);
 
 	static {
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -71,12 +90,17 @@ public class LineageCache
 	}
 	
 	// Cache Synchronization Approach:
-	//   The central static cache is only synchronized in a fine-grained manner
-	//   for short get, put, or remove calls or during eviction. All blocking of
-	//   threads for computing the values of placeholders is done on the individual
-	//   entry objects which reduces contention and prevents deadlocks in case of
-	//   function/statement block placeholders which computation itself might be
-	//   a complex workflow of operations that accesses the cache as well.
+	//   The central static cache is a concurrent hash map without any global lock
+	//   for get, put, or remove calls. Placeholders are created atomically via
+	//   putIfAbsent, and all blocking of threads for computing the values of
+	//   placeholders is done on the individual entry objects, which prevents
+	//   deadlocks in case of function/statement block placeholders which computation
+	//   itself might be a complex workflow of operations that accesses the cache.
+	//   Eviction uses a concurrent queue in insertion order with a second chance
+	//   for recently accessed entries (CLOCK approximation of LRU), which avoids
+	//   reordering on cache hits. Only evictions are serialized by a separate lock.
+	//   Cost-based eviction policies (see LineageCachePolicy) instead rank a snapshot
+	//   of all evictable entries by their score and evict in ascending order.
 	
 	
 	///////////////////////////////////////
@@ -94,26 +118,23 @@ public class LineageCache
 			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
 			LineageItem item = cinst.getLineageItems(ec)[0];
 			
-			//atomic try reuse full/partial and set placeholder, without
-			//obtaining value to avoid blocking in critical section
+			//try reuse full/partial and set placeholder, without
+			//obtaining value to avoid blocking on the entry
 			Entry e = null;
-			synchronized( _cache ) {
-				//try to reuse full or partial intermediates
-				if (LineageCacheConfig.getCacheType().isFullReuse())
-					e = LineageCache.probe(item) ? getIntern(item) : null;
-				//TODO need to also move execution of compensation plan out of here
-				//(create lazily evaluated entry)
-				if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
-					if( LineageRewriteReuse.executeRewrites(inst, ec) )
-						e = getIntern(item);
-				reuse = (e != null);
-				
-				//create a placeholder if no reuse to avoid redundancy
-				//(e.g., concurrent threads that try to start the computation)
-				if(!reuse && isMarkedForCaching(inst, ec)) {
-					putIntern(item, cinst.output.getDataType(), null, null,  0);
-				}
-			}
+			//try to reuse full or partial intermediates
+			if (LineageCacheConfig.getCacheType().isFullReuse())
+				e = LineageCache.probe(item) ? getIntern(item) : null;
+			//TODO need to also move execution of compensation plan out of here
+			//(create lazily evaluated entry)
+			if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
+				if( LineageRewriteReuse.executeRewrites(inst, ec) )
+					e = getIntern(item);
+			
+			//create a placeholder if no reuse to avoid redundancy, if a concurrent
+			//thread already created the placeholder, block on its entry instead
+			if(e == null && isMarkedForCaching(inst, ec))
+				e = putIntern(item, cinst.output.getDataType(), null, null,  0);
+			reuse = (e != null);
 			
 			if( reuse ) { //reuse
 				//put reuse value into symbol table (w/ blocking on placeholders)
@@ -141,16 +162,11 @@ public class LineageCache
 		for (int i=0; i<numOutputs; i++) {
 			String opcode = name + String.valueOf(i+1);
 			LineageItem li = new LineageItem(outNames.get(i), opcode, liInputs);
-			Entry e = null;
-			synchronized( _cache ) {
-				if (LineageCache.probe(li)) {
-					e = LineageCache.getIntern(li);
-				}
-				else {
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					putIntern(li, outParams.get(i).getDataType(), null, null, 0);
-				}
+			Entry e = LineageCache.probe(li) ? LineageCache.getIntern(li) : null;
+			if( e == null ) {
+				//create a placeholder if no reuse to avoid redundancy
+				//(e.g., concurrent threads that try to start the computation)
+				e = putIntern(li, outParams.get(i).getDataType(), null, null, 0);
 			}
 			//TODO: handling of recursive calls
 			
@@ -199,7 +215,14 @@ public class LineageCache
 	
 	public static boolean probe(LineageItem key) {
 		//TODO problematic as after probe the matrix might be kicked out of cache
-		boolean p = (_cache.containsKey(key) || _spillList.containsKey(key));
+		boolean p = _cache.containsKey(key);
+		if (!p) {
+			// prefetch spilled items, which are likely requested next
+			SpilledItem sp = _spillList.get(key);
+			if (sp != null)
+				sp.prefetch();
+			p = (sp != null);
+		}
 		if (!p && DMLScript.STATISTICS && _removelist.contains(key))
 			// The sought entry was in cache but removed later 
 			LineageCacheStatistics.incrementDelHits();
@@ -207,11 +230,8 @@ public class LineageCache
 	}
 	
 	public static MatrixBlock getMatrix(LineageItem key) {
-		Entry e = null;
-		synchronized( _cache ) {
-			e = getIntern(key);
-		}
-		return e.getMBValue();
+		Entry e = getIntern(key);
+		return (e != null) ? e.getMBValue() : null;
 	}
 	
 	//NOTE: safe to pin the object in memory as coming from CPInstruction
@@ -221,10 +241,8 @@ public class LineageCache
 			LineageItem item = ((LineageTraceable) inst).getLineageItems(ec)[0];
 			//This method is called only to put matrix value
 			MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction) inst).output);
-			synchronized( _cache ) {
-				putIntern(item, DataType.MATRIX, mo.acquireReadAndRelease(),
-					null, getRecomputeEstimate(inst, ec));
-			}
+			putIntern(item, DataType.MATRIX, mo.acquireReadAndRelease(),
+				null, getRecomputeEstimate(inst, ec));
 		}
 	}
 	
@@ -236,17 +254,18 @@ public class LineageCache
 			LineageItem item = ((LineageTraceable) inst).getLineageItems(ec)[0];
 			Data data = ec.getVariable(((ComputationCPInstruction) inst).output);
 			double cest = getRecomputeEstimate(inst, ec);
-			synchronized( _cache ) {
-				if( data instanceof MatrixObject )
-					_cache.get(item).setValue(((MatrixObject)data).acquireReadAndRelease(), cest);
-				else
-					_cache.get(item).setValue((ScalarObject)data, cest);
-				long size = _cache.get(item).getSize();
-				
-				if( !isBelowThreshold(size) ) 
-					makeSpace(size);
-				updateSize(size, true);
-			}
+			Entry e = _cache.get(item);
+			if( e == null )
+				return; //no placeholder
+			if( data instanceof MatrixObject )
+				e.setValue(((MatrixObject)data).acquireReadAndRelease(), cest);
+			else
+				e.setValue((ScalarObject)data, cest);
+			long size = e.getSize();
+			
+			if( !isBelowThreshold(size) ) 
+				makeSpace(size);
+			updateSize(size, true);
 		}
 	}
 	
@@ -275,26 +294,23 @@ public class LineageCache
 		}
 
 		//cache either all the outputs, or none.
-		synchronized( _cache ) {
-			//move or remove placeholders 
-			if(AllOutputsCacheable)
-				FuncLIMap.forEach((Li, boundLI) -> mvIntern(Li, boundLI));
-			else
-				FuncLIMap.forEach((Li, boundLI) -> removeEntry(Li));
-		}
+		//move or remove placeholders 
+		if(AllOutputsCacheable)
+			FuncLIMap.forEach((Li, boundLI) -> mvIntern(Li, boundLI));
+		else
+			FuncLIMap.forEach((Li, boundLI) -> removeEntry(Li));
 		
 		return;
 	}
 	
 	public static void resetCache() {
-		synchronized( _cache ) {
+		synchronized( _evictLock ) {
 			_cache.clear();
 			_spillList.clear();
-			_head = null;
-			_end = null;
+			_evictQueue.clear();
 			// reset cache size, otherwise the cache clear leads to unusable 
 			// space which means evictions could run into endless loops
-			_cachesize = 0;
+			_cachesize.set(0);
 			if (DMLScript.STATISTICS)
 				_removelist.clear();
 		}
@@ -304,39 +320,44 @@ public class LineageCache
 	// Internal Cache Logic Implementation //
 	/////////////////////////////////////////
 	
-	private static void putIntern(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, double compcost) {
-		if (_cache.containsKey(key))
-			//can come here if reuse_partial option is enabled
-			return;
-		
+	/**
+	 * Atomically adds a new entry (or placeholder) for the given key if absent.
+	 * 
+	 * @return the existing entry, or null if the new entry was added (or not applicable)
+	 */
+	private static Entry putIntern(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, double compcost) {
 		// Create a new entry.
 		Entry newItem = new Entry(key, dt, Mval, Sval, compcost);
+		long size = newItem.getSize();
+		if( size > CACHE_LIMIT )
+			return null; //not applicable
+		
+		Entry oldItem = _cache.putIfAbsent(key, newItem);
+		if( oldItem != null )
+			//can come here if reuse_partial option is enabled,
+			//or a concurrent thread created the placeholder
+			return oldItem;
 		
 		// Make space by removing or spilling LRU entries.
-		if( Mval != null || Sval != null ) {
-			long size = newItem.getSize();
-			if( size > CACHE_LIMIT )
-				return; //not applicable
+		if( size > 0 ) {
 			if( !isBelowThreshold(size) ) 
 				makeSpace(size);
 			updateSize(size, true);
 		}
 		
-		// Place the entry at head position.
-		setHead(newItem);
-		
-		_cache.put(key, newItem);
+		// Append the entry to the eviction queue.
+		_evictQueue.add(newItem);
 		if (DMLScript.STATISTICS)
 			LineageCacheStatistics.incrementMemWrites();
+		return null;
 	}
 	
 	private static Entry getIntern(LineageItem key) {
-		// This method is called only when entry is present either in cache or in local FS.
-		if (_cache.containsKey(key)) {
-			// Read and put the entry at head.
-			Entry e = _cache.get(key);
-			delete(e);
-			setHead(e);
+		// Returns null if the entry was concurrently removed from cache and local FS.
+		Entry e = _cache.get(key);
+		if (e != null) {
+			// Mark the entry as recently used.
+			e.touch();
 			if (DMLScript.STATISTICS)
 				LineageCacheStatistics.incrementMemHits();
 			return e;
@@ -349,9 +370,9 @@ public class LineageCache
 	private static void mvIntern(LineageItem item, LineageItem probeItem) {
 		if (ReuseCacheType.isNone())
 			return;
-		if (LineageCache.probe(probeItem)) {
-			Entry oe = getIntern(probeItem);
-			Entry e = _cache.get(item);
+		Entry oe = LineageCache.probe(probeItem) ? getIntern(probeItem) : null;
+		Entry e = _cache.get(item);
+		if (oe != null && e != null) {
 			//TODO: compute estimate for function
 			if (oe.isMatrixValue())
 				e.setValue(oe.getMBValue(), 0); 
@@ -385,49 +406,129 @@ public class LineageCache
 	//---------------- CACHE SPACE MANAGEMENT METHODS -----------------
 	
 	private static boolean isBelowThreshold(long spaceNeeded) {
-		return ((spaceNeeded + _cachesize) <= CACHE_LIMIT);
+		return ((spaceNeeded + _cachesize.get()) <= CACHE_LIMIT);
 	}
 	
 	private static void makeSpace(long spaceNeeded) {
-		// cost based eviction
-		while ((spaceNeeded +_cachesize) > CACHE_LIMIT)
+		// eviction is serialized across threads but
+		// concurrent to all cache lookups and placeholder puts
+		synchronized( _evictLock ) {
+			if( LineageCacheConfig.getCachePolicy().isCostBased() )
+				evictByScore(spaceNeeded);
+			else
+				evictLRU(spaceNeeded);
+		}
+	}
+	
+	private static void evictLRU(long spaceNeeded) {
+		// bound the number of skipped entries to two rounds (second chance)
+		// in order to prevent endless loops if only placeholders remain
+		int maxSkips = 2 * _evictQueue.size();
+		int skips = 0;
+		while (!isBelowThreshold(spaceNeeded) && skips < maxSkips)
 		{
-			if (_cache.get(_end._key).isNullVal()) {
-				//Must be a null function/SB placeholder entry. This 
-				//function is currently being executed. Skip and continue.
-				setEnd2Head(_end);
-				continue;
-			}
+			Entry e = _evictQueue.poll();
+			if (e == null)
+				break;
+			if (_cache.get(e._key) != e)
+				continue; //already removed
 			
-			if (_cache.get(_end._key).isMatrixValue()) { //spill matrix blocks only
-				if (_cache.get(_end._key)._compEst > getDiskSpillEstimate() 
-						&& LineageCacheConfig.isSetSpill())
-					spillToLocalFS(); // If re-computation is more expensive, spill data to disk.
-			}
-
-			if (_cache.get(_end._key)._compEst == 0) {
-				//Must be a function/SB/scalar entry. Move to next.
-				//FIXME: Remove this logic after implementing new eviction logic.
-				setEnd2Head(_end);  
+			if (e.isNullVal() || e._compEst == 0 || e._accessed) {
+				//Must be a null function/SB placeholder entry which is currently
+				//being executed, a function/SB/scalar entry, or a recently used
+				//entry. Skip (w/ second chance) and continue.
+				//NOTE: cost-based policies rank such entries by measured compute time.
+				e._accessed = false;
+				_evictQueue.add(e);
+				skips++;
 				continue;
 			}
-			removeLastEntry();
+			
+			evictEntry(e);
+		}
+	}
+	
+	private static void evictByScore(long spaceNeeded) {
+		// purge entries that were already removed from the cache
+		_evictQueue.removeIf(e -> _cache.get(e._key) != e);
+		
+		// collect evictable entries, excluding placeholders of running computations
+		ArrayList<Entry> cands = new ArrayList<>();
+		for (Entry e : _evictQueue)
+			if (!e.isNullVal())
+				cands.add(e);
+		
+		// rank entries by their score (lowest first), computed once per entry
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		computeScores(cands, LineageCacheConfig.getCachePolicy());
+		cands.sort(Comparator.comparingDouble(e -> e._score));
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementCostingTime(System.nanoTime() - t0);
+		
+		for (int i=0; i<cands.size() && !isBelowThreshold(spaceNeeded); i++)
+			evictEntry(cands.get(i));
+	}
+	
+	private static void computeScores(List<Entry> cands, LineageCachePolicy policy) {
+		if (policy == LineageCachePolicy.COSTNSIZE) {
+			for (Entry e : cands)
+				e._score = e.getCostPerByte();
+			return;
+		}
+		
+		// weighted policy: normalize all components to [0,1]
+		double maxCost = Double.MIN_VALUE;
+		long minTime = Long.MAX_VALUE, maxTime = Long.MIN_VALUE;
+		int maxRefs = 1, minHeight = Integer.MAX_VALUE;
+		for (Entry e : cands) {
+			maxCost = Math.max(maxCost, e.getCostPerByte());
+			minTime = Math.min(minTime, e._lastAccess);
+			maxTime = Math.max(maxTime, e._lastAccess);
+			maxRefs = Math.max(maxRefs, e._refCount.get());
+			minHeight = Math.min(minHeight, e._key.getHeight());
+		}
+		double[] w = LineageCacheConfig.getCacheWeights();
+		for (Entry e : cands) {
+			double cost = e.getCostPerByte() / maxCost;
+			double recency = (maxTime > minTime) ?
+				(double)(e._lastAccess - minTime) / (maxTime - minTime) : 1;
+			double refs = (double) e._refCount.get() / maxRefs;
+			//deep items are often loop-dependent and thus less likely reused
+			double height = (double) minHeight / e._key.getHeight();
+			e._score = w[0] * cost + w[1] * recency + w[2] * refs + w[3] * height;
+		}
+	}
+	
+	private static void evictEntry(Entry e) {
+		boolean spill = false;
+		if (e.isMatrixValue()) { //spill matrix blocks only
+			spill = e.getComputeTime() > getDiskSpillEstimate(e) 
+				&& LineageCacheConfig.isSetSpill();
+			if (spill)
+				spillToLocalFS(e); // If re-computation is more expensive, spill data to disk.
+		}
+		removeEvictedEntry(e);
+		if (DMLScript.STATISTICS) {
+			if (spill)
+				LineageCacheStatistics.incrementEvictSpills();
+			else
+				LineageCacheStatistics.incrementEvictDeletes();
 		}
 	}
 	
 	private static void updateSize(long space, boolean addspace) {
 		if (addspace)
-			_cachesize += space;
+			_cachesize.addAndGet(space);
 		else
-			_cachesize -= space;
+			_cachesize.addAndGet(-space);
 	}
 
 	//---------------- COSTING RELATED METHODS -----------------
 
-	private static double getDiskSpillEstimate() {
+	private static double getDiskSpillEstimate(Entry e) {
 		// This includes sum of writing to and reading from disk
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-		MatrixBlock mb = _cache.get(_end._key).getMBValue();
+		MatrixBlock mb = e.getMBValue();
 		long r = mb.getNumRows();
 		long c = mb.getNumColumns();
 		long nnz = mb.getNonZeros();
@@ -586,92 +687,116 @@ public class LineageCache
 
 	// ---------------- I/O METHODS TO LOCAL FS -----------------
 	
-	private static void spillToLocalFS() {
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+	private static void spillToLocalFS(Entry e) {
 		if (outdir == null) {
 			outdir = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_LINEAGE);
 			LocalFileUtils.createLocalFileIfNotExist(outdir);
 		}
-		String outfile = outdir+"/"+_cache.get(_end._key)._key.getId();
+		String outfile = outdir+"/"+e._key.getId();
+		
+		// Asynchronous write in binary block format, the bounded queue of the
+		// spill pool throttles eviction if writes fall behind (caller runs)
+		SpilledItem sp = new SpilledItem(e._key, outfile, e.getComputeTime(), e.getMBValue());
+		sp._write = CompletableFuture.runAsync(() -> writeToLocalFS(sp), getSpillPool());
+		_spillList.put(e._key, sp);
+	}
+	
+	private static void writeToLocalFS(SpilledItem sp) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		try {
-			LocalFileUtils.writeMatrixBlockToLocal(outfile, _cache.get(_end._key).getMBValue());
-		} catch (IOException e) {
-			throw new DMLRuntimeException ("Write to " + outfile + " failed.", e);
+			LocalFileUtils.writeMatrixBlockToLocal(sp._outfile, sp._mb);
+		} catch (IOException ex) {
+			// drop the spilled item, which turns subsequent probes into misses
+			_spillList.remove(sp._key, sp);
+			LocalFileUtils.deleteFileIfExists(sp._outfile, true);
+			throw new DMLRuntimeException ("Write to " + sp._outfile + " failed.", ex);
 		}
+		// release the in-flight value, subsequent reads go to local FS
+		sp._mb = null;
 		if (DMLScript.STATISTICS) {
 			long t1 = System.nanoTime();
 			LineageCacheStatistics.incrementFSWriteTime(t1-t0);
 			LineageCacheStatistics.incrementFSWrites();
 		}
-
-		_spillList.put(_end._key, new SpilledItem(outfile, _end._compEst));
 	}
 	
-	private static Entry readFromLocalFS(LineageItem key) {
+	private static MatrixBlock readFromLocalFS(SpilledItem sp) {
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		MatrixBlock mb = null;
-		// Read from local FS
 		try {
-			mb = LocalFileUtils.readMatrixBlockFromLocal(_spillList.get(key)._outfile);
-		} catch (IOException e) {
-			throw new DMLRuntimeException ("Read from " + _spillList.get(key)._outfile + " failed.", e);
-		}
-		// Restore to cache
-		LocalFileUtils.deleteFileIfExists(_spillList.get(key)._outfile, true);
-		putIntern(key, DataType.MATRIX, mb, null, _spillList.get(key)._compEst);
-		_spillList.remove(key);
+			mb = LocalFileUtils.readMatrixBlockFromLocal(sp._outfile);
+		} catch (IOException ex) {
+			throw new DMLRuntimeException ("Read from " + sp._outfile + " failed.", ex);
+		}
 		if (DMLScript.STATISTICS) {
 			long t1 = System.nanoTime();
 			LineageCacheStatistics.incrementFSReadTime(t1-t0);
-			LineageCacheStatistics.incrementFSHits();
 		}
-		return _cache.get(key);
+		return mb;
+	}
+	
+	private static Entry readFromLocalFS(LineageItem key) {
+		SpilledItem sp = _spillList.get(key);
+		if (sp == null)
+			return _cache.get(key); //concurrently restored or removed
+		
+		// Restore the spilled item once, while other threads block on it
+		synchronized( sp ) {
+			if (_spillList.get(key) != sp)
+				return _cache.get(key);
+			// Obtain the in-flight, prefetched, or read value
+			MatrixBlock mb = sp.getValue();
+			if (mb == null) { //failed write or read
+				_spillList.remove(key, sp);
+				return null;
+			}
+			// Restore to cache (before removal from the spill list to keep probes valid)
+			putIntern(key, DataType.MATRIX, mb, null, sp._compEst);
+			_spillList.remove(key);
+			// Delete the file once a pending write completed
+			sp._write.whenComplete((r, ex) ->
+				LocalFileUtils.deleteFileIfExists(sp._outfile, true));
+			if (DMLScript.STATISTICS)
+				LineageCacheStatistics.incrementFSHits();
+			return _cache.get(key);
+		}
+	}
+	
+	private static ExecutorService getSpillPool() {
+		//lazily created, daemon threads do not prevent JVM shutdown
+		if (_spillPool == null) {
+			synchronized (LineageCache.class) {
+				if (_spillPool == null) {
+					ThreadPoolExecutor pool = new ThreadPoolExecutor(SPILL_THREADS, SPILL_THREADS,
+						60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(SPILL_QUEUE_SIZE), r -> {
+							Thread t = new Thread(r, "lineage-spill");
+							t.setDaemon(true);
+							return t;
+						}, new ThreadPoolExecutor.CallerRunsPolicy());
+					pool.allowCoreThreadTimeOut(true);
+					_spillPool = pool;
+				}
+			}
+		}
+		return _spillPool;
 	}
 
 	////////////////////////////////////////////
 	// Cache Maintenance and Lookup Functions //
 	////////////////////////////////////////////
 	
-	private static void removeLastEntry() {
+	private static void removeEvictedEntry(Entry e) {
 		if (DMLScript.STATISTICS)
-			_removelist.add(_end._key);
-		Entry e = _cache.remove(_end._key);
-		_cachesize -= e.getSize();
-		delete(_end);
+			_removelist.add(e._key);
+		if (_cache.remove(e._key, e))
+			updateSize(e.getSize(), false);
 	}
 	
 	private static void removeEntry(LineageItem key) {
-		// Remove the entry for key
-		if (!_cache.containsKey(key))
-			return;
-		delete(_cache.get(key));
-		_cache.remove(key);
-	}
-	
-	private static void setEnd2Head(Entry entry) {
-		delete(entry);
-		setHead(entry);
-	}
-	
-	private static void delete(Entry entry) {
-		if (entry._prev != null)
-			entry._prev._next = entry._next;
-		else
-			_head = entry._next;
-		if (entry._next != null)
-			entry._next._prev = entry._prev;
-		else
-			_end = entry._prev;
-	}
-	
-	private static void setHead(Entry entry) {
-		entry._next = _head;
-		entry._prev = null;
-		if (_head != null)
-			_head._prev = entry;
-		_head = entry;
-		if (_end == null)
-			_end = _head;
+		// Remove the entry for key, the eviction queue is cleaned up lazily
+		Entry e = _cache.remove(key);
+		if (e != null)
+			updateSize(e.getSize(), false);
 	}
 	
 	////////////////////////////////////
@@ -683,9 +808,13 @@ public class LineageCache
 		private final DataType _dt;
 		private MatrixBlock _MBval;
 		private ScalarObject _SOval;
-		double _compEst;
-		private Entry _prev;
-		private Entry _next;
+		volatile double _compEst;
+		private final long _startTime;
+		private volatile long _computeTime; //in nano sec
+		private volatile long _lastAccess;  //in nano sec
+		private volatile boolean _accessed;
+		private final AtomicInteger _refCount = new AtomicInteger(0);
+		private double _score; //only used during eviction
 		private LineageItem _origItem;
 		
 		public Entry(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, double computecost) {
@@ -695,6 +824,31 @@ public class LineageCache
 			_SOval = Sval;
 			_compEst = computecost;
 			_origItem = null;
+			_startTime = System.nanoTime();
+			_lastAccess = _startTime;
+			//placeholders measure their compute time until the value is set
+			_computeTime = (Mval != null || Sval != null) ? (long)(computecost * 1e9) : 0;
+		}
+		
+		public void touch() {
+			_accessed = true;
+			_lastAccess = System.nanoTime();
+			_refCount.incrementAndGet();
+		}
+		
+		/**
+		 * Returns the compute time (in seconds) of this entry, which is the measured
+		 * time between placeholder creation and the value being set, or the
+		 * recompute estimate if this entry was created with its value.
+		 * 
+		 * @return compute time in seconds
+		 */
+		public double getComputeTime() {
+			return _computeTime / 1e9;
+		}
+		
+		public double getCostPerByte() {
+			return (double) _computeTime / Math.max(getSize(), 1);
 		}
 
 		public synchronized MatrixBlock getMBValue() {
@@ -729,7 +883,7 @@ public class LineageCache
 			return ((_MBval != null ? _MBval.getInMemorySize() : 0) + (_SOval != null ? _SOval.getSize() : 0));
 		}
 		
-		public boolean isNullVal() {
+		public synchronized boolean isNullVal() {
 			return(_MBval == null && _SOval == null);
 		}
 		
@@ -740,6 +894,7 @@ public class LineageCache
 		public synchronized void setValue(MatrixBlock val, double compEst) {
 			_MBval = val;
 			_compEst = compEst;
+			_computeTime = System.nanoTime() - _startTime;
 			//resume all threads waiting for val
 			notifyAll();
 		}
@@ -747,18 +902,59 @@ public class LineageCache
 		public synchronized void setValue(ScalarObject val, double compEst) {
 			_SOval = val;
 			_compEst = compEst;
+			_computeTime = System.nanoTime() - _startTime;
 			//resume all threads waiting for val
 			notifyAll();
 		}
 	}
 	
 	private static class SpilledItem {
-		String _outfile;
-		double _compEst;
+		private final LineageItem _key;
+		private final String _outfile;
+		private final double _compEst;
+		private volatile MatrixBlock _mb; //in-flight value until written
+		private volatile CompletableFuture<Void> _write;
+		private CompletableFuture<MatrixBlock> _read;
 
-		public SpilledItem(String outfile, double computecost) {
+		public SpilledItem(LineageItem key, String outfile, double computecost, MatrixBlock mb) {
+			_key = key;
 			_outfile = outfile;
 			_compEst = computecost;
+			_mb = mb;
+		}
+		
+		/**
+		 * Asynchronously reads the spilled value (after a pending write),
+		 * unless the value is still in-flight or already being read.
+		 */
+		public synchronized void prefetch() {
+			if (_read == null && _mb == null)
+				_read = _write.thenApplyAsync(v -> readFromLocalFS(this), getSpillPool());
+		}
+		
+		/**
+		 * Returns the spilled value from the pending write, a prefetch, or
+		 * a synchronous read, or null if writing or reading failed.
+		 * 
+		 * @return matrix block or null
+		 */
+		public MatrixBlock getValue() {
+			MatrixBlock mb = _mb;
+			if (mb != null)
+				return mb; //pending write
+			CompletableFuture<MatrixBlock> read;
+			synchronized (this) {
+				read = _read;
+			}
+			try {
+				if (read != null)
+					return read.join();
+				_write.join();
+				return readFromLocalFS(this);
+			}
+			catch(CompletionException | DMLRuntimeException ex) {
+				return null;
+			}
 		}
 	}
 }
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.lineage;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
@@ -55,6 +56,15 @@ public class LineageCacheConfig {
 		}
 	}
 	
+	public enum LineageCachePolicy {
+		LRU,       //least recently used (CLOCK approximation)
+		COSTNSIZE, //saved compute time per byte
+		WEIGHTED;  //weighted cost/size, recency, reference count, and DAG height
+		public boolean isCostBased() {
+			return this != LRU;
+		}
+	}
+	
 	public enum CachedItemHead {
 		TSMM,
 		ALL
@@ -74,6 +84,11 @@ public class LineageCacheConfig {
 	private static CachedItemHead _itemH = null;
 	private static CachedItemTail _itemT = null;
 	private static boolean _compilerAssistedRW = true;
+	private static LineageCachePolicy _cachePolicy = LineageCachePolicy.LRU;
+	//weights of the WEIGHTED policy: compute time per byte, recency,
+	//reference count, and inverse lineage DAG height
+	private static final double[] DEFAULT_WEIGHTS = new double[] {0.4, 0.3, 0.2, 0.1};
+	private static double[] _weights = DEFAULT_WEIGHTS;
 	static {
 		//setup static configuration parameters
 		setSpill(false); //disable spilling of cache entries to disk
@@ -110,6 +125,31 @@ public class LineageCacheConfig {
 		_itemT = itt;
 	}
 	
+	public static void setCachePolicy(LineageCachePolicy policy) {
+		_cachePolicy = policy;
+	}
+	
+	public static void setCachePolicy(LineageCachePolicy policy, double[] weights) {
+		if( weights == null || weights.length != DEFAULT_WEIGHTS.length )
+			throw new DMLRuntimeException("Invalid lineage cache weights, expected "
+				+ DEFAULT_WEIGHTS.length + " weights.");
+		_cachePolicy = policy;
+		_weights = weights.clone();
+	}
+	
+	public static LineageCachePolicy getCachePolicy() {
+		return _cachePolicy;
+	}
+	
+	public static double[] getCacheWeights() {
+		return _weights;
+	}
+	
+	public static void resetCachePolicy() {
+		_cachePolicy = LineageCachePolicy.LRU;
+		_weights = DEFAULT_WEIGHTS;
+	}
+	
 	public static void setCompAssRW(boolean comp) {
 		_compilerAssistedRW = comp;
 	}
@@ -35,6 +35,8 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numWritesMem    = new LongAdder();
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numRewrites     = new LongAdder();
+	private static final LongAdder _numEvictDel     = new LongAdder();
+	private static final LongAdder _numEvictSpill   = new LongAdder();
 	private static final LongAdder _ctimeFSRead     = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeFSWrite    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeCosting    = new LongAdder(); //in nano sec
@@ -51,6 +53,8 @@ public class LineageCacheStatistics {
 		_numWritesMem.reset();
 		_numWritesFS.reset();
 		_numRewrites.reset();
+		_numEvictDel.reset();
+		_numEvictSpill.reset();
 		_ctimeFSRead.reset();
 		_ctimeFSWrite.reset();
 		_ctimeCosting.reset();
@@ -103,6 +107,16 @@ public class LineageCacheStatistics {
 		_numWritesFS.increment();
 	}
 
+	public static void incrementEvictDeletes() {
+		// Number of entries evicted from cache without spilling.
+		_numEvictDel.increment();
+	}
+
+	public static void incrementEvictSpills() {
+		// Number of entries evicted from cache and spilled to local FS.
+		_numEvictSpill.increment();
+	}
+
 	public static void incrementFSReadTime(long delta) {
 		// Total time spent on reading from FS.
 		_ctimeFSRead.add(delta);
@@ -123,6 +137,18 @@ public class LineageCacheStatistics {
 		_ctimeRewrite.add(delta);
 	}
 	
+	public static long getMemHits() {
+		return _numHitsMem.longValue();
+	}
+	
+	public static long getEvictDeletes() {
+		return _numEvictDel.longValue();
+	}
+	
+	public static long getEvictSpills() {
+		return _numEvictSpill.longValue();
+	}
+	
 	public static long getMultiLevelFnHits() {
 		return _numHitsFunc.longValue();
 	}
@@ -164,6 +190,14 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayEvictions() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numEvictDel.longValue());
+		sb.append("/");
+		sb.append(_numEvictSpill.longValue());
+		return sb.toString();
+	}
+
 	public static String displayRewrites() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numRewrites.longValue());
@@ -31,6 +31,7 @@ public class LineageItem {
 	private String _name;
 	private final String _data;
 	private final LineageItem[] _inputs;
+	private final int _height;
 	private int _hash = 0;
 	// init visited to true to ensure visited items are
 	// not hidden when used as inputs to new items
@@ -59,6 +60,7 @@ public class LineageItem {
 		_name = name;
 		_data = data;
 		_inputs = inputs;
+		_height = computeHeight(inputs);
 	}
 	
 	public LineageItem(long id, LineageItem li) {
@@ -67,6 +69,7 @@ public class LineageItem {
 		_name = li._name;
 		_data = li._data;
 		_inputs = li._inputs;
+		_height = li._height;
 	}
 	
 	public LineageItem(LineageItem other) {
@@ -77,6 +80,7 @@ public class LineageItem {
 		_visited = other._visited;
 		_hash = other._hash;
 		_inputs = other._inputs;
+		_height = other._height;
 	}
 	
 	public LineageItem[] getInputs() {
@@ -111,6 +115,18 @@ public class LineageItem {
 		return _id;
 	}
 	
+	/**
+	 * Returns the height of the lineage DAG rooted at this item,
+	 * where leaf items (literals and creations) have height 1. The height
+	 * is determined on construction and not updated on in-place replacement
+	 * of inputs (e.g., dedup patches), which is sufficient for cache heuristics.
+	 * 
+	 * @return lineage DAG height
+	 */
+	public int getHeight() {
+		return _height;
+	}
+	
 	public String getOpcode() {
 		return _opcode;
 	}
@@ -220,4 +236,14 @@ public class LineageItem {
 	public static void resetIDSequence() {
 		_idSeq.reset(-1);
 	}
+	
+	private static int computeHeight(LineageItem[] inputs) {
+		//incrementally maintained on construction to avoid deep recursion
+		int h = 0;
+		if( inputs != null )
+			for( LineageItem in : inputs )
+				if( in != null )
+					h = Math.max(h, in._height);
+		return h + 1;
+	}
 }
@@ -111,16 +111,34 @@ public class EncoderBin extends Encoder
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		for(int j=0; j<_colList.length; j++) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				double inVal = UtilFunctions.objectToDouble(
-						in.getSchema()[colID-1], in.get(i, colID-1));
-				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
-				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
-				out.quickSetValue(i, colID-1, binID);
-			}
+			for( int i=0; i<in.getNumRows(); i++ )
+				out.quickSetValue(i, colID-1, getBinID(in, i, j));
 		}
 		return out;
 	}
+	
+	/**
+	 * Obtains the bin IDs (1-based) of all rows for the given column.
+	 * 
+	 * @param in input frame block
+	 * @param colID column ID (1-based)
+	 * @return array of bin IDs per row
+	 */
+	protected int[] getCodes(FrameBlock in, int colID) {
+		int j = isApplicable(colID);
+		int[] ret = new int[in.getNumRows()];
+		for( int i=0; i<in.getNumRows(); i++ )
+			ret[i] = getBinID(in, i, j);
+		return ret;
+	}
+	
+	private int getBinID(FrameBlock in, int row, int j) {
+		int colID = _colList[j];
+		double inVal = UtilFunctions.objectToDouble(
+			in.getSchema()[colID-1], in.get(row, colID-1));
+		int ix = Arrays.binarySearch(_binMaxs[j], inVal);
+		return ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
@@ -19,10 +19,18 @@
 
 package org.apache.sysds.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.ColGroup;
+import org.apache.sysds.runtime.compress.ColGroupDDC;
+import org.apache.sysds.runtime.compress.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.ColGroupOLE;
+import org.apache.sysds.runtime.compress.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -38,11 +46,27 @@ public class EncoderComposite extends Encoder
 	
 	private List<Encoder> _encoders = null;
 	private FrameBlock _meta = null;
+	private boolean _compressed = false;
 	
 	protected EncoderComposite(List<Encoder> encoders) {
 		super(null, -1);
 		_encoders = encoders;
 	}
+	
+	/**
+	 * Sets the output mode to compressed matrix blocks, where recoded and binned 
+	 * columns are directly encoded as DDC column groups, dummycoded columns as 
+	 * one-hot column groups, and pass-through columns as an uncompressed group.
+	 * 
+	 * @param flag if true, encode and apply produce compressed matrix blocks
+	 */
+	public void setCompressedOutput(boolean flag) {
+		_compressed = flag;
+	}
+	
+	public boolean isCompressedOutput() {
+		return _compressed;
+	}
 
 	@Override
 	public int getNumCols() {
@@ -71,8 +95,11 @@ public class EncoderComposite extends Encoder
 				encoder.initMetaData(_meta);
 			
 			//apply meta data
-			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+			if( _compressed )
+				out = applyCompressed(in, out);
+			else
+				for( Encoder encoder : _encoders )
+					out = encoder.apply(in, out);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed transform-encode frame with \n" + this);
@@ -91,8 +118,11 @@ public class EncoderComposite extends Encoder
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		try {
-			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+			if( _compressed )
+				out = applyCompressed(in, out);
+			else
+				for( Encoder encoder : _encoders )
+					out = encoder.apply(in, out);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed to transform-apply frame with \n" + this);
@@ -140,6 +170,162 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	/**
+	 * Encodes the input frame directly into a compressed matrix block, which avoids both 
+	 * the uncompressed intermediate and the compression planning. Encoders that modify 
+	 * rows or values (e.g., omit, impute, feature hashing) fall back to compressing the
+	 * uncompressed output.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block (unused for direct compression)
+	 * @return compressed matrix block, or uncompressed block if not compressible
+	 */
+	private MatrixBlock applyCompressed(FrameBlock in, MatrixBlock out) {
+		EncoderRecode rc = null;
+		EncoderBin bin = null;
+		EncoderDummycode dc = null;
+		for( Encoder encoder : _encoders ) {
+			if( encoder instanceof EncoderRecode )
+				rc = (EncoderRecode) encoder;
+			else if( encoder instanceof EncoderBin )
+				bin = (EncoderBin) encoder;
+			else if( encoder instanceof EncoderDummycode )
+				dc = (EncoderDummycode) encoder;
+			else if( !(encoder instanceof EncoderPassThrough) ) {
+				for( Encoder encoder2 : _encoders )
+					out = encoder2.apply(in, out);
+				return new CompressedMatrixBlock(out).compress();
+			}
+		}
+		
+		final int nrow = in.getNumRows();
+		final int clen = in.getNumColumns();
+		final int[] dcList = (dc != null) ? dc.getColList() : null;
+		List<ColGroup> groups = new ArrayList<>();
+		List<Integer> ptCols = new ArrayList<>();
+		List<Integer> ptOutCols = new ArrayList<>();
+		long nnz = 0;
+		
+		int ncol = 0; //output column index
+		for( int colID=1, idx=0; colID <= clen; colID++ ) {
+			int[] codes = (rc != null && rc.isApplicable(colID) >= 0) ? rc.getCodes(in, colID) :
+				(bin != null && bin.isApplicable(colID) >= 0) ? bin.getCodes(in, colID) : null;
+			if( dcList != null && idx < dcList.length && colID == dcList[idx] ) {
+				if( codes == null )
+					throw new DMLRuntimeException("Dummycoded column "+colID+" is neither recoded nor binned.");
+				int domain = dc.getDomainSizes()[idx++];
+				nnz += createOneHotGroups(groups, ncol, domain, codes, nrow);
+				ncol += domain;
+			}
+			else if( codes != null ) {
+				nnz += createCodeGroup(groups, ncol++, codes, nrow);
+			}
+			else {
+				ptCols.add(colID);
+				ptOutCols.add(ncol++);
+			}
+		}
+		
+		//pass-through columns as single uncompressed group
+		if( !ptCols.isEmpty() ) {
+			MatrixBlock data = new MatrixBlock(nrow, ptCols.size(), false);
+			for( int j=0; j<ptCols.size(); j++ ) {
+				int col = ptCols.get(j)-1;
+				ValueType vt = in.getSchema()[col];
+				for( int i=0; i<nrow; i++ )
+					data.quickSetValue(i, j, EncoderPassThrough.toDouble(vt, in.get(i, col)));
+			}
+			data.examSparsity();
+			nnz += data.getNonZeros();
+			int[] colIndexes = ptOutCols.stream().mapToInt(i -> i).toArray();
+			groups.add(new ColGroupUncompressed(colIndexes, nrow, data));
+		}
+		
+		return new CompressedMatrixBlock(nrow, ncol, nnz, groups);
+	}
+	
+	/**
+	 * Creates a DDC column group for a recoded or binned column with the 
+	 * dictionary of codes 1..k (and NaN for missing values).
+	 */
+	private static long createCodeGroup(List<ColGroup> groups, int col, int[] codes, int nrow) {
+		int k = 0;
+		boolean missing = false;
+		for( int i=0; i<nrow; i++ ) {
+			k = Math.max(k, codes[i]);
+			missing |= (codes[i] <= 0);
+		}
+		double[] values = new double[k + (missing ? 1 : 0)];
+		for( int i=0; i<k; i++ )
+			values[i] = i+1;
+		if( missing )
+			values[k] = Double.NaN;
+		
+		//fallback to uncompressed group for very large domains
+		if( values.length > Character.MAX_VALUE - 1 ) {
+			MatrixBlock data = new MatrixBlock(nrow, 1, false);
+			for( int i=0; i<nrow; i++ )
+				data.quickSetValue(i, 0, values[(codes[i] > 0) ? codes[i]-1 : k]);
+			groups.add(new ColGroupUncompressed(new int[]{col}, nrow, data));
+			return nrow;
+		}
+		
+		int[] dcodes = new int[nrow];
+		for( int i=0; i<nrow; i++ )
+			dcodes[i] = (codes[i] > 0) ? codes[i]-1 : k;
+		groups.add(ColGroupDDC.create(new int[]{col}, nrow, values, dcodes));
+		return nrow; //codes and NaNs are non-zero
+	}
+	
+	/**
+	 * Creates one-hot column groups for a dummycoded column, where small domains are
+	 * encoded as a single multi-column DDC group (one identity tuple per code) and large
+	 * domains as single-column OLE groups of the rows per code.
+	 */
+	private static long createOneHotGroups(List<ColGroup> groups, int col, int domain, int[] codes, int nrow) {
+		int[] colIndexes = new int[domain];
+		for( int j=0; j<domain; j++ )
+			colIndexes[j] = col + j;
+		
+		//count rows per code (missing values or codes out of range map to zero rows)
+		int[] lens = new int[domain];
+		long nnz = 0;
+		for( int i=0; i<nrow; i++ )
+			if( codes[i] > 0 && codes[i] <= domain ) {
+				lens[codes[i]-1]++;
+				nnz++;
+			}
+		
+		if( domain <= 254 && 8L * domain * domain <= nrow ) {
+			//identity dictionary plus zero tuple
+			double[] values = new double[(domain + 1) * domain];
+			for( int j=0; j<domain; j++ )
+				values[j * domain + j] = 1;
+			int[] dcodes = new int[nrow];
+			for( int i=0; i<nrow; i++ )
+				dcodes[i] = (codes[i] > 0 && codes[i] <= domain) ? codes[i]-1 : domain;
+			groups.add(ColGroupDDC.create(colIndexes, nrow, values, dcodes));
+		}
+		else {
+			//row offsets per code via counting sort
+			int[][] offsets = new int[domain][];
+			for( int j=0; j<domain; j++ )
+				offsets[j] = new int[lens[j]];
+			int[] pos = new int[domain];
+			for( int i=0; i<nrow; i++ )
+				if( codes[i] > 0 && codes[i] <= domain ) {
+					int j = codes[i]-1;
+					offsets[j][pos[j]++] = i;
+				}
+			for( int j=0; j<domain; j++ ) {
+				int[] colIx = new int[]{colIndexes[j]};
+				groups.add((lens[j] == 0) ? new ColGroupEmpty(colIx, nrow) : ColGroupOLE
+					.create(colIx, nrow, new double[]{1}, new int[][]{offsets[j]}, new int[]{lens[j]}));
+			}
+		}
+		return nnz;
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -47,6 +47,10 @@ public class EncoderDummycode extends Encoder
 		return (int)_dummycodedLength;
 	}
 	
+	public int[] getDomainSizes() {
+		return _domainSizes;
+	}
+	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
 		return apply(in, out);
@@ -102,6 +102,7 @@ public class EncoderFactory
 			
 			//create composite decoder of all created encoders
 			encoder = new EncoderComposite(lencoders);
+			((EncoderComposite)encoder).setCompressedOutput(TfMetaUtils.isCompressedSpec(jSpec));
 			
 			//initialize meta data w/ robustness for superset of cols
 			if( meta != null ) {
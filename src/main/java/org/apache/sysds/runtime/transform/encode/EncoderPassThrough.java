@@ -54,16 +54,18 @@ public class EncoderPassThrough extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int col = _colList[j]-1;
 			ValueType vt = in.getSchema()[col];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				Object val = in.get(i, col);
-				out.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
-						&& val.toString().isEmpty())) ? Double.NaN : 
-						UtilFunctions.objectToDouble(vt, val));
-			}
+			for( int i=0; i<in.getNumRows(); i++ )
+				out.quickSetValue(i, col, toDouble(vt, in.get(i, col)));
 		}
 		
 		return out;
 	}
+	
+	protected static double toDouble(ValueType vt, Object val) {
+		return (val==null||(vt==ValueType.STRING 
+			&& val.toString().isEmpty())) ? Double.NaN : 
+			UtilFunctions.objectToDouble(vt, val);
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
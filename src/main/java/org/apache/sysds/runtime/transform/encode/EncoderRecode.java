@@ -136,9 +136,7 @@ public class EncoderRecode extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
 			for( int i=0; i<in.getNumRows(); i++ ) {
-				Object okey = in.get(i, colID-1);
-				String key = (okey!=null) ? okey.toString() : null;
-				long code = lookupRCDMap(colID, key);
+				long code = lookupRCDMap(colID, getKey(in, i, colID));
 				out.quickSetValue(i, colID-1,
 					(code >= 0) ? code : Double.NaN);
 			}
@@ -146,6 +144,26 @@ public class EncoderRecode extends Encoder
 		
 		return out;
 	}
+	
+	/**
+	 * Obtains the recode codes of all rows for the given column, where
+	 * missing values or values without recode map entry are encoded as -1.
+	 * 
+	 * @param in input frame block
+	 * @param colID column ID (1-based)
+	 * @return array of codes per row
+	 */
+	protected int[] getCodes(FrameBlock in, int colID) {
+		int[] ret = new int[in.getNumRows()];
+		for( int i=0; i<in.getNumRows(); i++ )
+			ret[i] = (int) lookupRCDMap(colID, getKey(in, i, colID));
+		return ret;
+	}
+	
+	private static String getKey(FrameBlock in, int row, int colID) {
+		Object okey = in.get(row, colID-1);
+		return (okey!=null) ? okey.toString() : null;
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
@@ -64,6 +64,10 @@ public class TfMetaUtils
 	public static boolean isIDSpec(JSONObject spec) throws JSONException {
 		return spec.containsKey("ids") && spec.getBoolean("ids");
 	}
+	
+	public static boolean isCompressedSpec(JSONObject spec) throws JSONException {
+		return spec.containsKey("compressed") && spec.getBoolean("compressed");
+	}
 
 	public static boolean containsOmitSpec(String spec, String[] colnames) {
 		return (TfMetaUtils.parseJsonIDList(spec, colnames, TfMethod.OMIT.toString()).length > 0);	
@@ -124,6 +124,10 @@ public class Statistics
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
 
+	// Federated worker response cache stats
+	private static final LongAdder fedCacheHits = new LongAdder();
+	private static final LongAdder fedCacheMisses = new LongAdder();
+
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
 	private static long parforOptCount = 0; //count
@@ -450,6 +454,8 @@ public class Statistics
 		
 		CacheStatistics.reset();
 		LineageCacheStatistics.reset();
+		fedCacheHits.reset();
+		fedCacheMisses.reset();
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -552,6 +558,28 @@ public class Statistics
 		psRpcRequestTime.add(t);
 	}
 
+	public static void incFederatedCacheHits() {
+		fedCacheHits.increment();
+	}
+
+	public static void incFederatedCacheMisses() {
+		fedCacheMisses.increment();
+	}
+
+	public static long getFederatedCacheHits() {
+		return fedCacheHits.longValue();
+	}
+
+	public static long getFederatedCacheMisses() {
+		return fedCacheMisses.longValue();
+	}
+
+	public static String displayFederatedCacheHits() {
+		long hits = fedCacheHits.longValue();
+		long total = hits + fedCacheMisses.longValue();
+		return String.format("%d/%d (%.1f%%)", hits, total, (total > 0) ? 100d * hits / total : 0);
+	}
+
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
 		String opcode = null;
@@ -935,6 +963,8 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getPrefetches() > 0 )
+				sb.append("Cache prefetches:\t\t" + CacheStatistics.getPrefetches() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -947,11 +977,14 @@ public class Statistics
 				sb.append("LinCache hits (Mem/FS/Del): \t" + LineageCacheStatistics.displayHits() + ".\n");
 				sb.append("LinCache MultiLevel (Ins/SB/Fn):" + LineageCacheStatistics.displayMultiLevelHits() + ".\n");
 				sb.append("LinCache writes (Mem/FS): \t" + LineageCacheStatistics.displayWtrites() + ".\n");
+				sb.append("LinCache evicts (Del/Spill): \t" + LineageCacheStatistics.displayEvictions() + ".\n");
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayTime() + " sec.\n");
 				sb.append("LinCache costing time:  \t" + LineageCacheStatistics.displayCostingTime() + " sec.\n");
 				sb.append("LinCache Rewrites:    \t\t" + LineageCacheStatistics.displayRewrites() + ".\n");
 				sb.append("LinCache RWtime (Com/Ex): \t" + LineageCacheStatistics.displayRewriteTime() + " sec.\n");
 			}
+			if( fedCacheHits.longValue() + fedCacheMisses.longValue() > 0 )
+				sb.append("Fed worker cache hits/total:\t" + displayFederatedCacheHits() + ".\n");
 			if( ConfigurationManager.isCodegenEnabled() ) {
 				sb.append("Codegen compile (DAG,CP,JC):\t" + getCodegenDAGCompile() + "/"
 						+ getCodegenCPlanCompile() + "/" + getCodegenClassCompile() + ".\n");
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests of compressed binary block files, which are read into a single compressed block. Compressed matrices are
+ * written as a single block of all column groups (independent of the block size), while files of a single row block
+ * and multiple column blocks (as written from Spark) are read by combining the column groups of all column blocks.
+ */
+public class CompressedBinaryBlockTest {
+	private static final int rows = 2500;
+	private static final int cols = 2100;
+	private static final int blen = 1000;
+
+	@Test
+	public void testSingleBlockWriteRead() throws Exception {
+		runSingleBlockTest(false);
+	}
+
+	@Test
+	public void testSingleBlockWriteReadParallel() throws Exception {
+		runSingleBlockTest(true);
+	}
+
+	@Test
+	public void testColumnBlocksRead() throws Exception {
+		runColumnBlocksTest(false);
+	}
+
+	@Test
+	public void testColumnBlocksReadParallel() throws Exception {
+		runColumnBlocksTest(true);
+	}
+
+	private static void runSingleBlockTest(boolean parallel) throws Exception {
+		// multiple row and column blocks w.r.t. the block size
+		MatrixBlock mb = createInput(rows, cols);
+		CompressedMatrixBlock cmb = compress(mb);
+
+		File dir = Files.createTempDirectory("compressed").toFile();
+		try {
+			String fname = new File(dir, "X").getAbsolutePath();
+			WriterBinaryBlock writer = parallel ? new WriterBinaryBlockParallel(-1) : new WriterBinaryBlock(-1);
+			writer.writeMatrixToHDFS(cmb, fname, rows, cols, blen, cmb.getNonZeros());
+			ReaderBinaryBlock reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, blen, cmb.getNonZeros());
+			assertTrue("Matrix was not read in compressed form", ret instanceof CompressedMatrixBlock);
+			// column groups are kept as written, w/o decompression and recompression
+			assertEquals(cmb.getColGroups().size(), ((CompressedMatrixBlock) ret).getColGroups().size());
+			compareResult(mb, ret);
+		}
+		finally {
+			TestUtils.removeDirectories(new String[] {dir.getAbsolutePath()});
+		}
+	}
+
+	private static void runColumnBlocksTest(boolean parallel) throws Exception {
+		// single row block, compressible within every column block
+		MatrixBlock mb = createInput(blen, cols);
+
+		File dir = Files.createTempDirectory("compressed").toFile();
+		try {
+			String fname = new File(dir, "X").getAbsolutePath();
+			writeColumnBlocks(mb, fname);
+			ReaderBinaryBlock reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, blen, cols, blen, mb.getNonZeros());
+			assertTrue("Column blocks were not read in compressed form", ret instanceof CompressedMatrixBlock);
+			compareResult(mb, ret);
+		}
+		finally {
+			TestUtils.removeDirectories(new String[] {dir.getAbsolutePath()});
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private static void writeColumnBlocks(MatrixBlock mb, String fname) throws Exception {
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path,
+			MatrixIndexes.class, CompressedMatrixBlock.class);
+		try {
+			for(int j = 0; j < mb.getNumColumns(); j += blen) {
+				int cu = Math.min(j + blen, mb.getNumColumns()) - 1;
+				MatrixBlock block = mb.slice(0, mb.getNumRows() - 1, j, cu, new MatrixBlock());
+				writer.append(new MatrixIndexes(1, j / blen + 1), compress(block));
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+
+	private static MatrixBlock createInput(int rows, int cols) {
+		// low cardinality columns
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j++)
+				mb.quickSetValue(i, j, (i / 10 + j) % 4);
+		return mb;
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.setSeed(1);
+		cmb.setSamplingRatio(1.0);
+		assertTrue("Input was not compressed", cmb.compress() instanceof CompressedMatrixBlock);
+		return cmb;
+	}
+
+	private static void compareResult(MatrixBlock mb, MatrixBlock ret) {
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(((CompressedMatrixBlock) ret).decompress());
+		TestUtils.compareMatricesBitAvgDistance(d1, d2, mb.getNumRows(), mb.getNumColumns(), 0, 0);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.sysds.runtime.compress.BitmapEncoder;
+import org.apache.sysds.runtime.compress.ColGroup;
+import org.apache.sysds.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.ColGroupOLE;
+import org.apache.sysds.runtime.compress.ColGroupRLE;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.UncompressedBitmap;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests of the column group encodings for constant, empty, and sparse default value columns, where each input consists
+ * of such a column and an incompressible column of random values.
+ */
+public class CompressedColGroupTypesTest {
+	private static final int rows = 5000;
+
+	@Test
+	public void testConstColGroup() {
+		runColGroupTest(CompressionType.CONST, i -> 7);
+	}
+
+	@Test
+	public void testEmptyColGroup() {
+		runColGroupTest(CompressionType.EMPTY, i -> 0);
+	}
+
+	@Test
+	public void testSDCColGroup() {
+		runColGroupTest(CompressionType.SDC, i -> (i % 100 != 0) ? 3 : (i % 200 == 0) ? 0 : 5);
+	}
+
+	@Test
+	public void testOLESkipList() {
+		runSkipListTest(false);
+	}
+
+	@Test
+	public void testRLESkipList() {
+		runSkipListTest(true);
+	}
+
+	private static void runSkipListTest(boolean rle) {
+		// runs of 7 rows over 3 distinct values (incl zero), spanning multiple segments
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int nrow = 5 * blksz + 123;
+		MatrixBlock mb = new MatrixBlock(nrow, 1, false);
+		for(int i = 0; i < nrow; i++)
+			mb.quickSetValue(i, 0, i / 7 % 3);
+		MatrixBlock raw = CompressedMatrixBlock.TRANSPOSE_INPUT ?
+			LibMatrixReorg.transpose(mb, new MatrixBlock(1, nrow, false)) : mb;
+		UncompressedBitmap ubm = BitmapEncoder.extractBitmap(new int[] {0}, raw);
+		ColGroup grp = rle ? new ColGroupRLE(new int[] {0}, nrow, ubm) : new ColGroupOLE(new int[] {0}, nrow, ubm);
+
+		// row ranges starting at and within later segments, incl the last segment
+		int[][] ranges = new int[][] {{blksz, blksz + 1000}, {2 * blksz + 7, 3 * blksz + 11},
+			{4 * blksz - 3, 4 * blksz + 5}, {5 * blksz, nrow}, {5 * blksz + 100, nrow}};
+		for(int[] r : ranges) {
+			MatrixBlock ret = new MatrixBlock(r[1] - r[0], 1, false);
+			ret.allocateDenseBlock();
+			grp.decompressRowsToBlock(ret, r[0], r[1]);
+			compare(mb.slice(r[0], r[1] - 1), ret, 0);
+		}
+	}
+
+	private interface ColumnGenerator {
+		double get(int i);
+	}
+
+	private static void runColGroupTest(CompressionType type, ColumnGenerator gen) {
+		double[][] input = TestUtils.generateTestMatrix(rows, 2, 0, 1, 1.0, 7);
+		for(int i = 0; i < rows; i++)
+			input[i][0] = gen.get(i);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.setSeed(1);
+		cmb.setSamplingRatio(1.0);
+		MatrixBlock cmbResult = cmb.compress();
+		assertTrue("Input was not compressed", cmbResult instanceof CompressedMatrixBlock);
+
+		// check the encoding of the first column
+		boolean found = false;
+		for(ColGroup grp : cmb.getColGroups())
+			found |= grp.getColIndices()[0] == 0 && grp.getCompType() == type;
+		assertTrue("Missing column group of type " + type, found);
+
+		// decompression
+		compare(mb, cmb.decompress(), 0);
+
+		// matrix-vector multiplication
+		MatrixBlock vector = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(2, 1, 1, 2, 1.0, 3));
+		AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+		AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+		compare(mb.aggregateBinaryOperations(mb, vector, new MatrixBlock(), abop),
+			cmb.aggregateBinaryOperations(cmb, vector, new MatrixBlock(), abop), 1024);
+
+		// aggregates
+		for(String opcode : new String[] {"uak+", "uark+", "uack+", "uamax", "uarmax", "uacmin"}) {
+			AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+			compare(mb.aggregateUnaryOperations(auop, new MatrixBlock(), rows, null, true),
+				cmb.aggregateUnaryOperations(auop, new MatrixBlock(), rows, null, true), 1024);
+		}
+
+		// scalar operations (sparse-safe and sparse-unsafe)
+		for(ScalarOperator sop : new ScalarOperator[] {new RightScalarOperator(Multiply.getMultiplyFnObject(), 3),
+			new RightScalarOperator(Plus.getPlusFnObject(), 2)}) {
+			MatrixBlock ret2 = cmb.scalarOperations(sop, new MatrixBlock());
+			if(ret2 instanceof CompressedMatrixBlock)
+				ret2 = ((CompressedMatrixBlock) ret2).decompress();
+			compare(mb.scalarOperations(sop, new MatrixBlock()), ret2, 0);
+		}
+
+		// serialization
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cmb.write(new DataOutputStream(bos));
+			assertEquals(bos.size(), cmb.getExactSizeOnDisk());
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			compare(mb, cmb2.decompress(), 0);
+		}
+		catch(Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual, int maxUnitsOfLeastPrecision) {
+		double[][] d1 = DataConverter.convertToDoubleMatrix(expected);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatricesBitAvgDistance(d1, d2, expected.getNumRows(), expected.getNumColumns(),
+			maxUnitsOfLeastPrecision, 1);
+	}
+}
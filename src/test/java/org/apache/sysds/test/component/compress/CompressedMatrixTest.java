@@ -19,10 +19,14 @@
 
 package org.apache.sysds.test.component.compress;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,15 +34,21 @@ import org.junit.runners.Parameterized;
 import org.apache.sysds.lops.MMTSJ.MMTSJType;
 import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Minus;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.TestConstants.CompressionType;
@@ -266,6 +276,66 @@ public class CompressedMatrixTest extends CompressedTestBase {
 		}
 	}
 
+	@Test
+	public void testRightMatrixMatrixMult() {
+		try {
+			if(!(cmbResult instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+
+			MatrixBlock matrix = DataConverter
+				.convertToMatrixBlock(TestUtils.generateTestMatrix(cols, 7, -1, 1, 1.0, 3));
+
+			// Make Operator
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+
+			// matrix-matrix uncompressed
+			MatrixBlock ret1 = mb.aggregateBinaryOperations(mb, matrix, new MatrixBlock(), abop);
+
+			// matrix-matrix compressed
+			MatrixBlock ret2 = cmb.aggregateBinaryOperations(cmb, matrix, new MatrixBlock(), abop);
+
+			// compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatricesBitAvgDistance(d1, d2, rows, 7, 1024, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testLeftMatrixMatrixMult() {
+		try {
+			if(!(cmbResult instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+
+			MatrixBlock matrix = DataConverter
+				.convertToMatrixBlock(TestUtils.generateTestMatrix(7, rows, -1, 1, 1.0, 3));
+
+			// Make Operator
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+
+			// matrix-matrix uncompressed
+			MatrixBlock ret1 = mb.aggregateBinaryOperations(matrix, mb, new MatrixBlock(), abop);
+
+			// matrix-matrix compressed
+			MatrixBlock ret2 = cmb.aggregateBinaryOperations(matrix, cmb, new MatrixBlock(), abop);
+
+			// compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatricesBitAvgDistance(d1, d2, 7, cols, 10000, 500);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
 	@Test
 	public void testScalarOperationsSparseUnsafe() {
 		try {
@@ -320,6 +390,167 @@ public class CompressedMatrixTest extends CompressedTestBase {
 		}
 	}
 
+	@Test
+	public void testCellwiseUnaryOperations() {
+		// sparse-safe and sparse-unsafe builtins
+		for(String fn : new String[] {"abs", "round", "sigmoid"}) {
+			try {
+				if(!(cmbResult instanceof CompressedMatrixBlock))
+					return; // Input was not compressed then just pass test
+
+				// unary uncompressed
+				UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(fn));
+				MatrixBlock ret1 = mb.unaryOperations(uop, new MatrixBlock());
+
+				// unary compressed
+				MatrixBlock ret2 = cmb.unaryOperations(uop, new MatrixBlock());
+				if(compress)
+					ret2 = ((CompressedMatrixBlock) ret2).decompress();
+
+				// compare result with input
+				double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+
+				TestUtils.compareMatricesBitAvgDistance(d1, d2, rows, cols, 150, 1);
+			}
+			catch(Exception e) {
+				e.printStackTrace();
+				throw new RuntimeException(this.toString() + " " + fn + "\n" + e.getMessage(), e);
+			}
+		}
+	}
+
+	@Test
+	public void testBinaryRowVectorOperations() {
+		// sparse-safe and sparse-unsafe operations
+		for(BinaryOperator bop : new BinaryOperator[] {new BinaryOperator(Multiply.getMultiplyFnObject()),
+			new BinaryOperator(Minus.getMinusFnObject())}) {
+			try {
+				if(!(cmbResult instanceof CompressedMatrixBlock))
+					return; // Input was not compressed then just pass test
+
+				MatrixBlock vector = DataConverter
+					.convertToMatrixBlock(TestUtils.generateTestMatrix(1, cols, 1, 5, 1.0, 3));
+
+				// matrix-row vector uncompressed
+				MatrixBlock ret1 = mb.binaryOperations(bop, vector, new MatrixBlock());
+
+				// matrix-row vector compressed
+				MatrixBlock ret2 = cmb.binaryOperations(bop, vector, new MatrixBlock());
+				if(compress)
+					ret2 = ((CompressedMatrixBlock) ret2).decompress();
+
+				// compare result with input
+				double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+
+				TestUtils.compareMatricesBitAvgDistance(d1, d2, rows, cols, 150, 1);
+			}
+			catch(Exception e) {
+				e.printStackTrace();
+				throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+			}
+		}
+	}
+
+	@Test
+	public void testBinaryColVectorOperations() {
+		// sparse-safe and sparse-unsafe operations
+		for(BinaryOperator bop : new BinaryOperator[] {new BinaryOperator(Multiply.getMultiplyFnObject()),
+			new BinaryOperator(Minus.getMinusFnObject())}) {
+			try {
+				if(!(cmbResult instanceof CompressedMatrixBlock))
+					return; // Input was not compressed then just pass test
+
+				MatrixBlock vector = DataConverter
+					.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 1, 1, 5, 1.0, 3));
+
+				// matrix-column vector uncompressed
+				MatrixBlock ret1 = mb.binaryOperations(bop, vector, new MatrixBlock());
+
+				// matrix-column vector compressed
+				MatrixBlock ret2 = cmb.binaryOperations(bop, vector, new MatrixBlock());
+
+				// compare result with input
+				double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+
+				TestUtils.compareMatricesBitAvgDistance(d1, d2, rows, cols, 150, 1);
+			}
+			catch(Exception e) {
+				e.printStackTrace();
+				throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+			}
+		}
+	}
+
+	@Test
+	public void testSlice() {
+		try {
+			if(!(cmbResult instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+
+			// row range, column range, and both
+			int[][] ranges = new int[][] {{rows / 3, rows / 2, 0, cols - 1}, {0, rows - 1, cols / 2, cols - 1},
+				{rows / 4, rows - 1, 0, cols / 2}};
+			for(int[] r : ranges) {
+				// slice uncompressed
+				MatrixBlock ret1 = mb.slice(r[0], r[1], r[2], r[3], new MatrixBlock());
+
+				// slice compressed
+				MatrixBlock ret2 = cmb.slice(r[0], r[1], r[2], r[3], new MatrixBlock());
+				ret1.recomputeNonZeros();
+				assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+				if(ret2 instanceof CompressedMatrixBlock)
+					ret2 = ((CompressedMatrixBlock) ret2).decompress();
+
+				// compare result with input
+				double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+				TestUtils.compareMatricesBitAvgDistance(d1, d2, r[1] - r[0] + 1, r[3] - r[2] + 1, 0, 0);
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testBinaryBlockWriteRead() {
+		try {
+			if(!(cmbResult instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+
+			// block size larger and smaller than the matrix, both written as a single block (kept compressed)
+			File dir = Files.createTempDirectory("compressed").toFile();
+			try {
+				int[] blens = new int[] {Math.max(rows, cols), Math.max(rows / 3, 1)};
+				for(int i = 0; i < blens.length; i++) {
+					String fname = new File(dir, "X" + i).getAbsolutePath();
+					new WriterBinaryBlock(-1).writeMatrixToHDFS(cmb, fname, rows, cols, blens[i], cmb.getNonZeros());
+					MatrixBlock ret2 = new ReaderBinaryBlock(false).readMatrixFromHDFS(fname, rows, cols, blens[i],
+						cmb.getNonZeros());
+					if(!(ret2 instanceof CompressedMatrixBlock))
+						throw new RuntimeException("Compressed matrix was not read in compressed form (blen=" + blens[i] + ").");
+					ret2 = ((CompressedMatrixBlock) ret2).decompress();
+
+					// compare result with input
+					double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+					double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+					TestUtils.compareMatricesBitAvgDistance(d1, d2, rows, cols, 0, 0);
+				}
+			}
+			finally {
+				TestUtils.removeDirectories(new String[] {dir.getAbsolutePath()});
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
 	// TODO replace with Direction x Types.AggOp
 	enum AggType {
 		ROWSUMS, COLSUMS, SUM, ROWSUMSSQ, COLSUMSSQ, SUMSQ, ROWMAXS, COLMAXS, MAX, ROWMINS, COLMINS, MIN,
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.COV;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.COVOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests of descriptive statistics (e.g., moments, quantiles, histograms) computed over the dictionaries of compressed
+ * column groups, compared to the results over the uncompressed inputs.
+ */
+public class CompressedStatisticsTest {
+	private static final int rows = 5000;
+	private static final double eps = 1e-8;
+
+	@Test
+	public void testUnaryAggregateMeanVar() {
+		double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, 4, 0, 9, 0.7, 7));
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+		MatrixBlock cmb = compress(mb);
+		for(String opcode : new String[] {"uamean", "uacmean", "uarmean", "uavar", "uacvar"}) {
+			AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+			MatrixBlock ret1 = mb.aggregateUnaryOperations(auop, new MatrixBlock(), rows, null, true);
+			MatrixBlock ret2 = cmb.aggregateUnaryOperations(auop, new MatrixBlock(), rows, null, true);
+			compare(ret1, ret2, opcode);
+		}
+	}
+
+	@Test
+	public void testCentralMoments() {
+		MatrixBlock mb = createVector(0, 9, 0.7, 7);
+		MatrixBlock cmb = compress(mb);
+		for(AggregateOperationTypes type : new AggregateOperationTypes[] {AggregateOperationTypes.COUNT,
+			AggregateOperationTypes.MEAN, AggregateOperationTypes.VARIANCE, AggregateOperationTypes.CM2,
+			AggregateOperationTypes.CM3, AggregateOperationTypes.CM4}) {
+			CMOperator op = new CMOperator(CM.getCMFnObject(type), type);
+			assertEquals(type.name(), mb.cmOperations(op).getRequiredResult(op),
+				cmb.cmOperations(op).getRequiredResult(op), eps);
+		}
+	}
+
+	@Test
+	public void testWeightedCentralMoments() {
+		MatrixBlock mb = createVector(0, 9, 0.7, 7);
+		MatrixBlock cmb = compress(mb);
+		MatrixBlock weights = createVector(1, 3, 1.0, 3);
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.CM3), AggregateOperationTypes.CM3);
+		assertEquals(mb.cmOperations(op, weights).getRequiredResult(op),
+			cmb.cmOperations(op, weights).getRequiredResult(op), eps);
+	}
+
+	@Test
+	public void testCovariance() {
+		MatrixBlock mb = createVector(0, 9, 0.7, 7);
+		MatrixBlock cmb = compress(mb);
+		MatrixBlock that = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 1, -1, 1, 1.0, 3));
+		MatrixBlock weights = createVector(1, 3, 1.0, 3);
+		COVOperator op = new COVOperator(COV.getCOMFnObject());
+		assertEquals(mb.covOperations(op, that).getRequiredResult(op),
+			cmb.covOperations(op, that).getRequiredResult(op), eps);
+		assertEquals(mb.covOperations(op, that, weights).getRequiredResult(op),
+			cmb.covOperations(op, that, weights).getRequiredResult(op), eps);
+	}
+
+	@Test
+	public void testQuantiles() {
+		MatrixBlock mb = createVector(0, 9, 0.7, 7);
+		MatrixBlock cmb = compress(mb);
+		MatrixBlock weights = createVector(1, 3, 1.0, 3);
+		for(MatrixBlock w : new MatrixBlock[] {null, weights}) {
+			MatrixBlock sorted1 = mb.sortOperations(w, new MatrixBlock());
+			MatrixBlock sorted2 = cmb.sortOperations(w, new MatrixBlock());
+			assertEquals(sorted1.median(), sorted2.median(), eps);
+			assertEquals(sorted1.interQuartileMean(), sorted2.interQuartileMean(), eps);
+			for(double q : new double[] {0.1, 0.25, 0.75, 0.9})
+				assertEquals(sorted1.pickValue(q), sorted2.pickValue(q), eps);
+		}
+	}
+
+	@Test
+	public void testHistograms() {
+		MatrixBlock mb = createVector(1, 6, 1.0, 7);
+		MatrixBlock cmb = compress(mb);
+
+		// grouped aggregate count
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.COUNT),
+			AggregateOperationTypes.COUNT);
+		MatrixBlock target = createVector(0, 9, 0.7, 3);
+		compare(mb.groupedAggOperations(target, null, new MatrixBlock(), -1, op),
+			cmb.groupedAggOperations(target, null, new MatrixBlock(), -1, op), "groupedAgg");
+
+		// contingency table w/ scalar inputs
+		MatrixBlock ret1 = new MatrixBlock(5, 1, false);
+		MatrixBlock ret2 = new MatrixBlock(5, 1, false);
+		mb.ctableOperations(null, 1, 2, null, ret1);
+		cmb.ctableOperations(null, 1, 2, null, ret2);
+		compare(ret1, ret2, "ctable");
+	}
+
+	private static MatrixBlock createVector(double min, double max, double sparsity, long seed) {
+		return DataConverter
+			.convertToMatrixBlock(TestUtils.round(TestUtils.generateTestMatrix(rows, 1, min, max, sparsity, seed)));
+	}
+
+	private static MatrixBlock compress(MatrixBlock mb) {
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.setSeed(1);
+		cmb.setSamplingRatio(1.0);
+		MatrixBlock ret = cmb.compress();
+		assertTrue("Input was not compressed", ret instanceof CompressedMatrixBlock);
+		return ret;
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual, String msg) {
+		assertEquals(msg, expected.getNumRows(), actual.getNumRows());
+		assertEquals(msg, expected.getNumColumns(), actual.getNumColumns());
+		for(int i = 0; i < expected.getNumRows(); i++)
+			for(int j = 0; j < expected.getNumColumns(); j++)
+				assertEquals(msg, expected.quickGetValue(i, j), actual.quickGetValue(i, j), eps);
+	}
+}
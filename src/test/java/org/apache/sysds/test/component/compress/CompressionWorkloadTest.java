@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.parser.DMLProgram;
+import org.apache.sysds.parser.DMLTranslator;
+import org.apache.sysds.parser.ParserFactory;
+import org.apache.sysds.parser.StatementBlock;
+import org.apache.sysds.runtime.compress.ColGroup;
+import org.apache.sysds.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionWorkload;
+import org.apache.sysds.runtime.compress.CompressionWorkload.WorkloadOp;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests of the workload-aware selection of column group encodings.
+ */
+public class CompressionWorkloadTest {
+	private static final int rows = 5000;
+	private static final int cols = 10;
+
+	@Test
+	public void testParseWorkload() {
+		CompressionWorkload wl = new CompressionWorkload();
+		wl.add(WorkloadOp.MV, 15);
+		wl.add(WorkloadOp.SLICE, 1);
+		wl.add(WorkloadOp.MV, 15);
+		CompressionWorkload wl2 = CompressionWorkload.parseWorkload(wl.toString());
+		assertEquals(wl, wl2);
+		assertEquals(30, wl2.getCount(WorkloadOp.MV), 0);
+	}
+
+	@Test
+	public void testCostFactors() {
+		assertEquals(1, new CompressionWorkload().getCostFactor(CompressionType.OLE_BITMAP), 0);
+		CompressionWorkload mv = new CompressionWorkload();
+		mv.add(WorkloadOp.MV, 10);
+		assertTrue(mv.getCostFactor(CompressionType.OLE_BITMAP) < mv.getCostFactor(CompressionType.DDC1));
+		CompressionWorkload slice = new CompressionWorkload();
+		slice.add(WorkloadOp.SLICE, 10);
+		slice.add(WorkloadOp.MM, 10);
+		assertTrue(slice.getCostFactor(CompressionType.DDC1) < slice.getCostFactor(CompressionType.OLE_BITMAP));
+		assertTrue(slice.getCostFactor(CompressionType.DDC2) < slice.getCostFactor(CompressionType.RLE_BITMAP));
+		assertEquals(1, slice.getCostFactor(CompressionType.UNCOMPRESSED), 0);
+	}
+
+	@Test
+	public void testSliceWorkloadPrefersDDC() {
+		CompressionWorkload wl = new CompressionWorkload();
+		wl.add(WorkloadOp.SLICE, 100);
+		wl.add(WorkloadOp.MM, 100);
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb, wl);
+		for(ColGroup grp : cmb.getColGroups()) {
+			CompressionType type = grp.getCompType();
+			assertTrue("Unexpected column group type " + type,
+				type != CompressionType.OLE_BITMAP && type != CompressionType.RLE_BITMAP);
+		}
+		compare(mb, cmb.decompress());
+	}
+
+	@Test
+	public void testMVWorkload() {
+		CompressionWorkload wl = new CompressionWorkload();
+		wl.add(WorkloadOp.MV, 100);
+		MatrixBlock mb = createMVInput();
+		CompressedMatrixBlock cmb1 = compress(mb, null);
+		CompressedMatrixBlock cmb2 = compress(mb, wl);
+		// same co-coding, but OLE instead of the smaller DDC encoding
+		assertEquals(getColumnGroups(cmb1), getColumnGroups(cmb2));
+		assertEquals(CompressionType.DDC1, getColumnGroup(cmb1, 0).getCompType());
+		assertEquals(CompressionType.OLE_BITMAP, getColumnGroup(cmb2, 0).getCompType());
+		assertEquals(CompressionType.UNCOMPRESSED, getColumnGroup(cmb2, 1).getCompType());
+		compare(mb, cmb2.decompress());
+	}
+
+	@Test
+	public void testWorkloadCollection() {
+		// matrix-vector multiplication and row indexing in a loop of 5 iterations,
+		// and calls of a function with 2 cell-wise operations outside and inside the loop
+		String script = "f = function(Matrix[Double] A) return (Double s) {\n"
+			+ "  s = 0;\n"
+			+ "  for(j in 1:2)\n"
+			+ "    s = s + sum(A + j);\n"
+			+ "}\n"
+			+ "X = read(\"./tmp/X\", rows=1000, cols=10, format=\"text\");\n"
+			+ "v = rand(rows=10, cols=1, seed=7);\n"
+			+ "W = matrix(0, rows=1000, cols=1);\n"
+			+ "Y = matrix(0, rows=1, cols=10);\n"
+			+ "s1 = f(X);\n"
+			+ "s2 = 0;\n"
+			+ "for(i in 1:5) {\n"
+			+ "  W = W + X %*% (v + i);\n"
+			+ "  Y = Y + X[i,];\n"
+			+ "  s3 = f(X);\n"
+			+ "  s2 = s2 + s3;\n"
+			+ "}\n"
+			+ "print(sum(W) + sum(Y) + s1 + s2);\n";
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COMPRESSED_LINALG, "true");
+			ConfigurationManager.setLocalConfig(conf);
+			CompilerConfig cconf = new CompilerConfig();
+			cconf.set(ConfigType.IGNORE_READ_WRITE_METADATA, true);
+			ConfigurationManager.setLocalConfig(cconf);
+
+			DMLProgram prog = ParserFactory.createParser().parse(null, script, new HashMap<>());
+			DMLTranslator dmlt = new DMLTranslator(prog);
+			dmlt.liveVariableAnalysis(prog);
+			dmlt.validateParseTree(prog);
+			dmlt.constructHops(prog);
+			dmlt.rewriteHopsDAG(prog);
+
+			Hop read = null;
+			for(StatementBlock sb : prog.getStatementBlocks())
+				if(read == null && sb.getHops() != null)
+					for(Hop root : sb.getHops())
+						read = (read != null) ? read : findCompressedHop(root);
+			assertNotNull("No compression directive injected", read);
+			CompressionWorkload wl = read.getCompressionWorkload();
+			assertEquals(5, wl.getCount(WorkloadOp.MV), 0);
+			assertEquals(5, wl.getCount(WorkloadOp.SLICE), 0);
+			// function workload scaled by the frequency of each call site (1 + 5)
+			assertEquals(2 * (1 + 5), wl.getCount(WorkloadOp.CELLWISE), 0);
+			assertEquals(0, wl.getCount(WorkloadOp.MM), 0);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+
+	private static MatrixBlock createInput() {
+		// few distinct values with many zeros, which is amenable to OLE and DDC
+		double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 3, 0.5, 7));
+		return DataConverter.convertToMatrixBlock(input);
+	}
+
+	private static MatrixBlock createMVInput() {
+		// column of two distinct values and 55% non-zeros, where DDC is smaller than OLE,
+		// but OLE is cheaper for matrix-vector multiplications, and an incompressible column
+		Random rand = new Random(7);
+		double[][] input = new double[rows][2];
+		for(int i = 0; i < rows; i++) {
+			double r = rand.nextDouble();
+			input[i][0] = (r < 0.275) ? 1 : (r < 0.55) ? 2 : 0;
+			input[i][1] = rand.nextDouble();
+		}
+		return DataConverter.convertToMatrixBlock(input);
+	}
+
+	private static List<String> getColumnGroups(CompressedMatrixBlock cmb) {
+		List<String> ret = new ArrayList<>();
+		for(ColGroup grp : cmb.getColGroups())
+			ret.add(Arrays.toString(grp.getColIndices()));
+		Collections.sort(ret);
+		return ret;
+	}
+
+	private static ColGroup getColumnGroup(CompressedMatrixBlock cmb, int col) {
+		for(ColGroup grp : cmb.getColGroups())
+			for(int ix : grp.getColIndices())
+				if(ix == col)
+					return grp;
+		throw new AssertionError("No column group for column " + col);
+	}
+
+	private static Hop findCompressedHop(Hop hop) {
+		if(hop.requiresCompression())
+			return hop;
+		for(Hop in : hop.getInput()) {
+			Hop ret = findCompressedHop(in);
+			if(ret != null)
+				return ret;
+		}
+		return null;
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb, CompressionWorkload wl) {
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.setSeed(1);
+		cmb.setSamplingRatio(1.0);
+		cmb.setWorkload(wl);
+		MatrixBlock ret = cmb.compress();
+		assertTrue("Input was not compressed", ret instanceof CompressedMatrixBlock);
+		return cmb;
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		double[][] d1 = DataConverter.convertToDoubleMatrix(expected);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(d1, d2, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
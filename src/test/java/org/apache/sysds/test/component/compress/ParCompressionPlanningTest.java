@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.utils.DoubleIntHashMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests of the multi-threaded compression planning (co-coding and dictionary sharing) and its primitive hash maps.
+ */
+public class ParCompressionPlanningTest {
+	private static final int rows = 3000;
+	private static final int k = 4;
+
+	@Test
+	public void testParCompressionFewPartitions() {
+		// few low-cardinality columns, i.e., fewer co-coding partitions than threads
+		compareParCompression(TestUtils.round(TestUtils.generateTestMatrix(rows, 6, 0, 4, 1.0, 7)));
+	}
+
+	@Test
+	public void testParCompressionManyColumns() {
+		// many low-cardinality columns, amenable to dictionary sharing
+		compareParCompression(TestUtils.round(TestUtils.generateTestMatrix(rows, 60, 0, 20, 0.8, 3)));
+	}
+
+	@Test
+	public void testDoubleIntHashMap() {
+		DoubleIntHashMap map = new DoubleIntHashMap();
+		for(int i = 0; i < 1000; i++)
+			assertEquals(-1, map.putIfAbsent(i * 0.5, i));
+		assertEquals(1000, map.size());
+		for(int i = 0; i < 1000; i++)
+			assertEquals(i, map.get(i * 0.5));
+		assertEquals(-1, map.get(-7));
+
+		// canonical zeros and NaNs, and updates
+		assertEquals(0, map.putIfAbsent(-0.0, 7));
+		assertEquals(-1, map.putIfAbsent(Double.NaN, 1000));
+		assertEquals(1000, map.get(0.0 / 0.0));
+		map.put(1, 3);
+		assertEquals(3, map.get(1));
+		assertEquals(1001, map.size());
+
+		double[] keys = map.getKeys();
+		Arrays.sort(keys);
+		assertEquals(1001, keys.length);
+		assertEquals(0, keys[0], 0);
+		assertTrue(Double.isNaN(keys[1000]));
+	}
+
+	private static void compareParCompression(double[][] input) {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+		MatrixBlock ret1 = compress(mb, 1);
+		MatrixBlock ret2 = compress(mb, k);
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+		for(int i = 0; i < input.length; i++) {
+			assertArrayEquals(input[i], d1[i], 0);
+			assertArrayEquals(input[i], d2[i], 0);
+		}
+	}
+
+	private static MatrixBlock compress(MatrixBlock mb, int k) {
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.setSeed(1);
+		cmb.setSamplingRatio(0.1);
+		MatrixBlock ret = cmb.compress(k);
+		assertTrue("Input was not compressed", ret instanceof CompressedMatrixBlock);
+		return ((CompressedMatrixBlock) ret).decompress(k);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.MapMultChain.ChainType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.FedMethod;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerHandler;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.InputInfo;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.OutputInfo;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.junit.Test;
+
+public class FederatedBatchRequestTest
+{
+	private static final int rows = 1000;
+	private static final int cols = 20;
+
+	@Test
+	public void testBatchMatVecMultAggregate() {
+		IDSequence seq = new IDSequence();
+		Map<Long, CacheableData<?>> vars = new HashMap<>();
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, 0.7, 0, 1, "uniform", 7);
+		MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, 0, 1, "uniform", 3);
+		long varID = seq.getNextID();
+		vars.put(varID, createMatrixObject(X));
+
+		// sum(X %*% v) in a single round trip
+		FederatedRequest mv = new FederatedRequest(FedMethod.MATVECMULT).appendParams(v, true, varID);
+		FederatedRequest agg = new FederatedRequest(FedMethod.AGGREGATE).appendParams(
+			InstructionUtils.parseBasicAggregateUnaryOperator("uak+"), FederatedRequest.getBatchResultRef(0));
+		FederatedResponse response = execute(seq, vars, FederatedRequest.createBatch(mv, agg));
+
+		assertTrue(response.getErrorMessage(), response.isSuccessful());
+		double expected = X.aggregateBinaryOperations(X, v, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1)).sum();
+		assertEquals(expected, ((MatrixBlock) response.getData()).quickGetValue(0, 0), 1e-8);
+		// intermediates are removed after the batch
+		assertEquals(1, vars.size());
+	}
+
+	@Test
+	public void testBatchMMChain() {
+		IDSequence seq = new IDSequence();
+		Map<Long, CacheableData<?>> vars = new HashMap<>();
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, 0.7, 0, 1, "uniform", 7);
+		MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, 0, 1, "uniform", 3);
+		long varID = seq.getNextID();
+		vars.put(varID, createMatrixObject(X));
+
+		// t(X) %*% (X %*% v) as t(X %*% v) %*% X, w/o returning the intermediate
+		FederatedRequest mv = new FederatedRequest(FedMethod.MATVECMULT).appendParams(v, true, varID);
+		FederatedRequest vm = new FederatedRequest(FedMethod.MATVECMULT).appendParams(
+			FederatedRequest.getBatchResultRef(0), false, varID);
+		FederatedResponse response = execute(seq, vars, FederatedRequest.createBatch(mv, vm));
+
+		assertTrue(response.getErrorMessage(), response.isSuccessful());
+		MatrixBlock ret = (MatrixBlock) response.getData();
+		MatrixBlock expected = X.chainMatrixMultOperations(v, null, new MatrixBlock(), ChainType.XtXv, 1);
+		assertEquals(1, ret.getNumRows());
+		assertEquals(cols, ret.getNumColumns());
+		for( int j=0; j<cols; j++ )
+			assertEquals(expected.quickGetValue(j, 0), ret.quickGetValue(0, j), 1e-8);
+		assertEquals(1, vars.size());
+	}
+
+	@Test
+	public void testBatchNested() {
+		IDSequence seq = new IDSequence();
+		Map<Long, CacheableData<?>> vars = new HashMap<>();
+		FederatedRequest batch = FederatedRequest.createBatch(FederatedRequest.createBatch());
+		assertFalse(execute(seq, vars, batch).isSuccessful());
+	}
+
+	@Test
+	public void testBatchInvalidReference() {
+		IDSequence seq = new IDSequence();
+		Map<Long, CacheableData<?>> vars = new HashMap<>();
+		FederatedRequest agg = new FederatedRequest(FedMethod.AGGREGATE).appendParams(
+			InstructionUtils.parseBasicAggregateUnaryOperator("uak+"), FederatedRequest.getBatchResultRef(0));
+		FederatedResponse response = execute(seq, vars, FederatedRequest.createBatch(agg));
+		assertFalse(response.isSuccessful());
+	}
+
+	private static FederatedResponse execute(IDSequence seq, Map<Long, CacheableData<?>> vars, FederatedRequest request) {
+		EmbeddedChannel channel = new EmbeddedChannel(new FederatedWorkerHandler(seq, vars));
+		channel.writeInbound(request);
+		return (FederatedResponse) channel.readOutbound();
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb) {
+		MatrixObject mo = new MatrixObject(ValueType.FP64, "federated_batch_test",
+			new MetaDataFormat(new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns()),
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FederatedMessageCodecTest
+{
+	@Test
+	public void testRequestDenseMatrix() {
+		runRequestTest(MatrixBlock.randOperations(200, 30, 0.9, -1, 1, "uniform", 7));
+	}
+
+	@Test
+	public void testRequestSparseMatrix() {
+		runRequestTest(MatrixBlock.randOperations(500, 40, 0.05, -1, 1, "uniform", 7));
+	}
+
+	@Test
+	public void testRequestEmptyMatrix() {
+		runRequestTest(new MatrixBlock(10, 10, true));
+	}
+
+	@Test
+	public void testRequestBatch() {
+		MatrixBlock mb = MatrixBlock.randOperations(100, 1, 1.0, -1, 1, "uniform", 3);
+		FederatedRequest mv = new FederatedRequest(FederatedRequest.FedMethod.MATVECMULT, mb, true, 1L);
+		FederatedRequest vm = new FederatedRequest(FederatedRequest.FedMethod.MATVECMULT,
+			FederatedRequest.getBatchResultRef(0), false, 1L);
+		FederatedRequest batch = FederatedRequest.createBatch(mv, vm);
+		batch.setID(5);
+		FederatedRequest ret = (FederatedRequest) roundTrip(batch);
+
+		assertEquals(5, ret.getID());
+		assertEquals(FederatedRequest.FedMethod.BATCH, ret.getMethod());
+		assertEquals(2, ret.getNumParams());
+		FederatedRequest ret1 = (FederatedRequest) ret.getParam(0);
+		FederatedRequest ret2 = (FederatedRequest) ret.getParam(1);
+		compare(mb, (MatrixBlock) ret1.getParam(0));
+		assertEquals(FederatedRequest.getBatchResultRef(0), ret2.getParam(0));
+		assertEquals(false, ret2.getParam(1));
+		assertEquals(1L, ret2.getParam(2));
+	}
+
+	@Test
+	public void testResponseMatrix() {
+		MatrixBlock mb = MatrixBlock.randOperations(100, 1, 1.0, -1, 1, "uniform", 3);
+		FederatedResponse response = new FederatedResponse(FederatedResponse.Type.SUCCESS, mb);
+		response.setID(42);
+		FederatedResponse ret = (FederatedResponse) roundTrip(response);
+		assertEquals(42, ret.getID());
+		assertTrue(ret.isSuccessful());
+		compare(mb, (MatrixBlock) ret.getData());
+	}
+
+	@Test
+	public void testResponseError() {
+		FederatedResponse response = new FederatedResponse(FederatedResponse.Type.ERROR, "failure");
+		FederatedResponse ret = (FederatedResponse) roundTrip(response);
+		assertEquals(FederatedResponse.Type.ERROR, ret.getStatus());
+		assertEquals("failure", ret.getErrorMessage());
+	}
+
+	private static void runRequestTest(MatrixBlock mb) {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator("uack+");
+		FederatedRequest request = new FederatedRequest(FederatedRequest.FedMethod.MATVECMULT);
+		request.appendParams(mb, true, 7L, 3, 2.5, "x", null, op);
+		request.setID(13);
+		FederatedRequest ret = (FederatedRequest) roundTrip(request);
+
+		assertEquals(13, ret.getID());
+		assertEquals(FederatedRequest.FedMethod.MATVECMULT, ret.getMethod());
+		assertEquals(request.getNumParams(), ret.getNumParams());
+		compare(mb, (MatrixBlock) ret.getParam(0));
+		assertEquals(true, ret.getParam(1));
+		assertEquals(7L, ret.getParam(2));
+		assertEquals(3, ret.getParam(3));
+		assertEquals(2.5, ret.getParam(4));
+		assertEquals("x", ret.getParam(5));
+		assertEquals(null, ret.getParam(6));
+		assertTrue(ret.getParam(7) instanceof AggregateUnaryOperator);
+	}
+
+	private static Object roundTrip(Object msg) {
+		EmbeddedChannel out = new EmbeddedChannel(new FederatedMessageCodec.Encoder());
+		out.writeOutbound(msg);
+		ByteBuf buf = (ByteBuf) out.readOutbound();
+		EmbeddedChannel in = new EmbeddedChannel(new FederatedMessageCodec.Decoder());
+		in.writeInbound(buf);
+		return in.readInbound();
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
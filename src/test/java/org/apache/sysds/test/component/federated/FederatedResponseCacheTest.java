@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.FedMethod;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponseCache;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Test;
+
+public class FederatedResponseCacheTest
+{
+	@Test
+	public void testRepeatedAggregate() {
+		FederatedResponseCache cache = new FederatedResponseCache(1024 * 1024);
+		MatrixBlock result = new MatrixBlock(1, 10, 7.0);
+		put(cache, createAggregate("uack+", 3), result);
+
+		Statistics.reset();
+		assertNotNull(get(cache, createAggregate("uack+", 3)));
+		assertNull(get(cache, createAggregate("uark+", 3)));
+		assertNull(get(cache, createAggregate("uack+", 4)));
+		assertEquals(1, Statistics.getFederatedCacheHits());
+		assertEquals(2, Statistics.getFederatedCacheMisses());
+	}
+
+	@Test
+	public void testScalarOperatorKeys() {
+		FederatedResponseCache cache = new FederatedResponseCache(1024 * 1024);
+		put(cache, createScalar("*", 2, 3), new MatrixBlock(10, 10, 2.0));
+		assertNotNull(get(cache, createScalar("*", 2, 3)));
+		assertNull(get(cache, createScalar("*", 3, 3)));
+		assertNull(get(cache, createScalar("+", 2, 3)));
+		assertNull(get(cache, createScalar("max", 2, 3)));
+		assertNull(get(cache, createScalar("*", 2, 4)));
+	}
+
+	@Test
+	public void testLargeParamNotCached() {
+		FederatedResponseCache cache = new FederatedResponseCache(64 * 1024 * 1024);
+		MatrixBlock v = MatrixBlock.randOperations(1000, 200, 1.0, 0, 1, "uniform", 7);
+		assertNull(cache.createKey(createMatVecMult(v, 3)));
+		MatrixBlock v2 = MatrixBlock.randOperations(1000, 1, 1.0, 0, 1, "uniform", 7);
+		assertNotNull(cache.createKey(createMatVecMult(v2, 3)));
+	}
+
+	@Test
+	public void testMatVecMultDenseSparseVector() {
+		FederatedResponseCache cache = new FederatedResponseCache(1024 * 1024);
+		MatrixBlock v = MatrixBlock.randOperations(100, 1, 0.1, 0, 1, "uniform", 7);
+		MatrixBlock dense = new MatrixBlock(v);
+		dense.sparseToDense();
+		MatrixBlock sparse = new MatrixBlock(100, 1, true);
+		for( int i=0; i<100; i++ )
+			sparse.quickSetValue(i, 0, v.quickGetValue(i, 0));
+		assertTrue(sparse.isInSparseFormat() && !dense.isInSparseFormat());
+		put(cache, createMatVecMult(dense, 3), new MatrixBlock(1000, 1, 3.0));
+		assertNotNull(get(cache, createMatVecMult(sparse, 3)));
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		MatrixBlock result = new MatrixBlock(10, 10, 1.0);
+		FederatedResponseCache cache = new FederatedResponseCache(5 * result.getInMemorySize());
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for( int k=0; k<4; k++ )
+				tasks.add(pool.submit(() -> {
+					for( long i=0; i<1000; i++ ) {
+						FederatedRequest request = createAggregate("uack+", i % 8);
+						if( get(cache, request) == null )
+							put(cache, request, new MatrixBlock(result));
+					}
+				}));
+			for( Future<?> task : tasks )
+				task.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertTrue(cache.getSize() <= 5 * result.getInMemorySize());
+	}
+
+	@Test
+	public void testMatVecMultVerifiesVector() {
+		FederatedResponseCache cache = new FederatedResponseCache(1024 * 1024);
+		MatrixBlock v = MatrixBlock.randOperations(100, 1, 1.0, 0, 1, "uniform", 7);
+		MatrixBlock v2 = new MatrixBlock(v);
+		v2.quickSetValue(7, 0, v2.quickGetValue(7, 0) + 1);
+		put(cache, createMatVecMult(v, 3), new MatrixBlock(1000, 1, 3.0));
+		assertNotNull(get(cache, createMatVecMult(new MatrixBlock(v), 3)));
+		assertNull(get(cache, createMatVecMult(v2, 3)));
+	}
+
+	@Test
+	public void testEvictionMemoryBound() {
+		MatrixBlock result = new MatrixBlock(100, 100, 1.0);
+		FederatedResponseCache cache = new FederatedResponseCache(3 * result.getInMemorySize());
+		for( long i=0; i<10; i++ )
+			put(cache, createAggregate("uack+", i), new MatrixBlock(result));
+		assertEquals(3 * result.getInMemorySize(), cache.getSize());
+		assertNull(get(cache, createAggregate("uack+", 0)));
+		assertNotNull(get(cache, createAggregate("uack+", 9)));
+	}
+
+	private static FederatedRequest createAggregate(String opcode, long varID) {
+		return new FederatedRequest(FedMethod.AGGREGATE).appendParams(
+			InstructionUtils.parseBasicAggregateUnaryOperator(opcode), varID);
+	}
+
+	private static FederatedRequest createScalar(String opcode, double constant, long varID) {
+		ScalarOperator op = InstructionUtils.parseScalarBinaryOperator(opcode, false, constant);
+		return new FederatedRequest(FedMethod.SCALAR).appendParams(op, varID);
+	}
+
+	private static FederatedRequest createMatVecMult(MatrixBlock vector, long varID) {
+		return new FederatedRequest(FedMethod.MATVECMULT).appendParams(vector, true, varID);
+	}
+
+	private static void put(FederatedResponseCache cache, FederatedRequest request, MatrixBlock result) {
+		LineageItem key = cache.createKey(request);
+		cache.put(key, request, new FederatedResponse(FederatedResponse.Type.SUCCESS, result));
+	}
+
+	private static FederatedResponse get(FederatedResponseCache cache, FederatedRequest request) {
+		return cache.get(cache.createKey(request), request);
+	}
+}
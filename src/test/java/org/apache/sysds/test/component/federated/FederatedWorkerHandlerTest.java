@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.FedMethod;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponseCache;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerHandler;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.InputInfo;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.OutputInfo;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FederatedWorkerHandlerTest
+{
+	private static final int rows = 1000;
+	private static final int cols = 20;
+	private static final int numThreads = 4;
+	private static final int numRequests = 64;
+	private static final int chunkRows = 64; //multiple frames per transfer
+
+	private final IDSequence _seq = new IDSequence();
+	private final Map<Long, CacheableData<?>> _vars = new ConcurrentHashMap<>();
+	private final AtomicInteger _pooled = new AtomicInteger(0);
+	private final AtomicInteger _frames = new AtomicInteger(0);
+	private ThreadPoolExecutor _pool;
+	private EventLoopGroup _group;
+	private Channel _server;
+	private MatrixBlock _X;
+	private FederatedData _fedX;
+
+	@Before
+	public void setup() throws Exception {
+		//single channel to the worker, shared by all requests
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.FEDERATED_CONNECTIONS, "1");
+		ConfigurationManager.setLocalConfig(conf);
+
+		//local worker w/ compute pool that counts the executed requests
+		_pool = new ThreadPoolExecutor(numThreads, numThreads, 0, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>()) {
+			@Override
+			protected void beforeExecute(Thread t, Runnable r) {
+				_pooled.incrementAndGet();
+			}
+		};
+		_group = new NioEventLoopGroup(1);
+		_server = new ServerBootstrap().group(_group).channel(NioServerSocketChannel.class)
+			.childHandler(new ChannelInitializer<SocketChannel>() {
+				@Override
+				public void initChannel(SocketChannel ch) {
+					ch.pipeline()
+						.addLast("FederatedMessageDecoder", new FederatedMessageCodec.Decoder())
+						.addLast("FederatedMessageEncoder", new FederatedMessageCodec.Encoder())
+						.addLast("FrameCounter", new FrameCounter())
+						.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(
+							_seq, _vars, new FederatedResponseCache(), _pool));
+				}
+			}).bind(0).sync().channel();
+
+		_X = MatrixBlock.randOperations(rows, cols, 0.7, -1, 1, "uniform", 7);
+		long varID = _seq.getNextID();
+		_vars.put(varID, createMatrixObject(_X));
+		int port = ((InetSocketAddress) _server.localAddress()).getPort();
+		_fedX = new FederatedData(new InetSocketAddress("localhost", port), "federated_handler_test");
+		_fedX.setVarID(varID);
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		FederatedData.clearConnections();
+		_server.close().sync();
+		_group.shutdownGracefully().sync();
+		_pool.shutdownNow();
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testPooledExecution() throws Exception {
+		FederatedResponse response = _fedX.executeFederatedOperation(
+			new FederatedRequest(FedMethod.AGGREGATE, InstructionUtils.parseBasicAggregateUnaryOperator("uak+")),
+			true).get();
+		assertTrue(response.getErrorMessage(), response.isSuccessful());
+		assertEquals(_X.sum(), ((MatrixBlock) response.getData()).quickGetValue(0, 0), 1e-8);
+		assertEquals(1, _pooled.get());
+	}
+
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		//issue all requests before waiting for any response, with distinct vectors
+		//to check the correlation of out-of-order responses to their requests
+		List<MatrixBlock> vectors = new ArrayList<>();
+		List<Future<FederatedResponse>> aggs = new ArrayList<>();
+		List<Future<FederatedResponse>> mvs = new ArrayList<>();
+		for( int i=0; i<numRequests; i++ ) {
+			MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", i+1);
+			vectors.add(v);
+			mvs.add(_fedX.executeFederatedOperation(
+				new FederatedRequest(FedMethod.MATVECMULT, v, true), true));
+			aggs.add(_fedX.executeFederatedOperation(
+				new FederatedRequest(FedMethod.AGGREGATE, InstructionUtils.parseBasicAggregateUnaryOperator("uak+")),
+				true));
+		}
+		for( int i=0; i<numRequests; i++ ) {
+			FederatedResponse mv = mvs.get(i).get();
+			assertTrue(mv.getErrorMessage(), mv.isSuccessful());
+			MatrixBlock expected = _X.aggregateBinaryOperations(_X, vectors.get(i),
+				new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+			MatrixBlock actual = (MatrixBlock) mv.getData();
+			assertEquals(rows, actual.getNumRows());
+			for( int r=0; r<rows; r++ )
+				assertEquals(expected.quickGetValue(r, 0), actual.quickGetValue(r, 0), 1e-8);
+			FederatedResponse agg = aggs.get(i).get();
+			assertTrue(agg.getErrorMessage(), agg.isSuccessful());
+			assertEquals(_X.sum(), ((MatrixBlock) agg.getData()).quickGetValue(0, 0), 1e-8);
+		}
+		//all requests executed in the compute pool
+		assertEquals(2 * numRequests, _pooled.get());
+	}
+
+	@Test
+	public void testErrorInvalidParams() throws Exception {
+		//aggregate w/o operator
+		FederatedResponse response = _fedX.executeFederatedOperation(
+			new FederatedRequest(FedMethod.AGGREGATE), true).get();
+		assertFalse(response.isSuccessful());
+		assertTrue(response.getErrorMessage() != null);
+		checkSubsequentRequest();
+	}
+
+	@Test
+	public void testErrorUnknownVariable() throws Exception {
+		MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 3);
+		FederatedResponse response = _fedX.executeFederatedOperation(
+			new FederatedRequest(FedMethod.MATVECMULT, v, true), _seq.getNextID() + 100).get();
+		assertFalse(response.isSuccessful());
+		checkSubsequentRequest();
+	}
+
+	@Test
+	public void testErrorMalformedTransfer() throws Exception {
+		//streamed transfer w/ invalid chunk size, fails outside the regular request processing
+		FederatedResponse response = _fedX.executeFederatedOperation(
+			new FederatedRequest(FedMethod.TRANSFER, "rows"), true).get();
+		assertFalse(response.isSuccessful());
+		checkSubsequentRequest();
+	}
+
+	@Test
+	public void testTransferDense() throws Exception {
+		runTransferTest(0.7);
+	}
+
+	@Test
+	public void testTransferSparse() throws Exception {
+		runTransferTest(0.05);
+	}
+
+	@Test
+	public void testAutoReadBackPressure() {
+		//tiny water marks, s.t. a single pending response makes the channel unwritable
+		EmbeddedChannel channel = new EmbeddedChannel(new FederatedWorkerHandler(_seq, _vars));
+		channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 2));
+		assertTrue(channel.config().isAutoRead());
+
+		channel.write(new FederatedResponse(FederatedResponse.Type.SUCCESS_PARTIAL, _X));
+		channel.runPendingTasks();
+		assertFalse(channel.isWritable());
+		assertFalse(channel.config().isAutoRead());
+
+		//drained outbound buffer resumes reading new requests
+		channel.flush();
+		channel.runPendingTasks();
+		assertTrue(channel.isWritable());
+		assertTrue(channel.config().isAutoRead());
+		channel.finishAndReleaseAll();
+	}
+
+	private void runTransferTest(double sparsity) throws Exception {
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 11);
+		long varID = _seq.getNextID();
+		_vars.put(varID, createMatrixObject(X));
+		FederatedData fedX = new FederatedData(_fedX, varID);
+
+		//reassemble into a larger target at row and column offsets
+		int rowOffset = 7, colOffset = 3;
+		MatrixBlock target = new MatrixBlock(rows + 2 * rowOffset, cols + 2 * colOffset, false);
+		target.allocateDenseBlock();
+		FederatedResponse response = fedX.transferMatrix(target, rowOffset, colOffset, cols, chunkRows).get();
+
+		assertTrue(response.getErrorMessage(), response.isSuccessful());
+		assertEquals((rows + chunkRows - 1) / chunkRows, _frames.get());
+		assertEquals(X.getNonZeros(), target.getNonZeros());
+		assertEquals(X.getNonZeros(), target.recomputeNonZeros());
+		for( int i=0; i<target.getNumRows(); i++ )
+			for( int j=0; j<target.getNumColumns(); j++ ) {
+				boolean inside = i >= rowOffset && i < rowOffset + rows
+					&& j >= colOffset && j < colOffset + cols;
+				double expected = inside ? X.quickGetValue(i - rowOffset, j - colOffset) : 0;
+				assertEquals(expected, target.quickGetValue(i, j), 0);
+			}
+	}
+
+	private void checkSubsequentRequest() throws Exception {
+		//the error response keeps the shared channel usable
+		FederatedResponse response = _fedX.executeFederatedOperation(
+			new FederatedRequest(FedMethod.TRANSFER), true).get();
+		assertTrue(response.getErrorMessage(), response.isSuccessful());
+		MatrixBlock ret = (MatrixBlock) response.getData();
+		assertEquals(_X.getNonZeros(), ret.getNonZeros());
+		assertEquals(_X.sum(), ret.sum(), 1e-8);
+	}
+
+	private class FrameCounter extends ChannelOutboundHandlerAdapter {
+		@Override
+		public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+			if( ((FederatedResponse) msg).getStatus() == FederatedResponse.Type.SUCCESS_PARTIAL )
+				_frames.incrementAndGet();
+			super.write(ctx, msg, promise);
+		}
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb) {
+		MatrixObject mo = new MatrixObject(ValueType.FP64, "federated_handler_test",
+			new MetaDataFormat(new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns()),
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
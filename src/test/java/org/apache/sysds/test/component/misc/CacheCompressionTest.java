@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer.EvictionFormat;
+import org.apache.sysds.runtime.controlprogram.caching.CacheCompression;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CacheCompressionTest
+{
+	@Before
+	public void setup() {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CACHING_COMPRESS, "true");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@After
+	public void cleanup() {
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testCodecRepetitive() throws IOException {
+		byte[] data = new byte[1000000];
+		for( int i=0; i<data.length; i++ )
+			data[i] = (byte) (i % 37 + (i / 10000));
+		byte[] comp = CacheCompression.compress(data, data.length);
+		assertNotNull(comp);
+		assertTrue(comp.length < data.length / 10);
+		assertArrayEquals(data, CacheCompression.decompress(comp));
+	}
+
+	@Test
+	public void testCodecOverlappingMatches() throws IOException {
+		//long runs of single bytes and short periods
+		byte[] data = new byte[100000];
+		for( int i=0; i<data.length; i++ )
+			data[i] = (byte) ((i < 50000) ? 7 : i % 3);
+		byte[] comp = CacheCompression.compress(data, data.length);
+		assertNotNull(comp);
+		assertArrayEquals(data, CacheCompression.decompress(comp));
+	}
+
+	@Test
+	public void testCodecBypassRandom() {
+		byte[] data = new byte[1000000];
+		new Random(7).nextBytes(data);
+		assertNull(CacheCompression.compress(data, data.length));
+	}
+
+	@Test
+	public void testCodecTinyInputs() throws IOException {
+		for( int len=0; len<32; len++ ) {
+			byte[] data = new byte[len];
+			byte[] comp = CacheCompression.compress(data, len);
+			if( comp != null )
+				assertArrayEquals(data, CacheCompression.decompress(comp));
+		}
+	}
+
+	@Test
+	public void testSparseBufferInMemory() throws IOException {
+		MatrixBlock mb = createSparseBlock();
+		ByteBuffer bbuff = serialize(mb);
+		assertTrue(bbuff.isCompressed());
+		assertTrue(bbuff.getSize() < mb.getExactSerializedSize());
+		compare(mb, (MatrixBlock) bbuff.deserializeBlock());
+	}
+
+	@Test
+	public void testSparseBufferEviction() throws IOException {
+		MatrixBlock mb = createSparseBlock();
+		compare(mb, evictAndRead(mb, serialize(mb)));
+	}
+
+	@Test
+	public void testDenseBufferEviction() throws IOException {
+		MatrixBlock mb = new MatrixBlock(1000, 100, false);
+		for( int i=0; i<1000; i++ )
+			for( int j=0; j<100; j++ )
+				mb.quickSetValue(i, j, (i * j) % 10);
+		mb.recomputeNonZeros();
+		ByteBuffer bbuff = serialize(mb);
+		assertTrue(bbuff.isShallow());
+		compare(mb, evictAndRead(mb, bbuff));
+	}
+
+	@Test
+	public void testDenseBufferBypassRandom() throws IOException {
+		//incompressible dense block, bypassed based on the serialized prefix
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 1.0, -1, 1, "uniform", 7);
+		assertFalse(CacheCompression.isCompressible(mb));
+		ByteBuffer bbuff = serialize(mb);
+		File dir = Files.createTempDirectory("cache_compression_test").toFile();
+		try {
+			String fname = new File(dir, "block.dat").getAbsolutePath();
+			assertNotEquals(EvictionFormat.COMPRESSED, bbuff.evictBuffer(fname));
+			assertFalse(bbuff.isCompressed());
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	private static MatrixBlock createSparseBlock() {
+		//ultra-sparse block with deep serialization
+		return MatrixBlock.randOperations(10000, 1000, 0.00005, 1, 1, "uniform", 7);
+	}
+
+	private static ByteBuffer serialize(MatrixBlock mb) throws IOException {
+		ByteBuffer bbuff = new ByteBuffer(LazyWriteBuffer.getCacheBlockSize(mb));
+		bbuff.serializeBlock(mb);
+		return bbuff;
+	}
+
+	private static MatrixBlock evictAndRead(MatrixBlock mb, ByteBuffer bbuff) throws IOException {
+		File dir = Files.createTempDirectory("cache_compression_test").toFile();
+		try {
+			String fname = new File(dir, "block.dat").getAbsolutePath();
+			assertEquals(EvictionFormat.COMPRESSED, bbuff.evictBuffer(fname));
+			assertTrue(new File(fname).length() < mb.getExactSerializedSize());
+			return (MatrixBlock) CacheCompression.readBlockFromLocal(fname, true);
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LazyWriteBufferTest
+{
+	private static final int numBlocks = 32;
+	private static final int numThreads = 8;
+
+	@Test
+	public void testConcurrentWriteEvictRead() throws Exception {
+		File dir = Files.createTempDirectory("lazy_write_buffer_test").toFile();
+		LazyWriteBuffer.init();
+		try {
+			//concurrent writes of dense and sparse blocks
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			List<Callable<Object>> tasks = new ArrayList<>();
+			for( int i=0; i<numBlocks; i++ ) {
+				final String fname = new File(dir, "block_"+i+".dat").getAbsolutePath();
+				final MatrixBlock mb = createBlock(i);
+				tasks.add(() -> LazyWriteBuffer.writeBlock(fname, mb));
+			}
+			for( Future<Object> f : pool.invokeAll(tasks) )
+				f.get();
+			pool.shutdown();
+
+			//evict all blocks and read them back from local FS
+			LazyWriteBuffer.forceEviction();
+			assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+			for( int i=0; i<numBlocks; i++ ) {
+				String fname = new File(dir, "block_"+i+".dat").getAbsolutePath();
+				MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+				compare(createBlock(i), ret);
+				LazyWriteBuffer.deleteBlock(fname);
+			}
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	@Test
+	public void testConcurrentReadDeleteDuringEviction() throws Exception {
+		File dir = Files.createTempDirectory("lazy_write_buffer_test").toFile();
+		LazyWriteBuffer.init();
+		try {
+			for( int i=0; i<numBlocks; i++ ) {
+				String fname = new File(dir, "block_"+i+".dat").getAbsolutePath();
+				LazyWriteBuffer.writeBlock(fname, createBlock(i));
+			}
+			
+			//concurrent reads and deletes of blocks with pending evictions
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			List<Callable<Object>> tasks = new ArrayList<>();
+			tasks.add(() -> {LazyWriteBuffer.forceEviction(); return null;});
+			for( int i=0; i<numBlocks; i++ ) {
+				final int ix = i;
+				final String fname = new File(dir, "block_"+i+".dat").getAbsolutePath();
+				tasks.add(() -> {
+					compare(createBlock(ix), (MatrixBlock) LazyWriteBuffer.readBlock(fname, true));
+					LazyWriteBuffer.deleteBlock(fname);
+					return null;
+				});
+			}
+			for( Future<Object> f : pool.invokeAll(tasks) )
+				f.get();
+			pool.shutdown();
+			
+			//wait for canceled evictions, which release their buffers
+			LazyWriteBuffer.forceEviction();
+			assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	private static MatrixBlock createBlock(int i) {
+		double sparsity = (i % 2 == 0) ? 0.9 : 0.05;
+		return MatrixBlock.randOperations(500, 100, sparsity, -1, 1, "uniform", i+7);
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.controlprogram.caching.MappedCacheFile;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class MappedCacheFileTest
+{
+	@Test
+	public void testDenseBlock() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.9, -1, 1, "uniform", 7);
+		MatrixBlock ret = roundTrip(mb);
+		assertFalse(ret.isInSparseFormat());
+		compare(mb, ret);
+	}
+
+	@Test
+	public void testCSRBlock() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.05, -1, 1, "uniform", 7);
+		mb = new MatrixBlock(mb, SparseBlock.Type.CSR, true);
+		MatrixBlock ret = roundTrip(mb);
+		assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+		compare(mb, ret);
+	}
+
+	@Test
+	public void testCSRBlockStaleNnz() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.05, -1, 1, "uniform", 7);
+		mb = new MatrixBlock(mb, SparseBlock.Type.CSR, true);
+		long nnz = mb.getNonZeros();
+		mb.setNonZeros(nnz + 17);
+		MatrixBlock ret = roundTrip(mb);
+		assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+		assertEquals(nnz, ret.getNonZeros());
+		mb.setNonZeros(nnz);
+		compare(mb, ret);
+	}
+
+	@Test
+	public void testEmptyBlock() throws IOException {
+		MatrixBlock mb = new MatrixBlock(100, 10, true);
+		MatrixBlock ret = roundTrip(mb);
+		assertTrue(ret.isEmptyBlock(false));
+		assertEquals(100, ret.getNumRows());
+		assertEquals(10, ret.getNumColumns());
+	}
+
+	@Test
+	public void testMCSRBlockNotSupported() {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.05, -1, 1, "uniform", 7);
+		mb = new MatrixBlock(mb, SparseBlock.Type.MCSR, true);
+		assertFalse(MappedCacheFile.isSupported(mb));
+	}
+
+	private static MatrixBlock roundTrip(MatrixBlock mb) throws IOException {
+		assertTrue(MappedCacheFile.isSupported(mb));
+		File f = File.createTempFile("mapped_cache_test", ".dat");
+		try {
+			MappedCacheFile.writeBlock(f.getAbsolutePath(), mb);
+			return MappedCacheFile.readBlock(f.getAbsolutePath());
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.controlprogram.caching.OffHeapCache;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OffHeapCacheTest
+{
+	private static final int numBlocks = 16;
+	private static final int numThreads = 4;
+
+	@Before
+	public void setup() {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CACHING_OFFHEAP, "true");
+		ConfigurationManager.setLocalConfig(conf);
+		Assume.assumeTrue(OffHeapCache.isEnabled());
+		OffHeapCache.clear();
+	}
+
+	@After
+	public void cleanup() {
+		OffHeapCache.clear();
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		assertFalse(new DMLConfig().getBooleanValue(DMLConfig.CACHING_OFFHEAP));
+	}
+
+	@Test
+	public void testDenseBlock() throws IOException {
+		//multi-page dense block
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.9, -1, 1, "uniform", 7);
+		compare(mb, roundTrip("dense", mb));
+	}
+
+	@Test
+	public void testSparseBlock() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.05, -1, 1, "uniform", 7);
+		compare(mb, roundTrip("sparse", mb));
+	}
+
+	@Test
+	public void testSerializedBytes() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.05, -1, 1, "uniform", 3);
+		CacheDataOutput out = new CacheDataOutput((int) mb.getExactSerializedSize());
+		mb.write(out);
+		assertTrue(OffHeapCache.writeBytes("bytes", out.getBytes()));
+		compare(mb, (MatrixBlock) OffHeapCache.readBlock("bytes", true));
+	}
+
+	@Test
+	public void testFrameBlock() throws IOException {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.FP64});
+		for(int i = 0; i < 100; i++)
+			fb.appendRow(new Object[] {"a" + i, (double) i});
+		assertTrue(OffHeapCache.writeBlock("frame", fb));
+		FrameBlock fb2 = (FrameBlock) OffHeapCache.readBlock("frame", false);
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb),
+			DataConverter.convertToStringFrame(fb2), fb.getNumRows(), fb.getNumColumns());
+	}
+
+	@Test
+	public void testDeleteAndReuse() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.9, -1, 1, "uniform", 7);
+		assertTrue(OffHeapCache.writeBlock("a", mb));
+		long size = OffHeapCache.getOffHeapSize();
+		assertTrue(size >= mb.getExactSerializedSize());
+
+		//overwrite and delete release the allocated pages
+		assertTrue(OffHeapCache.writeBlock("a", mb));
+		assertEquals(size, OffHeapCache.getOffHeapSize());
+		assertTrue(OffHeapCache.deleteBlock("a"));
+		assertFalse(OffHeapCache.contains("a"));
+		assertNull(OffHeapCache.readBlock("a", true));
+		assertEquals(0, OffHeapCache.getOffHeapSize());
+	}
+
+	@Test
+	public void testDemotionToLocalFS() throws IOException {
+		//fill the off-heap tier beyond its capacity (small limits only)
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.9, -1, 1, "uniform", 7);
+		Assume.assumeTrue(OffHeapCache.getOffHeapLimit() <= 64 * mb.getExactSerializedSize());
+		int numBlocks = (int)(OffHeapCache.getOffHeapLimit() / mb.getExactSerializedSize()) + 2;
+		File dir = Files.createTempDirectory("off_heap_cache_test").toFile();
+		try {
+			for( int i=0; i<numBlocks; i++ )
+				assertTrue(OffHeapCache.writeBlock(new File(dir, "block_"+i).getAbsolutePath(), mb));
+			
+			//least recently used block demoted to local FS, last block still off-heap
+			String fname = new File(dir, "block_0").getAbsolutePath();
+			assertFalse(OffHeapCache.contains(fname));
+			assertNull(OffHeapCache.readBlock(fname, true));
+			compare(mb, (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true));
+			assertTrue(OffHeapCache.contains(new File(dir, "block_"+(numBlocks-1)).getAbsolutePath()));
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	@Test
+	public void testConcurrentWriteDelete() throws Exception {
+		//deletes racing with writes of the same blocks leave no orphaned entries
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 100, 0.9, -1, 1, "uniform", 7);
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Callable<Object>> tasks = new ArrayList<>();
+			for( int i=0; i<numBlocks; i++ ) {
+				final String fname = "block_" + i;
+				tasks.add(() -> OffHeapCache.writeBlock(fname, mb));
+				tasks.add(() -> OffHeapCache.deleteBlock(fname));
+			}
+			for( Future<Object> f : pool.invokeAll(tasks) )
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		for( int i=0; i<numBlocks; i++ )
+			OffHeapCache.deleteBlock("block_" + i);
+		for( int i=0; i<numBlocks; i++ )
+			assertFalse(OffHeapCache.contains("block_" + i));
+		assertEquals(0, OffHeapCache.getOffHeapSize());
+	}
+
+	private static MatrixBlock roundTrip(String fname, MatrixBlock mb) throws IOException {
+		assertTrue(OffHeapCache.writeBlock(fname, mb));
+		assertTrue(OffHeapCache.contains(fname));
+		return (MatrixBlock) OffHeapCache.readBlock(fname, true);
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.PrefetchScheduler;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.InstructionParser;
+import org.apache.sysds.runtime.matrix.data.InputInfo;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.OutputInfo;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchTest
+{
+	private static final int rows = 1000;
+	private static final int cols = 100;
+	private static final int blen = 1000;
+	private static final int lookahead = 8; //see PrefetchScheduler
+
+	private File _dir;
+	private ExecutionContext _ec;
+	private boolean _stats;
+
+	@Before
+	public void setup() throws Exception {
+		_dir = Files.createTempDirectory("prefetch_test").toFile();
+		CacheableData.initCaching("tmp_prefetch_test");
+		_stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		_ec = ExecutionContextFactory.createContext();
+	}
+
+	@After
+	public void cleanup() {
+		DMLScript.STATISTICS = _stats;
+		CacheableData.cleanupCacheDir();
+		FileUtils.deleteQuietly(_dir);
+	}
+
+	@Test
+	public void testPrefetchUnreadDense() throws Exception {
+		runPrefetchTest(0.9);
+	}
+
+	@Test
+	public void testPrefetchUnreadSparse() throws Exception {
+		runPrefetchTest(0.05);
+	}
+
+	@Test
+	public void testScheduleWindow() throws Exception {
+		//one instruction per input, beyond the lookahead window
+		List<Instruction> inst = new ArrayList<>();
+		List<MatrixObject> inputs = new ArrayList<>();
+		for( int i=0; i<lookahead+2; i++ ) {
+			inputs.add(createMatrix("X"+i, i));
+			inst.add(createBinary("X"+i, "X"+i, "Y"+i));
+		}
+		PrefetchScheduler ps = PrefetchScheduler.create(inst, _ec);
+		assertNotNull(ps);
+
+		//prefetch inputs of the window, but not of the current instruction
+		ps.schedule(0);
+		assertEquals(lookahead, CacheStatistics.getPrefetches());
+		assertTrue(inputs.get(0).isPrefetchCandidate());
+
+		//overlapping window, w/o repeated prefetches of pending inputs
+		ps.schedule(1);
+		assertEquals(lookahead+1, CacheStatistics.getPrefetches());
+
+		//prefetched inputs consumed from memory, w/o double reads
+		for( int i=1; i<inputs.size(); i++ )
+			waitForPrefetch(inputs.get(i));
+		for( int i=0; i<inputs.size(); i++ ) {
+			MatrixBlock mb = inputs.get(i).acquireRead();
+			inputs.get(i).release();
+			compare(createBlock(i), mb);
+		}
+		assertEquals(lookahead+2, CacheStatistics.getHDFSHits());
+		assertEquals(lookahead+1, CacheStatistics.getMemHits());
+	}
+
+	@Test
+	public void testScheduleSkipWritten() throws Exception {
+		//B is written by the current instruction, and thus not prefetched
+		MatrixObject b = createMatrix("B", 1);
+		MatrixObject d = createMatrix("D", 2);
+		List<Instruction> inst = new ArrayList<>();
+		inst.add(createBinary("A", "A", "B"));
+		inst.add(createBinary("B", "B", "C"));
+		inst.add(createBinary("D", "D", "E"));
+		PrefetchScheduler.create(inst, _ec).schedule(0);
+		assertEquals(1, CacheStatistics.getPrefetches());
+		assertTrue(b.isPrefetchCandidate());
+		waitForPrefetch(d);
+		assertFalse(d.isPrefetchCandidate());
+	}
+
+	@Test
+	public void testScheduleBudget() throws Exception {
+		//inputs beyond the prefetch budget stop the scan
+		createMatrix("X1", 1);
+		createMatrix("H", 100000, 100000);
+		MatrixObject x3 = createMatrix("X3", 3);
+		List<Instruction> inst = new ArrayList<>();
+		inst.add(createBinary("X0", "X0", "Y0"));
+		inst.add(createBinary("X1", "X1", "Y1"));
+		inst.add(createBinary("H", "H", "Y2"));
+		inst.add(createBinary("X3", "X3", "Y3"));
+		PrefetchScheduler.create(inst, _ec).schedule(0);
+		assertEquals(1, CacheStatistics.getPrefetches());
+		assertTrue(x3.isPrefetchCandidate());
+	}
+
+	@Test
+	public void testScheduleUnknownInstruction() throws Exception {
+		//instructions w/ unknown inputs and outputs stop the scan
+		createMatrix("X1", 1);
+		MatrixObject x3 = createMatrix("X3", 3);
+		List<Instruction> inst = new ArrayList<>();
+		inst.add(createBinary("X0", "X0", "Y0"));
+		inst.add(createBinary("X1", "X1", "Y1"));
+		inst.add(new Instruction() {
+			@Override
+			public IType getType() {
+				return IType.CONTROL_PROGRAM;
+			}
+			@Override
+			public void processInstruction(ExecutionContext ec) {}
+		});
+		inst.add(createBinary("X3", "X3", "Y3"));
+		PrefetchScheduler.create(inst, _ec).schedule(0);
+		assertEquals(1, CacheStatistics.getPrefetches());
+		assertTrue(x3.isPrefetchCandidate());
+	}
+
+	@Test
+	public void testReleaseAllCompleted() throws Exception {
+		runReleaseAllTest(true);
+	}
+
+	@Test
+	public void testReleaseAllPending() throws Exception {
+		runReleaseAllTest(false);
+	}
+
+	private void runReleaseAllTest(boolean complete) throws Exception {
+		List<Instruction> inst = new ArrayList<>();
+		List<PrefetchMatrixObject> inputs = new ArrayList<>();
+		for( int i=0; i<lookahead+1; i++ ) {
+			inputs.add(createMatrix("X"+i, i));
+			inst.add(createBinary("X"+i, "X"+i, "Y"+i));
+		}
+		PrefetchScheduler ps = PrefetchScheduler.create(inst, _ec);
+		ps.schedule(0);
+		if( complete )
+			for( int i=1; i<inputs.size(); i++ )
+				waitForPrefetched(inputs.get(i));
+
+		//no prefetched data retained after the release, incl running
+		//and queued prefetches, which are awaited or skipped
+		ps.releaseAll();
+		for( PrefetchMatrixObject mo : inputs )
+			assertFalse(mo.isPrefetched());
+		for( int i=0; i<inputs.size(); i++ ) {
+			MatrixBlock mb = inputs.get(i).acquireRead();
+			inputs.get(i).release();
+			compare(createBlock(i), mb);
+		}
+	}
+
+	private void runPrefetchTest(double sparsity) throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		MatrixObject mo = createMatrix("A", mb);
+		assertTrue(mo.isPrefetchCandidate());
+
+		//prefetch into memory w/o change of cache status
+		assertTrue(mo.prefetch());
+		assertFalse(mo.isPrefetchCandidate());
+		assertFalse(mo.prefetch());
+
+		//subsequent read from memory
+		MatrixBlock mb2 = mo.acquireRead();
+		mo.release();
+		compare(mb, mb2);
+		assertEquals(1, CacheStatistics.getHDFSHits());
+		assertEquals(1, CacheStatistics.getMemHits());
+	}
+
+	private PrefetchMatrixObject createMatrix(String name, int seed) throws Exception {
+		return createMatrix(name, createBlock(seed));
+	}
+
+	private PrefetchMatrixObject createMatrix(String name, MatrixBlock mb) throws Exception {
+		PrefetchMatrixObject mo = createMatrix(name, mb.getNumRows(), mb.getNumColumns());
+		DataConverter.writeMatrixToHDFS(mb, mo.getFileName(),
+			OutputInfo.BinaryBlockOutputInfo, mo.getDataCharacteristics());
+		return mo;
+	}
+
+	private PrefetchMatrixObject createMatrix(String name, long nrow, long ncol) {
+		//unread matrix w/ known dimensions
+		String fname = new File(_dir, name).getAbsolutePath();
+		PrefetchMatrixObject mo = new PrefetchMatrixObject(ValueType.FP64, fname, new MetaDataFormat(
+			new MatrixCharacteristics(nrow, ncol, blen, -1),
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		_ec.setVariable(name, mo);
+		return mo;
+	}
+
+	private static Instruction createBinary(String in1, String in2, String out) {
+		String str = "CP" + Lop.OPERAND_DELIMITOR + "+"
+			+ Lop.OPERAND_DELIMITOR + createOperand(in1)
+			+ Lop.OPERAND_DELIMITOR + createOperand(in2)
+			+ Lop.OPERAND_DELIMITOR + createOperand(out);
+		return InstructionParser.parseSingleInstruction(str);
+	}
+
+	private static String createOperand(String name) {
+		return name + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64";
+	}
+
+	private static MatrixBlock createBlock(int seed) {
+		return MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", seed+7);
+	}
+
+	private static void waitForPrefetch(MatrixObject mo) throws InterruptedException {
+		//candidates until the asynchronous prefetch started
+		for( int i=0; i<1000 && mo.isPrefetchCandidate(); i++ )
+			Thread.sleep(10);
+	}
+
+	private static void waitForPrefetched(PrefetchMatrixObject mo) throws InterruptedException {
+		for( int i=0; i<1000 && !mo.isPrefetched(); i++ )
+			Thread.sleep(10);
+		assertTrue(mo.isPrefetched());
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+
+	private static class PrefetchMatrixObject extends MatrixObject
+	{
+		private static final long serialVersionUID = 3894208817521938615L;
+
+		public PrefetchMatrixObject(ValueType vt, String file, MetaData mtd) {
+			super(vt, file, mtd);
+		}
+
+		public boolean isPrefetched() {
+			return _prefetched != null;
+		}
+	}
+}
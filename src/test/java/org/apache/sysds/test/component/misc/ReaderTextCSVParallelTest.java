@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReaderTextCSVParallelTest
+{
+	private static final int rows = 3000;
+	private static final int cols = 20;
+	private static final int blen = 1000;
+	private static final int threads = 4; //multiple splits
+	private static final double fillValue = 7;
+
+	private File _dir;
+
+	@Before
+	public void setup() throws Exception {
+		_dir = Files.createTempDirectory("csv_read_test").toFile();
+	}
+
+	@After
+	public void cleanup() {
+		FileUtils.deleteQuietly(_dir);
+	}
+
+	@Test
+	public void testDenseSinglePass() throws Exception {
+		runReadTest(0.9, false, false, true, false);
+	}
+
+	@Test
+	public void testDenseTwoPass() throws Exception {
+		runReadTest(0.9, false, false, false, false);
+	}
+
+	@Test
+	public void testDenseHeaderSinglePass() throws Exception {
+		runReadTest(0.9, true, false, true, false);
+	}
+
+	@Test
+	public void testDenseHeaderTwoPass() throws Exception {
+		runReadTest(0.9, true, false, false, false);
+	}
+
+	@Test
+	public void testSparseSinglePass() throws Exception {
+		runReadTest(0.05, false, false, true, false);
+	}
+
+	@Test
+	public void testSparseTwoPass() throws Exception {
+		runReadTest(0.05, false, false, false, false);
+	}
+
+	@Test
+	public void testSparseEstnnzSinglePass() throws Exception {
+		runReadTest(0.05, true, false, true, true);
+	}
+
+	@Test
+	public void testSparseEstnnzTwoPass() throws Exception {
+		runReadTest(0.05, true, false, false, true);
+	}
+
+	@Test
+	public void testFillSinglePass() throws Exception {
+		runReadTest(0.3, true, true, true, false);
+	}
+
+	@Test
+	public void testFillTwoPass() throws Exception {
+		runReadTest(0.3, true, true, false, false);
+	}
+
+	@Test
+	public void testFillSparseEstnnzSinglePass() throws Exception {
+		runReadTest(0.05, false, true, true, true);
+	}
+
+	@Test
+	public void testEmptyFieldSinglePass() throws Exception {
+		runEmptyFieldTest(true);
+	}
+
+	@Test
+	public void testEmptyFieldTwoPass() throws Exception {
+		runEmptyFieldTest(false);
+	}
+
+	private void runReadTest(double sparsity, boolean header, boolean empty, boolean singlePass, boolean meta)
+		throws Exception
+	{
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		String fname = writeCSV(mb, header, empty);
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", empty, fillValue, null);
+
+		//known dimensions and nnz (sparse estimate), or unknown meta data
+		long rlen = meta ? rows : -1;
+		long clen = meta ? cols : -1;
+		long estnnz = meta ? mb.getNonZeros() : -1;
+		MatrixBlock expected = new ReaderTextCSV(props)
+			.readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		MatrixBlock actual = new ReaderTextCSVParallel(props, threads, singlePass)
+			.readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+
+		assertEquals(rows, actual.getNumRows());
+		assertEquals(cols, actual.getNumColumns());
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), rows, cols, 0);
+		if( !empty )
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(actual), rows, cols, 1e-14);
+	}
+
+	private void runEmptyFieldTest(boolean singlePass) throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 0.3, -1, 1, "uniform", 7);
+		String fname = writeCSV(mb, false, true);
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", false, fillValue, null);
+		try {
+			new ReaderTextCSVParallel(props, threads, singlePass)
+				.readMatrixFromHDFS(fname, -1, -1, blen, -1);
+			fail("Read of empty fields w/o fill should fail.");
+		}
+		catch(IOException ex) {
+			//error message includes the offending line
+			String msg = getMessages(ex);
+			assertTrue(msg, msg.contains("Empty fields found"));
+			assertTrue(msg, msg.contains(",,"));
+		}
+	}
+
+	private String writeCSV(MatrixBlock mb, boolean header, boolean empty) throws IOException {
+		//zeros written as empty fields if requested
+		StringBuilder sb = new StringBuilder();
+		if( header ) {
+			for( int j=0; j<cols; j++ )
+				sb.append((j>0) ? "," : "").append("C").append(j+1);
+			sb.append('\n');
+		}
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ ) {
+				double v = mb.quickGetValue(i, j);
+				if( j > 0 )
+					sb.append(',');
+				if( v != 0 || !empty )
+					sb.append(v);
+			}
+			sb.append('\n');
+		}
+		File f = new File(_dir, "X.csv");
+		FileUtils.writeStringToFile(f, sb.toString(), StandardCharsets.UTF_8);
+		return f.getAbsolutePath();
+	}
+
+	private static String getMessages(Throwable ex) {
+		StringBuilder sb = new StringBuilder();
+		for( Throwable t = ex; t != null; t = t.getCause() )
+			sb.append(t.getMessage()).append('\n');
+		return sb.toString();
+	}
+}
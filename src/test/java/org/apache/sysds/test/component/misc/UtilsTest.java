@@ -23,11 +23,13 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -124,4 +126,29 @@ public class UtilsTest {
 		dmlConfig.setTextValue("E", "a");
 		Assert.assertEquals("a", dmlConfig.getTextValue("E"));
 	}
+
+	@Test
+	public void testParseDoubleBytes() {
+		String[] values = {"0", "-0", "7", "+7", "-3.25", "1.", ".5", "0.000123", "1.500000",
+			"123456789012345", "1234567890123456789", "0.1", "-2.2250738585072014E-308",
+			"1e22", "1E23", "6.02e+23", "1.7976931348623157e308", "4.9e-324", "1e-400",
+			"3.141592653589793", "NaN", "Infinity", "-Infinity"};
+		for( String val : values ) {
+			byte[] buf = ("," + val + ",").getBytes(StandardCharsets.UTF_8);
+			Assert.assertEquals(val, Double.doubleToLongBits(Double.parseDouble(val)),
+				Double.doubleToLongBits(IOUtilFunctions.parseDouble(buf, 1, buf.length - 1)));
+		}
+	}
+
+	@Test
+	public void testParseDoubleBytesNA() {
+		byte[] buf = "NA".getBytes(StandardCharsets.UTF_8);
+		Assert.assertTrue(Double.isNaN(IOUtilFunctions.parseDouble(buf, 0, buf.length)));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleBytesFail() {
+		byte[] buf = "1.5e".getBytes(StandardCharsets.UTF_8);
+		IOUtilFunctions.parseDouble(buf, 0, buf.length);
+	}
 }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.lineage;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.recompile.Recompiler;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCachePolicy;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class CacheEvictionTest extends AutomatedTestBase {
+	
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "CacheEviction1";
+	protected String TEST_CLASS_DIR = TEST_DIR + CacheEvictionTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+	
+	@Test
+	public void testEvictionLRU() {
+		testEviction(TEST_NAME1, LineageCachePolicy.LRU, false);
+	}
+	
+	@Test
+	public void testEvictionCostNSize() {
+		testEviction(TEST_NAME1, LineageCachePolicy.COSTNSIZE, false);
+	}
+	
+	@Test
+	public void testEvictionWeighted() {
+		testEviction(TEST_NAME1, LineageCachePolicy.WEIGHTED, false);
+	}
+	
+	@Test
+	public void testEvictionSpillLRU() {
+		testEviction(TEST_NAME1, LineageCachePolicy.LRU, true);
+	}
+	
+	@Test
+	public void testEvictionSpillCostNSize() {
+		testEviction(TEST_NAME1, LineageCachePolicy.COSTNSIZE, true);
+	}
+	
+	@Test
+	public void testEvictionPolicyHits() {
+		// LRU evicts in a cyclic pattern, while the cost-based policy
+		// keeps the small but expensive intermediates for reuse
+		long hitsLRU = testEviction(TEST_NAME1, LineageCachePolicy.LRU, false);
+		long hitsCostNSize = testEviction(TEST_NAME1, LineageCachePolicy.COSTNSIZE, false);
+		Assert.assertTrue("Expected more hits with COSTNSIZE ("+hitsCostNSize+") than LRU ("+hitsLRU+")",
+			hitsCostNSize > hitsLRU);
+	}
+	
+	public long testEviction(String testname, LineageCachePolicy policy, boolean spill) {
+		boolean old_simplification = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
+		boolean old_sum_product = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES;
+		
+		try {
+			System.out.println("------------ BEGIN " + testname + "------------");
+			
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = false;
+			
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			
+			// Without lineage-based reuse enabled
+			List<String> proArgs = new ArrayList<>();
+			proArgs.add("-stats");
+			proArgs.add("-lineage");
+			proArgs.add("-args");
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromHDFS("R");
+			
+			// With lineage-based reuse and the given eviction policy
+			proArgs.clear();
+			proArgs.add("-stats");
+			proArgs.add("-lineage");
+			proArgs.add(ReuseCacheType.REUSE_FULL.name().toLowerCase());
+			proArgs.add("policy_" + policy.name().toLowerCase());
+			proArgs.add("-args");
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			
+			Lineage.resetInternalState();
+			Lineage.setLinReuseFull();
+			LineageCacheConfig.setSpill(spill);
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromHDFS("R");
+			Lineage.setLinReuseNone();
+			
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+			
+			// the intermediates exceed the cache size, so entries must be evicted
+			long deletes = LineageCacheStatistics.getEvictDeletes();
+			long spills = LineageCacheStatistics.getEvictSpills();
+			Assert.assertTrue("No evictions with " + policy, deletes + spills > 0);
+			if( !spill )
+				Assert.assertEquals(0, spills);
+			else if( policy == LineageCachePolicy.LRU )
+				// evicted expensive intermediates are spilled instead of dropped
+				Assert.assertTrue("No spills with " + policy, spills > 0);
+			return LineageCacheStatistics.getMemHits();
+		}
+		finally {
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = old_simplification;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = old_sum_product;
+			LineageCacheConfig.resetCachePolicy();
+			LineageCacheConfig.setSpill(false);
+			Recompiler.reinitRecompiler();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.Encoder;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+public class TransformEncodeCompressedTest extends AutomatedTestBase 
+{
+	private static final int rows = 4000;
+	
+	private static final String SPEC1 = "{ids:true, recode:[1,2,4]}";
+	private static final String SPEC2 = "{ids:true, recode:[1,2,4], dummycode:[1]}";
+	private static final String SPEC3 = "{ids:true, recode:[1,2,4], dummycode:[1,2]}";
+	private static final String SPEC4 = "{ids:true, recode:[4], bin:[{id:3, method:equi-width, numbins:5}], dummycode:[3]}";
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testTransformEncodeCompressedRecode() {
+		runTransformEncodeCompressed(SPEC1);
+	}
+	
+	@Test
+	public void testTransformEncodeCompressedDummycodeSmallDomain() {
+		runTransformEncodeCompressed(SPEC2);
+	}
+	
+	@Test
+	public void testTransformEncodeCompressedDummycodeLargeDomain() {
+		runTransformEncodeCompressed(SPEC3);
+	}
+	
+	@Test
+	public void testTransformEncodeCompressedBinDummycode() {
+		runTransformEncodeCompressed(SPEC4);
+	}
+	
+	private static void runTransformEncodeCompressed(String spec) {
+		//generate input data: low and high cardinality strings, 
+		//numeric values, and strings with missing values
+		FrameBlock data = new FrameBlock(new ValueType[]{
+			ValueType.STRING, ValueType.STRING, ValueType.FP64, ValueType.STRING});
+		for( int i=0; i<rows; i++ ) {
+			data.appendRow(new Object[]{"a"+(i%7), "b"+(i*31%600),
+				Double.valueOf(i%13 * 1.5), (i%9==0) ? null : "c"+(i%3)});
+		}
+		
+		//execute transform encode w/o and w/ compressed output
+		Encoder encoder1 = EncoderFactory.createEncoder(spec,
+			data.getColumnNames(), data.getSchema(), null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, 4, false));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec.replace("ids:true", "ids:true, compressed:true"),
+			data.getColumnNames(), data.getSchema(), null);
+		MatrixBlock out2 = encoder2.encode(data, new MatrixBlock(rows, 4, false));
+		
+		//check outputs
+		Assert.assertTrue(out2 instanceof CompressedMatrixBlock);
+		Assert.assertEquals(out1.getNumRows(), out2.getNumRows());
+		Assert.assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		Assert.assertEquals(out1.recomputeNonZeros(), out2.getNonZeros());
+		MatrixBlock out3 = ((CompressedMatrixBlock)out2).decompress();
+		for(int i=0; i<rows; i++)
+			for(int j=0; j<out1.getNumColumns(); j++) {
+				double v1 = out1.quickGetValue(i, j), v3 = out3.quickGetValue(i, j);
+				Assert.assertTrue("Mismatch at ("+i+","+j+"): "+v1+" vs "+v3,
+					v1 == v3 || (Double.isNaN(v1) && Double.isNaN(v3)));
+			}
+	}
+}